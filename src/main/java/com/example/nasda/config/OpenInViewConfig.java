@@ -0,0 +1,36 @@
+package com.example.nasda.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * ✅ OSIV(요청 내내 EntityManager를 열어 둠)를 업로드 요청과 오래 열린 스트림에서만 끔
+ * - OSIV가 켜져 있으면 요청 중 처음 DB를 읽은 순간부터 응답이 끝날 때까지 DB 연결을 잡고 있음
+ *   → 업로드 요청은 파일을 스테이징하는 시간(= 파일 크기)만큼 연결을 잡게 됨
+ *   → SSE 댓글 스트림은 구독이 끝날 때까지(최대 app.comment-stream.timeout-ms) 잡게 됨 — 구독자 몇 명이면 풀이 바닥남
+ * - 나머지 화면은 컨트롤러/템플릿에서 지연 로딩(게시글 → 작성자/카테고리)을 쓰므로 그대로 켜 둠
+ * spring.jpa.open-in-view=false로 Boot 기본 인터셉터를 끄고, 같은 인터셉터를 이 경로들만 빼고 다시 등록합니다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenInViewConfig implements WebMvcConfigurer {
+
+    // 게시글 작성/수정(폼 업로드) + 이어 올리기 조각 업로드
+    private static final String[] UPLOAD_PATHS = {"/posts", "/posts/*/edit", "/api/uploads/**"};
+    // 실시간 댓글 스트림 (SseEmitter — 응답이 구독 내내 끝나지 않음)
+    private static final String[] STREAM_PATHS = {"/api/posts/*/comments/stream"};
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns(UPLOAD_PATHS)
+                .excludePathPatterns(STREAM_PATHS);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.nasda.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled 배치 작업(카운터 정합성 복구 등) 활성화
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
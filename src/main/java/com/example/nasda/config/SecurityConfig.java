@@ -29,7 +29,11 @@ public class SecurityConfig {
                         .requestMatchers("/posts/**", "/post/**").permitAll()
                         // 3. 정적 리소스 허용
                         .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
+                        // 업로드 이미지 (피드 카드가 비로그인에도 보임, UploadController)
+                        .requestMatchers("/uploads/**").permitAll()
                         .requestMatchers("/api/member/**").permitAll()
+                        // 4. 검색 API (홈 검색 "/?keyword="와 같은 공개 범위)
+                        .requestMatchers("/api/search/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -0,0 +1,37 @@
+package com.example.nasda.config;
+
+import com.example.nasda.service.storage.LocalStorageBackend;
+import com.example.nasda.service.storage.S3StorageBackend;
+import com.example.nasda.service.storage.StorageBackend;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// 업로드 저장소 선택: app.storage.type=local(기본, app.upload.dir 아래 나눈 폴더) / s3(S3 호환 버킷, 여러 서버 공유)
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+    public StorageBackend localStorageBackend(@Value("${app.upload.dir:uploads}") String uploadDir) {
+        return new LocalStorageBackend(uploadDir);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+    public StorageBackend s3StorageBackend(@Value("${app.storage.s3.endpoint}") String endpoint,
+                                           @Value("${app.storage.s3.region:us-east-1}") String region,
+                                           @Value("${app.storage.s3.bucket}") String bucket,
+                                           @Value("${app.storage.s3.access-key}") String accessKey,
+                                           @Value("${app.storage.s3.secret-key}") String secretKey,
+                                           @Value("${app.storage.s3.path-style:true}") boolean pathStyle,
+                                           @Value("${app.storage.s3.key-prefix:uploads/}") String keyPrefix,
+                                           @Value("${app.storage.s3.public-base-url:}") String publicBaseUrl,
+                                           @Value("${app.storage.s3.timeout-ms:10000}") long timeoutMs) {
+        return new S3StorageBackend(endpoint, region, bucket, accessKey, secretKey,
+                pathStyle, keyPrefix, publicBaseUrl, Duration.ofMillis(timeoutMs));
+    }
+}
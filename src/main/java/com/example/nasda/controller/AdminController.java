@@ -4,7 +4,11 @@ import com.example.nasda.dto.manager.CategoryDTO;
 import com.example.nasda.dto.manager.CommentReportDTO;
 import com.example.nasda.dto.manager.ForbiddenWordDTO;
 import com.example.nasda.dto.manager.PostReportDTO;
+import com.example.nasda.dto.post.SimilarImageDto;
+import com.example.nasda.service.analytics.SearchQueryAnalytics;
+import com.example.nasda.service.image.SimilarImageService;
 import com.example.nasda.service.manager.AdminService;
+import com.example.nasda.service.search.SearchResultCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.Page;
@@ -25,6 +29,9 @@ import java.util.Collections;
 public class AdminController {
 
     private final AdminService adminService;
+    private final SearchResultCache searchResultCache;
+    private final SearchQueryAnalytics searchQueryAnalytics;
+    private final SimilarImageService similarImageService;
 
     @GetMapping("/dashboard")
     public String adminMain(Model model,
@@ -72,6 +79,9 @@ public class AdminController {
             model.addAttribute("catCurrentPage", catPageResult.getNumber());
             model.addAttribute("catTotalPages", catPageResult.getTotalPages());
 
+            // 6. 인기 검색어 (메모리 집계, DB 조회 없음)
+            model.addAttribute("searchTrends", searchQueryAnalytics.trends(20));
+
         } catch (Exception e) {
             log.error("데이터 로딩 중 오류 발생: " + e.getMessage());
             model.addAttribute("categoryList", Collections.emptyList());
@@ -162,4 +172,25 @@ public class AdminController {
     public java.util.List<java.util.Map<String, Object>> checkUserStatus() {
         return adminService.getUserStatusList();
     }
-}
\ No newline at end of file
+
+    // ✅ 검색 결과 캐시 적중률 (hits / (hits + misses))
+    @GetMapping("/search-cache/stats")
+    @ResponseBody
+    public SearchResultCache.Stats searchCacheStats() {
+        return searchResultCache.stats();
+    }
+
+    // ✅ 게시글 이미지와 비슷한 다른 게시글의 이미지 (신고 검토, 가까운 순)
+    @GetMapping("/posts/{postId}/similar-images")
+    @ResponseBody
+    public java.util.List<SimilarImageDto> similarImages(@PathVariable("postId") Integer postId) {
+        return similarImageService.findSimilarToPost(postId);
+    }
+
+    // ✅ 인기 검색어 (최근 1시간 / 24시간, 근사 횟수)
+    @GetMapping("/search-queries/trends")
+    @ResponseBody
+    public SearchQueryAnalytics.Trends searchQueryTrends(@RequestParam(value = "size", defaultValue = "20") int size) {
+        return searchQueryAnalytics.trends(Math.min(size, 100));
+    }
+}
@@ -1,23 +1,35 @@
 package com.example.nasda.controller;
 
+import com.example.nasda.config.PrincipalDetailsService;
 import com.example.nasda.domain.CommentEntity;
 import com.example.nasda.domain.UserEntity;
 import com.example.nasda.domain.UserRepository;
 import com.example.nasda.dto.comment.CommentCreateRequestDto;
+import com.example.nasda.dto.comment.CommentCursorResponse;
+import com.example.nasda.dto.comment.CommentPageAnchor;
 import com.example.nasda.dto.comment.CommentPageResponse;
+import com.example.nasda.dto.comment.CommentSlice;
+import com.example.nasda.dto.comment.CommentThreadResponse;
+import com.example.nasda.dto.comment.CommentThreadSlice;
 import com.example.nasda.dto.comment.CommentViewDto;
+import com.example.nasda.dto.comment.ReplySlice;
 import com.example.nasda.repository.CommentRepository;
 import com.example.nasda.service.CommentService;
+import com.example.nasda.service.CommentStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -29,6 +41,7 @@ public class CommentController {
     private final CommentService commentService;
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
+    private final CommentStreamService commentStreamService;
 
     // =========================
     // 로그인 사용자 정보
@@ -53,6 +66,15 @@ public class CommentController {
                 .orElse(null);
     }
 
+    // 로그인 때 세션에 넣어 둔 CustomUser의 userId (DB 조회 없음) — 다른 principal이면 loginId로 조회
+    private Integer getPrincipalUserIdOrNull() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof PrincipalDetailsService.CustomUser user) {
+            return user.getUserId();
+        }
+        return getCurrentUserIdOrNull();
+    }
+
     // =========================
     // ✅ AJAX 댓글 페이징 API
     // =========================
@@ -67,18 +89,7 @@ public class CommentController {
 
         Page<CommentViewDto> commentPage = commentService.getCommentsPage(postId, page, size, currentUserId);
 
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy년 M월 d일");
-
-        List<CommentPageResponse.CommentItem> items =
-                commentPage.getContent().stream()
-                        .map(c -> new CommentPageResponse.CommentItem(
-                                c.id(),
-                                c.content(),
-                                c.authorNickname(),
-                                c.createdAt() == null ? "" : c.createdAt().format(fmt),
-                                c.canEdit()
-                        ))
-                        .toList();
+        List<CommentPageResponse.CommentItem> items = toItems(commentPage.getContent());
 
         CommentPageResponse.PageInfo pageInfo = new CommentPageResponse.PageInfo(
                 commentPage.getNumber(),
@@ -92,6 +103,105 @@ public class CommentController {
         return new CommentPageResponse(items, pageInfo);
     }
 
+    // =========================
+    // ✅ AJAX 댓글 커서 페이징 API (before/after = commentId)
+    // =========================
+    @GetMapping("/api/posts/{postId}/comments/cursor")
+    @ResponseBody
+    public CommentCursorResponse getCommentsCursorApi(
+            @PathVariable Integer postId,
+            @RequestParam(required = false) Integer before,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        Integer currentUserId = getCurrentUserIdOrNull();
+
+        CommentSlice slice = commentService.getCommentsSlice(postId, before, after, size, currentUserId);
+
+        CommentCursorResponse.CursorInfo cursorInfo = new CommentCursorResponse.CursorInfo(
+                slice.content().size(),
+                slice.lastId(),
+                slice.firstId(),
+                slice.hasPrevious(),
+                slice.hasNext()
+        );
+
+        return new CommentCursorResponse(toItems(slice.content()), cursorInfo);
+    }
+
+    // =========================
+    // ✅ 스레드(최상위 댓글 + 앞쪽 답글) 페이지 API (cursor = 마지막 스레드의 commentId)
+    // =========================
+    @GetMapping("/api/posts/{postId}/comments/threads")
+    @ResponseBody
+    public CommentThreadResponse getThreadsApi(
+            @PathVariable Integer postId,
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "3") int replies
+    ) {
+        Integer currentUserId = getCurrentUserIdOrNull();
+
+        CommentThreadSlice slice = commentService.getThreadSlice(postId, cursor, size, replies, currentUserId);
+
+        List<CommentThreadResponse.ThreadItem> threads = slice.threads().stream()
+                .map(t -> new CommentThreadResponse.ThreadItem(
+                        toItems(List.of(t.comment())).get(0),
+                        t.replyCount(),
+                        toItems(t.replies()),
+                        t.replyCursor()
+                ))
+                .toList();
+
+        return new CommentThreadResponse(threads, slice.nextCursor(), slice.hasNext());
+    }
+
+    // =========================
+    // ✅ 답글 더보기 API (cursor = 마지막으로 받은 답글 순번)
+    // =========================
+    @GetMapping("/api/posts/{postId}/comments/{commentId}/replies")
+    @ResponseBody
+    public CommentThreadResponse.ReplyPage getRepliesApi(
+            @PathVariable Integer postId,
+            @PathVariable Integer commentId,
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        Integer currentUserId = getCurrentUserIdOrNull();
+
+        ReplySlice slice = commentService.getReplies(postId, commentId, cursor, size, currentUserId);
+
+        return new CommentThreadResponse.ReplyPage(toItems(slice.replies()), slice.nextCursor(), slice.hasNext());
+    }
+
+    // =========================
+    // ✅ 실시간 댓글 스트림 (SSE): created / updated / deleted 이벤트
+    // =========================
+    @GetMapping(value = "/api/posts/{postId}/comments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<SseEmitter> streamComments(@PathVariable Integer postId) {
+        // 연결이 최대 30분 열려 있으므로 EntityManager/DB 연결을 잡지 않음 (OpenInViewConfig에서도 제외)
+        Integer currentUserId = getPrincipalUserIdOrNull();
+
+        return commentStreamService.subscribe(postId, currentUserId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    private List<CommentPageResponse.CommentItem> toItems(List<CommentViewDto> comments) {
+        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy년 M월 d일");
+
+        return comments.stream()
+                .map(c -> new CommentPageResponse.CommentItem(
+                        c.id(),
+                        c.content(),
+                        c.authorNickname(),
+                        c.createdAt() == null ? "" : c.createdAt().format(fmt),
+                        c.canEdit()
+                ))
+                .toList();
+    }
+
     // =========================
     // ✅ 내 댓글 목록 조회(기존 유지)
     // =========================
@@ -132,6 +242,26 @@ public class CommentController {
                 + "#comments";
     }
 
+    @PostMapping("/comments/{id}/replies")
+    public String reply(
+            @PathVariable("id") Integer parentCommentId,
+            @RequestParam("postId") Integer postId,
+            @RequestParam("content") String content,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "5") int size
+    ) {
+        Integer currentUserId = getCurrentUserIdOrNull();
+        if (currentUserId == null) return "redirect:/user/login";
+
+        commentService.createReply(postId, parentCommentId, currentUserId, content);
+
+        // 답글은 스레드 위치 유지 (현재 페이지 그대로)
+        return "redirect:/posts/" + postId
+                + "?page=" + page
+                + "&size=" + size
+                + "#comment-" + parentCommentId;
+    }
+
     @PostMapping("/comments/{id}/delete")
     public String delete(
             @PathVariable("id") Integer commentId,
@@ -168,7 +298,8 @@ public class CommentController {
                 + "#comments";
     }
 
-    // (기존 goToComment 유지해도 됨)
+    // ✅ 알림/내 댓글 목록 딥링크: 순위(count) 쿼리로 페이지 번호 계산 + 그 페이지 첫 댓글을 커서(from)로 넘겨서
+    // 게시글 화면이 OFFSET 없이 findOlderThan으로 그리게 함 (page는 페이지 버튼 표시용)
     @GetMapping("/comments/{id}/go")
     public String goToComment(@PathVariable("id") Integer commentId) {
         CommentEntity comment = commentRepository.findById(commentId)
@@ -177,8 +308,10 @@ public class CommentController {
         Integer postId = comment.getPost().getPostId();
         int pageSize = 5;
 
-        int page = commentService.getPageNumberByCommentId(postId, commentId, pageSize);
+        CommentPageAnchor anchor = commentService.locateComment(postId, commentId, pageSize);
 
-        return "redirect:/posts/" + postId + "?page=" + page + "#comment-" + commentId;
+        // 답글은 목록에 스레드(최상위 댓글) 단위로 보이므로 스레드로 이동
+        return "redirect:/posts/" + postId + "?page=" + anchor.page() + "&size=" + pageSize
+                + "&from=" + anchor.firstId() + "#comment-" + comment.getRootId();
     }
 }
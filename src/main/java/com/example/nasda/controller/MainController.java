@@ -1,6 +1,7 @@
 package com.example.nasda.controller;
 
 import com.example.nasda.dto.post.HomePostDto;
+import com.example.nasda.dto.post.PostSearchSlice;
 import com.example.nasda.service.AuthUserService;
 import com.example.nasda.service.PostService;
 import lombok.RequiredArgsConstructor;
@@ -13,8 +14,6 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import java.util.List;
-
 @Controller
 @RequiredArgsConstructor
 public class MainController {
@@ -29,24 +28,31 @@ public class MainController {
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String type,
+            @RequestParam(required = false) String sort,
             Model model
     ) {
         String q = (keyword == null) ? "" : keyword.trim();
         String t = (type == null || type.isBlank()) ? "content" : type.trim();
+        String sortMode = "relevance".equals(sort) ? "relevance" : "latest";
         boolean isSearch = !q.isEmpty();
 
         model.addAttribute("isSearchPage", isSearch);
         model.addAttribute("keyword", q);
         model.addAttribute("type", t);
+        model.addAttribute("sort", sortMode);
         model.addAttribute("category", (category == null || category.isBlank()) ? "전체" : category);
 
         if (isSearch) {
-            List<HomePostDto> results = postService.searchHomePosts(q, t);
-
-            model.addAttribute("posts", results);
+            // 검색 결과 첫 페이지 — 이후는 main.js가 /api/search?cursor= 로 이어서 로드
+            PostSearchSlice results = "relevance".equals(sortMode)
+                    ? postService.searchRelevantPosts(q, null, size)
+                    : postService.searchHomePosts(q, t, null, size);
 
-            // 검색 결과는 "일단" 무한스크롤 끔
-            model.addAttribute("hasNext", false);
+            model.addAttribute("posts", results.posts());
+            model.addAttribute("hasNext", results.hasNext());
+            model.addAttribute("nextCursor", results.nextCursor());
+            model.addAttribute("snippets", results.snippets());
+            model.addAttribute("correctedKeyword", results.correctedKeyword());
             model.addAttribute("nextPage", 0);
             model.addAttribute("size", size);
         } else {
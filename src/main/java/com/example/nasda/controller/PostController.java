@@ -2,23 +2,31 @@ package com.example.nasda.controller;
 
 import com.example.nasda.domain.CategoryEntity;
 import com.example.nasda.domain.PostEntity;
+import com.example.nasda.dto.comment.CommentViewDto;
+import com.example.nasda.dto.post.ImageEditOp;
 import com.example.nasda.dto.post.PostCreateRequestDto;
 import com.example.nasda.dto.post.PostViewDto;
 import com.example.nasda.service.AuthUserService;
 import com.example.nasda.service.CategoryService;
 import com.example.nasda.service.CommentService;
+import com.example.nasda.service.FileStorageService;
 import com.example.nasda.service.PostImageService;
 import com.example.nasda.service.PostService;
+import com.example.nasda.service.image.SimilarImageService;
+import com.example.nasda.service.upload.ResumableUploadService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Controller
 @RequiredArgsConstructor
@@ -29,6 +37,12 @@ public class PostController {
     private final CommentService commentService;
     private final PostImageService postImageService;
     private final AuthUserService authUserService;
+    private final ResumableUploadService resumableUploadService;
+    private final SimilarImageService similarImageService;
+
+    // 달력 칸 썸네일 최소 너비(px)
+    @Value("${app.image.thumb-width:320}")
+    private int calendarImageWidth;
 
     @GetMapping("/posts")
     public String postsRedirect() {
@@ -51,6 +65,8 @@ public class PostController {
             @PathVariable("postId") String postIdStr,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "5") int size,
+            // 댓글 딥링크(/comments/{id}/go)가 넘기는 페이지 첫 댓글 — 있으면 OFFSET 대신 커서로 조회
+            @RequestParam(value = "from", required = false) Integer from,
             Model model
     ) {
         try {
@@ -101,12 +117,21 @@ public class PostController {
             );
 
             // 6. 댓글 페이지 처리
-            var commentsPage = commentService.getCommentsPage(postId, page, size, currentUserId);
+            Page<CommentViewDto> commentsPage;
+            try {
+                commentsPage = (from != null)
+                        ? commentService.getCommentsPageFrom(postId, from, page, size, currentUserId)
+                        : commentService.getCommentsPage(postId, page, size, currentUserId);
+            } catch (IllegalArgumentException e) {
+                // 커서 댓글이 그새 삭제됨 → 페이지 번호로
+                commentsPage = commentService.getCommentsPage(postId, page, size, currentUserId);
+            }
 
             // 7. 모델에 데이터 담기
             model.addAttribute("post", post);
             model.addAttribute("comments", commentsPage.getContent());
             model.addAttribute("commentsPage", commentsPage);
+            model.addAttribute("commentTotal", commentService.getCommentCount(postId));
 
             String nickname = authUserService.getCurrentNicknameOrNull();
             model.addAttribute("username", nickname == null ? "게스트" : nickname);
@@ -121,17 +146,27 @@ public class PostController {
             @RequestParam String title,
             @RequestParam String category,
             @RequestParam(required = false) String description,
-            @RequestParam(required = false) List<MultipartFile> images
+            @RequestParam(required = false) List<MultipartFile> images,
+            // ✅ 이어 올리기로 먼저 올린 파일 (/api/uploads) — 폼 파일 뒤에 붙음
+            @RequestParam(required = false) List<String> uploadIds,
+            RedirectAttributes rttr
     ) {
         Integer userId = authUserService.getCurrentUserIdOrNull();
         if (userId == null) return "redirect:/user/login";
 
         CategoryEntity categoryEntity = categoryService.getByNameOrThrow(category);
-        PostEntity post = postService.create(userId, categoryEntity.getCategoryId(), title, description);
 
-        if (images != null && !images.isEmpty()) {
-            postImageService.addImages(post, images);
+        // ✅ 파일은 트랜잭션 전에 스테이징 → 게시글 + 이미지 행은 한 트랜잭션 (파일은 커밋 뒤 배치)
+        List<FileStorageService.StagedImage> staged = postImageService.stage(withUploads(userId, images, uploadIds));
+        PostEntity post;
+        try {
+            post = postService.create(userId, categoryEntity.getCategoryId(), title, description, staged);
+        } catch (RuntimeException e) {
+            postImageService.discard(staged);
+            throw e;
         }
+        resumableUploadService.release(uploadIds);
+        warnSimilarImages(staged, post.getPostId(), rttr);
 
         return "redirect:/posts/" + post.getPostId();
     }
@@ -144,7 +179,7 @@ public class PostController {
         model.addAttribute("title", entity.getTitle());
         model.addAttribute("description", entity.getDescription());
         model.addAttribute("category", entity.getCategory().getCategoryName());
-        model.addAttribute("images", List.of());
+        model.addAttribute("images", postImageService.getImages(id));
         model.addAttribute("categories", categoryService.findAll());
 
         String nickname = authUserService.getCurrentNicknameOrNull();
@@ -167,8 +202,7 @@ public class PostController {
             event.put("start", post.getCreatedAt());
             event.put("url", "/posts/" + post.getPostId());
 
-            String imageUrl = postImageService.getImageUrls(post.getPostId()).stream()
-                    .findFirst().orElse(null);
+            String imageUrl = postImageService.getThumbnailUrl(post.getPostId(), calendarImageWidth);
 
             // 👈 [수정 2] 경로 앞에 /가 중복되지 않게 검사 후 처리
             if (imageUrl != null && !imageUrl.startsWith("/")) {
@@ -198,21 +232,47 @@ public class PostController {
             @RequestParam String title,
             @RequestParam String category,
             @RequestParam(required = false) String description,
-            @RequestParam(required = false) List<MultipartFile> newImages
+            @RequestParam(required = false) List<MultipartFile> newImages,
+            // ✅ "keep:{imageId}" / "add:{newImages 번호}" / "remove:{imageId}" — 없으면 예전처럼 새 파일로 교체
+            @RequestParam(required = false) List<String> imageOps,
+            @RequestParam(required = false) List<String> uploadIds,
+            RedirectAttributes rttr
     ) {
         Integer userId = authUserService.getCurrentUserIdOrNull();
         if (userId == null) return "redirect:/user/login";
 
         CategoryEntity categoryEntity = categoryService.getByNameOrThrow(category);
+        List<ImageEditOp> ops = imageOps == null ? null : imageOps.stream().map(ImageEditOp::parse).toList();
 
-        postService.update(id, userId, categoryEntity.getCategoryId(), title, description);
-
-        PostEntity post = postService.get(id);
-        postImageService.replaceImages(id, post, newImages);
+        // add 번호는 (빈 칸을 뺀) newImages 다음에 uploadIds 순서
+        List<FileStorageService.StagedImage> staged = postImageService.stage(withUploads(userId, newImages, uploadIds));
+        try {
+            postService.update(id, userId, categoryEntity.getCategoryId(), title, description, ops, staged);
+        } catch (RuntimeException e) {
+            postImageService.discard(staged);
+            throw e;
+        }
+        resumableUploadService.release(uploadIds);
+        warnSimilarImages(staged, id, rttr);
 
         return "redirect:/posts/" + id;
     }
 
+    // ✅ 다른 게시글에 비슷한 사진이 이미 있으면 게시글 화면에 경고 (저장은 그대로)
+    private void warnSimilarImages(List<FileStorageService.StagedImage> staged, Integer postId, RedirectAttributes rttr) {
+        if (staged.isEmpty()) return;
+        List<Long> hashes = staged.stream().map(image -> image.metadata().perceptualHash()).toList();
+        int similarPosts = similarImageService.countSimilarPosts(hashes, postId);
+        if (similarPosts > 0) rttr.addFlashAttribute("similarImageWarning", similarPosts);
+    }
+
+    // 폼 파일(파일을 고르지 않은 빈 칸 제외) + 이어 올리기로 끝난 파일
+    private List<MultipartFile> withUploads(Integer userId, List<MultipartFile> formFiles, List<String> uploadIds) {
+        Stream<MultipartFile> form = formFiles == null ? Stream.empty()
+                : formFiles.stream().filter(f -> f != null && !f.isEmpty());
+        return Stream.concat(form, resumableUploadService.take(userId, uploadIds).stream()).toList();
+    }
+
     @PostMapping("/posts/{id}/delete")
     public String deletePost(@PathVariable Integer id) {
         Integer userId = authUserService.getCurrentUserIdOrNull();
@@ -1,12 +1,15 @@
 package com.example.nasda.controller;
 
-import com.example.nasda.dto.post.HomePostDto;
+import com.example.nasda.dto.post.PostSearchSlice;
+import com.example.nasda.dto.post.SearchSuggestDto;
 import com.example.nasda.service.PostService;
+import com.example.nasda.service.search.SearchSuggestService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
 import java.util.List;
 
@@ -15,15 +18,25 @@ import java.util.List;
 public class SearchController {
 
     private final PostService postService;
+    private final SearchSuggestService searchSuggestService;
 
     @GetMapping("/search")
     public String search(@RequestParam String keyword,
                          @RequestParam(defaultValue = "content") String type,
+                         @RequestParam(defaultValue = "latest") String sort,
+                         @RequestParam(defaultValue = "12") int size,
                          Model model) {
 
-        List<HomePostDto> posts = postService.searchHomePosts(keyword, type);
+        PostSearchSlice slice = search(keyword, type, sort, null, size);
 
-        model.addAttribute("posts", posts);
+        model.addAttribute("posts", slice.posts());
+        model.addAttribute("hasNext", slice.hasNext());
+        model.addAttribute("nextCursor", slice.nextCursor());
+        model.addAttribute("snippets", slice.snippets());
+        model.addAttribute("correctedKeyword", slice.correctedKeyword());
+        model.addAttribute("sort", sort);
+        model.addAttribute("size", size);
+        model.addAttribute("isSearchPage", true);
         model.addAttribute("keyword", keyword);
         model.addAttribute("type", type);
         model.addAttribute("pageTitle", "검색 결과");
@@ -31,4 +44,33 @@ public class SearchController {
         // ✅ index.html 재사용 (홈과 같은 카드 UI)
         return "index";
     }
+
+    // ✅ 검색 결과 무한스크롤 API (cursor = 이전 응답의 nextCursor, sort = latest | relevance)
+    @GetMapping("/api/search")
+    @ResponseBody
+    public PostSearchSlice apiSearch(@RequestParam String keyword,
+                                     @RequestParam(defaultValue = "content") String type,
+                                     @RequestParam(defaultValue = "latest") String sort,
+                                     @RequestParam(required = false) Integer cursor,
+                                     @RequestParam(defaultValue = "12") int size) {
+        return search(keyword, type, sort, cursor, size);
+    }
+
+    // 정확도순은 type과 무관하게 제목/본문/닉네임을 함께 봄
+    private PostSearchSlice search(String keyword, String type, String sort, Integer cursor, int size) {
+        if ("relevance".equals(sort)) {
+            return postService.searchRelevantPosts(keyword, cursor, size);
+        }
+        return postService.searchHomePosts(keyword, type, cursor, size);
+    }
+
+    // ✅ 검색창 자동완성 (메모리 사전만 조회, DB 조회 없음)
+    @GetMapping("/api/search/suggest")
+    @ResponseBody
+    public List<SearchSuggestDto> suggest(@RequestParam(defaultValue = "") String q,
+                                          @RequestParam(defaultValue = "8") int size) {
+        return searchSuggestService.suggest(q, size).stream()
+                .map(e -> new SearchSuggestDto(e.text(), e.field().type()))
+                .toList();
+    }
 }
@@ -0,0 +1,257 @@
+package com.example.nasda.controller;
+
+import com.example.nasda.service.storage.StorageBackend;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * ✅ 업로드 이미지 서빙 (/uploads/{파일명})
+ * - 파일 이름이 바뀌지 않는 내용이라(해시/UUID) 1년 + immutable 캐시 → 피드를 다시 봐도 재검증 요청 없음
+ * - ETag: 해시 이름이면 해시 그대로(강한 ETag), 그 외(변형/옛 UUID 파일)는 크기+수정 시각(약한 ETag)
+ * - If-None-Match / If-Modified-Since → 304, Range(한 구간) + If-Range → 206
+ * - 본문: 큰 파일은 Tomcat sendfile(커널이 바로 소켓으로 복사), 아니면 FileChannel.transferTo
+ * - 저장소가 원격(S3)이면 구간 GET을 그대로 흘려보내고, 공개 URL(CDN)이 설정돼 있으면 그쪽으로 301
+ */
+@Controller
+public class UploadController {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,127}");
+    private static final Pattern HASH_NAME = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]{1,5}");
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final StorageBackend storage;
+    private final long sendfileMinBytes;
+
+    public UploadController(StorageBackend storage,
+                            @Value("${app.upload.sendfile-min-bytes:49152}") long sendfileMinBytes) {
+        this.storage = storage;
+        this.sendfileMinBytes = sendfileMinBytes;
+    }
+
+    @RequestMapping(value = "/uploads/{filename:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(@PathVariable String filename,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+
+        // 하위 폴더/상위 경로/내부 영역(.quarantine 등)은 받지 않음 (URL의 이름 공간은 평평함)
+        if (!SAFE_NAME.matcher(filename).matches() || filename.contains("..")) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Optional<String> publicUrl = storage.publicUrl(filename);
+        if (publicUrl.isPresent()) {
+            // 이름이 바뀌지 않으므로 리다이렉트도 영구 캐시
+            response.setHeader("Cache-Control", CACHE_CONTROL);
+            response.setStatus(HttpServletResponse.SC_MOVED_PERMANENTLY);
+            response.setHeader("Location", publicUrl.get());
+            return;
+        }
+
+        Optional<StorageBackend.StoredObject> stat = storage.stat(filename);
+        if (stat.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = stat.get().size();
+        long lastModified = stat.get().lastModified();
+        String etag = etag(filename, length, lastModified);
+
+        response.setHeader("Cache-Control", CACHE_CONTROL);
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Accept-Ranges", "bytes");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(contentType(filename));
+
+        long start = 0;
+        long end = length; // exclusive
+        String range = request.getHeader("Range");
+        if (range != null && ifRangeMatches(request, etag, lastModified)) {
+            long[] r = parseRange(range, length);
+            if (r == null) {
+                // 만족할 수 없는 구간
+                response.setHeader("Content-Range", "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (r.length == 2) {
+                start = r[0];
+                end = r[1] + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + start + "-" + r[1] + "/" + length);
+            }
+        }
+
+        long count = end - start;
+        response.setContentLengthLong(count);
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || count == 0) return;
+
+        Optional<Path> local = storage.localPath(filename);
+        if (local.isEmpty()) {
+            // 원격 저장소: 필요한 구간만 받아서 그대로 흘려보냄
+            try (InputStream in = storage.open(filename, start, end)) {
+                in.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+
+        Path file = local.get();
+        if (count >= sendfileMinBytes && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답이 끝난 뒤 Tomcat이 파일을 직접 소켓으로 보냄 (본문은 여기서 쓰지 않음)
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) break; // 그 사이 파일이 줄어듦
+                position += sent;
+            }
+        } catch (NoSuchFileException e) {
+            // stat 뒤에 삭제됨 — 헤더는 이미 나갔을 수 있으니 연결만 끝냄
+        }
+    }
+
+    static String etag(String filename, long length, long lastModified) {
+        if (HASH_NAME.matcher(filename).matches()) {
+            return "\"" + filename.substring(0, 64) + "\"";
+        }
+        return "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * If-None-Match가 있으면 그것만 봄 (약한 비교), 없으면 If-Modified-Since (초 단위)
+     */
+    static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            String opaque = opaque(etag);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String c = candidate.trim();
+                if (c.equals("*") || opaque(c).equals(opaque)) return true;
+            }
+            return false;
+        }
+
+        long since = dateHeader(request, "If-Modified-Since");
+        return since >= 0 && lastModified / 1000 <= since / 1000;
+    }
+
+    /**
+     * If-Range가 없거나 맞으면 true — 안 맞으면 Range를 무시하고 전체를 보냄
+     * (ETag는 강한 비교: 약한 ETag는 구간 요청에 쓸 수 없음)
+     */
+    static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) return true;
+
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return !etag.startsWith("W/") && value.equals(etag);
+        }
+        long date = dateHeader(request, "If-Range");
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    /**
+     * "bytes=a-b" / "bytes=a-" / "bytes=-n" 한 구간만 처리
+     *
+     * @return {시작, 끝(포함)}, 여러 구간/형식 오류면 빈 배열(전체 전송), 만족할 수 없으면 null
+     */
+    static long[] parseRange(String header, long length) {
+        String h = header.trim();
+        if (!h.regionMatches(true, 0, "bytes=", 0, 6)) return new long[0];
+        String spec = h.substring(6).trim();
+        if (spec.contains(",")) return new long[0];
+
+        int dash = spec.indexOf('-');
+        if (dash < 0) return new long[0];
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+
+        try {
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // 마지막 n바이트
+                if (last.isEmpty()) return new long[0];
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) return null;
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+                if (!last.isEmpty() && Long.parseLong(last) < start) return new long[0];
+            }
+            if (start < 0 || start >= length) return null;
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1; // 날짜 형식이 아니면 없는 것으로
+        }
+    }
+
+    private static String contentType(String filename) {
+        int dot = filename.lastIndexOf('.');
+        String ext = dot > -1 ? filename.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+        return switch (ext) {
+            case "jpg", "jpeg" -> "image/jpeg";
+            case "png" -> "image/png";
+            case "gif" -> "image/gif";
+            case "webp" -> "image/webp";
+            case "bmp" -> "image/bmp";
+            case "svg" -> "application/octet-stream"; // 스크립트가 들어갈 수 있어서 이미지로 내보내지 않음
+            case "heic" -> "image/heic";
+            case "avif" -> "image/avif";
+            default -> "application/octet-stream";
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.nasda.controller;
+
+import com.example.nasda.service.AuthUserService;
+import com.example.nasda.service.upload.ResumableUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * ✅ 이어 올리기 API (ResumableUploadService)
+ * POST   /api/uploads                     {fileName, contentType, size, sha256?} → 상태(uploadId, chunkSize)
+ * PUT    /api/uploads/{id}?offset=N        본문 = 청크 바이트, X-Chunk-Sha256 헤더(선택)
+ * GET    /api/uploads/{id}                 상태 (missingOffsets만 다시 보내면 됨)
+ * POST   /api/uploads/{id}/complete        전체 확인 → 게시글 폼에 uploadIds로 넘김
+ * DELETE /api/uploads/{id}                 취소
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+public class UploadSessionController {
+
+    private final ResumableUploadService resumableUploadService;
+    private final AuthUserService authUserService;
+
+    public record InitiateRequest(String fileName, String contentType, long size, String sha256) {
+    }
+
+    @PostMapping("")
+    public ResponseEntity<?> initiate(@RequestBody InitiateRequest request) {
+        Integer userId = authUserService.getCurrentUserIdOrNull();
+        if (userId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(resumableUploadService.initiate(
+                userId, request.fileName(), request.contentType(), request.size(), request.sha256()));
+    }
+
+    @PutMapping("/{uploadId}")
+    public ResponseEntity<?> chunk(@PathVariable String uploadId,
+                                   @RequestParam long offset,
+                                   @RequestHeader(value = "X-Chunk-Sha256", required = false) String chunkSha256,
+                                   HttpServletRequest request) throws IOException {
+        Integer userId = authUserService.getCurrentUserIdOrNull();
+        if (userId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        return ResponseEntity.ok(resumableUploadService.writeChunk(
+                userId, uploadId, offset, request.getInputStream(), chunkSha256));
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<?> status(@PathVariable String uploadId) {
+        Integer userId = authUserService.getCurrentUserIdOrNull();
+        if (userId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        return ResponseEntity.ok(resumableUploadService.status(userId, uploadId));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> complete(@PathVariable String uploadId) throws IOException {
+        Integer userId = authUserService.getCurrentUserIdOrNull();
+        if (userId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        return ResponseEntity.ok(resumableUploadService.complete(userId, uploadId));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> abort(@PathVariable String uploadId) {
+        Integer userId = authUserService.getCurrentUserIdOrNull();
+        if (userId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        resumableUploadService.abort(userId, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // 잘못된 offset/체크섬/만료 → 400, 같은 청크를 동시에 쓰는 중/이미 완료 → 409 (클라이언트가 상태를 다시 보고 이어 감)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> conflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+    }
+}
@@ -3,10 +3,10 @@ package com.example.nasda.controller;
 import com.example.nasda.domain.UserEntity;
 import com.example.nasda.dto.UserJoinDto;
 import com.example.nasda.dto.post.PostViewDto;
-import com.example.nasda.repository.CommentRepository;
 import com.example.nasda.service.LoginService;
 import com.example.nasda.service.PostService;
 import com.example.nasda.service.UserService;
+import com.example.nasda.service.counter.EngagementCounterService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
@@ -30,7 +30,7 @@ public class UserController {
     private final LoginService loginService;
     private final UserService userService;
     private final PostService postService;
-    private final CommentRepository commentRepository;
+    private final EngagementCounterService engagementCounterService;
 
     @GetMapping("/login")
     public String loginForm() {
@@ -54,8 +54,10 @@ public class UserController {
         // 템플릿이 요구하는 모델 값들
         model.addAttribute("user", loginUser);
 
-        model.addAttribute("postCount", postService.countMyPosts(userId));
-        model.addAttribute("commentCount", commentRepository.countByUserId(userId));
+        // ✅ 게시글/댓글 수는 user_stats 한 행에서
+        EngagementCounterService.UserCounts counts = engagementCounterService.getUserCounts(userId);
+        model.addAttribute("postCount", counts.postCount());
+        model.addAttribute("commentCount", counts.commentCount());
 
         List<PostViewDto> myPosts = postService.getMyRecentPosts(userId, 4);
         model.addAttribute("myPosts", myPosts); // ✅ 절대 null이면 안 됨
@@ -2,7 +2,6 @@ package com.example.nasda.controller.sticker;
 
 import com.example.nasda.dto.sticker.PostDecorationRequestDTO;
 import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
-import com.example.nasda.repository.sticker.PostDecorationRepository;
 import com.example.nasda.service.AuthUserService;
 import com.example.nasda.service.sticker.PostDecorationService;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Log4j2
 @RestController
@@ -21,7 +21,6 @@ public class PostDecorationController {
 
     private final PostDecorationService postDecorationService;
     private final AuthUserService authUserService; // 반드시 필드 선언!
-    private final PostDecorationRepository postDecorationRepository;
 
     @PostMapping("")
     public ResponseEntity<List<PostDecorationResponseDTO>> saveDecorations(@RequestBody PostDecorationRequestDTO requestDTO) {
@@ -70,7 +69,7 @@ public class PostDecorationController {
     public ResponseEntity<String> deleteUserStickers(
             @PathVariable("userId") Integer userId,
             @PathVariable("imageId") Integer imageId) {
-        postDecorationRepository.deleteByUserAndImageBulk(userId, imageId);
+        postDecorationService.deleteUserDecorationsOnImage(userId, imageId);
         return ResponseEntity.ok("성공적으로 삭제되었습니다.");
     }
 
@@ -79,4 +78,10 @@ public class PostDecorationController {
         return ResponseEntity.ok(postDecorationService.getDecorationsByPostId(postId));
     }
 
+    // 없는 이미지/삭제된 게시글 → 400 (다른 탭에 남아 있던 화면에서 스티커를 붙이거나 지울 때)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
 }
\ No newline at end of file
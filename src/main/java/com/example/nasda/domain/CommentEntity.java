@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -11,8 +12,16 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "comments",
         indexes = {
-                @Index(name = "idx_comments_post_created", columnList = "post_id, created_at")
+                // 최상위 댓글 목록 (parent_id IS NULL) 최신순 페이징
+                @Index(name = "idx_comments_post_root_created", columnList = "post_id, parent_id, created_at"),
+                // 스레드 페이지의 최상위 댓글: reply_seq=0 + ACTIVE 구간만 thread_key 순으로 (답글 행은 건너뛰지 않아도 됨)
+                @Index(name = "idx_comments_post_roots", columnList = "post_id, reply_seq, status, thread_key"),
+                // 한 스레드의 답글 구간 (미리보기/더보기): 삭제된 답글은 인덱스 안에서 빠지고 LIMIT에서 바로 멈춤
+                @Index(name = "idx_comments_post_status_thread", columnList = "post_id, status, thread_key"),
+                @Index(name = "idx_comments_status_deleted", columnList = "status, deleted_at")
         })
+// ✅ 삭제 표시된 댓글은 모든 JPQL/파생 쿼리에서 제외 (실제 행은 TombstonePurger가 나중에 지움)
+@SQLRestriction("status = 'ACTIVE'")
 @Getter
 @NoArgsConstructor
 public class CommentEntity {
@@ -43,6 +52,39 @@ public class CommentEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // =========================
+    // ✅ 답글(스레드) — materialized path
+    // thread_key: 최상위 = 뒤집은 댓글 id 10자리 (오름차순 = 최신순)
+    //             답글   = 최상위 key + "." + 스레드 내 순번 8자리 (오름차순 = 작성순)
+    // → 스레드 페이지 = 최상위 댓글(reply_seq=0) thread_key 키셋 조회 1번 + 스레드별 답글 구간(root key + "." ~ threadEndKey)
+    //   앞쪽 N개를 UNION ALL로 묶은 조회 1번 (CommentRepositoryImpl.findReplyPreviews)
+    // =========================
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private CommentStatus status = CommentStatus.ACTIVE;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(name = "parent_id")
+    private Integer parentId;       // 답글이면 최상위 댓글 id (답글의 답글도 같은 스레드에 붙음)
+
+    @Column(name = "thread_key", length = 32)
+    private String threadKey;
+
+    @Column(name = "reply_seq", nullable = false)
+    private int replySeq;           // 최상위 = 0, 답글 = 1부터
+
+    @Column(name = "reply_count", nullable = false)
+    private int replyCount;         // 최상위 댓글의 현재 답글 수
+
+    @Column(name = "last_reply_seq", nullable = false)
+    private int lastReplySeq;       // 답글 순번 발급기 (줄지 않음)
+
+    private static final String KEY_SEPARATOR = ".";
+    // '.' 다음 문자 — 스레드의 끝 경계
+    private static final String KEY_END = "/";
+
     public static CommentEntity create(PostEntity post, Integer userId, String content) {
         CommentEntity c = new CommentEntity();
         c.post = post;
@@ -51,7 +93,49 @@ public class CommentEntity {
         return c;
     }
 
+    public static CommentEntity createReply(PostEntity post, Integer rootId, int replySeq,
+                                            Integer userId, String content) {
+        CommentEntity c = create(post, userId, content);
+        c.parentId = rootId;
+        c.replySeq = replySeq;
+        c.threadKey = replyKey(rootId, replySeq);
+        return c;
+    }
+
+    // 최상위 댓글은 id가 INSERT 후에 정해지므로 저장 직후 호출
+    public void assignRootKey() {
+        if (this.parentId == null && this.commentId != null) {
+            this.threadKey = rootKey(this.commentId);
+        }
+    }
+
+    public boolean isReply() {
+        return parentId != null;
+    }
+
+    public Integer getRootId() {
+        return parentId != null ? parentId : commentId;
+    }
+
+    public static String rootKey(int rootId) {
+        return String.format("%010d", Integer.MAX_VALUE - rootId);
+    }
+
+    public static String replyKey(int rootId, int replySeq) {
+        return rootKey(rootId) + KEY_SEPARATOR + String.format("%08d", replySeq);
+    }
+
+    // 이 스레드의 모든 행보다 큰 첫 key (다음 스레드 시작 전)
+    public static String threadEndKey(int rootId) {
+        return rootKey(rootId) + KEY_END;
+    }
+
     public void edit(String content) {
         this.content = content;
     }
+
+    public void markDeleted() {
+        this.status = CommentStatus.DELETED;
+        this.deletedAt = LocalDateTime.now();
+    }
 }
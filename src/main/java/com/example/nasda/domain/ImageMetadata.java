@@ -0,0 +1,19 @@
+package com.example.nasda.domain;
+
+/**
+ * ✅ 업로드 때 읽어 둔 이미지 정보 (화면에 보이는 방향 기준)
+ * - width/height: 카드 자리를 미리 잡는 비율 (레이아웃 밀림 방지)
+ * - dominantColor: "#rrggbb", 이미지가 오기 전 배경색
+ * - placeholder: BlurHash 문자열 (흐린 미리보기)
+ * - perceptualHash: 64비트 dHash (다시 저장/압축한 같은 사진 찾기 — SimilarImageService), 단색이면 0
+ * 읽지 못한 값은 null
+ */
+public record ImageMetadata(
+        Integer width,
+        Integer height,
+        String dominantColor,
+        String placeholder,
+        Long perceptualHash
+) {
+    public static final ImageMetadata EMPTY = new ImageMetadata(null, null, null, null, null);
+}
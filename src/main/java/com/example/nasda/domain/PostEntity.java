@@ -3,11 +3,18 @@ package com.example.nasda.domain;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts",
+        indexes = {
+                // 삭제 대기(tombstone) 게시글을 TombstonePurger가 찾을 때
+                @Index(name = "idx_posts_status_deleted", columnList = "status, deleted_at")
+        })
+// ✅ 삭제 표시된 게시글은 모든 JPQL/파생 쿼리에서 제외 (실제 행은 TombstonePurger가 나중에 지움)
+@SQLRestriction("status = 'ACTIVE'")
 @Getter
 @Builder
 @AllArgsConstructor
@@ -47,6 +54,19 @@ public class PostEntity {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    @Builder.Default
+    private PostStatus status = PostStatus.ACTIVE;
+
+    private LocalDateTime deletedAt;
+
+    // 삭제는 상태만 바꾸고 끝 (이미지/댓글/스티커/신고는 TombstonePurger가 나눠서 정리)
+    public void markDeleted() {
+        this.status = PostStatus.DELETED;
+        this.deletedAt = LocalDateTime.now();
+    }
+
     public void update(CategoryEntity category, String title, String description) {
         this.category = category;
         this.title = title;
@@ -1,10 +1,16 @@
 package com.example.nasda.domain;
 
 import jakarta.persistence.*;
-        import lombok.*;
+import lombok.*;
 
 @Entity
-@Table(name = "post_images")
+@Table(name = "post_images",
+        indexes = {
+                // 같은 파일(내용 해시 URL)을 공유하는 행 찾기 — 파일 삭제 전 참조 확인
+                @Index(name = "idx_post_images_image_url", columnList = "image_url"),
+                // 지각 해시 보충 대상 찾기 (perceptual_hash IS NULL)
+                @Index(name = "idx_post_images_perceptual_hash", columnList = "perceptual_hash")
+        })
 @Getter
 @Builder
 @AllArgsConstructor
@@ -26,4 +32,70 @@ public class PostImageEntity {
 
     @Builder.Default
     private Boolean isRepresentative = false;
+
+    // ✅ 리사이즈 변형 (업로드 후 ImageVariantService가 채움, 파일은 원본 옆에 {이름}_w{너비}.jpg / .webp)
+    // null: 아직 처리 전, "": 변형 없음(원본이 충분히 작거나 처리 불가), "320,640": 만들어진 너비(오름차순)
+    @Column(name = "variant_widths", length = 40)
+    private String variantWidths;
+
+    @Column(name = "variant_webp")
+    private Boolean variantWebp;
+
+    // ✅ 업로드 때 읽은 크기/대표색/BlurHash (ImageMetadata) — 기능 추가 전 이미지는 null
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Column(name = "dominant_color", length = 7)
+    private String dominantColor;
+
+    @Column(name = "placeholder", length = 64)
+    private String placeholder;
+
+    // ✅ 64비트 dHash (비슷한 이미지 찾기) — null: 아직 계산 전(보충 작업 대상), 0: 단색/읽지 못함(색인 안 함)
+    @Column(name = "perceptual_hash")
+    private Long perceptualHash;
+
+    /**
+     * ✅ 화면 너비(px)를 채우는 가장 작은 JPEG 변형 — 그런 변형이 없으면 원본
+     */
+    public String getVariantUrl(int minWidth) {
+        int w = pickWidth(minWidth);
+        return w > 0 ? variantUrl(imageUrl, w, "jpg") : imageUrl;
+    }
+
+    /**
+     * ✅ 같은 너비의 WebP 변형 — 없으면 null (JPEG/원본만 사용)
+     */
+    public String getWebpVariantUrl(int minWidth) {
+        if (!Boolean.TRUE.equals(variantWebp)) return null;
+        int w = pickWidth(minWidth);
+        return w > 0 ? variantUrl(imageUrl, w, "webp") : null;
+    }
+
+    // 변형은 원본보다 좁은 너비만 만들어지므로, minWidth 이상인 변형이 없으면 원본이 가장 알맞음
+    private int pickWidth(int minWidth) {
+        if (variantWidths == null || variantWidths.isEmpty()) return 0;
+        for (String token : variantWidths.split(",")) {
+            try {
+                int w = Integer.parseInt(token.trim());
+                if (w >= minWidth) return w;
+            } catch (NumberFormatException ignored) {
+                // 깨진 값은 건너뜀
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 변형 파일 URL 규칙: /uploads/abc.png → /uploads/abc_w640.jpg
+     */
+    public static String variantUrl(String imageUrl, int width, String ext) {
+        int slash = imageUrl.lastIndexOf('/');
+        int dot = imageUrl.lastIndexOf('.');
+        String base = dot > slash ? imageUrl.substring(0, dot) : imageUrl;
+        return base + "_w" + width + "." + ext;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.nasda.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 게시글별 반응 카운터 (COUNT(*) 대신 한 행만 읽기 위한 비정규화 테이블)
+ * - posts 테이블과 분리해서, 댓글/스티커가 몰려도 posts 행 락과 경합하지 않게 합니다.
+ * - 값은 CommentService / PostDecorationServiceImpl 트랜잭션 안에서 증감되고,
+ *   EngagementCounterReconciler가 주기적으로 실제 COUNT와 맞춥니다.
+ */
+@Entity
+@Table(name = "post_stats")
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostStatsEntity {
+
+    @Id
+    @Column(name = "post_id")
+    private Integer postId;
+
+    @Builder.Default
+    @Column(name = "comment_count", nullable = false)
+    private Long commentCount = 0L;
+
+    // 최상위 댓글(스레드) 수 — 댓글 페이지 번호 계산용 (comment_count는 답글 포함)
+    @Builder.Default
+    @Column(name = "thread_count", nullable = false)
+    private Long threadCount = 0L;
+
+    @Builder.Default
+    @Column(name = "decoration_count", nullable = false)
+    private Long decorationCount = 0L;
+}
@@ -0,0 +1,6 @@
+package com.example.nasda.domain;
+
+public enum PostStatus {
+    ACTIVE,
+    DELETED
+}
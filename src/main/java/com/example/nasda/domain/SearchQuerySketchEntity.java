@@ -0,0 +1,48 @@
+package com.example.nasda.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색어 집계 bucket 저장본 (SearchQueryAnalytics가 주기적으로 덮어씀)
+ * - 한 행 = 한 시간 구간(window_name + bucket_start)의 Count-Min Sketch 카운터 + 상위 후보 목록
+ * - 재시작 후 아직 구간 안에 있는 bucket만 다시 읽어 들이고, 지난 행은 flush 때 지웁니다.
+ */
+@Entity
+@Table(name = "search_query_sketches",
+        indexes = @Index(name = "idx_search_query_sketches_start", columnList = "bucket_start"))
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SearchQuerySketchEntity {
+
+    // "{window_name}:{bucket_start}"
+    @Id
+    @Column(name = "sketch_key", length = 40)
+    private String sketchKey;
+
+    @Column(name = "window_name", nullable = false, length = 10)
+    private String windowName;
+
+    // 구간 시작 (epoch millis)
+    @Column(name = "bucket_start", nullable = false)
+    private Long bucketStart;
+
+    @Column(name = "total_count", nullable = false)
+    private Long totalCount;
+
+    @Lob
+    @Column(name = "counts", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] counts;
+
+    // 줄마다 "횟수\t검색어"
+    @Lob
+    @Column(name = "top_queries", columnDefinition = "MEDIUMTEXT")
+    private String topQueries;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
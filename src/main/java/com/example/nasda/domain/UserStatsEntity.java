@@ -0,0 +1,33 @@
+package com.example.nasda.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 유저별 활동 카운터 (마이페이지 게시글/댓글/스티커 개수)
+ * - PostService / CommentService / PostDecorationServiceImpl 트랜잭션 안에서 증감됩니다.
+ */
+@Entity
+@Table(name = "user_stats")
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class UserStatsEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Builder.Default
+    @Column(name = "post_count", nullable = false)
+    private Long postCount = 0L;
+
+    @Builder.Default
+    @Column(name = "comment_count", nullable = false)
+    private Long commentCount = 0L;
+
+    @Builder.Default
+    @Column(name = "decoration_count", nullable = false)
+    private Long decorationCount = 0L;
+}
@@ -0,0 +1,16 @@
+package com.example.nasda.dto.comment;
+
+import java.util.List;
+
+public record CommentCursorResponse(
+        List<CommentPageResponse.CommentItem> comments,
+        CursorInfo cursor
+) {
+    public record CursorInfo(
+            int size,
+            Integer before,     // 다음(더 오래된) 페이지 요청용 커서 = 이 페이지 마지막 commentId
+            Integer after,      // 이전(더 최신) 페이지 요청용 커서 = 이 페이지 첫 commentId
+            boolean hasPrevious,
+            boolean hasNext
+    ) {}
+}
@@ -0,0 +1,8 @@
+package com.example.nasda.dto.comment;
+
+// 딥링크 위치: 댓글이 들어 있는 페이지 번호(표시용) + 그 페이지의 첫(가장 최신) 최상위 댓글 id (커서)
+public record CommentPageAnchor(
+        int page,
+        Integer firstId
+) {
+}
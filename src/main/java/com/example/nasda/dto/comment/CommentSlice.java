@@ -0,0 +1,18 @@
+package com.example.nasda.dto.comment;
+
+import java.util.List;
+
+// 커서 페이징 결과 (최신순으로 정렬된 한 페이지 + 양방향 존재 여부)
+public record CommentSlice(
+        List<CommentViewDto> content,
+        boolean hasPrevious,
+        boolean hasNext
+) {
+    public Integer firstId() {
+        return content.isEmpty() ? null : content.get(0).id();
+    }
+
+    public Integer lastId() {
+        return content.isEmpty() ? null : content.get(content.size() - 1).id();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.nasda.dto.comment;
+
+// SSE로 내려가는 댓글 변경 이벤트 (deleted는 comment = null)
+public record CommentStreamEvent(
+        String type,
+        Integer postId,
+        Integer commentId,
+        Integer parentId,
+        CommentPageResponse.CommentItem comment
+) {}
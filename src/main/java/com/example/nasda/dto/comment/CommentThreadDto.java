@@ -0,0 +1,12 @@
+package com.example.nasda.dto.comment;
+
+import java.util.List;
+
+// 최상위 댓글 + 앞쪽 답글 몇 개
+public record CommentThreadDto(
+        CommentViewDto comment,
+        int replyCount,
+        List<CommentViewDto> replies,
+        Integer replyCursor     // 답글 더보기 커서 (= 마지막으로 받은 답글 순번), 더 없으면 null
+) {
+}
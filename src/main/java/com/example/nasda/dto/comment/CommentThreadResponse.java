@@ -0,0 +1,22 @@
+package com.example.nasda.dto.comment;
+
+import java.util.List;
+
+public record CommentThreadResponse(
+        List<ThreadItem> threads,
+        Integer nextCursor,
+        boolean hasNext
+) {
+    public record ThreadItem(
+            CommentPageResponse.CommentItem comment,
+            int replyCount,
+            List<CommentPageResponse.CommentItem> replies,
+            Integer replyCursor
+    ) {}
+
+    public record ReplyPage(
+            List<CommentPageResponse.CommentItem> replies,
+            Integer nextCursor,
+            boolean hasNext
+    ) {}
+}
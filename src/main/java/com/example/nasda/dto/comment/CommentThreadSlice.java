@@ -0,0 +1,14 @@
+package com.example.nasda.dto.comment;
+
+import java.util.List;
+
+// 스레드 페이지 (최신 스레드부터)
+public record CommentThreadSlice(
+        List<CommentThreadDto> threads,
+        boolean hasNext
+) {
+    // 다음 페이지 요청용 커서 = 이 페이지 마지막 스레드의 최상위 commentId
+    public Integer nextCursor() {
+        return threads.isEmpty() ? null : threads.get(threads.size() - 1).comment().id();
+    }
+}
@@ -7,6 +7,10 @@ public record CommentViewDto(
         String content,
         String authorNickname,
         LocalDateTime createdAt,
-        boolean canEdit
+        boolean canEdit,
+        int replyCount
 ) {
-}
\ No newline at end of file
+    public CommentViewDto(Integer id, String content, String authorNickname, LocalDateTime createdAt, boolean canEdit) {
+        this(id, content, authorNickname, createdAt, canEdit, 0);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.nasda.dto.comment;
+
+import java.util.List;
+
+// 한 스레드의 답글 페이지 (작성순)
+public record ReplySlice(
+        List<CommentViewDto> replies,
+        Integer nextCursor,     // 다음 요청의 cursor (= 이 페이지 마지막 답글 순번)
+        boolean hasNext
+) {
+}
@@ -16,6 +16,8 @@ import java.time.LocalDateTime;
 public class CommentReportDTO {
     private Integer reportId;
     private String reason;
+    private Integer reporterId;
+    private String reporterName;
     private ReportStatus status;
     private String adminComment;
     private ProcessResult processResult;
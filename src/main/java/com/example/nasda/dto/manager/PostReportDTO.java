@@ -2,12 +2,14 @@ package com.example.nasda.dto.manager;
 
 import com.example.nasda.domain.ProcessResult;
 import com.example.nasda.domain.ReportStatus;
+import com.example.nasda.dto.post.SimilarImageDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -15,10 +17,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class PostReportDTO {
     private Integer reportId;
+    private Integer postId;
     private String reason;
+    private Integer reporterId;
+    private String reporterName;
     private ReportStatus status;
     private String adminComment;
     private ProcessResult processResult;
     private LocalDateTime processedAt;
     private LocalDateTime createdAt;
+    // ✅ 신고된 게시글 이미지와 비슷한 다른 게시글의 이미지 (같은 사진 반복 게시 확인용)
+    private List<SimilarImageDto> similarImages;
 }
\ No newline at end of file
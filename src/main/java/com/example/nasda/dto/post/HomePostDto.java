@@ -3,5 +3,24 @@ package com.example.nasda.dto.post;
 public record HomePostDto(
         Integer id,
         String title,
-        String imageUrl
-) { }
\ No newline at end of file
+        String imageUrl,
+        long commentCount,
+        long stickerCount,
+        String webpUrl,    // ✅ 같은 크기의 WebP 변형 (없으면 null → imageUrl만 사용)
+        Integer imageWidth,    // ✅ 원본 크기(비율) — 이미지가 오기 전에 카드 높이를 잡음
+        Integer imageHeight,
+        String dominantColor,  // ✅ "#rrggbb" 카드 배경색
+        String placeholder     // ✅ BlurHash (main.js가 흐린 미리보기로 그림)
+) {
+    public HomePostDto(Integer id, String title, String imageUrl, long commentCount, long stickerCount, String webpUrl) {
+        this(id, title, imageUrl, commentCount, stickerCount, webpUrl, null, null, null, null);
+    }
+
+    public HomePostDto(Integer id, String title, String imageUrl, long commentCount, long stickerCount) {
+        this(id, title, imageUrl, commentCount, stickerCount, null);
+    }
+
+    public HomePostDto(Integer id, String title, String imageUrl) {
+        this(id, title, imageUrl, 0, 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.example.nasda.dto.post;
+
+/**
+ * ✅ 게시글 수정 시 이미지 편집 한 단계 (폼 값 "keep:12" / "add:0" / "remove:5")
+ * - keep: 기존 이미지(imageId) 유지 — 파일/스티커 그대로, 목록 순서가 곧 새 순서
+ * - add: newImages 중 index번째 파일을 이 자리에 추가
+ * - remove: 기존 이미지 삭제 (스티커도 같이)
+ * keep/add를 나열한 순서가 최종 순서이고, 첫 번째가 대표 이미지입니다.
+ */
+public record ImageEditOp(Type type, int value) {
+
+    public enum Type { KEEP, ADD, REMOVE }
+
+    public static ImageEditOp keep(int imageId) {
+        return new ImageEditOp(Type.KEEP, imageId);
+    }
+
+    public static ImageEditOp add(int fileIndex) {
+        return new ImageEditOp(Type.ADD, fileIndex);
+    }
+
+    public static ImageEditOp remove(int imageId) {
+        return new ImageEditOp(Type.REMOVE, imageId);
+    }
+
+    public static ImageEditOp parse(String token) {
+        if (token == null) throw new IllegalArgumentException("이미지 편집 값이 비어 있습니다.");
+        int colon = token.indexOf(':');
+        if (colon < 0) throw new IllegalArgumentException("잘못된 이미지 편집 값: " + token);
+
+        int value;
+        try {
+            value = Integer.parseInt(token.substring(colon + 1).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 이미지 편집 값: " + token);
+        }
+        if (value < 0) throw new IllegalArgumentException("잘못된 이미지 편집 값: " + token);
+
+        return switch (token.substring(0, colon).trim()) {
+            case "keep" -> keep(value);
+            case "add" -> add(value);
+            case "remove" -> remove(value);
+            default -> throw new IllegalArgumentException("잘못된 이미지 편집 값: " + token);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.nasda.dto.post;
+
+import java.util.List;
+import java.util.Map;
+
+// 검색 결과 한 페이지 — nextCursor를 /api/search?cursor= 로 넘기면 다음 페이지
+// (최신순: 마지막 postId / 정확도순: 다음 순위 offset)
+// snippets: postId → 본문 스니펫 (정확도순에서만 채움)
+// correctedKeyword: 결과가 적어 오타 교정한 검색어로 다시 찾은 경우 그 검색어 (다음 페이지도 이 검색어로 요청)
+public record PostSearchSlice(
+        List<HomePostDto> posts,
+        Map<Integer, List<SnippetPart>> snippets,
+        Integer nextCursor,
+        boolean hasNext,
+        String correctedKeyword
+) {
+    public static final PostSearchSlice EMPTY = new PostSearchSlice(List.of(), Map.of(), null, false);
+
+    public PostSearchSlice(List<HomePostDto> posts, Map<Integer, List<SnippetPart>> snippets,
+                           Integer nextCursor, boolean hasNext) {
+        this(posts, snippets, nextCursor, hasNext, null);
+    }
+
+    public PostSearchSlice(List<HomePostDto> posts, Integer nextCursor, boolean hasNext) {
+        this(posts, Map.of(), nextCursor, hasNext);
+    }
+
+    public PostSearchSlice withCorrectedKeyword(String keyword) {
+        return new PostSearchSlice(posts, snippets, nextCursor, hasNext, keyword);
+    }
+}
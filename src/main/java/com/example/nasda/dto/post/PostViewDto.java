@@ -1,5 +1,6 @@
 package com.example.nasda.dto.post;
 
+import com.example.nasda.domain.PostImageEntity;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -40,5 +41,20 @@ public class PostViewDto {
         private Integer id;        // PostImageEntity.imageId
         private String url;        // PostImageEntity.imageUrl
         private Integer sortOrder; // PostImageEntity.sortOrder
+
+        // ✅ 업로드 때 읽은 정보 (없으면 null) — 자리 잡기/배경색/BlurHash
+        private Integer width;
+        private Integer height;
+        private String dominantColor;
+        private String placeholder;
+
+        public ImageDto(Integer id, String url, Integer sortOrder) {
+            this(id, url, sortOrder, null, null, null, null);
+        }
+
+        public static ImageDto from(PostImageEntity img) {
+            return new ImageDto(img.getImageId(), img.getImageUrl(), img.getSortOrder(),
+                    img.getWidth(), img.getHeight(), img.getDominantColor(), img.getPlaceholder());
+        }
     }
 }
@@ -0,0 +1,8 @@
+package com.example.nasda.dto.post;
+
+// 자동완성 항목 — type은 검색 type 파라미터 값 (title / author / category)
+public record SearchSuggestDto(
+        String text,
+        String type
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.nasda.dto.post;
+
+/**
+ * ✅ 비슷한 이미지 한 장 (관리자 신고 검토/업로드 중복 경고)
+ * distance: 지각 해시의 다른 비트 수 (0 = 사실상 같은 사진)
+ */
+public record SimilarImageDto(
+        Integer imageId,
+        Integer postId,
+        String imageUrl,
+        int distance
+) {
+}
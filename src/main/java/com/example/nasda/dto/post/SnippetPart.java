@@ -0,0 +1,8 @@
+package com.example.nasda.dto.post;
+
+// 검색 스니펫 조각 — hit=true인 조각을 강조 표시
+public record SnippetPart(
+        String text,
+        boolean hit
+) {
+}
@@ -30,13 +30,18 @@ public class PostDecorationResponseDTO {
 
     // Entity -> DTO 변환 메서드 (리턴 타입도 DTO로 변경)
     public static PostDecorationResponseDTO from(PostDecorationEntity entity) {
+        return from(entity, entity.getUser().getLoginId(), entity.getUser().getNickname());
+    }
+
+    // ✅ 작성자 정보는 미리 모아온 값 사용 (UserProfileCache, user 지연 로딩 방지)
+    public static PostDecorationResponseDTO from(PostDecorationEntity entity, String loginId, String nickname) {
         return PostDecorationResponseDTO.builder()
                 .decorationId(entity.getDecorationId())
                 .postImageId(entity.getPostImage().getImageId())
                 .stickerId(entity.getSticker().getStickerId())
                 .stickerImageUrl(entity.getSticker().getStickerImageUrl())
-                .loginId(entity.getUser().getLoginId())
-                .nickname(entity.getUser().getNickname())
+                .loginId(loginId)
+                .nickname(nickname)
                 .posX(entity.getPosX())
                 .posY(entity.getPosY())
                 .scale(entity.getScale())
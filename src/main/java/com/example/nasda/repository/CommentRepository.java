@@ -8,21 +8,184 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface CommentRepository extends JpaRepository<CommentEntity, Integer> {
+public interface CommentRepository extends JpaRepository<CommentEntity, Integer>, CommentRepositoryCustom {
 
-    // ✅ 기존 게시글별 조회 (팀원 코드 유지)
-    Page<CommentEntity> findByPost_PostIdOrderByCreatedAtDesc(Integer postId, Pageable pageable);
-    List<CommentEntity> findByPost_PostIdOrderByCreatedAtDesc(Integer postId);
+    // ✅ 기존 게시글별 조회 (팀원 코드 유지) — 답글 제외, 최상위 댓글만
+    // 페이지 번호 방식도 COUNT(*) 없이 목록만 조회 (총 개수는 post_stats 카운터에서)
+    List<CommentEntity> findByPost_PostIdAndParentIdIsNullOrderByCreatedAtDesc(Integer postId, Pageable pageable);
     long countByPost_PostId(Integer postId);
     void deleteByPost_PostId(Integer postId);
 
+    // =========================
+    // ✅ 커서(keyset) 페이징: idx_comments_post_root_created (post_id, parent_id, created_at) 범위 스캔
+    // 정렬 키는 (createdAt desc, commentId desc) — 같은 시각에 달린 댓글도 순서가 고정됩니다.
+    // =========================
+    List<CommentEntity> findByPost_PostIdAndParentIdIsNullOrderByCreatedAtDescCommentIdDesc(Integer postId, Pageable pageable);
+
+    // 커서보다 오래된 댓글 (다음 페이지)
+    @Query("""
+        select c from CommentEntity c
+        where c.post.postId = :postId
+          and c.parentId is null
+          and (c.createdAt < :createdAt
+               or (c.createdAt = :createdAt and c.commentId < :commentId))
+        order by c.createdAt desc, c.commentId desc
+    """)
+    List<CommentEntity> findOlderThan(@Param("postId") Integer postId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("commentId") Integer commentId,
+                                      Pageable pageable);
+
+    // 커서보다 최신 댓글 (이전 페이지) — 커서에 가까운 것부터 오름차순으로 가져옵니다.
+    @Query("""
+        select c from CommentEntity c
+        where c.post.postId = :postId
+          and c.parentId is null
+          and (c.createdAt > :createdAt
+               or (c.createdAt = :createdAt and c.commentId > :commentId))
+        order by c.createdAt asc, c.commentId asc
+    """)
+    List<CommentEntity> findNewerThan(@Param("postId") Integer postId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("commentId") Integer commentId,
+                                      Pageable pageable);
+
+    // ✅ 딥링크용 순위 쿼리: 해당 댓글보다 최신인 댓글 수 (= 최신순 index)
+    @Query("""
+        select count(c) from CommentEntity c
+        where c.post.postId = :postId
+          and c.parentId is null
+          and (c.createdAt > :createdAt
+               or (c.createdAt = :createdAt and c.commentId > :commentId))
+    """)
+    long countNewerThan(@Param("postId") Integer postId,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("commentId") Integer commentId);
+
+    // =========================
+    // ✅ 답글 스레드 (materialized path: thread_key)
+    // =========================
+
+    // 스레드 페이지: afterKey 다음 최상위 댓글(reply_seq=0)만 thread_key 순으로 (답글 수와 무관하게 LIMIT 행만 읽음)
+    @Query("""
+        select c from CommentEntity c
+        where c.post.postId = :postId
+          and c.replySeq = 0
+          and c.threadKey > :afterKey
+        order by c.threadKey asc
+    """)
+    List<CommentEntity> findThreadRoots(@Param("postId") Integer postId,
+                                        @Param("afterKey") String afterKey,
+                                        Pageable pageable);
+
+    // 답글 더보기: 한 스레드 안에서 (fromKey, toKey) 구간 (미리보기는 CommentRepositoryCustom.findReplyPreviews)
+    @Query("""
+        select c from CommentEntity c
+        where c.post.postId = :postId
+          and c.threadKey > :fromKey
+          and c.threadKey < :toKey
+        order by c.threadKey asc
+    """)
+    List<CommentEntity> findThreadRange(@Param("postId") Integer postId,
+                                        @Param("fromKey") String fromKey,
+                                        @Param("toKey") String toKey,
+                                        Pageable pageable);
+
+    // 답글 순번 발급 + 스레드 답글 수 증가 (최상위 댓글 행 락으로 직렬화)
+    // clearAutomatically: 1차 캐시에 남은 최상위 댓글의 옛 reply_count를 읽지 않도록
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        UPDATE comments
+        SET last_reply_seq = last_reply_seq + 1, reply_count = reply_count + 1
+        WHERE comment_id = :rootId AND parent_id IS NULL AND status = 'ACTIVE'
+    """, nativeQuery = true)
+    int allocateReplySeq(@Param("rootId") Integer rootId);
+
+    @Query(value = "SELECT last_reply_seq FROM comments WHERE comment_id = :rootId", nativeQuery = true)
+    int findLastReplySeq(@Param("rootId") Integer rootId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        UPDATE comments SET reply_count = GREATEST(reply_count + :delta, 0)
+        WHERE comment_id = :rootId
+    """, nativeQuery = true)
+    int addReplyCount(@Param("rootId") Integer rootId, @Param("delta") int delta);
+
+    // 최상위 댓글 삭제 시 딸린 답글 정리
+    @Query("""
+        select c.userId, count(c) from CommentEntity c
+        where c.post.postId = :postId and c.parentId = :rootId
+        group by c.userId
+    """)
+    List<Object[]> countGroupByUserForThread(@Param("postId") Integer postId, @Param("rootId") Integer rootId);
+
+    // 답글은 삭제 표시만 (실제 행은 TombstonePurger가 정리)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update CommentEntity c
+        set c.status = com.example.nasda.domain.CommentStatus.DELETED, c.deletedAt = :deletedAt
+        where c.post.postId = :postId and c.parentId = :rootId
+    """)
+    int markRepliesDeleted(@Param("postId") Integer postId,
+                           @Param("rootId") Integer rootId,
+                           @Param("deletedAt") LocalDateTime deletedAt);
+
+    // 정합성 복구(reconcile)용 — post_id 구간 단위로 스레드 답글 수 재계산
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE comments r
+        LEFT JOIN (SELECT parent_id, COUNT(*) AS n FROM comments
+                   WHERE post_id BETWEEN :fromId AND :toId AND parent_id IS NOT NULL AND status = 'ACTIVE'
+                   GROUP BY parent_id) x ON x.parent_id = r.comment_id
+        SET r.reply_count = COALESCE(x.n, 0)
+        WHERE r.post_id BETWEEN :fromId AND :toId AND r.parent_id IS NULL
+    """, nativeQuery = true)
+    int recountReplies(@Param("fromId") int fromId, @Param("toId") int toId);
+
     // ✅ 1. 유저별 댓글 개수 (중복 제거됨)
     long countByUserId(Integer userId);
 
-    // ✅ 2. 유저별 댓글 목록 조회
-    Page<CommentEntity> findByUserId(Integer userId, Pageable pageable);
+    // ✅ 카운터 보정용: 게시글의 댓글 수를 작성자별로 집계
+    @Query("select c.userId, count(c) from CommentEntity c where c.post.postId = :postId group by c.userId")
+    List<Object[]> countGroupByUserForPost(@Param("postId") Integer postId);
+
+    // ✅ 2. 유저별 댓글 목록 조회 (삭제 대기 중인 게시글의 댓글은 제외)
+    @Query(value = """
+        select c from CommentEntity c join c.post p
+        where c.userId = :userId and p.status = com.example.nasda.domain.PostStatus.ACTIVE
+    """, countQuery = """
+        select count(c) from CommentEntity c join c.post p
+        where c.userId = :userId and p.status = com.example.nasda.domain.PostStatus.ACTIVE
+    """)
+    Page<CommentEntity> findByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    // =========================
+    // ✅ 삭제 대기(tombstone) 정리용 — TombstonePurger 전용 (네이티브라 @SQLRestriction 영향 없음)
+    // =========================
+    @Query(value = """
+        SELECT comment_id FROM comments
+        WHERE status = 'DELETED' AND deleted_at < :cutoff
+        ORDER BY deleted_at
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Integer> findDeletedCommentIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM comments WHERE comment_id IN (:commentIds) AND status = 'DELETED'", nativeQuery = true)
+    int purgeByIds(@Param("commentIds") Collection<Integer> commentIds);
+
+    // 삭제된 게시글의 댓글 (게시글이 DELETED인 것을 호출 쪽에서 확인)
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM comments WHERE post_id = :postId LIMIT :limit", nativeQuery = true)
+    int purgeByPost(@Param("postId") Integer postId, @Param("limit") int limit);
 
     // ✅ 3. 회원 탈퇴용: 작성자를 NULL로 변경 (Native Query)
     @Modifying(clearAutomatically = true, flushAutomatically = true)
@@ -0,0 +1,14 @@
+package com.example.nasda.repository;
+
+import com.example.nasda.domain.CommentEntity;
+
+import java.util.List;
+
+public interface CommentRepositoryCustom {
+
+    /**
+     * ✅ 스레드 페이지의 답글 미리보기를 한 문장으로 — 최상위 댓글마다 앞쪽(작성순) 답글 perThread개
+     * 결과는 thread_key 오름차순 (스레드별로 묶여서 나옴), 삭제 표시된 답글은 빠지고 뒤쪽 답글이 채움
+     */
+    List<CommentEntity> findReplyPreviews(Integer postId, List<Integer> rootIds, int perThread);
+}
@@ -0,0 +1,46 @@
+package com.example.nasda.repository;
+
+import com.example.nasda.domain.CommentEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.List;
+
+/**
+ * CommentRepositoryCustom 구현 — 스레드마다 LIMIT 걸린 구간 조회를 UNION ALL로 묶은 네이티브 쿼리 한 문장
+ * 가지마다 (post_id, status, thread_key) 인덱스에서 그 스레드의 답글 구간만 perThread행 읽고 멈춤
+ * (네이티브 쿼리라 @SQLRestriction이 붙지 않으므로 status 조건을 직접 씀)
+ */
+public class CommentRepositoryImpl implements CommentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CommentEntity> findReplyPreviews(Integer postId, List<Integer> rootIds, int perThread) {
+        if (rootIds.isEmpty() || perThread <= 0) return List.of();
+
+        // 파라미터 배치: postId, [시작 key, 끝 key] * n (LIMIT은 정수라 그대로 씀)
+        StringBuilder sql = new StringBuilder();
+        int p = 2;
+        for (int i = 0; i < rootIds.size(); i++, p += 2) {
+            if (i > 0) sql.append(" UNION ALL ");
+            sql.append("(SELECT * FROM comments WHERE post_id = ?1 AND status = 'ACTIVE'")
+                    .append(" AND thread_key > ?").append(p)
+                    .append(" AND thread_key < ?").append(p + 1)
+                    .append(" ORDER BY thread_key LIMIT ").append(perThread).append(')');
+        }
+        sql.append(" ORDER BY thread_key");
+
+        Query query = em.createNativeQuery(sql.toString(), CommentEntity.class);
+        query.setParameter(1, postId);
+        p = 2;
+        for (Integer rootId : rootIds) {
+            query.setParameter(p++, CommentEntity.replyKey(rootId, 0));
+            query.setParameter(p++, CommentEntity.threadEndKey(rootId));
+        }
+        return query.getResultList();
+    }
+}
@@ -2,12 +2,16 @@ package com.example.nasda.repository;
 
 import com.example.nasda.domain.PostImageEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface PostImageRepository extends JpaRepository<PostImageEntity, Integer> {
+public interface PostImageRepository extends JpaRepository<PostImageEntity, Integer>, PostImageRepositoryCustom {
 
     // ✅ PostImageService가 쓰는 메서드 (복구)
     List<PostImageEntity> findByPost_PostIdOrderBySortOrderAsc(Integer postId);
@@ -17,6 +21,111 @@ public interface PostImageRepository extends JpaRepository<PostImageEntity, Inte
 
     Optional<PostImageEntity> findFirstByPost_PostIdOrderBySortOrderAsc(Integer postId);
 
+    // ✅ 같은 파일(내용 해시 URL)을 가리키는 행이 남아 있는지 — FileStorageService 참조 수 확인
+    boolean existsByImageUrl(String imageUrl);
+
+    // ✅ 확장자만 다른 원본까지 포함해 참조 확인 (UploadReconciler 격리 직전 재확인)
+    boolean existsByImageUrlStartingWith(String prefix);
+
+    // ✅ 같은 파일의 변형이 이미 만들어진 행 (다시 올린 사진은 변형도 공유)
+    Optional<PostImageEntity> findFirstByImageUrlAndVariantWidthsIsNotNull(String imageUrl);
+
+    // ✅ 피드 카드용: 여러 게시글의 대표(첫 번째) 이미지를 쿼리 한 번으로
+    @Query("""
+        select pi from PostImageEntity pi
+        where pi.post.postId in :postIds
+          and pi.sortOrder = (select min(p2.sortOrder) from PostImageEntity p2 where p2.post = pi.post)
+    """)
+    List<PostImageEntity> findFirstImagesByPostIds(@Param("postIds") Collection<Integer> postIds);
+
     @Transactional
     void deleteByPost_PostId(Integer postId);
+
+    // ✅ 삭제된 게시글 정리용 (TombstonePurger): {image_id, image_url} 한 덩어리씩
+    @Query(value = """
+        SELECT image_id, image_url FROM post_images
+        WHERE post_id = :postId
+        ORDER BY image_id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Object[]> findImagesForPurge(@Param("postId") Integer postId, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM post_images WHERE image_id IN (:imageIds)", nativeQuery = true)
+    int purgeByIds(@Param("imageIds") Collection<Integer> imageIds);
+
+    // ✅ 리사이즈 변형 결과 기록 (ImageVariantService, 업로드 트랜잭션과 별도) — 같은 파일을 가리키는 행 전부
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE post_images SET variant_widths = :widths, variant_webp = :webp WHERE image_url = :imageUrl",
+            nativeQuery = true)
+    int updateVariants(@Param("imageUrl") String imageUrl, @Param("widths") String widths, @Param("webp") boolean webp);
+
+    // ✅ 변형이 아직 없는 파일 (기존 업로드/놓친 작업 보충)
+    @Query(value = """
+        SELECT DISTINCT image_url FROM post_images
+        WHERE variant_widths IS NULL
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<String> findUrlsWithoutVariants(@Param("limit") int limit);
+
+    // ✅ 업로드 폴더 정리용 (UploadReconciler): image_id 순서로 {image_id, image_url} 한 덩어리씩
+    // URL 순서는 DB collation마다 달라서 쓰지 않고, 정렬은 자바 쪽에서 같은 기준으로 함
+    @Query(value = """
+        SELECT image_id, image_url FROM post_images
+        WHERE image_id > :afterId
+        ORDER BY image_id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Object[]> findImageUrlsAfter(@Param("afterId") int afterId, @Param("limit") int limit);
+
+    // ✅ 비슷한 이미지 색인 (SimilarImageService): image_id 순서로 {image_id, perceptual_hash} 한 덩어리씩 (0 = 색인 안 함)
+    @Query(value = """
+        SELECT image_id, perceptual_hash FROM post_images
+        WHERE image_id > :afterId AND perceptual_hash IS NOT NULL AND perceptual_hash <> 0
+        ORDER BY image_id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Object[]> findPerceptualHashesAfter(@Param("afterId") int afterId, @Param("limit") int limit);
+
+    // ✅ 업로드/보충 직후 색인에 넣을 행: {image_id, perceptual_hash}
+    @Query(value = """
+        SELECT image_id, perceptual_hash FROM post_images
+        WHERE post_id = :postId AND perceptual_hash IS NOT NULL AND perceptual_hash <> 0
+    """, nativeQuery = true)
+    List<Object[]> findPerceptualHashesByPostId(@Param("postId") Integer postId);
+
+    // ✅ 신고 목록 한 페이지의 게시글 이미지 해시: {post_id, perceptual_hash}
+    @Query(value = """
+        SELECT post_id, perceptual_hash FROM post_images
+        WHERE post_id IN (:postIds) AND perceptual_hash IS NOT NULL AND perceptual_hash <> 0
+    """, nativeQuery = true)
+    List<Object[]> findPerceptualHashesByPostIds(@Param("postIds") Collection<Integer> postIds);
+
+    @Query(value = """
+        SELECT image_id, perceptual_hash FROM post_images
+        WHERE image_url = :imageUrl AND perceptual_hash IS NOT NULL AND perceptual_hash <> 0
+    """, nativeQuery = true)
+    List<Object[]> findPerceptualHashesByImageUrl(@Param("imageUrl") String imageUrl);
+
+    // ✅ 지각 해시가 아직 없는 파일 (기능 추가 전 업로드)
+    @Query(value = """
+        SELECT DISTINCT image_url FROM post_images
+        WHERE perceptual_hash IS NULL
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<String> findUrlsWithoutPerceptualHash(@Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE post_images SET perceptual_hash = :hash WHERE image_url = :imageUrl", nativeQuery = true)
+    int updatePerceptualHash(@Param("imageUrl") String imageUrl, @Param("hash") long hash);
+
+    // ✅ 색인에서 찾은 image_id → {image_id, post_id, image_url} (삭제된 게시글/정리된 행은 빠짐)
+    @Query("""
+        select pi.imageId, p.postId, pi.imageUrl from PostImageEntity pi join pi.post p
+        where pi.imageId in :imageIds and p.status = com.example.nasda.domain.PostStatus.ACTIVE
+    """)
+    List<Object[]> findActiveImageRows(@Param("imageIds") Collection<Integer> imageIds);
 }
@@ -0,0 +1,39 @@
+package com.example.nasda.repository;
+
+import com.example.nasda.domain.ImageMetadata;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+public interface PostImageRepositoryCustom {
+
+    /**
+     * ✅ 게시글 이미지 행을 INSERT 한 번에 (IDENTITY라 JPA save는 행마다 왕복)
+     * imageUrls 순서대로 sort_order = startOrder, startOrder + 1, ... / 첫 행만 대표 이미지(representativeFirst일 때)
+     */
+    default int insertAll(Integer postId, List<String> imageUrls, int startOrder, boolean representativeFirst) {
+        return insertAll(postId, imageUrls, null, startOrder, representativeFirst);
+    }
+
+    /**
+     * ✅ 업로드 때 읽은 이미지 정보(크기/대표색/BlurHash)까지 같이 — metadata는 imageUrls와 같은 순서, null이면 비워 둠
+     */
+    default int insertAll(Integer postId, List<String> imageUrls, List<ImageMetadata> metadata,
+                          int startOrder, boolean representativeFirst) {
+        List<Integer> sortOrders = IntStream.range(0, imageUrls.size()).mapToObj(i -> startOrder + i).toList();
+        return insertAll(postId, imageUrls, metadata, sortOrders, representativeFirst ? 0 : -1);
+    }
+
+    /**
+     * ✅ 행마다 sort_order를 따로 (수정 화면에서 기존 이미지 사이에 끼워 넣을 때)
+     * representativeIndex: 대표 이미지로 표시할 행 (없으면 -1)
+     */
+    int insertAll(Integer postId, List<String> imageUrls, List<ImageMetadata> metadata,
+                  List<Integer> sortOrders, int representativeIndex);
+
+    /**
+     * ✅ 기존 행의 순서/대표 표시를 UPDATE 한 번에 (CASE image_id WHEN ... )
+     * 세 리스트는 같은 길이/순서, postId가 다른 행은 건드리지 않음
+     */
+    int updateOrder(Integer postId, List<Integer> imageIds, List<Integer> sortOrders, List<Boolean> representative);
+}
@@ -0,0 +1,108 @@
+package com.example.nasda.repository;
+
+import com.example.nasda.domain.ImageMetadata;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.TypedParameterValue;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+
+/**
+ * PostImageRepositoryCustom 구현 — 여러 행 VALUES를 가진 INSERT 한 문장, CASE로 여러 행을 고치는 UPDATE 한 문장
+ * (호출하는 쪽 트랜잭션에 참여, 영속성 컨텍스트에는 올라가지 않음)
+ */
+public class PostImageRepositoryImpl implements PostImageRepositoryCustom {
+
+    // 문장 하나의 최대 행 수 (바인딩 변수 수 제한/문장 길이 대비)
+    private static final int MAX_ROWS = 200;
+    private static final int COLUMNS = 9;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public int insertAll(Integer postId, List<String> imageUrls, List<ImageMetadata> metadata,
+                         List<Integer> sortOrders, int representativeIndex) {
+        int inserted = 0;
+        for (int from = 0; from < imageUrls.size(); from += MAX_ROWS) {
+            List<String> chunk = imageUrls.subList(from, Math.min(imageUrls.size(), from + MAX_ROWS));
+
+            StringBuilder sql = new StringBuilder("INSERT INTO post_images (post_id, image_url, sort_order, is_representative, "
+                    + "width, height, dominant_color, placeholder, perceptual_hash) VALUES ");
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) sql.append(", ");
+                int p = i * COLUMNS;
+                sql.append('(');
+                for (int c = 1; c <= COLUMNS; c++) {
+                    if (c > 1) sql.append(", ");
+                    sql.append('?').append(p + c);
+                }
+                sql.append(')');
+            }
+
+            Query query = em.createNativeQuery(sql.toString());
+            for (int i = 0; i < chunk.size(); i++) {
+                int order = from + i;
+                int p = i * COLUMNS;
+                ImageMetadata m = metadata != null && metadata.get(order) != null ? metadata.get(order) : ImageMetadata.EMPTY;
+                query.setParameter(p + 1, postId);
+                query.setParameter(p + 2, chunk.get(i));
+                query.setParameter(p + 3, sortOrders.get(order));
+                query.setParameter(p + 4, order == representativeIndex);
+                // 값이 null일 수 있어서 타입을 같이 넘김 (네이티브 쿼리는 null만으로 타입을 모름)
+                query.setParameter(p + 5, new TypedParameterValue<>(StandardBasicTypes.INTEGER, m.width()));
+                query.setParameter(p + 6, new TypedParameterValue<>(StandardBasicTypes.INTEGER, m.height()));
+                query.setParameter(p + 7, new TypedParameterValue<>(StandardBasicTypes.STRING, m.dominantColor()));
+                query.setParameter(p + 8, new TypedParameterValue<>(StandardBasicTypes.STRING, m.placeholder()));
+                query.setParameter(p + 9, new TypedParameterValue<>(StandardBasicTypes.LONG, m.perceptualHash()));
+            }
+            inserted += query.executeUpdate();
+        }
+        return inserted;
+    }
+
+    @Override
+    public int updateOrder(Integer postId, List<Integer> imageIds, List<Integer> sortOrders, List<Boolean> representative) {
+        int updated = 0;
+        for (int from = 0; from < imageIds.size(); from += MAX_ROWS) {
+            int to = Math.min(imageIds.size(), from + MAX_ROWS);
+            int n = to - from;
+
+            // 파라미터 배치: [id, 순서] * n, [id, 대표] * n, postId, id * n
+            StringBuilder sql = new StringBuilder("UPDATE post_images SET sort_order = CASE image_id");
+            int p = 1;
+            for (int i = 0; i < n; i++, p += 2) {
+                sql.append(" WHEN ?").append(p).append(" THEN ?").append(p + 1);
+            }
+            sql.append(" END, is_representative = CASE image_id");
+            for (int i = 0; i < n; i++, p += 2) {
+                sql.append(" WHEN ?").append(p).append(" THEN ?").append(p + 1);
+            }
+            sql.append(" END WHERE post_id = ?").append(p++).append(" AND image_id IN (");
+            for (int i = 0; i < n; i++) {
+                if (i > 0) sql.append(", ");
+                sql.append('?').append(p++);
+            }
+            sql.append(')');
+
+            Query query = em.createNativeQuery(sql.toString());
+            p = 1;
+            for (int i = from; i < to; i++) {
+                query.setParameter(p++, imageIds.get(i));
+                query.setParameter(p++, sortOrders.get(i));
+            }
+            for (int i = from; i < to; i++) {
+                query.setParameter(p++, imageIds.get(i));
+                query.setParameter(p++, representative.get(i));
+            }
+            query.setParameter(p++, postId);
+            for (int i = from; i < to; i++) {
+                query.setParameter(p++, imageIds.get(i));
+            }
+            updated += query.executeUpdate();
+        }
+        return updated;
+    }
+}
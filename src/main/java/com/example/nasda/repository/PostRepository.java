@@ -1,15 +1,22 @@
 package com.example.nasda.repository;
 
 import com.example.nasda.domain.PostEntity;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PostRepository extends JpaRepository<PostEntity, Integer> {
 
@@ -42,19 +49,89 @@ public interface PostRepository extends JpaRepository<PostEntity, Integer> {
     """)
     List<PostEntity> findAllWithUserAndCategoryOrderByCreatedAtDesc();
 
+    // ✅ 게시글 작성자 id (삭제 표시된 게시글은 @SQLRestriction으로 빠져서 empty — 지연 프록시를 초기화하지 않고 권한 확인)
+    @Query("select p.user.userId from PostEntity p where p.postId = :postId")
+    Optional<Integer> findActiveOwnerId(@Param("postId") Integer postId);
+
     // =========================
     // ✅ 검색 기능용
     // =========================
-    List<PostEntity> findByTitleContainingIgnoreCaseOrderByCreatedAtDesc(String keyword);
-
-    List<PostEntity> findByDescriptionContainingIgnoreCaseOrderByCreatedAtDesc(String keyword);
+    // ✅ 피드 카드용 최소 projection (검색 결과 postId 목록을 카드로 만들 때 — 본문 TEXT는 읽지 않음)
+    interface FeedRow {
+        Integer getPostId();
+        String getTitle();
+    }
 
-    List<PostEntity> findByUser_NicknameContainingIgnoreCaseOrderByCreatedAtDesc(String keyword);
+    @Query("select p.postId as postId, p.title as title from PostEntity p where p.postId in :postIds")
+    List<FeedRow> findFeedRowsByPostIdIn(@Param("postIds") Collection<Integer> postIds);
 
-    List<PostEntity> findByCategory_CategoryNameContainingIgnoreCaseOrderByCreatedAtDesc(String keyword);
+    // ✅ 검색 색인이 준비되기 전 DB 검색 (postId 커서 + 페이지 크기만큼만)
+    @Query("""
+        select p from PostEntity p
+        left join p.user u
+        left join p.category c
+        where (:cursor is null or p.postId < :cursor)
+          and (
+               (:type = 'title' and lower(p.title) like lower(concat('%', :keyword, '%')))
+            or (:type = 'author' and lower(u.nickname) like lower(concat('%', :keyword, '%')))
+            or (:type = 'category' and lower(c.categoryName) like lower(concat('%', :keyword, '%')))
+            or (:type not in ('title', 'author', 'category')
+                and lower(p.description) like lower(concat('%', :keyword, '%')))
+          )
+        order by p.postId desc
+    """)
+    List<PostEntity> searchPage(@Param("type") String type,
+                                @Param("keyword") String keyword,
+                                @Param("cursor") Integer cursor,
+                                Pageable pageable);
 
     Page<PostEntity> findByUser_UserId(Integer userId, Pageable pageable);
 
+    // =========================
+    // ✅ 검색 색인 생성용 — 엔티티 대신 필요한 컬럼만 스트리밍 (PostSearchIndex 전용)
+    // =========================
+    interface PostIndexRow {
+        Integer getPostId();
+        Integer getUserId();
+        Integer getCategoryId();
+        String getTitle();
+        String getDescription();
+        String getNickname();
+        String getCategoryName();
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+        select p.postId as postId, u.userId as userId, c.categoryId as categoryId,
+               p.title as title, p.description as description,
+               u.nickname as nickname, c.categoryName as categoryName
+        from PostEntity p
+        left join p.user u
+        left join p.category c
+        order by p.postId
+    """)
+    Stream<PostIndexRow> streamAllForSearchIndex();
+
+    // ✅ 자동완성 사전용 — 제목/닉네임/카테고리 + 인기도(조회수, 댓글 수)
+    interface PostSuggestRow {
+        String getTitle();
+        String getNickname();
+        String getCategoryName();
+        Integer getViewCount();
+        Long getCommentCount();
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+        select p.title as title, u.nickname as nickname, c.categoryName as categoryName,
+               p.viewCount as viewCount, s.commentCount as commentCount
+        from PostEntity p
+        left join p.user u
+        left join p.category c
+        left join PostStatsEntity s on s.postId = p.postId
+    """)
+    Stream<PostSuggestRow> streamAllForSuggest();
+
     // ✅ 61행 수정 완료: p.user.id가 아니라 p.user.userId여야 합니다.
     @Modifying
     @Transactional
@@ -69,6 +146,22 @@ public interface PostRepository extends JpaRepository<PostEntity, Integer> {
     @Query("delete from PostEntity p where p.category.categoryId = :categoryId")
     void deleteByCategoryId(@Param("categoryId") Integer categoryId);
 
+    // =========================
+    // ✅ 삭제 대기(tombstone) 정리용 — TombstonePurger 전용 (네이티브라 @SQLRestriction 영향 없음)
+    // =========================
+    @Query(value = """
+        SELECT post_id FROM posts
+        WHERE status = 'DELETED' AND deleted_at < :cutoff
+        ORDER BY deleted_at
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Integer> findDeletedPostIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM posts WHERE post_id = :postId AND status = 'DELETED'", nativeQuery = true)
+    int purgeDeleted(@Param("postId") Integer postId);
+
     @Query("""
     select p from PostEntity p
     where lower(p.title) like lower(concat('%', :keyword, '%'))
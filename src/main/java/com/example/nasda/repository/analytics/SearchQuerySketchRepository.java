@@ -0,0 +1,36 @@
+package com.example.nasda.repository.analytics;
+
+import com.example.nasda.domain.SearchQuerySketchEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface SearchQuerySketchRepository extends JpaRepository<SearchQuerySketchEntity, String> {
+
+    List<SearchQuerySketchEntity> findByBucketStartGreaterThan(Long bucketStart);
+
+    // bucket 하나를 통째로 덮어씀 (행이 없으면 생성)
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO search_query_sketches (sketch_key, window_name, bucket_start, total_count, counts, top_queries, updated_at)
+        VALUES (:sketchKey, :windowName, :bucketStart, :totalCount, :counts, :topQueries, NOW())
+        ON DUPLICATE KEY UPDATE total_count = VALUES(total_count), counts = VALUES(counts),
+                                top_queries = VALUES(top_queries), updated_at = NOW()
+    """, nativeQuery = true)
+    int upsert(@Param("sketchKey") String sketchKey,
+               @Param("windowName") String windowName,
+               @Param("bucketStart") long bucketStart,
+               @Param("totalCount") long totalCount,
+               @Param("counts") byte[] counts,
+               @Param("topQueries") String topQueries);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM search_query_sketches WHERE bucket_start <= :before", nativeQuery = true)
+    int deleteOlderThan(@Param("before") long before);
+}
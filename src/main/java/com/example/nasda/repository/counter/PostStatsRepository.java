@@ -0,0 +1,102 @@
+package com.example.nasda.repository.counter;
+
+import com.example.nasda.domain.PostStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PostStatsRepository extends JpaRepository<PostStatsEntity, Integer> {
+
+    // 읽기는 스칼라 projection으로 (같은 트랜잭션의 1차 캐시에 남은 옛 엔티티 값을 읽지 않도록)
+    interface CountsView {
+        Integer getPostId();
+        Long getCommentCount();
+        Long getThreadCount();
+        Long getDecorationCount();
+    }
+
+    @Query("""
+        select s.postId as postId, s.commentCount as commentCount, s.threadCount as threadCount,
+               s.decorationCount as decorationCount
+        from PostStatsEntity s where s.postId = :postId
+    """)
+    Optional<CountsView> findCountsByPostId(@Param("postId") Integer postId);
+
+    @Query("""
+        select s.postId as postId, s.commentCount as commentCount, s.threadCount as threadCount,
+               s.decorationCount as decorationCount
+        from PostStatsEntity s where s.postId in :postIds
+    """)
+    List<CountsView> findCountsByPostIdIn(@Param("postIds") Collection<Integer> postIds);
+
+    // =========================
+    // ✅ 원자적 증감 (행이 없으면 생성) — 호출한 서비스 트랜잭션에 참여
+    // =========================
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO post_stats (post_id, comment_count, thread_count, decoration_count)
+        VALUES (:postId, GREATEST(:delta, 0), GREATEST(:threadDelta, 0), 0)
+        ON DUPLICATE KEY UPDATE comment_count = GREATEST(comment_count + :delta, 0),
+                                thread_count = GREATEST(thread_count + :threadDelta, 0)
+    """, nativeQuery = true)
+    int addCommentCount(@Param("postId") Integer postId,
+                        @Param("delta") long delta,
+                        @Param("threadDelta") long threadDelta);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO post_stats (post_id, comment_count, thread_count, decoration_count)
+        VALUES (:postId, 0, 0, GREATEST(:delta, 0))
+        ON DUPLICATE KEY UPDATE decoration_count = GREATEST(decoration_count + :delta, 0)
+    """, nativeQuery = true)
+    int addDecorationCount(@Param("postId") Integer postId, @Param("delta") long delta);
+
+    // =========================
+    // ✅ 정합성 복구(reconcile)용 — post_id 구간 단위로 짧은 트랜잭션
+    // =========================
+    @Query(value = "SELECT COALESCE(MAX(post_id), 0) FROM posts", nativeQuery = true)
+    int findMaxPostId();
+
+    // 테이블이 비어 있는지만 확인 (전체 COUNT 대신 첫 행만)
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM post_stats LIMIT 1) t", nativeQuery = true)
+    int countFirstRow();
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT IGNORE INTO post_stats (post_id, comment_count, thread_count, decoration_count)
+        SELECT p.post_id, 0, 0, 0 FROM posts p
+        WHERE p.post_id BETWEEN :fromId AND :toId AND p.status = 'ACTIVE'
+    """, nativeQuery = true)
+    int insertMissing(@Param("fromId") int fromId, @Param("toId") int toId);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE post_stats s
+        SET s.comment_count = (SELECT COUNT(*) FROM comments c
+                               WHERE c.post_id = s.post_id AND c.status = 'ACTIVE'),
+            s.thread_count = (SELECT COUNT(*) FROM comments c
+                              WHERE c.post_id = s.post_id AND c.parent_id IS NULL AND c.status = 'ACTIVE'),
+            s.decoration_count = (SELECT COUNT(*) FROM post_decorations d
+                                  JOIN post_images i ON i.image_id = d.image_id
+                                  WHERE i.post_id = s.post_id)
+        WHERE s.post_id BETWEEN :fromId AND :toId
+    """, nativeQuery = true)
+    int recount(@Param("fromId") int fromId, @Param("toId") int toId);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+        DELETE s FROM post_stats s
+        LEFT JOIN posts p ON p.post_id = s.post_id
+        WHERE p.post_id IS NULL OR p.status = 'DELETED'
+    """, nativeQuery = true)
+    int deleteOrphans();
+}
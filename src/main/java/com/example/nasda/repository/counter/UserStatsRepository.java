@@ -0,0 +1,97 @@
+package com.example.nasda.repository.counter;
+
+import com.example.nasda.domain.UserStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface UserStatsRepository extends JpaRepository<UserStatsEntity, Integer> {
+
+    // 읽기는 스칼라 projection으로 (같은 트랜잭션의 1차 캐시에 남은 옛 엔티티 값을 읽지 않도록)
+    interface CountsView {
+        Long getPostCount();
+        Long getCommentCount();
+        Long getDecorationCount();
+    }
+
+    @Query("""
+        select s.postCount as postCount, s.commentCount as commentCount, s.decorationCount as decorationCount
+        from UserStatsEntity s where s.userId = :userId
+    """)
+    Optional<CountsView> findCountsByUserId(@Param("userId") Integer userId);
+
+    // =========================
+    // ✅ 원자적 증감 (행이 없으면 생성) — 호출한 서비스 트랜잭션에 참여
+    // =========================
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO user_stats (user_id, post_count, comment_count, decoration_count)
+        VALUES (:userId, GREATEST(:delta, 0), 0, 0)
+        ON DUPLICATE KEY UPDATE post_count = GREATEST(post_count + :delta, 0)
+    """, nativeQuery = true)
+    int addPostCount(@Param("userId") Integer userId, @Param("delta") long delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO user_stats (user_id, post_count, comment_count, decoration_count)
+        VALUES (:userId, 0, GREATEST(:delta, 0), 0)
+        ON DUPLICATE KEY UPDATE comment_count = GREATEST(comment_count + :delta, 0)
+    """, nativeQuery = true)
+    int addCommentCount(@Param("userId") Integer userId, @Param("delta") long delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO user_stats (user_id, post_count, comment_count, decoration_count)
+        VALUES (:userId, 0, 0, GREATEST(:delta, 0))
+        ON DUPLICATE KEY UPDATE decoration_count = GREATEST(decoration_count + :delta, 0)
+    """, nativeQuery = true)
+    int addDecorationCount(@Param("userId") Integer userId, @Param("delta") long delta);
+
+    // =========================
+    // ✅ 정합성 복구(reconcile)용 — user_id 구간 단위로 짧은 트랜잭션
+    // =========================
+    @Query(value = "SELECT COALESCE(MAX(user_id), 0) FROM users", nativeQuery = true)
+    int findMaxUserId();
+
+    // 테이블이 비어 있는지만 확인 (전체 COUNT 대신 첫 행만)
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM user_stats LIMIT 1) t", nativeQuery = true)
+    int countFirstRow();
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT IGNORE INTO user_stats (user_id, post_count, comment_count, decoration_count)
+        SELECT u.user_id, 0, 0, 0 FROM users u
+        WHERE u.user_id BETWEEN :fromId AND :toId
+    """, nativeQuery = true)
+    int insertMissing(@Param("fromId") int fromId, @Param("toId") int toId);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE user_stats s
+        SET s.post_count = (SELECT COUNT(*) FROM posts p WHERE p.user_id = s.user_id AND p.status = 'ACTIVE'),
+            s.comment_count = (SELECT COUNT(*) FROM comments c
+                               JOIN posts p ON p.post_id = c.post_id
+                               WHERE c.user_id = s.user_id AND c.status = 'ACTIVE' AND p.status = 'ACTIVE'),
+            s.decoration_count = (SELECT COUNT(*) FROM post_decorations d
+                                  JOIN post_images i ON i.image_id = d.image_id
+                                  JOIN posts p ON p.post_id = i.post_id
+                                  WHERE d.user_id = s.user_id AND p.status = 'ACTIVE')
+        WHERE s.user_id BETWEEN :fromId AND :toId
+    """, nativeQuery = true)
+    int recount(@Param("fromId") int fromId, @Param("toId") int toId);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+        DELETE s FROM user_stats s
+        LEFT JOIN users u ON u.user_id = s.user_id
+        WHERE u.user_id IS NULL
+    """, nativeQuery = true)
+    int deleteOrphans();
+}
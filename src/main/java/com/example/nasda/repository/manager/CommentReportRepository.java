@@ -3,10 +3,29 @@ package com.example.nasda.repository.manager;
 import com.example.nasda.domain.CommentReportEntity;
 import com.example.nasda.domain.ReportStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentReportRepository extends JpaRepository<CommentReportEntity, Integer> {
     List<CommentReportEntity> findByStatus(ReportStatus status);
 
-}
\ No newline at end of file
+    // ✅ 삭제된 게시글/댓글 정리용 (TombstonePurger)
+    @Modifying
+    @Transactional
+    @Query(value = """
+        DELETE FROM comment_reports
+        WHERE comment_id IN (SELECT comment_id FROM comments WHERE post_id = :postId)
+        LIMIT :limit
+    """, nativeQuery = true)
+    int purgeByPost(@Param("postId") Integer postId, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM comment_reports WHERE comment_id IN (:commentIds)", nativeQuery = true)
+    int purgeByCommentIds(@Param("commentIds") Collection<Integer> commentIds);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface PostReportRepository extends JpaRepository<PostReportEntity, Integer> {
@@ -13,4 +14,10 @@ public interface PostReportRepository extends JpaRepository<PostReportEntity, In
     @Modifying
     @Query("delete from PostReportEntity r where r.post.category.categoryId = :categoryId")
     void deleteByCategoryId(@Param("categoryId") Integer categoryId);
+
+    // ✅ 삭제된 게시글 정리용 (TombstonePurger)
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM post_reports WHERE post_id = :postId LIMIT :limit", nativeQuery = true)
+    int purgeByPost(@Param("postId") Integer postId, @Param("limit") int limit);
 }
\ No newline at end of file
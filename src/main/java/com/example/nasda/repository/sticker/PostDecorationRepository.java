@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface PostDecorationRepository extends JpaRepository<PostDecorationEntity, Integer> {
@@ -16,11 +17,25 @@ public interface PostDecorationRepository extends JpaRepository<PostDecorationEn
     // ✅ 도배 방지용 카운트: 유저가 특정 이미지에 붙인 스티커 개수
     long countByUser_UserIdAndPostImage_ImageId(Integer userId, Integer imageId);
 
+    // ✅ 카운터 보정용: 이미지/게시글의 스티커 수를 붙인 유저별로 집계
+    @Query("select d.user.userId, count(d) from PostDecorationEntity d where d.postImage.imageId = :imageId group by d.user.userId")
+    List<Object[]> countGroupByUserForImage(@Param("imageId") Integer imageId);
+
+    @Query("select d.user.userId, count(d) from PostDecorationEntity d where d.user.userId = :userId and d.postImage.imageId = :imageId group by d.user.userId")
+    List<Object[]> countGroupByUserForUserAndImage(@Param("userId") Integer userId, @Param("imageId") Integer imageId);
+
+    @Query("select d.user.userId, count(d) from PostDecorationEntity d where d.postImage.post.postId = :postId group by d.user.userId")
+    List<Object[]> countGroupByUserForPost(@Param("postId") Integer postId);
+
+    @Query("select d.user.userId, count(d) from PostDecorationEntity d where d.postImage.imageId in :imageIds group by d.user.userId")
+    List<Object[]> countGroupByUserForImages(@Param("imageIds") Collection<Integer> imageIds);
+
     // ✅ 목록 조회: 이미지별 스티커 리스트 (Sticker 정보 Fetch Join으로 성능 최적화)
     @EntityGraph(attributePaths = {"sticker"})
     List<PostDecorationEntity> findByPostImage_ImageId(Integer imageId);
 
-    // ✅ 게시글 전체 조회용: PostImage를 거쳐 PostId로 조회
+    // ✅ 게시글 전체 조회용: PostImage를 거쳐 PostId로 조회 (Sticker 정보 Fetch Join)
+    @EntityGraph(attributePaths = {"sticker"})
     List<PostDecorationEntity> findByPostImage_Post_PostId(Integer postId);
 
     // ✅ 특정 스티커 하나만 위치와 크기를 수정하는 기능
@@ -40,9 +55,25 @@ public interface PostDecorationRepository extends JpaRepository<PostDecorationEn
     @Query("DELETE FROM PostDecorationEntity d WHERE d.postImage.imageId = :imageId")
     void deleteByPostImageImageId(@Param("imageId") Integer imageId);
 
+    // ✅ 게시글 수정에서 뺀 이미지들의 스티커 (수정 트랜잭션 안에서 한 문장으로)
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM post_decorations WHERE image_id IN (:imageIds)", nativeQuery = true)
+    int deleteByImageIds(@Param("imageIds") Collection<Integer> imageIds);
+
     // ✅ 게시글 삭제 시 연쇄 삭제용: PostImage를 거쳐 PostId 기준으로 삭제
     @Modifying
     @Transactional
     void deleteByPostImage_Post_PostId(Integer postId);
 
+    // ✅ 삭제된 게시글 정리용 (TombstonePurger): LIMIT 단위로 짧게 끊어서 삭제
+    @Modifying
+    @Transactional
+    @Query(value = """
+        DELETE FROM post_decorations
+        WHERE image_id IN (SELECT image_id FROM post_images WHERE post_id = :postId)
+        LIMIT :limit
+    """, nativeQuery = true)
+    int purgeByPost(@Param("postId") Integer postId, @Param("limit") int limit);
+
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.nasda.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 댓글 작성/수정/삭제 이벤트 (CommentService → 커밋 후 CommentStreamService)
+ * 실시간 전송에 필요한 값을 모두 담아서, 전송 단계에서 DB를 다시 조회하지 않게 합니다.
+ */
+public record CommentChangedEvent(
+        Type type,
+        Integer postId,
+        Integer commentId,
+        Integer parentId,       // 답글이면 최상위 댓글 id
+        Integer authorId,
+        String authorNickname,
+        String content,
+        LocalDateTime createdAt
+) {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -2,17 +2,34 @@ package com.example.nasda.service;
 
 import com.example.nasda.domain.CommentEntity;
 import com.example.nasda.domain.PostEntity;
+import com.example.nasda.dto.comment.CommentPageAnchor;
+import com.example.nasda.dto.comment.CommentSlice;
+import com.example.nasda.dto.comment.CommentThreadDto;
+import com.example.nasda.dto.comment.CommentThreadSlice;
 import com.example.nasda.dto.comment.CommentViewDto;
+import com.example.nasda.dto.comment.ReplySlice;
 import com.example.nasda.repository.CommentRepository;
 import com.example.nasda.repository.PostRepository;
+import com.example.nasda.service.counter.EngagementCounterService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -21,20 +38,188 @@ public class CommentService {
 
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
+    private final UserProfileCache userProfileCache;
+    private final EngagementCounterService engagementCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 커서 페이징 한 번에 가져올 수 있는 최대 개수
+    private static final int MAX_CURSOR_SIZE = 50;
+    // 스레드 페이지에서 스레드마다 미리 보여줄 답글 최대 개수
+    private static final int MAX_REPLY_PREVIEW = 10;
 
     public Page<CommentViewDto> getCommentsPage(Integer postId, int page, int size, Integer currentUserId) {
         int safePage = Math.max(0, page);
         int safeSize = Math.max(1, size);
 
-        return commentRepository
-                .findByPost_PostIdOrderByCreatedAtDesc(postId, PageRequest.of(safePage, safeSize))
-                .map(e -> new CommentViewDto(
-                        e.getCommentId(),
-                        e.getContent(),
-                        "사용자" + e.getUserId(),
-                        e.getCreatedAt(),
-                        currentUserId != null && e.getUserId().equals(currentUserId)
-                ));
+        // createdAt 동률일 때 commentId로 순서 고정 (커서/딥링크 순위와 같은 정렬)
+        Pageable pageable = PageRequest.of(safePage, safeSize, Sort.by(Sort.Direction.DESC, "commentId"));
+
+        List<CommentEntity> rows = commentRepository.findByPost_PostIdAndParentIdIsNullOrderByCreatedAtDesc(postId, pageable);
+        Map<Integer, UserProfileCache.Profile> authors = loadAuthors(rows);
+
+        // 총 개수는 COUNT(*) 대신 post_stats 카운터 한 행에서 (페이지는 최상위 댓글 기준)
+        long total = engagementCounterService.getPostCounts(postId).threadCount();
+        List<CommentViewDto> content = rows.stream()
+                .map(e -> toViewDto(e, authors, currentUserId))
+                .toList();
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * ✅ 커서 기반 댓글 페이지 (최신순)
+     * - before: 이 commentId보다 오래된 댓글 (다음 페이지)
+     * - after : 이 commentId보다 최신 댓글 (이전 페이지)
+     * - 둘 다 없으면 첫 페이지
+     * OFFSET/COUNT 없이 (post_id, created_at) 인덱스 범위만 읽으므로 페이지 깊이와 무관하게 일정한 비용입니다.
+     */
+    @Transactional(readOnly = true)
+    public CommentSlice getCommentsSlice(Integer postId, Integer before, Integer after, int size, Integer currentUserId) {
+        int safeSize = Math.min(MAX_CURSOR_SIZE, Math.max(1, size));
+        // 한 개 더 읽어서 다음 페이지 존재 여부 판단
+        Pageable probe = PageRequest.of(0, safeSize + 1);
+
+        if (after != null) {
+            CommentEntity cursor = getCursorOrThrow(postId, after);
+            List<CommentEntity> rows = new ArrayList<>(commentRepository.findNewerThan(
+                    postId, cursor.getCreatedAt(), cursor.getCommentId(), probe));
+
+            boolean hasPrevious = rows.size() > safeSize;
+            if (hasPrevious) rows = rows.subList(0, safeSize);
+            Collections.reverse(rows); // 오름차순으로 읽었으므로 최신순으로 되돌림
+
+            return new CommentSlice(toViewDtos(rows, currentUserId), hasPrevious, true);
+        }
+
+        List<CommentEntity> rows;
+        boolean hasPrevious;
+        if (before != null) {
+            CommentEntity cursor = getCursorOrThrow(postId, before);
+            rows = commentRepository.findOlderThan(postId, cursor.getCreatedAt(), cursor.getCommentId(), probe);
+            hasPrevious = true;
+        } else {
+            rows = commentRepository.findByPost_PostIdAndParentIdIsNullOrderByCreatedAtDescCommentIdDesc(postId, probe);
+            hasPrevious = false;
+        }
+
+        boolean hasNext = rows.size() > safeSize;
+        if (hasNext) rows = rows.subList(0, safeSize);
+
+        return new CommentSlice(toViewDtos(rows, currentUserId), hasPrevious, hasNext);
+    }
+
+    /**
+     * ✅ 스레드 페이지: 최상위 댓글 size개 + 각 스레드의 앞쪽 답글 replies개
+     * - cursor: 이전 페이지 마지막 스레드의 최상위 commentId (없으면 첫 페이지)
+     * 최상위 댓글은 (post_id, reply_seq, status, thread_key) 키셋으로, 답글 미리보기는 스레드별 LIMIT 구간을 UNION ALL로 묶은 한 문장
+     * → 페이지 크기와 무관하게 쿼리 2번 (+ 작성자 조회)
+     * (답글이 많은 스레드도 읽는 행은 미리보기 수만큼, 앞쪽 답글이 지워졌으면 뒤쪽 답글이 그 자리를 채움)
+     */
+    @Transactional(readOnly = true)
+    public CommentThreadSlice getThreadSlice(Integer postId, Integer cursor, int size, int replies, Integer currentUserId) {
+        int safeSize = Math.min(MAX_CURSOR_SIZE, Math.max(1, size));
+        int preview = Math.min(MAX_REPLY_PREVIEW, Math.max(0, replies));
+
+        String afterKey = (cursor == null) ? "" : CommentEntity.threadEndKey(cursor);
+
+        List<CommentEntity> roots = commentRepository.findThreadRoots(postId, afterKey, PageRequest.of(0, safeSize + 1));
+        boolean hasNext = roots.size() > safeSize;
+        if (hasNext) roots = roots.subList(0, safeSize);
+
+        // 답글이 있는 스레드의 미리보기를 한 문장으로 (스레드마다 따로 조회하지 않음)
+        List<Integer> withReplies = roots.stream()
+                .filter(r -> r.getReplyCount() > 0)
+                .map(CommentEntity::getCommentId)
+                .toList();
+        Map<Integer, List<CommentEntity>> repliesByRoot = new HashMap<>();
+        List<CommentEntity> rows = new ArrayList<>(roots);
+        for (CommentEntity reply : commentRepository.findReplyPreviews(postId, withReplies, preview)) {
+            repliesByRoot.computeIfAbsent(reply.getParentId(), k -> new ArrayList<>()).add(reply);
+            rows.add(reply);
+        }
+
+        Map<CommentEntity, List<CommentEntity>> threads = new LinkedHashMap<>();
+        for (CommentEntity root : roots) {
+            threads.put(root, repliesByRoot.getOrDefault(root.getCommentId(), List.of()));
+        }
+
+        Map<Integer, CommentViewDto> views = toViewDtos(rows, currentUserId).stream()
+                .collect(Collectors.toMap(CommentViewDto::id, v -> v));
+
+        List<CommentThreadDto> result = new ArrayList<>(threads.size());
+        threads.forEach((root, replyRows) -> {
+            // 남은 답글이 있으면 커서는 마지막으로 보여준 답글 순번 (미리보기 0개면 처음부터)
+            Integer replyCursor = root.getReplyCount() > replyRows.size()
+                    ? (replyRows.isEmpty() ? 0 : replyRows.get(replyRows.size() - 1).getReplySeq())
+                    : null;
+            result.add(new CommentThreadDto(
+                    views.get(root.getCommentId()),
+                    root.getReplyCount(),
+                    replyRows.stream().map(r -> views.get(r.getCommentId())).toList(),
+                    replyCursor
+            ));
+        });
+
+        return new CommentThreadSlice(result, hasNext);
+    }
+
+    /**
+     * ✅ 답글 더보기 (작성순)
+     * - cursor: 이전에 받은 마지막 답글 순번 (없으면 처음부터)
+     */
+    @Transactional(readOnly = true)
+    public ReplySlice getReplies(Integer postId, Integer rootId, Integer cursor, int size, Integer currentUserId) {
+        int safeSize = Math.min(MAX_CURSOR_SIZE, Math.max(1, size));
+        int after = (cursor == null) ? 0 : Math.max(0, cursor);
+
+        List<CommentEntity> rows = commentRepository.findThreadRange(
+                postId,
+                CommentEntity.replyKey(rootId, after),
+                CommentEntity.threadEndKey(rootId),
+                PageRequest.of(0, safeSize + 1));
+
+        boolean hasNext = rows.size() > safeSize;
+        if (hasNext) rows = rows.subList(0, safeSize);
+
+        Integer nextCursor = rows.isEmpty() ? null : rows.get(rows.size() - 1).getReplySeq();
+        return new ReplySlice(toViewDtos(rows, currentUserId), nextCursor, hasNext);
+    }
+
+    private CommentEntity getCursorOrThrow(Integer postId, Integer commentId) {
+        CommentEntity cursor = commentRepository.findById(commentId)
+                .orElseThrow(() -> new IllegalArgumentException("댓글이 존재하지 않습니다. id=" + commentId));
+        if (!cursor.getPost().getPostId().equals(postId)) {
+            throw new IllegalArgumentException("해당 게시글의 댓글이 아닙니다. id=" + commentId);
+        }
+        return cursor;
+    }
+
+    private List<CommentViewDto> toViewDtos(List<CommentEntity> rows, Integer currentUserId) {
+        Map<Integer, UserProfileCache.Profile> authors = loadAuthors(rows);
+        return rows.stream()
+                .map(e -> toViewDto(e, authors, currentUserId))
+                .toList();
+    }
+
+    // ✅ 한 페이지의 작성자 닉네임을 캐시 + IN 쿼리 1번으로 해결 (댓글마다 유저 조회 X)
+    private Map<Integer, UserProfileCache.Profile> loadAuthors(List<CommentEntity> rows) {
+        Set<Integer> userIds = rows.stream()
+                .map(CommentEntity::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return userProfileCache.getAll(userIds);
+    }
+
+    private CommentViewDto toViewDto(CommentEntity e, Map<Integer, UserProfileCache.Profile> authors, Integer currentUserId) {
+        UserProfileCache.Profile author = e.getUserId() == null ? null : authors.get(e.getUserId());
+        return new CommentViewDto(
+                e.getCommentId(),
+                e.getContent(),
+                author != null ? author.nickname() : UserProfileCache.UNKNOWN_NICKNAME,
+                e.getCreatedAt(),
+                currentUserId != null && currentUserId.equals(e.getUserId()),
+                e.getReplyCount()
+        );
     }
 
     @Transactional
@@ -59,12 +244,49 @@ public class CommentService {
 
         c = CommentEntity.create(post, userId, trimmed);
         CommentEntity saved = commentRepository.save(c);
+        saved.assignRootKey(); // IDENTITY라 INSERT 후에 id가 생김
+        engagementCounterService.onCommentAdded(postId, userId);
+        publishChange(CommentChangedEvent.Type.CREATED, saved);
         return saved.getCommentId();
     }
 
+    /**
+     * ✅ 답글 작성 — 답글의 답글도 같은 스레드(최상위 댓글) 끝에 붙습니다.
+     */
+    @Transactional
+    public Integer createReply(Integer postId, Integer parentCommentId, Integer userId, String content) {
+        CommentEntity parent = getCursorOrThrow(postId, parentCommentId);
+        Integer rootId = parent.getRootId();
+        String trimmed = validContent(content);
+
+        // 최상위 댓글 행 UPDATE로 순번 발급 (동시에 답글이 달려도 순번이 겹치지 않음)
+        if (commentRepository.allocateReplySeq(rootId) == 0) {
+            throw new IllegalArgumentException("댓글이 존재하지 않습니다. id=" + rootId);
+        }
+        int replySeq = commentRepository.findLastReplySeq(rootId);
+
+        CommentEntity saved = commentRepository.save(CommentEntity.createReply(
+                postRepository.getReferenceById(postId), rootId, replySeq, userId, trimmed));
+        engagementCounterService.onReplyAdded(postId, userId);
+        publishChange(CommentChangedEvent.Type.CREATED, saved);
+        return saved.getCommentId();
+    }
+
+    private String validContent(String content) {
+        String trimmed = content == null ? "" : content.trim();
+        if (trimmed.isEmpty()) throw new IllegalArgumentException("댓글 내용이 비어있습니다.");
+        if (trimmed.length() > 500) throw new IllegalArgumentException("댓글은 최대 500자까지 가능합니다.");
+        return trimmed;
+    }
+
+    // 답글 포함 전체 댓글 수 (카운터 한 행)
+    public long getCommentCount(Integer postId) {
+        return engagementCounterService.getPostCounts(postId).commentCount();
+    }
+
     public int getLastPageIndex(Integer postId, int size) {
         int safeSize = Math.max(1, size);
-        long total = commentRepository.countByPost_PostId(postId);
+        long total = engagementCounterService.getPostCounts(postId).threadCount();
 
         // total=0이면 lastPage=0
         if (total <= 0) return 0;
@@ -84,7 +306,26 @@ public class CommentService {
         }
 
         Integer postId = comment.getPost().getPostId();
-        commentRepository.delete(comment); // ✅ 물리 삭제
+        Integer userId = comment.getUserId();
+        Integer parentId = comment.getParentId();
+
+        // ✅ 삭제 표시(tombstone)만 — 조회에서 즉시 빠지고, 실제 행은 TombstonePurger가 정리
+        if (comment.isReply()) {
+            comment.markDeleted();
+            commentRepository.addReplyCount(parentId, -1);
+            engagementCounterService.onRepliesRemoved(postId, Map.of(userId, 1L));
+        } else {
+            // 최상위 댓글이면 딸린 답글도 함께 삭제 표시 (스레드 단위 일괄 UPDATE)
+            Map<Integer, Long> repliesByUser = EngagementCounterService.toCountMap(
+                    commentRepository.countGroupByUserForThread(postId, commentId));
+            comment.markDeleted();
+            commentRepository.markRepliesDeleted(postId, commentId, comment.getDeletedAt());
+            engagementCounterService.onRepliesRemoved(postId, repliesByUser);
+            engagementCounterService.onCommentRemoved(postId, userId);
+        }
+
+        eventPublisher.publishEvent(new CommentChangedEvent(
+                CommentChangedEvent.Type.DELETED, postId, commentId, parentId, userId, null, null, null));
         return postId;
     }
 
@@ -102,9 +343,24 @@ public class CommentService {
         if (trimmed.length() > 500) throw new IllegalArgumentException("댓글은 최대 500자까지 가능합니다.");
 
         comment.edit(trimmed); // 아래 2)에서 엔티티 메서드 추가
+        publishChange(CommentChangedEvent.Type.UPDATED, comment);
         return comment.getPost().getPostId();
     }
 
+    // ✅ 실시간 댓글 스트림용 이벤트 (커밋 후 CommentStreamService가 구독자에게 전송)
+    private void publishChange(CommentChangedEvent.Type type, CommentEntity c) {
+        eventPublisher.publishEvent(new CommentChangedEvent(
+                type,
+                c.getPost().getPostId(),
+                c.getCommentId(),
+                c.getParentId(),
+                c.getUserId(),
+                userProfileCache.nicknameOf(c.getUserId()),
+                c.getContent(),
+                c.getCreatedAt()
+        ));
+    }
+
     // CommentService.java 내부에 추가
     @Transactional(readOnly = true)
     public Page<CommentEntity> findByUserId(Integer userId, Pageable pageable) {
@@ -114,20 +370,56 @@ public class CommentService {
 
     @Transactional(readOnly = true)
     public int getPageNumberByCommentId(Integer postId, Integer commentId, int pageSize) {
-        // 1. DESC(최신순)로 정렬하여 리스트를 가져옵니다.
-        List<CommentEntity> allComments = commentRepository.findByPost_PostIdOrderByCreatedAtDesc(postId);
-
-        int index = 0;
-        for (int i = 0; i < allComments.size(); i++) {
-            if (allComments.get(i).getCommentId().equals(commentId)) {
-                index = i;
-                break;
-            }
-        }
+        CommentEntity target = getCursorOrThrow(postId, commentId);
+        // 답글이면 스레드(최상위 댓글)가 있는 페이지로
+        if (target.isReply()) target = getCursorOrThrow(postId, target.getParentId());
+
+        // 전체 댓글을 불러오지 않고, 인덱스 범위 count로 최신순 순위만 계산
+        long index = commentRepository.countNewerThan(postId, target.getCreatedAt(), target.getCommentId());
+
+        return (int) (index / Math.max(1, pageSize));
+    }
 
-        System.out.println("디버깅 - 전체 댓글 수: " + allComments.size());
-        System.out.println("디버깅 - 내 댓글의 순서(Index): " + index);
+    /**
+     * ✅ 딥링크: 댓글이 있는 페이지 번호 + 그 페이지 첫 댓글 (getCommentsPageFrom의 커서)
+     * 페이지 안 위치 k만큼만 최신 쪽으로 커서 조회 → 화면은 OFFSET 없이 그린다
+     */
+    @Transactional(readOnly = true)
+    public CommentPageAnchor locateComment(Integer postId, Integer commentId, int pageSize) {
+        int safeSize = Math.max(1, pageSize);
+        CommentEntity target = getCursorOrThrow(postId, commentId);
+        if (target.isReply()) target = getCursorOrThrow(postId, target.getParentId());
+
+        long index = commentRepository.countNewerThan(postId, target.getCreatedAt(), target.getCommentId());
+        int k = (int) (index % safeSize);
+        if (k == 0) return new CommentPageAnchor((int) (index / safeSize), target.getCommentId());
+
+        // 오름차순(가까운 것부터) k개 → 마지막이 페이지 맨 위
+        List<CommentEntity> newer = commentRepository.findNewerThan(
+                postId, target.getCreatedAt(), target.getCommentId(), PageRequest.of(0, k));
+        Integer firstId = newer.isEmpty() ? target.getCommentId() : newer.get(newer.size() - 1).getCommentId();
+        return new CommentPageAnchor((int) (index / safeSize), firstId);
+    }
+
+    /**
+     * ✅ 딥링크로 연 페이지: from 댓글(포함)부터 오래된 쪽으로 size개 — findOlderThan 커서 조회라 페이지 깊이와 무관
+     * page는 페이지 버튼 표시용 (조회에는 쓰지 않음)
+     */
+    @Transactional(readOnly = true)
+    public Page<CommentViewDto> getCommentsPageFrom(Integer postId, Integer from, int page, int size, Integer currentUserId) {
+        int safeSize = Math.max(1, size);
+        CommentEntity first = getCursorOrThrow(postId, from);
+        if (first.isReply()) throw new IllegalArgumentException("최상위 댓글이 아닙니다. id=" + from);
+
+        List<CommentEntity> rows = new ArrayList<>();
+        rows.add(first);
+        if (safeSize > 1) {
+            rows.addAll(commentRepository.findOlderThan(
+                    postId, first.getCreatedAt(), first.getCommentId(), PageRequest.of(0, safeSize - 1)));
+        }
 
-        return index / pageSize;
+        long total = engagementCounterService.getPostCounts(postId).threadCount();
+        Pageable pageable = PageRequest.of(Math.max(0, page), safeSize, Sort.by(Sort.Direction.DESC, "commentId"));
+        return new PageImpl<>(toViewDtos(rows, currentUserId), pageable, total);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,267 @@
+package com.example.nasda.service;
+
+import com.example.nasda.dto.comment.CommentPageResponse;
+import com.example.nasda.dto.comment.CommentStreamEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ 게시글별 실시간 댓글 스트림 (Server-Sent Events)
+ * - 게시글마다 구독자 목록 하나를 공유하고, 커밋된 댓글 변경을 구독자에게 그대로 밀어줍니다.
+ * - 이벤트 JSON은 이벤트당 한 번(작성자용/그 외 2가지)만 만들고, 전송은 구독자 수만큼만 (DB 조회 없음).
+ * - 구독자마다 버퍼 크기가 정해져 있어, 못 따라오는 클라이언트는 연결을 끊습니다(재접속은 브라우저 EventSource가 처리).
+ * - 주기적인 heartbeat로 프록시 타임아웃을 막고 끊어진 연결을 정리합니다.
+ */
+@Log4j2
+@Service
+public class CommentStreamService {
+
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy년 M월 d일");
+    private static final long RECONNECT_MS = 3000L;
+
+    private final ObjectMapper objectMapper;
+    private final int maxPerPost;
+    private final int maxTotal;
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    private final Map<Integer, Set<Subscriber>> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger totalSubscribers = new AtomicInteger();
+    private final AtomicLong eventSeq = new AtomicLong();
+    private final ExecutorService sender;
+
+    public CommentStreamService(ObjectMapper objectMapper,
+                                @Value("${app.comment-stream.max-per-post:200}") int maxPerPost,
+                                @Value("${app.comment-stream.max-total:2000}") int maxTotal,
+                                @Value("${app.comment-stream.buffer-size:32}") int bufferSize,
+                                @Value("${app.comment-stream.timeout-ms:1800000}") long timeoutMs,
+                                @Value("${app.comment-stream.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.maxPerPost = maxPerPost;
+        this.maxTotal = maxTotal;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(Math.max(1, senderThreads), r -> {
+            Thread t = new Thread(r, "comment-stream-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 구독 시작. 연결 수 제한을 넘으면 empty.
+     */
+    public Optional<SseEmitter> subscribe(Integer postId, Integer userId) {
+        if (totalSubscribers.incrementAndGet() > maxTotal) {
+            totalSubscribers.decrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber sub = new Subscriber(postId, userId, emitter);
+
+        AtomicBoolean added = new AtomicBoolean(false);
+        channels.compute(postId, (k, subs) -> {
+            Set<Subscriber> set = (subs != null) ? subs : ConcurrentHashMap.newKeySet();
+            if (set.size() < maxPerPost) {
+                set.add(sub);
+                added.set(true);
+            }
+            return set.isEmpty() ? null : set;
+        });
+
+        if (!added.get()) {
+            totalSubscribers.decrementAndGet();
+            return Optional.empty();
+        }
+
+        emitter.onCompletion(() -> sub.close(false));
+        emitter.onTimeout(() -> sub.close(true));
+        emitter.onError(e -> sub.close(false));
+
+        // 첫 메시지: 재접속 간격 안내
+        sub.offer(Message.HELLO);
+        return Optional.of(emitter);
+    }
+
+    /**
+     * 커밋된 댓글 변경만 전송 (롤백된 변경은 나가지 않음)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        Set<Subscriber> subs = channels.get(event.postId());
+        if (subs == null || subs.isEmpty()) return;
+
+        String name = event.type().name().toLowerCase();
+        String id = String.valueOf(eventSeq.incrementAndGet());
+        String forAuthor = toJson(event, true);
+        String forOthers = toJson(event, false);
+        if (forAuthor == null || forOthers == null) return;
+
+        Message authorMsg = new Message(id, name, forAuthor);
+        Message otherMsg = new Message(id, name, forOthers);
+
+        for (Subscriber sub : subs) {
+            boolean isAuthor = sub.userId != null && Objects.equals(sub.userId, event.authorId());
+            sub.offer(isAuthor ? authorMsg : otherMsg);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.comment-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> subs : channels.values()) {
+            for (Subscriber sub : subs) {
+                sub.offer(Message.HEARTBEAT);
+            }
+        }
+    }
+
+    public int getSubscriberCount(Integer postId) {
+        Set<Subscriber> subs = channels.get(postId);
+        return subs == null ? 0 : subs.size();
+    }
+
+    public int getTotalSubscriberCount() {
+        return totalSubscribers.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Subscriber> subs : channels.values()) {
+            for (Subscriber sub : subs) {
+                sub.close(true);
+            }
+        }
+        sender.shutdownNow();
+    }
+
+    private String toJson(CommentChangedEvent event, boolean forAuthor) {
+        CommentPageResponse.CommentItem item = null;
+        if (event.type() != CommentChangedEvent.Type.DELETED) {
+            item = new CommentPageResponse.CommentItem(
+                    event.commentId(),
+                    event.content(),
+                    event.authorNickname(),
+                    event.createdAt() == null ? "" : event.createdAt().format(DATE_FMT),
+                    forAuthor
+            );
+        }
+
+        try {
+            return objectMapper.writeValueAsString(new CommentStreamEvent(
+                    event.type().name().toLowerCase(), event.postId(), event.commentId(), event.parentId(), item));
+        } catch (JsonProcessingException e) {
+            log.error("댓글 스트림 이벤트 직렬화 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void unregister(Subscriber sub) {
+        channels.computeIfPresent(sub.postId, (k, subs) -> {
+            subs.remove(sub);
+            return subs.isEmpty() ? null : subs;
+        });
+        totalSubscribers.decrementAndGet();
+    }
+
+    // 버퍼에 쌓이는 전송 단위 (SseEventBuilder는 재사용이 안 되므로 전송 시점에 만듦)
+    private record Message(String id, String name, String data) {
+        static final Message HELLO = new Message(null, "hello", "{}");
+        static final Message HEARTBEAT = new Message(null, null, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) return SseEmitter.event().comment("heartbeat");
+
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+            if (id != null) builder.id(id);
+            if (this == HELLO) builder.reconnectTime(RECONNECT_MS);
+            return builder;
+        }
+    }
+
+    private final class Subscriber {
+        private final Integer postId;
+        private final Integer userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        Subscriber(Integer postId, Integer userId, SseEmitter emitter) {
+            this.postId = postId;
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(Message message) {
+            if (closed.get()) return;
+
+            if (!buffer.offer(message)) {
+                // 느린 구독자: 버퍼가 가득 차면 연결을 끊고 재접속하게 함
+                log.debug("댓글 스트림 느린 구독자 연결 종료 - postId: {}", postId);
+                close(true);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) return;
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close(true);
+            }
+        }
+
+        private void drain() {
+            try {
+                Message m;
+                while (!closed.get() && (m = buffer.poll()) != null) {
+                    emitter.send(m.toEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(false);
+            } finally {
+                draining.set(false);
+                if (!closed.get() && !buffer.isEmpty()) scheduleDrain();
+            }
+        }
+
+        void close(boolean complete) {
+            if (!closed.compareAndSet(false, true)) return;
+            unregister(this);
+            buffer.clear();
+            if (complete) {
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException ignored) {
+                    // 이미 종료된 응답
+                }
+            }
+        }
+    }
+}
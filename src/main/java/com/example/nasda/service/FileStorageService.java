@@ -1,64 +1,419 @@
 package com.example.nasda.service;
 
+import com.example.nasda.domain.ImageMetadata;
+import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.service.image.ImageProbe;
+import com.example.nasda.service.image.ImageVariantService;
+import com.example.nasda.service.storage.StorageBackend;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * ✅ 업로드 파일 저장 (내용 주소 방식)
+ * - 파일 이름 = 내용의 SHA-256 + 확장자 → 같은 사진을 다시 올려도(수정 시 흔함) 디스크에는 한 벌만
+ * - 해시는 임시 파일에 쓰면서 같이 계산 (바이트를 한 번만 읽음), 같은 파일이 이미 있으면 임시 파일만 지움
+ * - 참조 수 = 같은 image_url을 가진 post_images 행 수 → 마지막 행이 사라진 뒤(커밋 후)에만 실제 파일 삭제
+ * - 2단계 저장: 트랜잭션 전에 스테이징 영역에 쓰고(stage), 커밋 뒤 최종 자리로 옮김(promoteAfterCommit), 롤백이면 버림
+ *   → 트랜잭션 안에서는 행만 씀 (DB 연결을 잡고 있는 시간이 파일 크기와 상관없음)
+ * - 여러 장은 작은 고정 풀에서 병렬로 씀
+ * - 저장하면서 크기/대표색/BlurHash도 읽어 둠 (ImageProbe, 피드 카드 자리 잡기/미리보기용)
+ * - 실제 저장 위치는 StorageBackend (로컬 디스크 / S3 호환) — URL은 어느 쪽이든 "/uploads/{이름}"
+ */
+@Log4j2
 @Service
 public class FileStorageService {
 
-    @Value("${app.upload.dir}")
-    private String uploadDir;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int LOCK_STRIPES = 64;
+    // 커밋 전 업로드 (내부 영역 — 서빙/정리 대상 아님, 오래 남은 것은 UploadReconciler가 삭제)
+    public static final String STAGING_PREFIX = ".staging/";
+    // 리사이즈 변형 파일 이름: {원본 이름}_w{너비}.jpg/.webp
+    private static final Pattern VARIANT_NAME = Pattern.compile("(.+)_w\\d+\\.(jpg|webp)");
 
-    public String saveImage(MultipartFile file) {
+    private final ImageVariantService imageVariantService;
+    private final PostImageRepository postImageRepository;
+    private final StorageBackend storage;
+    // 이보다 큰 이미지는 크기만 읽음 (대표색/BlurHash용 디코딩 생략)
+    private final long probeMaxPixels;
+    // 여러 장 업로드 시 파일 쓰기용 (디스크 I/O 위주라 작게 고정)
+    private final ThreadPoolExecutor writers;
+
+    public FileStorageService(ImageVariantService imageVariantService,
+                              PostImageRepository postImageRepository,
+                              StorageBackend storage,
+                              @Value("${app.upload.write-threads:4}") int writeThreads,
+                              @Value("${app.upload.write-queue-size:64}") int writeQueueSize,
+                              @Value("${app.image.variants.max-pixels:40000000}") long probeMaxPixels) {
+        this.imageVariantService = imageVariantService;
+        this.postImageRepository = postImageRepository;
+        this.storage = storage;
+        this.probeMaxPixels = probeMaxPixels;
+
+        AtomicInteger threadNo = new AtomicInteger();
+        int n = Math.max(1, writeThreads);
+        this.writers = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, writeQueueSize)), r -> {
+            Thread t = new Thread(r, "upload-writer-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // 같은 파일의 "있는지 확인 후 배치"와 "참조 확인 후 삭제/격리"가 겹치지 않게 (원본과 변형은 같은 락)
+    private final Object[] locks = newLocks();
+
+    /**
+     * ✅ 트랜잭션 전에 저장소의 스테이징 영역(.staging/)에 올려 둔 업로드
+     * url은 최종 이름(내용 해시) 기준 — 커밋 뒤 promote로 그 자리에 놓임
+     */
+    public record StagedImage(String url, ImageMetadata metadata, String stagingName) {
+    }
+
+    /**
+     * ✅ 1단계 (트랜잭션 밖): 여러 장을 병렬로 스테이징 (결과는 files 순서 그대로)
+     * - 바이트를 쓰고 해시/이미지 정보를 읽는, 파일 크기에 비례하는 일은 전부 여기서 — DB 연결을 잡기 전에 호출
+     * - 전부 검사한 뒤에 쓰기 시작, 하나라도 실패하면 이번에 올린 스테이징 파일을 지우고 예외
+     * - 풀이 가득 차면 요청 스레드가 직접 씀 (대기열이 무한히 쌓이지 않게)
+     */
+    public List<StagedImage> stage(List<MultipartFile> files) {
+        files.forEach(FileStorageService::validate);
+        if (files.isEmpty()) return List.of();
+        if (files.size() == 1) return List.of(stageOne(files.get(0)));
+
+        List<Future<StagedImage>> futures = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            futures.add(writers.submit(() -> stageOne(file)));
+        }
+
+        List<StagedImage> staged = new ArrayList<>(files.size());
+        RuntimeException failure = null;
+        for (Future<StagedImage> f : futures) {
+            try {
+                staged.add(getUninterruptibly(f));
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException re ? re : new RuntimeException("파일 저장 실패", e.getCause());
+                }
+            }
+        }
+
+        if (failure != null) {
+            discard(staged);
+            throw failure;
+        }
+        return staged;
+    }
+
+    // 이미 시작한 쓰기는 끝까지 기다림 — 중간에 빠지면 그 스테이징 파일을 지울 수 없음
+    private static <T> T getUninterruptibly(Future<T> future) throws ExecutionException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void validate(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("빈 파일입니다.");
         }
         if (file.getContentType() == null || !file.getContentType().startsWith("image/")) {
             throw new IllegalArgumentException("이미지 파일만 업로드 가능합니다.");
         }
+    }
 
+    /**
+     * 임시 파일에 쓰면서 해시 → 이미지 정보 읽기 → 스테이징 영역으로 (로컬은 이름 바꾸기, S3는 여기서 업로드)
+     * 최종 자리는 건드리지 않으므로 락이 필요 없음
+     */
+    private StagedImage stageOne(MultipartFile file) {
+        Path tmp = null;
         try {
-            Path dir = Paths.get(uploadDir).toAbsolutePath().normalize();
-            Files.createDirectories(dir);
-
-            String original = file.getOriginalFilename() == null ? "image" : file.getOriginalFilename();
-            String ext = "";
+            tmp = storage.createTempFile(".upload");
 
-            int dot = original.lastIndexOf('.');
-            if (dot > -1) ext = original.substring(dot); // .jpg
+            String hash;
+            try (InputStream in = file.getInputStream()) {
+                hash = copyAndHash(in, tmp);
+            }
 
-            String savedName = UUID.randomUUID() + ext;
-            Path target = dir.resolve(savedName);
+            ImageMetadata metadata = ImageProbe.read(tmp, probeMaxPixels);
+            String savedName = hash + extension(file.getContentType(), file.getOriginalFilename());
+            String stagingName = STAGING_PREFIX + UUID.randomUUID() + "-" + savedName;
 
-            // 덮어쓰기 방지
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+            storage.put(stagingName, tmp);
+            tmp = null;
 
             // 브라우저 접근 URL
-            return "/uploads/" + savedName;
+            return new StagedImage(StorageBackend.URL_PREFIX + savedName, metadata, stagingName);
 
         } catch (IOException e) {
             throw new RuntimeException("파일 저장 실패", e);
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // 임시 파일은 다음 정리 때
+                }
+            }
+        }
+    }
+
+    /**
+     * ✅ 2단계: 커밋되면 스테이징 파일을 최종 자리로, 롤백되면 버림 — 트랜잭션 밖이면 바로 최종 자리로
+     * 트랜잭션 안에서는 행만 쓰고, 파일 배치는 크기와 상관없는 이동 한 번(로컬: 이름 바꾸기, S3: 서버 쪽 복사)
+     * 썸네일 변형(generateAfterCommit)보다 먼저 등록해야 변형이 원본을 찾음
+     */
+    public void promoteAfterCommit(List<StagedImage> staged) {
+        if (staged == null || staged.isEmpty()) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            promote(staged);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                promote(staged);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) discard(staged);
+            }
+        });
+    }
+
+    /**
+     * 같은 내용이 이미 있으면 스테이징 파일만 지우고 공유, 없으면 옮김
+     * 행이 이미 커밋된 뒤라 그 사이 정리(삭제/격리)가 끼어들어도 참조가 보여서, 이미 지워졌다면 여기서 다시 놓임
+     */
+    private void promote(List<StagedImage> staged) {
+        for (StagedImage image : staged) {
+            String name = StorageBackend.nameOf(image.url());
+            synchronized (lockFor(fileKey(name))) {
+                try {
+                    if (storage.exists(name)) {
+                        storage.delete(image.stagingName());
+                    } else {
+                        storage.move(image.stagingName(), name);
+                    }
+                } catch (IOException e) {
+                    // 행은 이미 커밋됨 — 스테이징 파일은 남겨 두면 UploadReconciler가 다시 옮김 (promoteIfReferenced)
+                    log.error("업로드 파일 배치 실패 - {} ← {} ({})", image.url(), image.stagingName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * ✅ 정리 배치(UploadReconciler)용: 커밋 뒤 배치(promote)가 실패해 남은 스테이징 파일을 최종 자리로
+     * 행이 참조하는데 최종 자리가 비어 있을 때만 옮김 — 아직 커밋 전인 업로드의 파일이어도 내용이 같아서 안전
+     * (그 업로드의 promote는 최종 자리가 있으니 자기 스테이징 파일만 지우려 함, 롤백이면 지울 게 없음)
+     */
+    public boolean promoteIfReferenced(String stagingName) throws IOException {
+        String name = stagedFinalName(stagingName);
+        if (name == null) return false;
+        synchronized (lockFor(fileKey(name))) {
+            if (!postImageRepository.existsByImageUrl(StorageBackend.URL_PREFIX + name) || storage.exists(name)) {
+                return false;
+            }
+            storage.move(stagingName, name);
+            return true;
+        }
+    }
+
+    /**
+     * 스테이징 이름 → 최종 자리 이름 (".staging/{UUID}-{이름}" → "{이름}", 형식이 다르면 null)
+     */
+    public static String stagedFinalName(String stagingName) {
+        if (stagingName == null || !stagingName.startsWith(STAGING_PREFIX)) return null;
+        String rest = stagingName.substring(STAGING_PREFIX.length());
+        int uuidLength = 36;
+        if (rest.length() <= uuidLength + 1 || rest.charAt(uuidLength) != '-') return null;
+        String name = rest.substring(uuidLength + 1);
+        return StorageBackend.nameOf(StorageBackend.URL_PREFIX + name) != null ? name : null;
+    }
+
+    /**
+     * ✅ 쓰이지 않게 된 스테이징 파일 삭제 (롤백, 트랜잭션 전 실패, 수정 폼에서 고르지 않은 파일) — 여러 번 불러도 됨
+     */
+    public void discard(List<StagedImage> staged) {
+        if (staged == null) return;
+        for (StagedImage image : staged) {
+            try {
+                storage.delete(image.stagingName());
+            } catch (IOException e) {
+                log.warn("스테이징 파일 삭제 실패 - {} ({})", image.stagingName(), e.getMessage());
+            }
         }
     }
 
+    /**
+     * 참조 하나가 사라짐 — 트랜잭션 안이면 커밋 뒤에, 남은 참조가 없을 때만 파일(+변형) 삭제
+     * (같은 트랜잭션에서 같은 사진을 다시 올린 경우 파일은 그대로 남음)
+     */
     public void deleteByUrl(String imageUrl) {
         // imageUrl: /uploads/xxx.jpg
-        if (imageUrl == null || !imageUrl.startsWith("/uploads/")) return;
+        if (StorageBackend.nameOf(imageUrl) == null) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteIfUnreferenced(imageUrl);
+                }
+            });
+        } else {
+            deleteIfUnreferenced(imageUrl);
+        }
+    }
+
+    private void deleteIfUnreferenced(String imageUrl) {
+        String filename = StorageBackend.nameOf(imageUrl);
+        synchronized (lockFor(fileKey(filename))) {
+            try {
+                if (postImageRepository.existsByImageUrl(imageUrl)) return;
+
+                storage.delete(filename);
+                imageVariantService.deleteVariants(imageUrl);
+            } catch (Exception e) {
+                // 파일 삭제 실패는 DB 삭제보다 덜 치명적 — 남은 파일은 나중에 정리
+                log.warn("파일 삭제 실패 - {} ({})", imageUrl, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * ✅ 정리 배치(UploadReconciler)용: 원본/변형 파일을 가리키는 행이 없으면 격리 영역(quarantineName)으로 옮김
+     * 목록을 만든 뒤에 같은 내용이 다시 올라와 공유됐을 수 있어서 락 안에서 한 번 더 확인
+     */
+    public boolean quarantineIfUnreferenced(String name, String quarantineName) throws IOException {
+        String key = fileKey(name);
+        synchronized (lockFor(key)) {
+            if (isReferenced(key) || !storage.exists(name)) return false;
+            storage.move(name, quarantineName);
+            return true;
+        }
+    }
+
+    /**
+     * ✅ 격리 기간이 끝난 파일을 지우기 전에: 그 사이 참조가 생겼고 원래 자리가 비어 있으면 되돌림
+     */
+    public boolean restoreIfReferenced(String quarantineName, String name) throws IOException {
+        String key = fileKey(name);
+        synchronized (lockFor(key)) {
+            if (!isReferenced(key) || storage.exists(name)) return false;
+            storage.move(quarantineName, name);
+            return true;
+        }
+    }
 
+    // 같은 key(확장자/변형 표시를 뗀 이름)의 원본을 가리키는 행이 있는지
+    // (커밋 전 업로드는 자기 스테이징 파일을 갖고 있어서 확인할 필요 없음)
+    private boolean isReferenced(String key) {
+        String url = StorageBackend.URL_PREFIX + key;
+        return postImageRepository.existsByImageUrl(url)
+                || postImageRepository.existsByImageUrlStartingWith(url + ".");
+    }
+
+    /**
+     * 파일 이름 → 참조 비교용 key (확장자를 떼고, 변형 파일은 원본 이름으로)
+     * "ab…cd.png" → "ab…cd", "ab…cd_w320.webp" → "ab…cd"
+     */
+    public static String fileKey(String filename) {
+        Matcher m = VARIANT_NAME.matcher(filename);
+        if (m.matches()) return m.group(1);
+        int dot = filename.lastIndexOf('.');
+        return dot > 0 ? filename.substring(0, dot) : filename;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdown();
+    }
+
+    /**
+     * 스트림을 파일 채널로 쓰면서 SHA-256 계산 (버퍼 하나로 읽기 → 해시 → 쓰기)
+     */
+    static String copyAndHash(InputStream in, Path target) throws IOException {
+        MessageDigest digest;
         try {
-            String filename = imageUrl.substring("/uploads/".length());
-            Path filePath = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(filename);
-            Files.deleteIfExists(filePath);
-        } catch (IOException ignored) {
-            // 파일 삭제 실패는 DB 삭제보다 덜 치명적이므로 일단 무시(로그는 추후)
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+        try (ReadableByteChannel src = Channels.newChannel(in);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (src.read(buf) >= 0) {
+                buf.flip();
+                digest.update(buf.array(), 0, buf.limit());
+                while (buf.hasRemaining()) {
+                    out.write(buf);
+                }
+                buf.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // 같은 내용은 확장자도 같아야 한 파일로 합쳐지므로 Content-Type 기준으로 정규화
+    static String extension(String contentType, String originalFilename) {
+        String known = switch (contentType.toLowerCase(Locale.ROOT)) {
+            case "image/jpeg", "image/jpg", "image/pjpeg" -> ".jpg";
+            case "image/png" -> ".png";
+            case "image/gif" -> ".gif";
+            case "image/webp" -> ".webp";
+            case "image/bmp" -> ".bmp";
+            default -> null;
+        };
+        if (known != null) return known;
+
+        String name = originalFilename == null ? "" : originalFilename;
+        int dot = name.lastIndexOf('.');
+        String ext = dot > -1 ? name.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+        return ext.matches("[a-z0-9]{1,5}") ? "." + ext : "";
+    }
+
+    private Object lockFor(String key) {
+        return locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static Object[] newLocks() {
+        Object[] result = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            result[i] = new Object();
         }
+        return result;
     }
 }
@@ -0,0 +1,74 @@
+package com.example.nasda.service;
+
+import com.example.nasda.dto.post.ImageEditOp;
+
+import java.util.*;
+
+/**
+ * ✅ 이미지 편집 단계 검사 + 최종 순서 계산 (DB/파일은 건드리지 않음)
+ * - order: 최종 순서의 keep/add (첫 번째가 대표 이미지)
+ * - removed: 지울 기존 imageId
+ * keep/remove 어느 쪽에도 없는 기존 이미지는 지우지 않고 맨 뒤에 남김
+ * (오래된 화면/스크립트가 값을 빠뜨려도 사진과 스티커가 사라지지 않게)
+ */
+final class ImageEditPlan {
+
+    final List<ImageEditOp> order;
+    final List<Integer> removed;
+
+    private ImageEditPlan(List<ImageEditOp> order, List<Integer> removed) {
+        this.order = order;
+        this.removed = removed;
+    }
+
+    /**
+     * @param currentIds   게시글의 기존 imageId (현재 순서)
+     * @param newFileCount 올라온 새 파일 수 (add index 범위)
+     */
+    static ImageEditPlan of(List<Integer> currentIds, List<ImageEditOp> ops, int newFileCount) {
+        Set<Integer> existing = new HashSet<>(currentIds);
+        Set<Integer> seen = new HashSet<>();
+        Set<Integer> added = new HashSet<>();
+        List<ImageEditOp> order = new ArrayList<>();
+        List<Integer> removed = new ArrayList<>();
+
+        for (ImageEditOp op : ops) {
+            switch (op.type()) {
+                case KEEP, REMOVE -> {
+                    if (!existing.contains(op.value())) {
+                        throw new IllegalArgumentException("이 게시글의 이미지가 아닙니다: " + op.value());
+                    }
+                    if (!seen.add(op.value())) {
+                        throw new IllegalArgumentException("같은 이미지가 두 번 지정되었습니다: " + op.value());
+                    }
+                    if (op.type() == ImageEditOp.Type.KEEP) order.add(op);
+                    else removed.add(op.value());
+                }
+                case ADD -> {
+                    if (op.value() >= newFileCount) {
+                        throw new IllegalArgumentException("없는 새 이미지입니다: " + op.value());
+                    }
+                    if (!added.add(op.value())) {
+                        throw new IllegalArgumentException("같은 새 이미지가 두 번 지정되었습니다: " + op.value());
+                    }
+                    order.add(op);
+                }
+            }
+        }
+
+        for (Integer id : currentIds) {
+            if (!seen.contains(id)) order.add(ImageEditOp.keep(id));
+        }
+        return new ImageEditPlan(List.copyOf(order), List.copyOf(removed));
+    }
+
+    /**
+     * 새 파일만 올리던 예전 폼: 기존 이미지를 모두 지우고 새 파일로 교체
+     */
+    static List<ImageEditOp> replaceAll(List<Integer> currentIds, int newFileCount) {
+        List<ImageEditOp> ops = new ArrayList<>();
+        currentIds.forEach(id -> ops.add(ImageEditOp.remove(id)));
+        for (int i = 0; i < newFileCount; i++) ops.add(ImageEditOp.add(i));
+        return ops;
+    }
+}
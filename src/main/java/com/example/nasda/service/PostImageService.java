@@ -1,14 +1,21 @@
 package com.example.nasda.service;
 
+import com.example.nasda.domain.ImageMetadata;
 import com.example.nasda.domain.PostEntity;
 import com.example.nasda.domain.PostImageEntity;
+import com.example.nasda.dto.post.ImageEditOp;
+import com.example.nasda.dto.post.PostViewDto;
 import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.counter.EngagementCounterService;
+import com.example.nasda.service.image.ImageVariantService;
+import com.example.nasda.service.image.SimilarImageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -16,51 +23,161 @@ public class PostImageService {
 
     private final PostImageRepository postImageRepository;
     private final FileStorageService fileStorageService;
+    private final ImageVariantService imageVariantService;
+    private final PostDecorationRepository postDecorationRepository;
+    private final EngagementCounterService engagementCounterService;
+    private final SimilarImageService similarImageService;
+
+    /**
+     * ✅ 1단계 (트랜잭션 밖에서 호출): 파일을 고르지 않은 빈 칸을 빼고 스테이징
+     * 돌려받은 목록은 addImages/editImages/replaceImages에 넘기고, 그 전에 실패하면 discard
+     */
+    public List<FileStorageService.StagedImage> stage(List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) return List.of();
+
+        List<MultipartFile> valid = files.stream()
+                .filter(file -> file != null && !file.isEmpty())
+                .toList();
+        return valid.isEmpty() ? List.of() : fileStorageService.stage(valid);
+    }
 
-    @Transactional
-    public void addImages(PostEntity post, List<MultipartFile> files) {
-        if (files == null || files.isEmpty()) return;
+    public void discard(List<FileStorageService.StagedImage> staged) {
+        fileStorageService.discard(staged);
+    }
 
-        int order = 0;
-        boolean first = true;
+    /**
+     * ✅ 행만 INSERT 한 번 (순서대로 sortOrder 0.., 첫 장이 대표 이미지, 크기/대표색/BlurHash 포함)
+     * 파일은 커밋 뒤 최종 자리로, 롤백이면 버림
+     */
+    @Transactional
+    public void addImages(PostEntity post, List<FileStorageService.StagedImage> staged) {
+        if (staged == null || staged.isEmpty()) return;
 
-        for (MultipartFile file : files) {
-            if (file == null || file.isEmpty()) continue;
+        List<String> urls = staged.stream().map(FileStorageService.StagedImage::url).toList();
+        List<ImageMetadata> metadata = staged.stream().map(FileStorageService.StagedImage::metadata).toList();
+        postImageRepository.insertAll(post.getPostId(), urls, metadata, 0, true);
+        fileStorageService.promoteAfterCommit(staged);
+        similarImageService.indexPostAfterCommit(post.getPostId());
 
-            String url = fileStorageService.saveImage(file);
+        // ✅ 썸네일 변형은 커밋 뒤 백그라운드에서 (요청은 원본 배치까지만 기다림)
+        urls.stream().distinct().forEach(imageVariantService::generateAfterCommit);
+    }
 
-            postImageRepository.save(
-                    PostImageEntity.builder()
-                            .post(post)
-                            .imageUrl(url)
-                            .sortOrder(order++)
-                            .isRepresentative(first)
-                            .build()
-            );
+    /**
+     * 예전 수정 폼(새 파일만 전송): 새 파일이 있으면 기존 이미지를 모두 빼고 교체
+     */
+    @Transactional
+    public void replaceImages(Integer postId, PostEntity post, List<FileStorageService.StagedImage> staged) {
+        if (staged == null || staged.isEmpty()) return;
 
-            first = false;
-        }
+        List<Integer> currentIds = postImageRepository.findByPost_PostIdOrderBySortOrderAsc(postId)
+                .stream()
+                .map(PostImageEntity::getImageId)
+                .toList();
+        editImages(post, ImageEditPlan.replaceAll(currentIds, staged.size()), staged);
     }
 
+    /**
+     * ✅ 게시글 수정: 바뀐 것만 반영 (한 트랜잭션, 종류별로 문장 하나씩)
+     * - add: 스테이징해 둔 파일의 행만 INSERT 한 번 (파일은 커밋 뒤 배치)
+     * - keep: 파일/행/스티커 그대로 — 순서나 대표 표시가 바뀐 행만 UPDATE 한 번
+     * - remove: 스티커 DELETE 한 번 + 행 DELETE 한 번, 파일은 커밋 뒤 다른 참조가 없을 때만 삭제
+     * add 번호 = staged 번호 (stage가 빈 칸을 뺀 순서)
+     */
     @Transactional
-    public void replaceImages(Integer postId, PostEntity post, List<MultipartFile> newFiles) {
-
-        boolean hasNew = newFiles != null && newFiles.stream().anyMatch(f -> f != null && !f.isEmpty());
-        if (!hasNew) return;
+    public void editImages(PostEntity post, List<ImageEditOp> ops, List<FileStorageService.StagedImage> staged) {
+        Integer postId = post.getPostId();
+        List<FileStorageService.StagedImage> files = staged == null ? List.of() : staged;
+
+        List<PostImageEntity> current = postImageRepository.findByPost_PostIdOrderBySortOrderAsc(postId);
+        ImageEditPlan plan = ImageEditPlan.of(
+                current.stream().map(PostImageEntity::getImageId).toList(), ops, files.size());
+
+        // 어떤 add에도 쓰이지 않은 스테이징 파일은 바로 버림
+        Set<Integer> used = new HashSet<>();
+        plan.order.stream()
+                .filter(op -> op.type() == ImageEditOp.Type.ADD)
+                .forEach(op -> used.add(op.value()));
+        List<FileStorageService.StagedImage> unused = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            if (!used.contains(i)) unused.add(files.get(i));
+        }
+        fileStorageService.discard(unused);
+
+        if (!plan.removed.isEmpty()) {
+            Map<Integer, Long> removedByUser = EngagementCounterService.toCountMap(
+                    postDecorationRepository.countGroupByUserForImages(plan.removed));
+            postDecorationRepository.deleteByImageIds(plan.removed);
+            engagementCounterService.onDecorationsRemoved(postId, removedByUser);
+            postImageRepository.purgeByIds(plan.removed);
+            similarImageService.removeAfterCommit(plan.removed);
+
+            Set<Integer> removed = new HashSet<>(plan.removed);
+            current.stream()
+                    .filter(img -> removed.contains(img.getImageId()))
+                    .forEach(img -> fileStorageService.deleteByUrl(img.getImageUrl()));
+        }
 
-        // 기존 이미지 파일 삭제
-        List<PostImageEntity> oldImages =
-                postImageRepository.findByPost_PostIdOrderBySortOrderAsc(postId);
+        Map<Integer, PostImageEntity> byId = new HashMap<>();
+        current.forEach(img -> byId.put(img.getImageId(), img));
+
+        List<Integer> movedIds = new ArrayList<>();
+        List<Integer> movedOrders = new ArrayList<>();
+        List<Boolean> movedRepresentative = new ArrayList<>();
+        List<FileStorageService.StagedImage> added = new ArrayList<>();
+        List<Integer> newOrders = new ArrayList<>();
+        int representativeIndex = -1;
+
+        for (int i = 0; i < plan.order.size(); i++) {
+            ImageEditOp op = plan.order.get(i);
+            boolean representative = i == 0;
+            if (op.type() == ImageEditOp.Type.KEEP) {
+                PostImageEntity img = byId.get(op.value());
+                if (!Objects.equals(img.getSortOrder(), i)
+                        || Boolean.TRUE.equals(img.getIsRepresentative()) != representative) {
+                    movedIds.add(img.getImageId());
+                    movedOrders.add(i);
+                    movedRepresentative.add(representative);
+                }
+            } else {
+                if (representative) representativeIndex = added.size();
+                added.add(files.get(op.value()));
+                newOrders.add(i);
+            }
+        }
 
-        for (PostImageEntity img : oldImages) {
-            fileStorageService.deleteByUrl(img.getImageUrl());
+        if (!movedIds.isEmpty()) {
+            postImageRepository.updateOrder(postId, movedIds, movedOrders, movedRepresentative);
         }
+        if (!added.isEmpty()) {
+            List<String> urls = added.stream().map(FileStorageService.StagedImage::url).toList();
+            List<ImageMetadata> metadata = added.stream().map(FileStorageService.StagedImage::metadata).toList();
+            postImageRepository.insertAll(postId, urls, metadata, newOrders, representativeIndex);
+            fileStorageService.promoteAfterCommit(added);
+            similarImageService.indexPostAfterCommit(postId);
+            urls.stream().distinct().forEach(imageVariantService::generateAfterCommit);
+        }
+    }
 
-        // DB 삭제
-        postImageRepository.deleteByPost_PostId(postId);
+    /**
+     * ✅ 수정 화면용: 현재 이미지(imageId + url) 순서대로
+     */
+    @Transactional(readOnly = true)
+    public List<PostViewDto.ImageDto> getImages(Integer postId) {
+        return postImageRepository.findByPost_PostIdOrderBySortOrderAsc(postId)
+                .stream()
+                .map(PostViewDto.ImageDto::from)
+                .toList();
+    }
 
-        // 새 이미지 저장
-        addImages(post, newFiles);
+    /**
+     * ✅ 대표(첫 번째) 이미지의 썸네일 URL — minWidth 이상인 가장 작은 변형, 없으면 원본
+     */
+    @Transactional(readOnly = true)
+    public String getThumbnailUrl(Integer postId, int minWidth) {
+        return postImageRepository.findFirstByPost_PostIdOrderBySortOrderAsc(postId)
+                .map(img -> img.getVariantUrl(minWidth))
+                .orElse(null);
     }
 
     @Transactional(readOnly = true)
@@ -6,20 +6,41 @@ import com.example.nasda.domain.PostImageEntity;
 import com.example.nasda.domain.UserEntity;
 import com.example.nasda.domain.UserRepository;
 import com.example.nasda.dto.post.HomePostDto;
+import com.example.nasda.dto.post.ImageEditOp;
+import com.example.nasda.dto.post.PostSearchSlice;
+import com.example.nasda.dto.post.SnippetPart;
 import com.example.nasda.dto.post.PostViewDto;
 import com.example.nasda.repository.CategoryRepository;
 import com.example.nasda.repository.CommentRepository;
 import com.example.nasda.repository.PostImageRepository;
 import com.example.nasda.repository.PostRepository;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.analytics.SearchQueryAnalytics;
+import com.example.nasda.service.counter.EngagementCounterService;
+import com.example.nasda.service.search.PostSearchIndex;
+import com.example.nasda.service.search.RankedHit;
+import com.example.nasda.service.search.SearchField;
+import com.example.nasda.service.search.SearchHits;
+import com.example.nasda.service.search.SearchResultCache;
+import com.example.nasda.service.search.Snippet;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,7 +51,43 @@ public class PostService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final PostImageRepository postImageRepository;
+    private final PostImageService postImageService;
     private final CommentRepository commentRepository;
+    private final PostDecorationRepository postDecorationRepository;
+    private final EngagementCounterService engagementCounterService;
+    private final PostSearchIndex postSearchIndex;
+    private final SearchResultCache searchResultCache;
+    private final SearchQueryAnalytics searchQueryAnalytics;
+
+    // 검색 한 페이지 최대 크기 (요청 size가 더 커도 여기서 자름)
+    @Value("${app.search.max-page-size:48}")
+    private int searchMaxPageSize;
+
+    // 검색 한 요청에서 확인하는 최대 후보 수 (흔한 검색어도 요청당 작업량이 일정)
+    @Value("${app.search.scan-limit:5000}")
+    private int searchScanLimit;
+
+    // 정확도순: 계산하는 최대 순위 (이보다 뒤 페이지는 없음)
+    @Value("${app.search.relevance.max-results:200}")
+    private int relevanceMaxResults;
+
+    // 정확도순: 필드별 가중치 (제목 일치가 본문 일치보다 중요)
+    @Value("${app.search.relevance.boost.title:3.0}")
+    private double titleBoost;
+
+    @Value("${app.search.relevance.boost.author:2.0}")
+    private double authorBoost;
+
+    @Value("${app.search.relevance.boost.content:1.0}")
+    private double contentBoost;
+
+    // 첫 페이지 결과가 이보다 적으면 오타 교정 검색 (0이면 끔)
+    @Value("${app.search.fuzzy.min-results:3}")
+    private int fuzzyMinResults;
+
+    // 피드/마이페이지 카드 이미지 최소 너비(px) — 이 너비 이상인 가장 작은 변형을 씀 (카드 ~320px × 고해상도 화면 2배)
+    @Value("${app.image.card-width:640}")
+    private int cardImageWidth;
 
     // 🔹 게시글 단건 조회
     @Transactional(readOnly = true)
@@ -44,11 +101,7 @@ public class PostService {
     public List<PostViewDto.ImageDto> getImageItems(Integer postId) {
         return postImageRepository.findAllByPost_PostIdOrderBySortOrderAsc(postId)
                 .stream()
-                .map(img -> new PostViewDto.ImageDto(
-                        img.getImageId(),
-                        img.getImageUrl(),
-                        img.getSortOrder()
-                ))
+                .map(PostViewDto.ImageDto::from)
                 .toList();
     }
 
@@ -64,14 +117,65 @@ public class PostService {
     // 🔹 홈 게시글 목록 (최신 30개 + 대표 이미지 1장)
     @Transactional(readOnly = true)
     public List<HomePostDto> getHomePosts() {
-        return postRepository.findTop30ByOrderByCreatedAtDesc().stream()
-                .map(post -> {
-                    String imageUrl = postImageRepository
-                            .findFirstByPost_PostIdOrderBySortOrderAsc(post.getPostId())
-                            .map(PostImageEntity::getImageUrl)
-                            .orElse(null);
+        return toHomePostDtos(postRepository.findTop30ByOrderByCreatedAtDesc());
+    }
+
+    /**
+     * ✅ 피드 카드 조립 (게시글 수와 무관하게 쿼리 2번)
+     * - 대표 이미지: IN 쿼리 1번
+     * - 댓글/스티커 수: post_stats IN 쿼리 1번
+     */
+    private List<HomePostDto> toHomePostDtos(List<PostEntity> posts) {
+        if (posts.isEmpty()) return List.of();
+
+        List<Integer> postIds = posts.stream().map(PostEntity::getPostId).toList();
+        Map<Integer, String> titles = posts.stream()
+                .collect(Collectors.toMap(PostEntity::getPostId, PostEntity::getTitle, (a, b) -> a));
+
+        return buildHomePostDtos(postIds, titles);
+    }
+
+    /**
+     * ✅ postId 목록만 있을 때 (검색 결과/캐시): 엔티티 대신 (postId, title) projection IN 쿼리 1번 + 위와 같은 2번
+     * ids 순서를 유지하고, 그 사이 삭제된 글은 빠짐
+     */
+    private List<HomePostDto> hydrateHomePostDtos(List<Integer> ids) {
+        if (ids.isEmpty()) return List.of();
 
-                    return new HomePostDto(post.getPostId(), post.getTitle(), imageUrl);
+        Map<Integer, String> titles = postRepository.findFeedRowsByPostIdIn(ids).stream()
+                .collect(Collectors.toMap(PostRepository.FeedRow::getPostId, PostRepository.FeedRow::getTitle, (a, b) -> a));
+
+        return buildHomePostDtos(ids.stream().filter(titles::containsKey).toList(), titles);
+    }
+
+    private List<HomePostDto> buildHomePostDtos(List<Integer> postIds, Map<Integer, String> titles) {
+        if (postIds.isEmpty()) return List.of();
+
+        Map<Integer, PostImageEntity> images = postImageRepository.findFirstImagesByPostIds(postIds).stream()
+                .collect(Collectors.toMap(
+                        img -> img.getPost().getPostId(),
+                        img -> img,
+                        (a, b) -> a));
+
+        Map<Integer, EngagementCounterService.PostCounts> counts = engagementCounterService.getPostCounts(postIds);
+
+        return postIds.stream()
+                .map(postId -> {
+                    EngagementCounterService.PostCounts c =
+                            counts.getOrDefault(postId, EngagementCounterService.PostCounts.EMPTY);
+                    PostImageEntity img = images.get(postId);
+                    return new HomePostDto(
+                            postId,
+                            titles.get(postId),
+                            img != null ? img.getVariantUrl(cardImageWidth) : null,
+                            c.commentCount(),
+                            c.decorationCount(),
+                            img != null ? img.getWebpVariantUrl(cardImageWidth) : null,
+                            img != null ? img.getWidth() : null,
+                            img != null ? img.getHeight() : null,
+                            img != null ? img.getDominantColor() : null,
+                            img != null ? img.getPlaceholder() : null
+                    );
                 })
                 .toList();
     }
@@ -91,7 +195,31 @@ public class PostService {
                 .description(description)
                 .build();
 
-        return postRepository.save(post);
+        PostEntity saved = postRepository.save(post);
+        engagementCounterService.onPostCreated(saved.getPostId(), userId);
+        postSearchIndex.index(saved);
+        return saved;
+    }
+
+    // 🔹 게시글 작성 + 이미지 행 (한 트랜잭션 — 파일은 미리 스테이징해 두고, 커밋 뒤 배치 / 롤백이면 버림)
+    public PostEntity create(Integer userId, Integer categoryId, String title, String description,
+                             List<FileStorageService.StagedImage> images) {
+        PostEntity saved = create(userId, categoryId, title, description);
+        postImageService.addImages(saved, images);
+        return saved;
+    }
+
+    // 🔹 게시글 수정 + 이미지 변경 (한 트랜잭션) — imageOps가 없으면 예전 폼처럼 새 파일로 교체
+    public void update(Integer postId, Integer userId, Integer categoryId, String title, String description,
+                       List<ImageEditOp> imageOps, List<FileStorageService.StagedImage> images) {
+        update(postId, userId, categoryId, title, description);
+
+        PostEntity post = get(postId);
+        if (imageOps != null) {
+            postImageService.editImages(post, imageOps, images);
+        } else {
+            postImageService.replaceImages(postId, post, images);
+        }
     }
 
     // 🔹 게시글 수정
@@ -108,9 +236,11 @@ public class PostService {
                 .orElseThrow(() -> new IllegalArgumentException("카테고리 없음"));
 
         post.update(category, title, description);
+        postSearchIndex.index(post);
     }
 
-    // 🔥 게시글 삭제 (FK 해결 핵심)
+    // 🔥 게시글 삭제: 상태만 DELETED로 바꾸면 즉시 모든 조회에서 빠짐
+    // 스티커/신고/댓글/이미지/파일은 TombstonePurger가 나중에 작은 단위로 정리 (요청 트랜잭션은 게시글 한 행만 수정)
     public void delete(Integer postId, Integer userId) {
         PostEntity post = get(postId);
 
@@ -118,14 +248,27 @@ public class PostService {
             throw new IllegalStateException("삭제 권한 없음");
         }
 
-        // ✅ 1. 이미지 삭제
-        postImageRepository.deleteByPost_PostId(postId);
+        markDeleted(post);
+    }
+
+    // ✅ 관리자 삭제 (신고 승인 등) — 작성자 확인 없이 같은 방식으로
+    public void deleteByAdmin(Integer postId) {
+        postRepository.findById(postId).ifPresent(this::markDeleted);
+    }
+
+    private void markDeleted(PostEntity post) {
+        Integer postId = post.getPostId();
 
-        // ✅ 2. 댓글 삭제
-        commentRepository.deleteByPost_PostId(postId);
+        // ✅ 카운터 보정 (함께 사라지는 댓글/스티커를 작성자별로 집계해 차감)
+        engagementCounterService.onPostDeleted(
+                postId,
+                post.getUser() != null ? post.getUser().getUserId() : null,
+                EngagementCounterService.toCountMap(commentRepository.countGroupByUserForPost(postId)),
+                EngagementCounterService.toCountMap(postDecorationRepository.countGroupByUserForPost(postId))
+        );
 
-        // ✅ 3. 게시글 삭제
-        postRepository.delete(post);
+        post.markDeleted();
+        postSearchIndex.remove(postId);
     }
 
     // ✅ 마이페이지: 내 게시글 전체 목록
@@ -137,7 +280,7 @@ public class PostService {
     // ✅ 마이페이지: 내 게시글 개수
     @Transactional(readOnly = true)
     public long countMyPosts(Integer userId) {
-        return postRepository.countByUser_UserId(userId);
+        return engagementCounterService.getUserCounts(userId).postCount();
     }
 
     // ✅ 마이페이지: 내 최근 게시글 목록
@@ -149,8 +292,15 @@ public class PostService {
 
         return posts.stream()
                 .map(post -> {
-                    List<String> images = getImageUrls(post.getPostId());
-                    List<PostViewDto.ImageDto> imageItems = getImageItems(post.getPostId());
+                    // 카드 썸네일용이라 images는 변형 URL (쿼리도 한 번으로)
+                    List<PostImageEntity> entities =
+                            postImageRepository.findAllByPost_PostIdOrderBySortOrderAsc(post.getPostId());
+                    List<String> images = entities.stream()
+                            .map(img -> img.getVariantUrl(cardImageWidth))
+                            .toList();
+                    List<PostViewDto.ImageDto> imageItems = entities.stream()
+                            .map(PostViewDto.ImageDto::from)
+                            .toList();
 
                     String nickname = (post.getUser() != null) ? post.getUser().getNickname() : "(알 수 없음)";
 
@@ -183,41 +333,124 @@ public class PostService {
             page = postRepository.findByCategory_CategoryNameOrderByCreatedAtDesc(category, pageable);
         }
 
-        return page.map(post -> {
-            String imageUrl = postImageRepository
-                    .findFirstByPost_PostIdOrderBySortOrderAsc(post.getPostId())
-                    .map(PostImageEntity::getImageUrl)
-                    .orElse(null);
+        return new PageImpl<>(toHomePostDtos(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    // ✅ 검색 (header search) — 커서 페이징 (cursor = 이전 페이지의 nextCursor, 첫 페이지는 null)
+    // 메모리 역색인이 준비됐으면 색인에서 postId만 찾고, 기동 직후 색인 생성 전에는 DB LIKE 검색 (같은 커서 규칙)
+    @Transactional(readOnly = true)
+    public PostSearchSlice searchHomePosts(String keyword, String type, Integer cursor, int size) {
+        String q = keyword == null ? "" : keyword.trim();
+        if (q.isEmpty()) return PostSearchSlice.EMPTY;
+        if (cursor == null) searchQueryAnalytics.record(q); // 검색 한 번 = 첫 페이지 (무한스크롤 요청은 세지 않음)
 
-            return new HomePostDto(post.getPostId(), post.getTitle(), imageUrl);
-        });
+        PostSearchSlice slice = searchLatest(q, type, cursor, size);
+        if (cursor != null) return slice;
+        return withFuzzyFallback(slice, q, List.of(SearchField.fromType(type)),
+                corrected -> searchLatest(corrected, type, null, size));
     }
 
-    // ✅ 검색 (header search)
+    // ✅ 첫 페이지 결과가 fuzzy.min-results개 미만이면 오타 교정한 검색어로 한 번 더 (더 많이 나올 때만 교체)
+    private PostSearchSlice withFuzzyFallback(PostSearchSlice slice, String q, Collection<SearchField> fields,
+                                              Function<String, PostSearchSlice> research) {
+        if (slice.posts().size() >= fuzzyMinResults || !postSearchIndex.isReady()) return slice;
+
+        String corrected = postSearchIndex.correct(fields, q);
+        if (corrected == null) return slice;
+
+        PostSearchSlice retried = research.apply(corrected);
+        return retried.posts().size() > slice.posts().size() ? retried.withCorrectedKeyword(corrected) : slice;
+    }
+
+    private PostSearchSlice searchLatest(String q, String type, Integer cursor, int size) {
+        String t = (type == null || type.isBlank()) ? "content" : type.trim();
+        int pageSize = Math.max(1, Math.min(size, searchMaxPageSize));
+
+        if (postSearchIndex.isReady()) {
+            SearchField field = SearchField.fromType(t);
+            SearchHits hits = searchResultCache.get(
+                    SearchResultCache.key("latest", field, q, cursor, pageSize),
+                    () -> postSearchIndex.search(field, q, cursor, pageSize, searchScanLimit));
+            return new PostSearchSlice(hydrateHomePostDtos(hits.ids()), hits.nextCursor(), hits.hasNext());
+        }
+
+        // 한 개 더 읽어서 다음 페이지 여부 판단
+        List<PostEntity> rows = postRepository.searchPage(t, q, cursor, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<PostEntity> page = hasNext ? rows.subList(0, pageSize) : rows;
+        Integer nextCursor = hasNext ? page.get(page.size() - 1).getPostId() : null;
+
+        return new PostSearchSlice(toHomePostDtos(page), nextCursor, hasNext);
+    }
+
+    // ✅ 검색 정확도순 — 제목/본문/닉네임 BM25 점수 합 (cursor = 다음 순위 offset, 첫 페이지는 null)
+    // 색인이 준비되기 전에는 본문 최신순 검색으로 대신함
     @Transactional(readOnly = true)
-    public List<HomePostDto> searchHomePosts(String keyword, String type) {
+    public PostSearchSlice searchRelevantPosts(String keyword, Integer cursor, int size) {
         String q = keyword == null ? "" : keyword.trim();
-        if (q.isEmpty()) return List.of();
+        if (q.isEmpty()) return PostSearchSlice.EMPTY;
+        if (cursor == null) searchQueryAnalytics.record(q);
+        if (!postSearchIndex.isReady()) return searchLatest(q, "content", cursor, size);
+
+        PostSearchSlice slice = searchRelevant(q, cursor, size);
+        if (cursor != null) return slice;
+        return withFuzzyFallback(slice, q, List.of(SearchField.TITLE, SearchField.AUTHOR, SearchField.CONTENT),
+                corrected -> searchRelevant(corrected, null, size));
+    }
 
-        String t = (type == null || type.isBlank()) ? "content" : type;
+    private PostSearchSlice searchRelevant(String q, Integer cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, searchMaxPageSize));
+        int offset = cursor == null ? 0 : Math.max(0, cursor);
+        int k = Math.min(offset + pageSize + 1, relevanceMaxResults);
+        if (offset >= k) return PostSearchSlice.EMPTY;
 
-        List<PostEntity> results = switch (t) {
-            case "title" -> postRepository.findByTitleContainingIgnoreCaseOrderByCreatedAtDesc(q);
-            case "author" -> postRepository.findByUser_NicknameContainingIgnoreCaseOrderByCreatedAtDesc(q);
-            case "category" -> postRepository.findByCategory_CategoryNameContainingIgnoreCaseOrderByCreatedAtDesc(q);
-            default -> postRepository.findByDescriptionContainingIgnoreCaseOrderByCreatedAtDesc(q);
-        };
+        SearchHits hits = searchResultCache.get(
+                SearchResultCache.key("relevance", null, q, offset, pageSize),
+                () -> rankPage(q, offset, pageSize, k));
 
-        return results.stream()
-                .map(post -> {
-                    String imageUrl = postImageRepository
-                            .findFirstByPost_PostIdOrderBySortOrderAsc(post.getPostId())
-                            .map(PostImageEntity::getImageUrl)
-                            .orElse(null);
+        Map<Integer, List<SnippetPart>> snippets = new HashMap<>();
+        hits.snippets().forEach((postId, snippet) -> snippets.put(postId, toSnippetParts(snippet)));
 
-                    return new HomePostDto(post.getPostId(), post.getTitle(), imageUrl);
-                })
-                .toList();
+        return new PostSearchSlice(hydrateHomePostDtos(hits.ids()), snippets, hits.nextCursor(), hits.hasNext());
+    }
+
+    // 상위 k개를 계산해서 [offset, offset + pageSize) 구간만 한 페이지로
+    private SearchHits rankPage(String q, int offset, int pageSize, int k) {
+        Map<SearchField, Double> boosts = new EnumMap<>(SearchField.class);
+        boosts.put(SearchField.TITLE, titleBoost);
+        boosts.put(SearchField.AUTHOR, authorBoost);
+        boosts.put(SearchField.CONTENT, contentBoost);
+
+        List<RankedHit> ranked = postSearchIndex.rank(q, boosts, k, searchScanLimit);
+        int end = Math.min(ranked.size(), offset + pageSize);
+        if (offset >= end) return SearchHits.EMPTY;
+
+        List<Integer> ids = new ArrayList<>(end - offset);
+        Map<Integer, Snippet> snippets = new HashMap<>();
+        for (RankedHit hit : ranked.subList(offset, end)) {
+            ids.add(hit.postId());
+            if (hit.snippet() != null) snippets.put(hit.postId(), hit.snippet());
+        }
+
+        boolean hasNext = ranked.size() > end;
+        return new SearchHits(ids, snippets, hasNext ? end : null, hasNext);
+    }
+
+    private List<SnippetPart> toSnippetParts(Snippet snippet) {
+        String text = snippet.text();
+        List<SnippetPart> parts = new ArrayList<>();
+        if (snippet.cutStart()) parts.add(new SnippetPart("…", false));
+
+        int at = 0;
+        for (int[] h : snippet.highlights()) {
+            if (h[0] > at) parts.add(new SnippetPart(text.substring(at, h[0]), false));
+            parts.add(new SnippetPart(text.substring(h[0], h[1]), true));
+            at = h[1];
+        }
+        if (at < text.length()) parts.add(new SnippetPart(text.substring(at), false));
+
+        if (snippet.cutEnd()) parts.add(new SnippetPart("…", false));
+        return parts;
     }
 
     // ✅ 마이페이지: 내 게시글 10개씩 페이징 조회
@@ -0,0 +1,122 @@
+package com.example.nasda.service;
+
+import com.example.nasda.domain.UserEntity;
+import com.example.nasda.domain.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * userId → (nickname, loginId) 캐시
+ * - 댓글/스티커/신고 목록에서 작성자 이름을 행마다 조회하지 않도록, 한 화면에 필요한 userId를 모아서 한 번에 가져옵니다.
+ * - 캐시에 없는 userId만 findAllById(IN 쿼리 1번)로 채웁니다.
+ * - 최대 개수를 넘으면 가장 오래 사용하지 않은 항목부터 버립니다(LRU).
+ * - 닉네임 변경/회원 탈퇴 시 UserService에서 evict 해야 합니다.
+ */
+@Component
+public class UserProfileCache {
+
+    public static final String UNKNOWN_NICKNAME = "(알 수 없음)";
+
+    public record Profile(Integer userId, String nickname, String loginId) {
+        static Profile of(UserEntity user) {
+            return new Profile(user.getUserId(), user.getNickname(), user.getLoginId());
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final Map<Integer, Profile> cache;
+
+    public UserProfileCache(UserRepository userRepository,
+                            @Value("${app.cache.user-profile.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        int capacity = Math.max(1, maxSize);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Profile> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public Optional<Profile> get(Integer userId) {
+        if (userId == null) return Optional.empty();
+        return Optional.ofNullable(getAll(List.of(userId)).get(userId));
+    }
+
+    public String nicknameOf(Integer userId) {
+        return get(userId).map(Profile::nickname).orElse(UNKNOWN_NICKNAME);
+    }
+
+    /**
+     * 여러 userId를 한 번에 조회 (없는 유저는 결과 Map에 포함되지 않음)
+     */
+    public Map<Integer, Profile> getAll(Collection<Integer> userIds) {
+        Map<Integer, Profile> result = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) return result;
+
+        Set<Integer> misses = new HashSet<>();
+        synchronized (cache) {
+            for (Integer id : userIds) {
+                if (id == null) continue;
+                Profile p = cache.get(id);
+                if (p != null) result.put(id, p);
+                else misses.add(id);
+            }
+        }
+
+        if (misses.isEmpty()) return result;
+
+        // ✅ 캐시 미스는 IN 쿼리 한 번으로 채움 (DB 조회는 락 밖에서)
+        List<Profile> loaded = userRepository.findAllById(misses).stream()
+                .map(Profile::of)
+                .toList();
+
+        synchronized (cache) {
+            for (Profile p : loaded) {
+                cache.put(p.userId(), p);
+                result.put(p.userId(), p);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋 직후에 한 번 더 지웁니다.
+     * (커밋 전에 다른 요청이 옛 값을 다시 캐시에 넣는 경우 방지)
+     */
+    public void evict(Integer userId) {
+        if (userId == null) return;
+        remove(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(userId);
+                }
+            });
+        }
+    }
+
+    private void remove(Integer userId) {
+        synchronized (cache) {
+            cache.remove(userId);
+        }
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
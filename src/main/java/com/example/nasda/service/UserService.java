@@ -6,6 +6,7 @@ import com.example.nasda.dto.UserJoinDto;
 import com.example.nasda.mapper.UserMapper;
 import com.example.nasda.repository.CommentRepository;
 import com.example.nasda.repository.PostRepository;
+import com.example.nasda.service.search.PostSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -25,6 +26,8 @@ public class UserService {
     private String verificationCode; // 메모리에 잠시 저장 (실무에선 Redis나 세션을 권장)
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
+    private final UserProfileCache userProfileCache;
+    private final PostSearchIndex postSearchIndex;
 
 
     public Optional<UserEntity> findByLoginId(String loginId) {
@@ -67,6 +70,8 @@ public class UserService {
 
         user.setNickname(nickname);
         user.setEmail(email);
+        userProfileCache.evict(id);
+        postSearchIndex.renameAuthor(id, nickname);
 
         return user; // Dirty Checking으로 자동 저장됨
     }
@@ -85,6 +90,8 @@ public class UserService {
 
         // 3. 이제 유저를 삭제해도 외래키 에러가 나지 않습니다.
         userRepository.deleteById(userId);
+        userProfileCache.evict(userId);
+        postSearchIndex.renameAuthor(userId, null);
     }
 
     /**
@@ -206,6 +213,7 @@ public class UserService {
 
         // 3. 이제 외래 키 제약 조건이 풀렸으므로 유저 삭제 가능
         userRepository.delete(user);
+        userProfileCache.evict(userId);
     }
 
     @Transactional
@@ -225,6 +233,7 @@ public class UserService {
 
         // ✅ 3. 유저 삭제
         userRepository.delete(user);
+        userProfileCache.evict(userId);
         return true;
     }
 }
\ No newline at end of file
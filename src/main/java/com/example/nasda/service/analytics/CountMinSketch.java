@@ -0,0 +1,131 @@
+package com.example.nasda.service.analytics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * ✅ Count-Min Sketch — 고정 크기(depth × width 카운터)로 문자열별 등장 횟수를 근사
+ * - 추정값은 실제 횟수 이상 (작게 세는 일은 없음), 오차는 대략 전체 횟수 × e / width 이내
+ * - conservative update: 행마다 최솟값 카운터만 올려서 과대 추정을 줄임
+ * - 같은 크기끼리는 카운터를 더해서 합칠 수 있음 (시간 구간 합산용)
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final int[] counts;
+    private long total;
+
+    /**
+     * @param width 2의 거듭제곱으로 올림
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) throw new IllegalArgumentException("depth/width는 1 이상이어야 합니다.");
+        this.depth = depth;
+        int w = Integer.highestOneBit(width);
+        this.width = (w < width) ? w << 1 : w;
+        this.mask = this.width - 1;
+        this.counts = new int[depth * this.width];
+    }
+
+    /**
+     * count만큼 더하고 더한 뒤의 추정값을 돌려줌
+     */
+    public long add(String item, int count) {
+        long h = hash(item);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1;
+
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, counts[slot(i, h1, h2)]);
+        }
+        int target = (int) Math.min(Integer.MAX_VALUE, (long) min + count);
+        for (int i = 0; i < depth; i++) {
+            int s = slot(i, h1, h2);
+            if (counts[s] < target) counts[s] = target;
+        }
+        total += count;
+        return target;
+    }
+
+    public long estimate(String item) {
+        long h = hash(item);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1;
+
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, counts[slot(i, h1, h2)]);
+        }
+        return min;
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("크기가 다른 sketch는 합칠 수 없습니다.");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = (int) Math.min(Integer.MAX_VALUE, (long) counts[i] + other.counts[i]);
+        }
+        total += other.total;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    // =========================
+    // 저장/복원 (카운터 배열 그대로)
+    // =========================
+
+    public byte[] toBytes() {
+        ByteBuffer buf = ByteBuffer.allocate(counts.length * Integer.BYTES);
+        buf.asIntBuffer().put(counts);
+        return buf.array();
+    }
+
+    /**
+     * 저장해 둔 카운터로 채움 — 크기가 다르면(설정 변경) false, 이 sketch는 그대로
+     */
+    public boolean load(byte[] bytes, long total) {
+        if (bytes == null || bytes.length != counts.length * Integer.BYTES) return false;
+        ByteBuffer.wrap(bytes).asIntBuffer().get(counts);
+        this.total = total;
+        return true;
+    }
+
+    // 행 i의 열: h1 + i·h2 (해시 하나로 depth개를 만드는 방식)
+    private int slot(int row, int h1, int h2) {
+        return row * width + ((h1 + row * h2) & mask);
+    }
+
+    // FNV-1a 64bit + murmur3 finalizer (String.hashCode보다 고르게 퍼지게)
+    private static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
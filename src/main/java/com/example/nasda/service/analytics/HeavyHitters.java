@@ -0,0 +1,61 @@
+package com.example.nasda.service.analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * ✅ 상위 검색어 후보 (최대 capacity개, 추정 횟수가 가장 작은 것부터 밀려남)
+ * - 횟수는 CountMinSketch 추정값을 그대로 받음 → 후보에서 밀려났다 다시 들어와도 누적 횟수가 이어짐
+ * - 최소 힙은 갱신 때마다 고치지 않고(lazy), 꺼낼 때 옛 값이면 현재 값으로 다시 넣음 (횟수는 늘기만 하므로 안전)
+ */
+final class HeavyHitters {
+
+    private record Slot(String item, long count) {
+    }
+
+    private final int capacity;
+    private final Map<String, Long> counts = new HashMap<>();
+    private final PriorityQueue<Slot> heap = new PriorityQueue<>((a, b) -> Long.compare(a.count(), b.count()));
+
+    HeavyHitters(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    void offer(String item, long estimate) {
+        if (counts.containsKey(item)) {
+            counts.put(item, estimate);
+            return;
+        }
+        if (counts.size() < capacity) {
+            counts.put(item, estimate);
+            heap.add(new Slot(item, estimate));
+            return;
+        }
+
+        while (true) {
+            Slot min = heap.peek();
+            long current = counts.get(min.item());
+            if (current != min.count()) {
+                heap.poll();
+                heap.add(new Slot(min.item(), current));
+                continue;
+            }
+            if (current >= estimate) return; // 현재 후보 중 가장 작은 것보다도 적음
+            heap.poll();
+            counts.remove(min.item());
+            counts.put(item, estimate);
+            heap.add(new Slot(item, estimate));
+            return;
+        }
+    }
+
+    Map<String, Long> snapshot() {
+        return new HashMap<>(counts);
+    }
+
+    void clear() {
+        counts.clear();
+        heap.clear();
+    }
+}
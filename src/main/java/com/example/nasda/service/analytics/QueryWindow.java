@@ -0,0 +1,177 @@
+package com.example.nasda.service.analytics;
+
+import java.util.*;
+
+/**
+ * ✅ 시간 구간별 검색어 집계 (고정 개수 bucket을 돌려 씀)
+ * - bucket마다 CountMinSketch + 상위 후보(HeavyHitters) → 검색어 종류가 아무리 많아도 메모리 일정
+ * - 구간 전체 상위 k: bucket sketch를 합친 뒤, 모든 bucket의 후보를 합친 sketch로 다시 추정해서 정렬
+ * - 시간이 지나 다른 구간이 된 bucket은 다음 기록 때 비우고 재사용
+ * 동기화는 호출하는 쪽(SearchQueryAnalytics)에서 합니다.
+ */
+final class QueryWindow {
+
+    record Snapshot(String window, long bucketStart, byte[] counts, long total, String topQueries) {
+    }
+
+    private static final class Bucket {
+        long start = -1;
+        boolean dirty;
+        final CountMinSketch sketch;
+        final HeavyHitters top;
+
+        Bucket(int depth, int width, int capacity) {
+            this.sketch = new CountMinSketch(depth, width);
+            this.top = new HeavyHitters(capacity);
+        }
+
+        void reset(long start) {
+            this.start = start;
+            this.dirty = false;
+            sketch.clear();
+            top.clear();
+        }
+    }
+
+    private final String name;
+    private final long bucketMs;
+    private final Bucket[] buckets;
+    private final int depth;
+    private final int width;
+
+    QueryWindow(String name, long bucketMs, int bucketCount, int depth, int width, int capacity) {
+        this.name = name;
+        this.bucketMs = bucketMs;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket(depth, width, capacity);
+        }
+        this.depth = depth;
+        this.width = buckets[0].sketch.width();
+    }
+
+    String name() {
+        return name;
+    }
+
+    long spanMs() {
+        return bucketMs * buckets.length;
+    }
+
+    void add(String query, long now) {
+        Bucket b = current(now);
+        long estimate = b.sketch.add(query, 1);
+        b.top.offer(query, estimate);
+        b.dirty = true;
+    }
+
+    /**
+     * 구간(now 기준 최근 spanMs) 상위 k개
+     */
+    List<SearchQueryAnalytics.QueryCount> top(int k, long now) {
+        CountMinSketch merged = new CountMinSketch(depth, width);
+        Set<String> candidates = new HashSet<>();
+        for (Bucket b : buckets) {
+            if (!live(b, now)) continue;
+            merged.merge(b.sketch);
+            candidates.addAll(b.top.snapshot().keySet());
+        }
+
+        List<SearchQueryAnalytics.QueryCount> result = new ArrayList<>(candidates.size());
+        for (String q : candidates) {
+            result.add(new SearchQueryAnalytics.QueryCount(q, merged.estimate(q)));
+        }
+        result.sort(Comparator.comparingLong(SearchQueryAnalytics.QueryCount::count).reversed()
+                .thenComparing(SearchQueryAnalytics.QueryCount::query));
+        return result.size() > k ? new ArrayList<>(result.subList(0, k)) : result;
+    }
+
+    long total(long now) {
+        long total = 0;
+        for (Bucket b : buckets) {
+            if (live(b, now)) total += b.sketch.total();
+        }
+        return total;
+    }
+
+    long memoryBytes() {
+        return (long) buckets.length * depth * width * Integer.BYTES;
+    }
+
+    // =========================
+    // 저장/복원
+    // =========================
+
+    /**
+     * 마지막 저장 이후 바뀐 bucket의 복사본 (dirty 표시는 지움)
+     */
+    List<Snapshot> drainDirty() {
+        List<Snapshot> result = new ArrayList<>();
+        for (Bucket b : buckets) {
+            if (!b.dirty) continue;
+            result.add(new Snapshot(name, b.start, b.sketch.toBytes(), b.sketch.total(), encode(b.top.snapshot())));
+            b.dirty = false;
+        }
+        return result;
+    }
+
+    // 저장 실패 시 다음 flush에서 다시 쓰도록
+    void markDirty(long bucketStart) {
+        for (Bucket b : buckets) {
+            if (b.start == bucketStart) b.dirty = true;
+        }
+    }
+
+    /**
+     * 저장된 bucket을 되살림 — 이미 지난 구간이거나 sketch 크기가 바뀌었으면 무시
+     */
+    boolean restore(long bucketStart, byte[] counts, long total, String topQueries, long now) {
+        if (bucketStart % bucketMs != 0 || bucketStart <= now - spanMs() || bucketStart > now) return false;
+
+        Bucket b = buckets[index(bucketStart)];
+        b.reset(bucketStart);
+        if (!b.sketch.load(counts, total)) {
+            b.reset(-1);
+            return false;
+        }
+        decode(topQueries).forEach(b.top::offer);
+        return true;
+    }
+
+    private Bucket current(long now) {
+        long start = now - Math.floorMod(now, bucketMs);
+        Bucket b = buckets[index(start)];
+        if (b.start != start) b.reset(start);
+        return b;
+    }
+
+    private int index(long bucketStart) {
+        return (int) Math.floorMod(bucketStart / bucketMs, (long) buckets.length);
+    }
+
+    private boolean live(Bucket b, long now) {
+        return b.start >= 0 && b.start > now - spanMs() && b.start <= now;
+    }
+
+    // 한 줄에 "횟수\t검색어" (검색어는 정규화돼서 탭/줄바꿈이 없음)
+    private static String encode(Map<String, Long> top) {
+        StringBuilder sb = new StringBuilder();
+        top.forEach((q, c) -> sb.append(c).append('\t').append(q).append('\n'));
+        return sb.toString();
+    }
+
+    private static Map<String, Long> decode(String text) {
+        Map<String, Long> result = new HashMap<>();
+        if (text == null) return result;
+        for (String line : text.split("\n")) {
+            int tab = line.indexOf('\t');
+            if (tab <= 0) continue;
+            try {
+                result.put(line.substring(tab + 1), Long.parseLong(line.substring(0, tab)));
+            } catch (NumberFormatException ignored) {
+                // 깨진 줄은 건너뜀
+            }
+        }
+        return result;
+    }
+}
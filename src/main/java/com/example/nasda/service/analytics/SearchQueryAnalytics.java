@@ -0,0 +1,137 @@
+package com.example.nasda.service.analytics;
+
+import com.example.nasda.domain.SearchQuerySketchEntity;
+import com.example.nasda.repository.analytics.SearchQuerySketchRepository;
+import com.example.nasda.service.search.NgramTokenizer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ✅ 검색어 통계 (최근 1시간 / 최근 24시간 인기 검색어)
+ * - 검색할 때마다 DB에 쓰지 않고 메모리 sketch에만 더함 (검색 한 번 = 카운터 몇 개 증가)
+ * - 최근 1시간: 5분 × 12 bucket, 최근 24시간: 1시간 × 24 bucket — 메모리는 설정한 크기로 고정
+ * - flush-interval-ms마다 바뀐 bucket만 search_query_sketches에 저장, 기동 시 다시 읽어서 재시작 후에도 이어짐
+ * 횟수는 근사값입니다 (실제보다 작게 나오지는 않음).
+ */
+@Log4j2
+@Service
+public class SearchQueryAnalytics {
+
+    public record QueryCount(String query, long count) {
+    }
+
+    public record Trends(List<QueryCount> lastHour, long lastHourTotal,
+                         List<QueryCount> lastDay, long lastDayTotal, long memoryBytes) {
+    }
+
+    private static final int MAX_QUERY_LENGTH = 100;
+    private static final long MINUTE_MS = 60_000L;
+
+    private final SearchQuerySketchRepository sketchRepository;
+    private final QueryWindow hour;
+    private final QueryWindow day;
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+
+    public SearchQueryAnalytics(SearchQuerySketchRepository sketchRepository,
+                                @Value("${app.search.analytics.depth:4}") int depth,
+                                @Value("${app.search.analytics.width:2048}") int width,
+                                @Value("${app.search.analytics.candidates:200}") int candidates) {
+        this.sketchRepository = sketchRepository;
+        this.hour = new QueryWindow("hour", 5 * MINUTE_MS, 12, depth, width, candidates);
+        this.day = new QueryWindow("day", 60 * MINUTE_MS, 24, depth, width, candidates);
+    }
+
+    /**
+     * 검색 한 번 기록 (정규화한 검색어 기준, 너무 긴 검색어는 앞부분만)
+     */
+    public void record(String keyword) {
+        String q = NgramTokenizer.normalize(keyword);
+        if (q.isEmpty()) return;
+        if (q.length() > MAX_QUERY_LENGTH) q = q.substring(0, MAX_QUERY_LENGTH);
+
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            hour.add(q, now);
+            day.add(q, now);
+        }
+    }
+
+    public synchronized Trends trends(int size) {
+        long now = System.currentTimeMillis();
+        int k = Math.max(1, size);
+        return new Trends(hour.top(k, now), hour.total(now), day.top(k, now), day.total(now),
+                hour.memoryBytes() + day.memoryBytes());
+    }
+
+    // =========================
+    // 저장/복원
+    // =========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long now = System.currentTimeMillis();
+        try {
+            int restored = 0;
+            List<SearchQuerySketchEntity> rows = sketchRepository.findByBucketStartGreaterThan(now - day.spanMs());
+            synchronized (this) {
+                for (SearchQuerySketchEntity row : rows) {
+                    QueryWindow window = hour.name().equals(row.getWindowName()) ? hour
+                            : day.name().equals(row.getWindowName()) ? day : null;
+                    if (window != null && window.restore(row.getBucketStart(), row.getCounts(),
+                            row.getTotalCount(), row.getTopQueries(), now)) {
+                        restored++;
+                    }
+                }
+            }
+            log.info("검색어 통계 복원 - bucket {}개", restored);
+        } catch (Exception e) {
+            // 통계는 없어도 검색은 동작 — 빈 상태로 시작
+            log.warn("검색어 통계 복원 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.search.analytics.flush-interval-ms:300000}",
+            fixedDelayString = "${app.search.analytics.flush-interval-ms:300000}")
+    public void flush() {
+        if (!flushing.compareAndSet(false, true)) return;
+        try {
+            List<QueryWindow.Snapshot> snapshots = new ArrayList<>();
+            synchronized (this) {
+                snapshots.addAll(hour.drainDirty());
+                snapshots.addAll(day.drainDirty());
+            }
+
+            for (QueryWindow.Snapshot s : snapshots) {
+                try {
+                    sketchRepository.upsert(s.window() + ":" + s.bucketStart(), s.window(), s.bucketStart(),
+                            s.total(), s.counts(), s.topQueries());
+                } catch (Exception e) {
+                    log.warn("검색어 통계 저장 실패 - {}:{} ({})", s.window(), s.bucketStart(), e.getMessage());
+                    synchronized (this) {
+                        (hour.name().equals(s.window()) ? hour : day).markDirty(s.bucketStart());
+                    }
+                }
+            }
+            sketchRepository.deleteOlderThan(System.currentTimeMillis() - day.spanMs());
+        } catch (Exception e) {
+            log.warn("검색어 통계 정리 실패: {}", e.getMessage());
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    // 종료 직전 남은 변경분 저장
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.nasda.service.counter;
+
+import com.example.nasda.repository.CommentRepository;
+import com.example.nasda.repository.counter.PostStatsRepository;
+import com.example.nasda.repository.counter.UserStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ✅ 카운터 정합성 복구 배치
+ * 관리자 일괄 삭제(카테고리 삭제, 신고 승인)나 예외 상황으로 생긴 카운터 오차를 실제 COUNT로 다시 맞춥니다.
+ * id 구간(chunk) 단위로 나눠서 실행하므로 한 번에 잡는 락/트랜잭션이 짧습니다.
+ * 기동 직후에는 카운터 테이블이 비어 있을 때만(처음 배포) 스케줄러 스레드에서 맞춥니다 — 기동을 막지 않음.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class EngagementCounterReconciler {
+
+    private final PostStatsRepository postStatsRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final CommentRepository commentRepository;
+
+    @Value("${app.counter.reconcile.chunk-size:500}")
+    private int chunkSize;
+
+    // true면 기동할 때마다 전체 재계산 (기본은 카운터 테이블이 비어 있을 때만)
+    @Value("${app.counter.reconcile.on-startup:false}")
+    private boolean reconcileOnStartup;
+
+    private final TaskScheduler taskScheduler;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // 전체 COUNT는 데이터가 많으면 오래 걸려서 기동 스레드가 아니라 스케줄러 스레드에서
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        taskScheduler.schedule(() -> {
+            if (reconcileOnStartup || countersMissing()) reconcileAll();
+        }, Instant.now());
+    }
+
+    @Scheduled(cron = "${app.counter.reconcile.cron:0 30 4 * * *}")
+    public void reconcileAll() {
+        if (!running.compareAndSet(false, true)) return; // 기동 직후 실행과 cron이 겹치면 한 번만
+        try {
+            long start = System.currentTimeMillis();
+            int posts = reconcilePosts();
+            int users = reconcileUsers();
+            log.info("카운터 정합성 복구 완료 - post_stats: {}행, user_stats: {}행, {}ms",
+                    posts, users, System.currentTimeMillis() - start);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 원본 행은 있는데 카운터 행이 하나도 없음 = 카운터 테이블이 새로 생김
+    private boolean countersMissing() {
+        return (postStatsRepository.findMaxPostId() > 0 && postStatsRepository.countFirstRow() == 0)
+                || (userStatsRepository.findMaxUserId() > 0 && userStatsRepository.countFirstRow() == 0);
+    }
+
+    public int reconcilePosts() {
+        int maxId = postStatsRepository.findMaxPostId();
+        int step = Math.max(1, chunkSize);
+        int touched = 0;
+
+        for (int from = 1; from <= maxId; from += step) {
+            int to = from + step - 1;
+            postStatsRepository.insertMissing(from, to);
+            touched += postStatsRepository.recount(from, to);
+            commentRepository.recountReplies(from, to); // 스레드별 답글 수도 같은 구간으로
+        }
+        postStatsRepository.deleteOrphans();
+        return touched;
+    }
+
+    public int reconcileUsers() {
+        int maxId = userStatsRepository.findMaxUserId();
+        int step = Math.max(1, chunkSize);
+        int touched = 0;
+
+        for (int from = 1; from <= maxId; from += step) {
+            int to = from + step - 1;
+            userStatsRepository.insertMissing(from, to);
+            touched += userStatsRepository.recount(from, to);
+        }
+        userStatsRepository.deleteOrphans();
+        return touched;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.nasda.service.counter;
+
+import com.example.nasda.repository.counter.PostStatsRepository;
+import com.example.nasda.repository.counter.UserStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 댓글/스티커/게시글 개수 카운터
+ * - 쓰기: 호출한 서비스의 트랜잭션 안에서 원자적 UPDATE (롤백되면 카운터도 같이 롤백)
+ * - 읽기: post_stats / user_stats 한 행 조회 (COUNT(*) 없음)
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class EngagementCounterService {
+
+    // commentCount = 답글 포함 전체, threadCount = 최상위 댓글 수
+    public record PostCounts(long commentCount, long decorationCount, long threadCount) {
+        public static final PostCounts EMPTY = new PostCounts(0, 0, 0);
+    }
+
+    public record UserCounts(long postCount, long commentCount, long decorationCount) {
+        public static final UserCounts EMPTY = new UserCounts(0, 0, 0);
+    }
+
+    private final PostStatsRepository postStatsRepository;
+    private final UserStatsRepository userStatsRepository;
+
+    // =========================
+    // 게시글
+    // =========================
+    public void onPostCreated(Integer postId, Integer userId) {
+        postStatsRepository.addCommentCount(postId, 0, 0); // 카운터 행 생성
+        if (userId != null) userStatsRepository.addPostCount(userId, 1);
+    }
+
+    /**
+     * 게시글 삭제: 작성자 post_count 감소 + 딸린 댓글/스티커 작성자들의 개수 감소
+     * @param commentsByUser    userId -> 삭제되는 댓글 수
+     * @param decorationsByUser userId -> 삭제되는 스티커 수
+     */
+    public void onPostDeleted(Integer postId, Integer userId,
+                              Map<Integer, Long> commentsByUser,
+                              Map<Integer, Long> decorationsByUser) {
+        if (userId != null) userStatsRepository.addPostCount(userId, -1);
+        commentsByUser.forEach((uid, n) -> {
+            if (uid != null) userStatsRepository.addCommentCount(uid, -n);
+        });
+        decorationsByUser.forEach((uid, n) -> {
+            if (uid != null) userStatsRepository.addDecorationCount(uid, -n);
+        });
+        postStatsRepository.deleteAllByIdInBatch(List.of(postId));
+    }
+
+    // =========================
+    // 댓글
+    // =========================
+    public void onCommentAdded(Integer postId, Integer userId) {
+        postStatsRepository.addCommentCount(postId, 1, 1);
+        if (userId != null) userStatsRepository.addCommentCount(userId, 1);
+    }
+
+    public void onCommentRemoved(Integer postId, Integer userId) {
+        postStatsRepository.addCommentCount(postId, -1, -1);
+        if (userId != null) userStatsRepository.addCommentCount(userId, -1);
+    }
+
+    // 답글: 전체 댓글 수만 바뀌고 스레드 수는 그대로
+    public void onReplyAdded(Integer postId, Integer userId) {
+        postStatsRepository.addCommentCount(postId, 1, 0);
+        if (userId != null) userStatsRepository.addCommentCount(userId, 1);
+    }
+
+    /**
+     * @param removedByUser userId -> 삭제된 답글 수
+     */
+    public void onRepliesRemoved(Integer postId, Map<Integer, Long> removedByUser) {
+        long total = removedByUser.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) return;
+        postStatsRepository.addCommentCount(postId, -total, 0);
+        removedByUser.forEach((uid, n) -> {
+            if (uid != null) userStatsRepository.addCommentCount(uid, -n);
+        });
+    }
+
+    // =========================
+    // 스티커(꾸미기)
+    // =========================
+    public void onDecorationsAdded(Integer postId, Integer userId, long count) {
+        if (count == 0) return;
+        postStatsRepository.addDecorationCount(postId, count);
+        if (userId != null) userStatsRepository.addDecorationCount(userId, count);
+    }
+
+    /**
+     * @param removedByUser userId -> 삭제된 스티커 수
+     */
+    public void onDecorationsRemoved(Integer postId, Map<Integer, Long> removedByUser) {
+        long total = removedByUser.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) return;
+        postStatsRepository.addDecorationCount(postId, -total);
+        removedByUser.forEach((uid, n) -> {
+            if (uid != null) userStatsRepository.addDecorationCount(uid, -n);
+        });
+    }
+
+    // =========================
+    // 읽기 (한 행 / IN 쿼리 한 번)
+    // =========================
+    @Transactional(readOnly = true)
+    public PostCounts getPostCounts(Integer postId) {
+        return postStatsRepository.findCountsByPostId(postId)
+                .map(s -> new PostCounts(s.getCommentCount(), s.getDecorationCount(), s.getThreadCount()))
+                .orElse(PostCounts.EMPTY);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Integer, PostCounts> getPostCounts(Collection<Integer> postIds) {
+        if (postIds == null || postIds.isEmpty()) return Map.of();
+        return postStatsRepository.findCountsByPostIdIn(postIds).stream().collect(Collectors.toMap(
+                PostStatsRepository.CountsView::getPostId,
+                s -> new PostCounts(s.getCommentCount(), s.getDecorationCount(), s.getThreadCount())));
+    }
+
+    @Transactional(readOnly = true)
+    public UserCounts getUserCounts(Integer userId) {
+        return userStatsRepository.findCountsByUserId(userId)
+                .map(s -> new UserCounts(s.getPostCount(), s.getCommentCount(), s.getDecorationCount()))
+                .orElse(UserCounts.EMPTY);
+    }
+
+    // Object[] {userId, count} 형태의 group by 결과 -> Map
+    public static Map<Integer, Long> toCountMap(List<Object[]> rows) {
+        return rows.stream()
+                .filter(r -> r[0] != null)
+                .collect(Collectors.toMap(
+                        r -> ((Number) r[0]).intValue(),
+                        r -> ((Number) r[1]).longValue(),
+                        Long::sum));
+    }
+}
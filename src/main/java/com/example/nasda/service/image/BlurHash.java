@@ -0,0 +1,104 @@
+package com.example.nasda.service.image;
+
+/**
+ * ✅ BlurHash 인코더 (https://blurha.sh 형식 그대로 — 브라우저 쪽 디코더와 호환)
+ * 작은 이미지의 저주파 성분(cos 기저 cx × cy개)만 base83 문자열로 남김 → 4×3이면 28자
+ */
+final class BlurHash {
+
+    private static final String CHARS =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    private BlurHash() {
+    }
+
+    /**
+     * @param rgb 0xRRGGBB 픽셀 (행 우선, w × h)
+     * @param cx  가로 성분 수 (1~9)
+     * @param cy  세로 성분 수 (1~9)
+     */
+    static String encode(int[] rgb, int w, int h, int cx, int cy) {
+        if (cx < 1 || cx > 9 || cy < 1 || cy > 9) throw new IllegalArgumentException("성분 수는 1~9");
+        if (rgb.length < w * h) throw new IllegalArgumentException("픽셀 수가 부족합니다.");
+
+        // 선형 RGB로 한 번만 변환
+        double[] lr = new double[w * h];
+        double[] lg = new double[w * h];
+        double[] lb = new double[w * h];
+        for (int i = 0; i < w * h; i++) {
+            lr[i] = toLinear((rgb[i] >> 16) & 0xff);
+            lg[i] = toLinear((rgb[i] >> 8) & 0xff);
+            lb[i] = toLinear(rgb[i] & 0xff);
+        }
+
+        double[][] factors = new double[cx * cy][];
+        for (int j = 0; j < cy; j++) {
+            for (int i = 0; i < cx; i++) {
+                double norm = (i == 0 && j == 0) ? 1 : 2;
+                double r = 0, g = 0, b = 0;
+                for (int y = 0; y < h; y++) {
+                    double by = Math.cos(Math.PI * j * y / h);
+                    for (int x = 0; x < w; x++) {
+                        double basis = by * Math.cos(Math.PI * i * x / w);
+                        int p = y * w + x;
+                        r += basis * lr[p];
+                        g += basis * lg[p];
+                        b += basis * lb[p];
+                    }
+                }
+                double scale = norm / (w * h);
+                factors[j * cx + i] = new double[]{r * scale, g * scale, b * scale};
+            }
+        }
+
+        StringBuilder hash = new StringBuilder(4 + 2 * (cx * cy - 1) + 2);
+        encode83(hash, (cx - 1) + (cy - 1) * 9, 1);
+
+        double maximum = 1;
+        if (factors.length > 1) {
+            double actualMax = 0;
+            for (int k = 1; k < factors.length; k++) {
+                for (double v : factors[k]) actualMax = Math.max(actualMax, Math.abs(v));
+            }
+            int quantisedMax = (int) Math.max(0, Math.min(82, Math.floor(actualMax * 166 - 0.5)));
+            maximum = (quantisedMax + 1) / 166.0;
+            encode83(hash, quantisedMax, 1);
+        } else {
+            encode83(hash, 0, 1);
+        }
+
+        double[] dc = factors[0];
+        encode83(hash, (toSrgb(dc[0]) << 16) + (toSrgb(dc[1]) << 8) + toSrgb(dc[2]), 4);
+        for (int k = 1; k < factors.length; k++) {
+            double[] ac = factors[k];
+            encode83(hash, quantiseAc(ac[0], maximum) * 19 * 19
+                    + quantiseAc(ac[1], maximum) * 19
+                    + quantiseAc(ac[2], maximum), 2);
+        }
+        return hash.toString();
+    }
+
+    private static int quantiseAc(double value, double maximum) {
+        double v = Math.signum(value) * Math.sqrt(Math.abs(value / maximum));
+        return (int) Math.max(0, Math.min(18, Math.floor(v * 9 + 9.5)));
+    }
+
+    private static void encode83(StringBuilder out, int value, int length) {
+        for (int i = 1; i <= length; i++) {
+            int digit = (int) ((value / (long) Math.pow(83, length - i)) % 83);
+            out.append(CHARS.charAt(digit));
+        }
+    }
+
+    static double toLinear(int srgb) {
+        double v = srgb / 255.0;
+        return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+    }
+
+    static int toSrgb(double linear) {
+        double v = Math.max(0, Math.min(1, linear));
+        return v <= 0.0031308
+                ? (int) (v * 12.92 * 255 + 0.5)
+                : (int) ((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255 + 0.5);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.nasda.service.image;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ✅ 64비트 지각 해시 메모리 색인 (multi-index hashing)
+ * - 해시를 16비트 4조각으로 나눠 조각마다 65536칸 버킷 (칸 = 그 조각 값을 가진 항목 자리 배열)
+ * - 거리 r 이내인 두 해시는 비둘기집 원리로 적어도 한 조각이 r/4 이내 → 조각마다 그 반경의 칸만 꺼내서 전체 거리로 확인
+ *   (r ≤ 7이면 조각당 17칸 — 보는 항목 수는 칸 크기(≈ 전체/65536)에 비례, 전체를 훑지 않음)
+ * - id = post_images.image_id (자동 증가라 촘촘함 → id → 자리 표를 배열로)
+ * - 읽기는 여러 스레드 동시, 쓰기(추가/삭제)는 하나씩 (ReadWriteLock)
+ */
+public class HammingIndex {
+
+    /**
+     * 찾은 항목 (distance: 다른 비트 수, 0~64)
+     */
+    public record Match(int id, int distance) {
+    }
+
+    // 조각 반경 3까지 (조각당 1 + 16 + 120 + 560 = 697칸)
+    public static final int MAX_DISTANCE = 15;
+
+    private static final int BLOCKS = 4;
+    private static final int BLOCK_BITS = 16;
+    private static final int BUCKETS = 1 << BLOCK_BITS;
+    // [반경] → 1인 비트가 그 개수인 16비트 값들
+    private static final int[][] MASKS = masks(MAX_DISTANCE / BLOCKS);
+
+    private long[] hashes = new long[1024];
+    private int[] ids = new int[1024];
+    private int size;
+    private int[] slotOf = new int[1024]; // id → 자리 + 1 (0 = 없음)
+    private final int[][][] buckets = new int[BLOCKS][BUCKETS][];
+    private final int[][] bucketSizes = new int[BLOCKS][BUCKETS];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 추가 또는 교체 (같은 id가 있으면 해시만 바꿈)
+     */
+    public void put(int id, long hash) {
+        if (id < 0) throw new IllegalArgumentException("id는 0 이상이어야 합니다.");
+
+        lock.writeLock().lock();
+        try {
+            int slot = slot(id);
+            if (slot >= 0) {
+                if (hashes[slot] == hash) return;
+                removeSlot(slot);
+            }
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            if (id >= slotOf.length) {
+                slotOf = Arrays.copyOf(slotOf, Math.max(id + 1, slotOf.length * 2));
+            }
+
+            slot = size++;
+            hashes[slot] = hash;
+            ids[slot] = id;
+            slotOf[id] = slot + 1;
+            for (int b = 0; b < BLOCKS; b++) {
+                add(b, block(hash, b), slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(int id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slot(id);
+            if (slot < 0) return false;
+            removeSlot(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * hash와 거리 maxDistance(최대 MAX_DISTANCE) 이내인 항목 — 가까운 순(같으면 id 순), 최대 limit개
+     */
+    public List<Match> search(long hash, int maxDistance, int limit) {
+        int r = Math.max(0, Math.min(maxDistance, MAX_DISTANCE));
+        int radius = r / BLOCKS;
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> seen = new HashSet<>();
+            List<Match> found = new ArrayList<>();
+            for (int b = 0; b < BLOCKS; b++) {
+                int key = block(hash, b);
+                for (int d = 0; d <= radius; d++) {
+                    for (int mask : MASKS[d]) {
+                        int k = key ^ mask;
+                        int[] bucket = buckets[b][k];
+                        int n = bucketSizes[b][k];
+                        for (int i = 0; i < n; i++) {
+                            int slot = bucket[i];
+                            if (!seen.add(slot)) continue;
+                            int distance = PerceptualHash.distance(hashes[slot], hash);
+                            if (distance <= r) found.add(new Match(ids[slot], distance));
+                        }
+                    }
+                }
+            }
+            found.sort(Comparator.comparingInt(Match::distance).thenComparingInt(Match::id));
+            return found.size() > limit ? List.copyOf(found.subList(0, Math.max(0, limit))) : found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int slot(int id) {
+        return id >= 0 && id < slotOf.length ? slotOf[id] - 1 : -1;
+    }
+
+    // 마지막 자리를 빈 자리로 옮겨서 배열을 촘촘하게 유지
+    private void removeSlot(int slot) {
+        long hash = hashes[slot];
+        for (int b = 0; b < BLOCKS; b++) {
+            replace(b, block(hash, b), slot, -1);
+        }
+        slotOf[ids[slot]] = 0;
+
+        int last = --size;
+        if (slot != last) {
+            long moved = hashes[last];
+            for (int b = 0; b < BLOCKS; b++) {
+                replace(b, block(moved, b), last, slot);
+            }
+            hashes[slot] = moved;
+            ids[slot] = ids[last];
+            slotOf[ids[slot]] = slot + 1;
+        }
+    }
+
+    private void add(int b, int key, int slot) {
+        int[] bucket = buckets[b][key];
+        int n = bucketSizes[b][key];
+        if (bucket == null) {
+            bucket = new int[2];
+        } else if (n == bucket.length) {
+            bucket = Arrays.copyOf(bucket, n * 2);
+        }
+        bucket[n] = slot;
+        buckets[b][key] = bucket;
+        bucketSizes[b][key] = n + 1;
+    }
+
+    // to = -1이면 빼기 (순서는 상관없으므로 마지막 값으로 메움)
+    private void replace(int b, int key, int from, int to) {
+        int[] bucket = buckets[b][key];
+        int n = bucketSizes[b][key];
+        for (int i = 0; i < n; i++) {
+            if (bucket[i] != from) continue;
+            if (to >= 0) {
+                bucket[i] = to;
+            } else {
+                bucket[i] = bucket[n - 1];
+                bucketSizes[b][key] = n - 1;
+                if (n == 1) buckets[b][key] = null;
+            }
+            return;
+        }
+    }
+
+    private static int block(long hash, int b) {
+        return (int) (hash >>> (b * BLOCK_BITS)) & (BUCKETS - 1);
+    }
+
+    private static int[][] masks(int maxRadius) {
+        List<List<Integer>> byCount = new ArrayList<>();
+        for (int d = 0; d <= maxRadius; d++) {
+            byCount.add(new ArrayList<>());
+        }
+        for (int v = 0; v < BUCKETS; v++) {
+            int bits = Integer.bitCount(v);
+            if (bits <= maxRadius) byCount.get(bits).add(v);
+        }
+        int[][] result = new int[maxRadius + 1][];
+        for (int d = 0; d <= maxRadius; d++) {
+            result[d] = byCount.get(d).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.nasda.service.image;
+
+import com.example.nasda.domain.ImageMetadata;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * ✅ 업로드 파일에서 크기/대표색/BlurHash/지각 해시 읽기 (FileStorageService가 저장하면서 호출)
+ * - 크기와 EXIF 방향은 헤더만 읽어서 (픽셀 디코딩 없음)
+ * - 대표색/BlurHash/dHash는 디코딩 단계에서 건너뛰며(subsampling) 읽은 작은 이미지로 계산
+ * - 읽지 못하면 가능한 값만 채워서 돌려줌 (업로드 자체는 실패시키지 않음)
+ */
+public final class ImageProbe {
+
+    // 대표색/BlurHash 계산용 작은 이미지의 긴 변 (BlurHash는 저주파만 보므로 충분)
+    private static final int SAMPLE_EDGE = 32;
+
+    private ImageProbe() {
+    }
+
+    public static ImageMetadata read(Path file, long maxPixels) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) return ImageMetadata.EMPTY;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return ImageMetadata.EMPTY;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, false);
+                int srcW = reader.getWidth(0);
+                int srcH = reader.getHeight(0);
+                int orientation = ImageResizer.orientation(reader.getImageMetadata(0));
+                boolean swap = ImageResizer.swapsAxes(orientation);
+                int width = swap ? srcH : srcW;
+                int height = swap ? srcW : srcH;
+
+                if ((long) srcW * srcH > maxPixels) return new ImageMetadata(width, height, null, null, null);
+                try {
+                    BufferedImage small = ImageResizer.orient(sample(reader, srcW, srcH), orientation);
+                    return new ImageMetadata(width, height, dominantColor(small), placeholder(small), perceptualHash(small));
+                } catch (IOException | RuntimeException e) {
+                    // 픽셀은 못 읽어도(CMYK JPEG 등) 크기는 씀
+                    return new ImageMetadata(width, height, null, null, null);
+                }
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return ImageMetadata.EMPTY;
+        }
+    }
+
+    // 긴 변이 SAMPLE_EDGE의 4배 정도가 되게 건너뛰며 디코딩한 뒤 절반씩 줄임 (건너뛰기만 하면 자글자글함)
+    private static BufferedImage sample(ImageReader reader, int srcW, int srcH) throws IOException {
+        int longEdge = Math.max(srcW, srcH);
+        int step = Math.max(1, longEdge / (SAMPLE_EDGE * 4));
+        ImageReadParam param = reader.getDefaultReadParam();
+        if (step > 1) param.setSourceSubsampling(step, step, 0, 0);
+        BufferedImage decoded = reader.read(0, param);
+
+        int w = decoded.getWidth();
+        int h = decoded.getHeight();
+        double ratio = Math.min(1.0, (double) SAMPLE_EDGE / Math.max(w, h));
+        int tw = Math.max(1, (int) Math.round(w * ratio));
+        int th = Math.max(1, (int) Math.round(h * ratio));
+        return ImageResizer.scale(decoded, tw, th);
+    }
+
+    /**
+     * 가장 많은 색 칸(채널당 3비트 = 512칸, 작은 이미지라 거칠게)의 평균색 "#rrggbb"
+     */
+    static String dominantColor(BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int[] rgb = image.getRGB(0, 0, w, h, null, 0, w);
+
+        int[] count = new int[512];
+        long[] sum = new long[512 * 3];
+        for (int p : rgb) {
+            int r = (p >> 16) & 0xff;
+            int g = (p >> 8) & 0xff;
+            int b = p & 0xff;
+            int bin = ((r >> 5) << 6) | ((g >> 5) << 3) | (b >> 5);
+            count[bin]++;
+            sum[bin * 3] += r;
+            sum[bin * 3 + 1] += g;
+            sum[bin * 3 + 2] += b;
+        }
+
+        int best = 0;
+        for (int i = 1; i < count.length; i++) {
+            if (count[i] > count[best]) best = i;
+        }
+        int n = Math.max(1, count[best]);
+        return String.format(Locale.ROOT, "#%02x%02x%02x",
+                sum[best * 3] / n, sum[best * 3 + 1] / n, sum[best * 3 + 2] / n);
+    }
+
+    static long perceptualHash(BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        return PerceptualHash.dHash(image.getRGB(0, 0, w, h, null, 0, w), w, h);
+    }
+
+    /**
+     * 가로가 길면 4×3, 세로가 길면 3×4 성분 BlurHash (28자)
+     */
+    static String placeholder(BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int[] rgb = image.getRGB(0, 0, w, h, null, 0, w);
+        return w >= h
+                ? BlurHash.encode(rgb, w, h, 4, 3)
+                : BlurHash.encode(rgb, w, h, 3, 4);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.nasda.service.image;
+
+import org.w3c.dom.Node;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+/**
+ * ✅ 리사이즈/회전/인코딩 (ImageIO + Java2D만 사용)
+ * - 축소는 절반씩 bilinear로 여러 번 (한 번에 크게 줄이면 계단 현상)
+ * - 투명 배경은 흰색으로 채움 (JPEG는 알파 없음)
+ * - 휴대폰 사진의 EXIF 방향을 픽셀에 반영 (변형 파일에는 EXIF가 없어서 그대로 두면 옆으로 누움)
+ */
+final class ImageResizer {
+
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    private ImageResizer() {
+    }
+
+    /**
+     * 가로/세로 뒤바뀌는 방향(5~8)인지
+     */
+    static boolean swapsAxes(int orientation) {
+        return orientation >= 5 && orientation <= 8;
+    }
+
+    /**
+     * (tw × th)로 축소 — 결과는 항상 TYPE_INT_RGB
+     */
+    static BufferedImage scale(BufferedImage src, int tw, int th) {
+        BufferedImage cur = src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+        do {
+            w = Math.max(tw, w / 2);
+            h = Math.max(th, h / 2);
+
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, w, h);
+                g.drawImage(cur, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            cur = next;
+        } while (w != tw || h != th);
+        return cur;
+    }
+
+    /**
+     * EXIF 방향(1~8)대로 돌리거나 뒤집음 — 1이면 그대로
+     */
+    static BufferedImage orient(BufferedImage src, int orientation) {
+        if (orientation <= 1 || orientation > 8) return src;
+
+        int w = src.getWidth();
+        int h = src.getHeight();
+        AffineTransform t = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // 좌우 반전
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // 180°
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // 상하 반전
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // 대각선 반전
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // 시계 방향 90°
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // 반대 대각선 반전
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);  // 8: 반시계 방향 90°
+        };
+
+        BufferedImage dest = swapsAxes(orientation)
+                ? new BufferedImage(h, w, BufferedImage.TYPE_INT_RGB)
+                : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dest.createGraphics();
+        try {
+            g.drawImage(src, t, null);
+        } finally {
+            g.dispose();
+        }
+        return dest;
+    }
+
+    /**
+     * JPEG 메타데이터의 EXIF(APP1)에서 방향 값 — 없거나 읽을 수 없으면 1
+     */
+    static int orientation(IIOMetadata metadata) {
+        if (metadata == null) return 1;
+        try {
+            Node root = metadata.getAsTree("javax_imageio_jpeg_image_1.0");
+            for (Node seq = root.getFirstChild(); seq != null; seq = seq.getNextSibling()) {
+                if (!"markerSequence".equals(seq.getNodeName())) continue;
+                for (Node n = seq.getFirstChild(); n != null; n = n.getNextSibling()) {
+                    if (!(n instanceof IIOMetadataNode marker) || !"unknown".equals(n.getNodeName())) continue;
+                    if (!"225".equals(marker.getAttribute("MarkerTag"))) continue;
+                    if (marker.getUserObject() instanceof byte[] app1) {
+                        int o = exifOrientation(app1);
+                        if (o > 0) return o;
+                    }
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // JPEG가 아닌 형식
+        }
+        return 1;
+    }
+
+    /**
+     * "Exif\0\0" + TIFF 헤더 + IFD0에서 0x0112 태그 — 없으면 0
+     */
+    static int exifOrientation(byte[] app1) {
+        if (app1.length < 14 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') return 0;
+
+        int tiff = 6;
+        boolean little;
+        if (app1[tiff] == 'I' && app1[tiff + 1] == 'I') little = true;
+        else if (app1[tiff] == 'M' && app1[tiff + 1] == 'M') little = false;
+        else return 0;
+
+        long ifd = tiff + readInt(app1, tiff + 4, little);
+        if (ifd < 0 || ifd + 2 > app1.length) return 0;
+
+        int count = readShort(app1, (int) ifd, little);
+        for (int i = 0; i < count; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > app1.length) return 0;
+            if (readShort(app1, entry, little) == EXIF_ORIENTATION_TAG) {
+                int value = readShort(app1, entry + 8, little);
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static int readShort(byte[] b, int off, boolean little) {
+        int b0 = b[off] & 0xff;
+        int b1 = b[off + 1] & 0xff;
+        return little ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static long readInt(byte[] b, int off, boolean little) {
+        if (off + 4 > b.length) return -1;
+        long v = 0;
+        for (int i = 0; i < 4; i++) {
+            int shift = little ? 8 * i : 8 * (3 - i);
+            v |= (long) (b[off + i] & 0xff) << shift;
+        }
+        return v;
+    }
+
+    // =========================
+    // 인코딩
+    // =========================
+
+    /**
+     * 해당 MIME 타입 writer가 등록돼 있는지 (WebP는 플러그인이 있을 때만)
+     */
+    static boolean canWrite(String mimeType) {
+        return ImageIO.getImageWritersByMIMEType(mimeType).hasNext();
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 이름을 바꿈 — 읽는 쪽이 반쯤 쓴 파일을 보지 않게
+     */
+    static void write(BufferedImage image, String mimeType, float quality, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType(mimeType);
+        if (!writers.hasNext()) throw new IOException("writer 없음: " + mimeType);
+        ImageWriter writer = writers.next();
+
+        // 같은 파일을 두 작업이 동시에 만들 수 있어서(같은 사진 재업로드) 임시 이름은 매번 다르게
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0) {
+                    // WebP writer는 무손실/손실 두 가지 — 사진은 손실 압축이 훨씬 작음
+                    String type = param.getCompressionType() != null ? param.getCompressionType() : types[0];
+                    for (String t : types) {
+                        if ("Lossy".equalsIgnoreCase(t)) type = t;
+                    }
+                    param.setCompressionType(type);
+                }
+                param.setCompressionQuality(quality);
+            }
+            if (param.canWriteProgressive()) {
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            writer.dispose();
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.nasda.service.image;
+
+import com.example.nasda.domain.PostImageEntity;
+import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.service.storage.StorageBackend;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ 업로드 이미지 리사이즈 변형 생성 (피드/마이페이지 카드가 원본(최대 10MB) 대신 작은 파일을 받게)
+ * - 너비마다(기본 320/640/1280) JPEG + WebP(writer가 있을 때만)를 원본과 같은 저장소에 저장: abc.png → abc_w640.jpg, abc_w640.webp
+ * - 원본보다 좁은 너비만 만듦 (확대 안 함), 결과 너비 목록은 post_images.variant_widths에 기록
+ * - 업로드 트랜잭션 커밋 뒤 고정 크기 풀에서 처리 — 대기열이 차면 버리고, 주기적인 보충 작업이 다시 집어감
+ * 변형이 생기기 전까지는 원본을 그대로 씁니다.
+ */
+@Log4j2
+@Service
+public class ImageVariantService {
+
+    private static final String JPEG = "image/jpeg";
+    private static final String WEBP = "image/webp";
+
+    private final PostImageRepository postImageRepository;
+    private final StorageBackend storage;
+    private final int[] widths;
+    private final long maxPixels;
+    private final float quality;
+    private final ThreadPoolExecutor workers;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final boolean webp;
+
+    public ImageVariantService(PostImageRepository postImageRepository,
+                               StorageBackend storage,
+                               @Value("${app.image.variants.widths:320,640,1280}") String widths,
+                               @Value("${app.image.variants.threads:2}") int threads,
+                               @Value("${app.image.variants.queue-size:200}") int queueSize,
+                               @Value("${app.image.variants.max-pixels:40000000}") long maxPixels,
+                               @Value("${app.image.variants.quality:0.82}") float quality) {
+        this.postImageRepository = postImageRepository;
+        this.storage = storage;
+        this.widths = parseWidths(widths);
+        this.maxPixels = maxPixels;
+        this.quality = quality;
+        this.webp = ImageResizer.canWrite(WEBP);
+
+        // 디코딩한 원본이 스레드당 수십 MB라 스레드/대기열 모두 작게 고정, 웹 요청보다 낮은 우선순위
+        AtomicInteger threadNo = new AtomicInteger();
+        int n = Math.max(1, threads);
+        this.workers = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), r -> {
+            Thread t = new Thread(r, "image-variant-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+
+        if (!webp) log.info("WebP writer 없음 - 이미지 변형은 JPEG만 생성");
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 뒤에 예약 (롤백된 업로드는 처리하지 않음)
+     */
+    public void generateAfterCommit(String imageUrl) {
+        if (imageUrl == null) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(imageUrl);
+                }
+            });
+        } else {
+            submit(imageUrl);
+        }
+    }
+
+    /**
+     * 원본과 함께 변형 파일도 삭제 (없는 파일은 무시)
+     */
+    public void deleteVariants(String imageUrl) {
+        for (int w : widths) {
+            for (String ext : List.of("jpg", "webp")) {
+                String name = StorageBackend.nameOf(PostImageEntity.variantUrl(imageUrl, w, ext));
+                if (name == null) return;
+                try {
+                    storage.delete(name);
+                } catch (IOException e) {
+                    log.warn("이미지 변형 삭제 실패 - {} ({})", name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    // 변형 없는 이미지 보충 (기능 추가 전 업로드, 대기열이 차서 버려진 작업, 재시작으로 날아간 작업)
+    @Scheduled(initialDelayString = "${app.image.variants.backfill-initial-delay-ms:60000}",
+            fixedDelayString = "${app.image.variants.backfill-interval-ms:600000}")
+    public void backfill() {
+        int room = workers.getQueue().remainingCapacity();
+        if (room <= 0) return;
+
+        try {
+            int queued = 0;
+            for (String imageUrl : postImageRepository.findUrlsWithoutVariants(room + pending.size())) {
+                if (!pending.contains(imageUrl) && submit(imageUrl)) queued++;
+            }
+            if (queued > 0) log.info("이미지 변형 보충 - {}개 예약", queued);
+        } catch (Exception e) {
+            log.warn("이미지 변형 보충 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private boolean submit(String imageUrl) {
+        if (!pending.add(imageUrl)) return false;
+        try {
+            workers.execute(() -> {
+                try {
+                    process(imageUrl);
+                } finally {
+                    pending.remove(imageUrl);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(imageUrl);
+            log.debug("이미지 변형 대기열 가득 참 - {} (보충 작업에서 다시 처리)", imageUrl);
+            return false;
+        }
+    }
+
+    // 파일 단위로 처리하고, 같은 파일을 가리키는 행 전부에 결과 기록
+    private void process(String imageUrl) {
+        String made = "";
+        boolean madeWebp = false;
+        try {
+            // 같은 내용을 전에 올린 적이 있으면 그 결과를 그대로 (파일 이름이 같으므로 변형 파일도 같음)
+            Optional<PostImageEntity> done = postImageRepository.findFirstByImageUrlAndVariantWidthsIsNotNull(imageUrl);
+            if (done.isPresent()) {
+                made = done.get().getVariantWidths();
+                madeWebp = Boolean.TRUE.equals(done.get().getVariantWebp());
+            } else {
+                // 원본이 없으면(그 사이 삭제/외부 URL) "" 기록 — 행이 남아 있어도 보충 작업이 계속 다시 집지 않게
+                String name = StorageBackend.nameOf(imageUrl);
+                if (name != null && storage.exists(name)) {
+                    List<Integer> result;
+                    // 원격 저장소면 임시 파일로 한 번 받아서 디코딩
+                    try (StorageBackend.LocalFile original = storage.fetch(name)) {
+                        result = generate(imageUrl, original.path());
+                    }
+                    made = join(result);
+                    madeWebp = webp && !result.isEmpty();
+
+                    // 처리 중에 게시글 이미지가 교체/삭제됐으면 방금 만든 파일도 정리
+                    if (!storage.exists(name)) {
+                        deleteVariants(imageUrl);
+                        return;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // 깨진 파일/지원 안 하는 형식(CMYK JPEG 등)은 원본만 사용
+            log.warn("이미지 변형 생성 실패 - {} ({})", imageUrl, e.toString());
+            made = "";
+            madeWebp = false;
+        }
+
+        try {
+            postImageRepository.updateVariants(imageUrl, made, madeWebp);
+        } catch (Exception e) {
+            log.warn("이미지 변형 기록 실패 - {} ({})", imageUrl, e.getMessage());
+        }
+    }
+
+    /**
+     * 변형 파일을 쓰고 만든 너비(오름차순)를 돌려줌 — 만들 게 없으면 빈 리스트
+     */
+    List<Integer> generate(String imageUrl, Path original) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            if (in == null) return List.of();
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return List.of();
+
+            ImageReader reader = readers.next();
+            try {
+                // 움직이는 GIF는 첫 장면만 남으므로 원본 사용
+                if ("gif".equalsIgnoreCase(reader.getFormatName())) return List.of();
+
+                reader.setInput(in, true, false);
+                int srcW = reader.getWidth(0);
+                int srcH = reader.getHeight(0);
+                if ((long) srcW * srcH > maxPixels) return List.of(); // 디코딩만으로 메모리를 다 쓰는 이미지
+
+                int orientation = ImageResizer.orientation(reader.getImageMetadata(0));
+                boolean swap = ImageResizer.swapsAxes(orientation);
+                int displayW = swap ? srcH : srcW;
+
+                List<Integer> targets = new ArrayList<>();
+                for (int w : widths) {
+                    if (w < displayW) targets.add(w);
+                }
+                if (targets.isEmpty()) return List.of();
+
+                // 가장 큰 변형의 2배 이상만 남기고 디코딩 단계에서 건너뜀 (큰 사진의 메모리/시간 절약)
+                int largest = targets.get(targets.size() - 1);
+                int step = Math.max(1, displayW / (2 * largest));
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (step > 1) param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                // 큰 것부터 만들고 다음 너비는 그 결과에서 다시 줄임
+                BufferedImage source = decoded;
+                for (int i = targets.size() - 1; i >= 0; i--) {
+                    int w = targets.get(i);
+                    double ratio = (double) w / displayW;
+                    int tw = Math.max(1, (int) Math.round((swap ? srcH : srcW) * ratio));
+                    int th = Math.max(1, (int) Math.round((swap ? srcW : srcH) * ratio));
+                    // 스케일은 저장된 방향 기준, 회전은 작아진 뒤에
+                    BufferedImage scaled = swap
+                            ? ImageResizer.scale(source, th, tw)
+                            : ImageResizer.scale(source, tw, th);
+                    source = scaled;
+
+                    BufferedImage oriented = ImageResizer.orient(scaled, orientation);
+                    store(oriented, JPEG, PostImageEntity.variantUrl(imageUrl, w, "jpg"));
+                    if (webp) {
+                        store(oriented, WEBP, PostImageEntity.variantUrl(imageUrl, w, "webp"));
+                    }
+                }
+                return targets;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 저장소 임시 파일에 인코딩한 뒤 변형 이름으로 저장 (같은 변형을 두 작업이 만들어도 덮어쓸 뿐)
+    private void store(BufferedImage image, String mimeType, String variantUrl) throws IOException {
+        String name = StorageBackend.nameOf(variantUrl);
+        if (name == null) throw new IOException("잘못된 변형 URL: " + variantUrl);
+        Path tmp = storage.createTempFile(".variant");
+        try {
+            ImageResizer.write(image, mimeType, quality, tmp);
+            storage.put(name, tmp);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static String join(List<Integer> values) {
+        StringJoiner sj = new StringJoiner(",");
+        for (Integer v : values) sj.add(String.valueOf(v));
+        return sj.toString();
+    }
+
+    static int[] parseWidths(String text) {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (String token : text.split(",")) {
+            try {
+                int w = Integer.parseInt(token.trim());
+                if (w > 0) set.add(w);
+            } catch (NumberFormatException ignored) {
+                // 잘못된 값은 건너뜀
+            }
+        }
+        if (set.isEmpty()) throw new IllegalArgumentException("app.image.variants.widths가 비어 있습니다.");
+        return set.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
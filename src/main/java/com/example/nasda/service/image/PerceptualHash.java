@@ -0,0 +1,58 @@
+package com.example.nasda.service.image;
+
+/**
+ * ✅ 지각 해시 dHash (64비트) — 다시 저장/압축/크기 변경한 사진도 거의 같은 값
+ * 9×8 흑백으로 줄인 뒤 행마다 왼쪽 < 오른쪽이면 1 → 비트 차이 수(해밍 거리)가 작을수록 비슷한 이미지
+ * 밝기 변화가 없는 이미지(단색)는 0 — 비교할 정보가 없으므로 색인하지 않음
+ */
+final class PerceptualHash {
+
+    private static final int W = 9;
+    private static final int H = 8;
+
+    private PerceptualHash() {
+    }
+
+    /**
+     * @param rgb 0xRRGGBB 픽셀 (행 우선, w × h)
+     */
+    static long dHash(int[] rgb, int w, int h) {
+        if (w < 1 || h < 1 || rgb.length < w * h) throw new IllegalArgumentException("픽셀 수가 부족합니다.");
+
+        // 칸마다 덮는 원본 픽셀의 평균 밝기 (원본이 9×8보다 작으면 가장 가까운 픽셀)
+        int[] gray = new int[W * H];
+        for (int ty = 0; ty < H; ty++) {
+            int y0 = ty * h / H;
+            int y1 = Math.max(y0 + 1, (ty + 1) * h / H);
+            for (int tx = 0; tx < W; tx++) {
+                int x0 = tx * w / W;
+                int x1 = Math.max(x0 + 1, (tx + 1) * w / W);
+                long sum = 0;
+                for (int y = y0; y < y1; y++) {
+                    for (int x = x0; x < x1; x++) {
+                        sum += luma(rgb[y * w + x]);
+                    }
+                }
+                gray[ty * W + tx] = (int) (sum / ((long) (y1 - y0) * (x1 - x0)));
+            }
+        }
+
+        long hash = 0;
+        for (int y = 0; y < H; y++) {
+            for (int x = 0; x < W - 1; x++) {
+                hash <<= 1;
+                if (gray[y * W + x] < gray[y * W + x + 1]) hash |= 1;
+            }
+        }
+        return hash;
+    }
+
+    static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    // 0~255000 (ITU-R BT.601 가중치, 정수)
+    private static int luma(int p) {
+        return ((p >> 16) & 0xff) * 299 + ((p >> 8) & 0xff) * 587 + (p & 0xff) * 114;
+    }
+}
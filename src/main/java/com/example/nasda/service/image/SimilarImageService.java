@@ -0,0 +1,283 @@
+package com.example.nasda.service.image;
+
+import com.example.nasda.dto.post.SimilarImageDto;
+import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.service.storage.StorageBackend;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * ✅ 비슷한 이미지 찾기 (다시 저장/압축/크기만 바꾼 사진 — 내용 해시가 달라서 파일 공유로는 못 잡는 경우)
+ * - 업로드 때 ImageProbe가 계산한 dHash(post_images.perceptual_hash)를 메모리 색인(HammingIndex)에 둠
+ * - 기동 직후 image_id 순서로 한 덩어리씩 읽어 색인을 만들고, 이후 업로드/이미지 삭제는 커밋 뒤에 반영
+ * - 색인에서 찾은 행은 DB로 한 번 더 확인 (삭제된 게시글/정리된 행은 결과에서 빼고 색인에서도 지움)
+ * - 기능 추가 전 이미지는 주기적인 보충 작업이 파일을 다시 읽어 해시를 채움
+ * 쓰는 곳: 관리자 신고 검토(AdminServiceImpl), 업로드 직후 중복 경고(PostController)
+ */
+@Log4j2
+@Service
+public class SimilarImageService {
+
+    private final PostImageRepository postImageRepository;
+    private final StorageBackend storage;
+    private final int maxDistance;
+    private final int limit;
+    private final int chunkSize;
+    private final int backfillBatch;
+    private final long maxPixels;
+    private final boolean warnOnUpload;
+
+    private final Object writeLock = new Object();
+    private volatile HammingIndex index = new HammingIndex();
+    private List<Consumer<HammingIndex>> pending; // 재색인 중일 때만 non-null
+
+    public SimilarImageService(PostImageRepository postImageRepository,
+                               StorageBackend storage,
+                               @Value("${app.image.similar.max-distance:6}") int maxDistance,
+                               @Value("${app.image.similar.limit:20}") int limit,
+                               @Value("${app.image.similar.chunk-size:5000}") int chunkSize,
+                               @Value("${app.image.similar.backfill-batch:50}") int backfillBatch,
+                               @Value("${app.image.variants.max-pixels:40000000}") long maxPixels,
+                               @Value("${app.image.similar.warn-on-upload:true}") boolean warnOnUpload) {
+        this.postImageRepository = postImageRepository;
+        this.storage = storage;
+        this.maxDistance = Math.max(0, Math.min(maxDistance, HammingIndex.MAX_DISTANCE));
+        this.limit = Math.max(1, limit);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.backfillBatch = Math.max(1, backfillBatch);
+        this.maxPixels = maxPixels;
+        this.warnOnUpload = warnOnUpload;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * 전체 재색인 — 완성된 뒤에 한 번에 교체 (그동안 들어온 변경은 새 색인에도 다시 적용)
+     */
+    public void rebuild() {
+        synchronized (writeLock) {
+            if (pending != null) return; // 이미 진행 중
+            pending = new ArrayList<>();
+        }
+
+        long start = System.currentTimeMillis();
+        HammingIndex fresh = new HammingIndex();
+        try {
+            int afterId = 0;
+            while (true) {
+                List<Object[]> rows = postImageRepository.findPerceptualHashesAfter(afterId, chunkSize);
+                for (Object[] r : rows) {
+                    afterId = ((Number) r[0]).intValue();
+                    fresh.put(afterId, ((Number) r[1]).longValue());
+                }
+                if (rows.size() < chunkSize) break;
+            }
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                pending = null;
+            }
+            log.error("비슷한 이미지 색인 생성 실패: {}", e.getMessage(), e);
+            return;
+        }
+
+        synchronized (writeLock) {
+            pending.forEach(op -> op.accept(fresh));
+            pending = null;
+            index = fresh;
+        }
+        log.info("비슷한 이미지 색인 생성 완료 - 이미지 {}개, {}ms", fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    // =========================
+    // 변경 반영 (커밋 후)
+    // =========================
+
+    /**
+     * 게시글에 새로 들어간 이미지 행을 색인에 추가 (INSERT 한 번으로 넣어서 image_id는 커밋 뒤 다시 읽음)
+     */
+    public void indexPostAfterCommit(Integer postId) {
+        afterCommit(() -> put(postImageRepository.findPerceptualHashesByPostId(postId)));
+    }
+
+    public void removeAfterCommit(Collection<Integer> imageIds) {
+        List<Integer> ids = List.copyOf(imageIds);
+        afterCommit(() -> apply(i -> ids.forEach(i::remove)));
+    }
+
+    // =========================
+    // 조회
+    // =========================
+
+    /**
+     * ✅ 신고 검토용: 이 게시글의 이미지와 비슷한 다른 게시글의 이미지 (가까운 순, 이미지마다 가장 가까운 거리 하나)
+     */
+    public List<SimilarImageDto> findSimilarToPost(Integer postId) {
+        return findSimilarToPosts(List.of(postId)).getOrDefault(postId, List.of());
+    }
+
+    /**
+     * ✅ 신고 목록 한 페이지용: 게시글마다 findSimilarToPost 결과 (비슷한 이미지가 없는 게시글은 빠짐)
+     * 해시 조회 1번 + 찾은 이미지 확인 1번 — 게시글 수와 무관하게 쿼리 2번
+     */
+    public Map<Integer, List<SimilarImageDto>> findSimilarToPosts(Collection<Integer> postIds) {
+        if (postIds.isEmpty()) return Map.of();
+
+        Map<Integer, List<Long>> hashesByPost = new HashMap<>();
+        for (Object[] r : postImageRepository.findPerceptualHashesByPostIds(postIds)) {
+            hashesByPost.computeIfAbsent(((Number) r[0]).intValue(), k -> new ArrayList<>()).add(((Number) r[1]).longValue());
+        }
+
+        Map<Integer, Map<Integer, Integer>> distancesByPost = new HashMap<>();
+        Set<Integer> found = new HashSet<>();
+        hashesByPost.forEach((postId, hashes) -> {
+            Map<Integer, Integer> distanceById = search(hashes);
+            distancesByPost.put(postId, distanceById);
+            found.addAll(distanceById.keySet());
+        });
+
+        Map<Integer, Object[]> rows = activeRows(found);
+        Map<Integer, List<SimilarImageDto>> result = new HashMap<>();
+        distancesByPost.forEach((postId, distanceById) -> {
+            List<SimilarImageDto> similar = toResults(distanceById, rows, postId);
+            if (!similar.isEmpty()) result.put(postId, similar);
+        });
+        return result;
+    }
+
+    /**
+     * ✅ 업로드 직후 경고용: 올린 이미지와 비슷한 이미지가 있는 다른 게시글 수 (꺼져 있으면 0)
+     */
+    public int countSimilarPosts(List<Long> hashes, Integer excludePostId) {
+        if (!warnOnUpload) return 0;
+        return (int) findSimilar(hashes, excludePostId).stream().map(SimilarImageDto::postId).distinct().count();
+    }
+
+    public List<SimilarImageDto> findSimilar(List<Long> hashes, Integer excludePostId) {
+        Map<Integer, Integer> distanceById = search(hashes);
+        return toResults(distanceById, activeRows(distanceById.keySet()), excludePostId);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // =========================
+    // 보충
+    // =========================
+
+    // 지각 해시 없는 파일 보충 (기능 추가 전 업로드) — 읽지 못한 파일은 0으로 기록해서 다시 고르지 않음
+    @Scheduled(initialDelayString = "${app.image.similar.backfill-initial-delay-ms:90000}",
+            fixedDelayString = "${app.image.similar.backfill-interval-ms:600000}")
+    public void backfill() {
+        int filled = 0;
+        try {
+            for (String imageUrl : postImageRepository.findUrlsWithoutPerceptualHash(backfillBatch)) {
+                long hash = readHash(imageUrl);
+                postImageRepository.updatePerceptualHash(imageUrl, hash);
+                if (hash != 0) put(postImageRepository.findPerceptualHashesByImageUrl(imageUrl));
+                filled++;
+            }
+        } catch (Exception e) {
+            // 저장소 오류 등 — 남은 파일은 다음 실행에서
+            log.warn("지각 해시 보충 실패: {}", e.getMessage());
+        }
+        if (filled > 0) log.info("지각 해시 보충 - {}개", filled);
+    }
+
+    private long readHash(String imageUrl) throws Exception {
+        String name = StorageBackend.nameOf(imageUrl);
+        if (name == null || !storage.exists(name)) return 0;
+        try (StorageBackend.LocalFile file = storage.fetch(name)) {
+            Long hash = ImageProbe.read(file.path(), maxPixels).perceptualHash();
+            return hash == null ? 0 : hash;
+        }
+    }
+
+    // 색인 후보: image_id → 해시들 중 가장 가까운 거리
+    private Map<Integer, Integer> search(List<Long> hashes) {
+        Map<Integer, Integer> distanceById = new HashMap<>();
+        for (Long hash : hashes) {
+            if (hash == null || hash == 0) continue;
+            for (HammingIndex.Match m : index.search(hash, maxDistance, limit * 4)) {
+                distanceById.merge(m.id(), m.distance(), Math::min);
+            }
+        }
+        return distanceById;
+    }
+
+    // 색인에서 찾은 행을 DB로 확인: image_id → {image_id, post_id, image_url}
+    // 행이 정리됐거나 게시글이 삭제된 id → 색인에서도 뺌
+    private Map<Integer, Object[]> activeRows(Set<Integer> imageIds) {
+        if (imageIds.isEmpty()) return Map.of();
+
+        Map<Integer, Object[]> rows = new HashMap<>();
+        for (Object[] r : postImageRepository.findActiveImageRows(imageIds)) {
+            rows.put(((Number) r[0]).intValue(), r);
+        }
+        Set<Integer> stale = new HashSet<>(imageIds);
+        stale.removeAll(rows.keySet());
+        if (!stale.isEmpty()) apply(i -> stale.forEach(i::remove));
+        return rows;
+    }
+
+    private List<SimilarImageDto> toResults(Map<Integer, Integer> distanceById, Map<Integer, Object[]> rows,
+                                            Integer excludePostId) {
+        List<SimilarImageDto> result = new ArrayList<>();
+        distanceById.forEach((imageId, distance) -> {
+            Object[] r = rows.get(imageId);
+            if (r == null) return;
+            Integer postId = ((Number) r[1]).intValue();
+            if (postId.equals(excludePostId)) return;
+            result.add(new SimilarImageDto(imageId, postId, (String) r[2], distance));
+        });
+
+        result.sort(Comparator.comparingInt(SimilarImageDto::distance).thenComparing(SimilarImageDto::imageId));
+        return result.size() > limit ? List.copyOf(result.subList(0, limit)) : result;
+    }
+
+    private void put(List<Object[]> rows) {
+        if (rows.isEmpty()) return;
+        apply(i -> rows.forEach(r -> i.put(((Number) r[0]).intValue(), ((Number) r[1]).longValue())));
+    }
+
+    private void afterCommit(Runnable op) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    run(op);
+                }
+            });
+        } else {
+            run(op);
+        }
+    }
+
+    // 색인 반영 실패가 업로드 응답을 깨지 않게 (빠진 행은 다음 재색인/보충 때)
+    private static void run(Runnable op) {
+        try {
+            op.run();
+        } catch (RuntimeException e) {
+            log.warn("비슷한 이미지 색인 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    private void apply(Consumer<HammingIndex> op) {
+        synchronized (writeLock) {
+            op.accept(index);
+            if (pending != null) pending.add(op);
+        }
+    }
+}
@@ -5,12 +5,17 @@ import com.example.nasda.dto.manager.CategoryDTO;
 import com.example.nasda.dto.manager.CommentReportDTO;
 import com.example.nasda.dto.manager.ForbiddenWordDTO;
 import com.example.nasda.dto.manager.PostReportDTO;
+import com.example.nasda.dto.post.SimilarImageDto;
 import com.example.nasda.repository.CategoryRepository;
 import com.example.nasda.repository.PostRepository;
 import com.example.nasda.repository.manager.CommentReportRepository;
 import com.example.nasda.repository.manager.ForbiddenWordRepository;
 import com.example.nasda.repository.manager.NotificationRepository;
 import com.example.nasda.repository.manager.PostReportRepository;
+import com.example.nasda.service.PostService;
+import com.example.nasda.service.UserProfileCache;
+import com.example.nasda.service.image.SimilarImageService;
+import com.example.nasda.service.search.PostSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.modelmapper.ModelMapper;
@@ -37,7 +42,11 @@ public class AdminServiceImpl implements AdminService {
     private final PostReportRepository postReportRepository;
     private final CommentReportRepository commentReportRepository;
     private final PostRepository postRepository;
+    private final PostService postService;
     private final NotificationRepository notificationRepository;
+    private final UserProfileCache userProfileCache;
+    private final PostSearchIndex postSearchIndex;
+    private final SimilarImageService similarImageService;
 
     // 1. 관리자 권한 확인
     @Override
@@ -50,15 +59,42 @@ public class AdminServiceImpl implements AdminService {
     @Override
     public Page<PostReportDTO> getPendingPostReports(Pageable pageable) {
         log.info("게시글 신고 페이징 조회 중...");
-        return postReportRepository.findAll(pageable)
-                .map(report -> modelMapper.map(report, PostReportDTO.class));
+        Page<PostReportEntity> reports = postReportRepository.findAll(pageable);
+        Map<Integer, UserProfileCache.Profile> reporters = userProfileCache.getAll(
+                reports.getContent().stream().map(r -> r.getReporter().getUserId()).collect(Collectors.toSet()));
+        // 비슷한 이미지도 페이지 단위로 한 번에 (신고마다 조회하지 않음)
+        Map<Integer, List<SimilarImageDto>> similarImages = similarImageService.findSimilarToPosts(
+                reports.getContent().stream().map(r -> r.getPost().getPostId()).collect(Collectors.toSet()));
+
+        return reports.map(report -> {
+            PostReportDTO dto = modelMapper.map(report, PostReportDTO.class);
+            dto.setReporterId(report.getReporter().getUserId());
+            dto.setReporterName(nicknameOf(reporters, dto.getReporterId()));
+            dto.setPostId(report.getPost().getPostId());
+            dto.setSimilarImages(similarImages.getOrDefault(dto.getPostId(), List.of()));
+            return dto;
+        });
     }
 
     @Override
     public Page<CommentReportDTO> getPendingCommentReports(Pageable pageable) {
         log.info("댓글 신고 페이징 조회 중...");
-        return commentReportRepository.findAll(pageable)
-                .map(report -> modelMapper.map(report, CommentReportDTO.class));
+        Page<CommentReportEntity> reports = commentReportRepository.findAll(pageable);
+        Map<Integer, UserProfileCache.Profile> reporters = userProfileCache.getAll(
+                reports.getContent().stream().map(r -> r.getReporter().getUserId()).collect(Collectors.toSet()));
+
+        return reports.map(report -> {
+            CommentReportDTO dto = modelMapper.map(report, CommentReportDTO.class);
+            dto.setReporterId(report.getReporter().getUserId());
+            dto.setReporterName(nicknameOf(reporters, dto.getReporterId()));
+            return dto;
+        });
+    }
+
+    // 신고자 닉네임 (탈퇴 등으로 없으면 기본 문구)
+    private String nicknameOf(Map<Integer, UserProfileCache.Profile> profiles, Integer userId) {
+        UserProfileCache.Profile p = userId == null ? null : profiles.get(userId);
+        return p != null ? p.nickname() : UserProfileCache.UNKNOWN_NICKNAME;
     }
 
     // 3. 신고 처리 및 유저 정지 로직
@@ -66,10 +102,15 @@ public class AdminServiceImpl implements AdminService {
     public void processPostReport(Integer reportId, String action, String adminComment) {
         PostReportEntity report = postReportRepository.findById(reportId).orElseThrow();
         if ("APPROVE".equals(action)) {
-            UserEntity writer = report.getPost().getUser();
-            LocalDateTime suspensionEnd = LocalDateTime.now().plusDays(7);
-            log.info("신고 승인: " + writer.getNickname() + " 7일 정지 예정 (" + suspensionEnd + ")");
-            postRepository.delete(report.getPost());
+            // 이미 삭제(대기)된 게시글이면 조회되지 않으므로 건너뜀
+            postRepository.findById(report.getPost().getPostId()).ifPresent(post -> {
+                UserEntity writer = post.getUser();
+                LocalDateTime suspensionEnd = LocalDateTime.now().plusDays(7);
+                log.info("신고 승인: " + (writer != null ? writer.getNickname() : "(알 수 없음)")
+                        + " 7일 정지 예정 (" + suspensionEnd + ")");
+                // 신고 기록/댓글/스티커가 딸려 있어도 FK 걱정 없이 삭제 표시 → TombstonePurger가 정리
+                postService.deleteByAdmin(post.getPostId());
+            });
         }
     }
 
@@ -157,6 +198,7 @@ public class AdminServiceImpl implements AdminService {
         categoryRepository.findById(dto.getCategoryId()).orElseThrow();
         categoryRepository.save(CategoryEntity.builder()
                 .categoryId(dto.getCategoryId()).categoryName(dto.getCategoryName()).isActive(true).build());
+        postSearchIndex.renameCategory(dto.getCategoryId(), dto.getCategoryName());
     }
 
 //    @Override
@@ -182,6 +224,7 @@ public class AdminServiceImpl implements AdminService {
 
         // 4. 마지막으로 카테고리 본체 삭제
         categoryRepository.deleteById(id);
+        postSearchIndex.removeCategory(id);
 
         log.info("카테고리(ID: " + id + ") 및 모든 하위 데이터 삭제 완료");
     }
@@ -0,0 +1,125 @@
+package com.example.nasda.service.purge;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * ✅ 메모리를 일정하게 쓰는 문자열 정렬 (외부 병합 정렬)
+ * - runSize개씩 모아 정렬해서 임시 파일(run)로 내리고, 다 모으면 run들을 k-way 병합하며 한 줄씩 돌려줌
+ * - 전부 메모리에 들어가면(run이 없으면) 파일 없이 그대로 정렬
+ * 정렬 기준은 String.compareTo (DB collation과 상관없이 양쪽을 같은 기준으로 맞추기 위해)
+ */
+final class SortedSpool implements Closeable {
+
+    private final Path dir;
+    private final int runSize;
+    private final List<String> buffer = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    private final List<BufferedReader> readers = new ArrayList<>();
+    private long size;
+
+    SortedSpool(Path dir, int runSize) {
+        this.dir = dir;
+        this.runSize = Math.max(1, runSize);
+    }
+
+    void add(String line) throws IOException {
+        buffer.add(line);
+        size++;
+        if (buffer.size() >= runSize) spill();
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * 정렬된 순서로 한 번만 읽을 수 있음 (이후 add 불가)
+     */
+    Iterator<String> sorted() throws IOException {
+        if (runs.isEmpty()) {
+            buffer.sort(null);
+            return buffer.iterator();
+        }
+        if (!buffer.isEmpty()) spill();
+
+        PriorityQueue<Head> heads = new PriorityQueue<>();
+        for (Path run : runs) {
+            BufferedReader reader = Files.newBufferedReader(run, StandardCharsets.UTF_8);
+            readers.add(reader);
+            Head head = new Head(reader);
+            if (head.advance()) heads.add(head);
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public String next() {
+                Head head = heads.poll();
+                if (head == null) throw new NoSuchElementException();
+                String line = head.line;
+                if (head.advance()) heads.add(head);
+                return line;
+            }
+        };
+    }
+
+    private void spill() throws IOException {
+        buffer.sort(null);
+        Path run = Files.createTempFile(dir, "run", ".txt");
+        runs.add(run);
+        try (BufferedWriter out = Files.newBufferedWriter(run, StandardCharsets.UTF_8)) {
+            for (String line : buffer) {
+                out.write(line);
+                out.newLine();
+            }
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (BufferedReader reader : readers) {
+            reader.close();
+        }
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        buffer.clear();
+    }
+
+    // run 하나의 현재 줄
+    private static final class Head implements Comparable<Head> {
+        private final BufferedReader reader;
+        private String line;
+
+        Head(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        boolean advance() {
+            try {
+                line = reader.readLine();
+                return line != null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public int compareTo(Head other) {
+            return line.compareTo(other.line);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.nasda.service.purge;
+
+import com.example.nasda.repository.CommentRepository;
+import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.repository.PostRepository;
+import com.example.nasda.repository.manager.CommentReportRepository;
+import com.example.nasda.repository.manager.PostReportRepository;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.FileStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+/**
+ * ✅ 삭제 표시(tombstone)된 게시글/댓글의 실제 행 정리 배치
+ * - 게시글: 스티커 → 댓글 신고 → 게시글 신고 → 댓글 → 이미지(+파일) → 게시글 순서로 FK를 풀면서 삭제
+ * - 댓글: 신고 → 댓글
+ * 모든 DELETE는 chunk-size 행 단위의 짧은 트랜잭션이라, 큰 게시글도 comments/post_decorations 락을 오래 잡지 않습니다.
+ * 파일은 해당 이미지 행이 커밋된 뒤에 지웁니다 (실패해도 DB에 깨진 URL이 남지 않게).
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class TombstonePurger {
+
+    private final PostRepository postRepository;
+    private final PostImageRepository postImageRepository;
+    private final CommentRepository commentRepository;
+    private final PostDecorationRepository postDecorationRepository;
+    private final PostReportRepository postReportRepository;
+    private final CommentReportRepository commentReportRepository;
+    private final FileStorageService fileStorageService;
+
+    @Value("${app.purge.chunk-size:200}")
+    private int chunkSize;
+
+    // 삭제 직후 진행 중인 요청/스트림이 끝날 시간을 두고 정리
+    @Value("${app.purge.grace-seconds:60}")
+    private long graceSeconds;
+
+    // 한 번 실행에서 처리할 최대 게시글/댓글 묶음 수 (나머지는 다음 실행에)
+    @Value("${app.purge.max-batches:20}")
+    private int maxBatches;
+
+    // chunk 사이 쉬는 시간 — 다른 트랜잭션이 락을 잡을 틈을 줌
+    @Value("${app.purge.pause-ms:20}")
+    private long pauseMs;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Scheduled(fixedDelayString = "${app.purge.interval-ms:60000}")
+    public void purge() {
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusSeconds(graceSeconds);
+            int posts = purgeDeletedPosts(cutoff);
+            int comments = purgeDeletedComments(cutoff);
+            if (posts > 0 || comments > 0) {
+                log.info("삭제 대기 데이터 정리 - 게시글: {}개, 댓글: {}개", posts, comments);
+            }
+        } catch (Exception e) {
+            // 실패한 묶음은 DELETED 상태로 남아 있으므로 다음 실행에서 이어서 처리
+            log.error("삭제 대기 데이터 정리 실패: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public int purgeDeletedPosts(LocalDateTime cutoff) {
+        int step = Math.max(1, chunkSize);
+        int purged = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Integer> postIds = postRepository.findDeletedPostIds(cutoff, step);
+            if (postIds.isEmpty()) break;
+
+            for (Integer postId : postIds) {
+                purgePost(postId);
+                purged++;
+            }
+            if (postIds.size() < step) break;
+        }
+        return purged;
+    }
+
+    private void purgePost(Integer postId) {
+        int step = Math.max(1, chunkSize);
+
+        drain(() -> postDecorationRepository.purgeByPost(postId, step), step);
+        drain(() -> commentReportRepository.purgeByPost(postId, step), step);
+        drain(() -> postReportRepository.purgeByPost(postId, step), step);
+        drain(() -> commentRepository.purgeByPost(postId, step), step);
+
+        // 이미지: 행 삭제(커밋) → 파일 삭제
+        while (true) {
+            List<Object[]> rows = postImageRepository.findImagesForPurge(postId, step);
+            if (rows.isEmpty()) break;
+
+            List<Integer> imageIds = new ArrayList<>(rows.size());
+            List<String> urls = new ArrayList<>(rows.size());
+            for (Object[] r : rows) {
+                imageIds.add(((Number) r[0]).intValue());
+                urls.add((String) r[1]);
+            }
+
+            postImageRepository.purgeByIds(imageIds);
+            urls.forEach(fileStorageService::deleteByUrl);
+
+            if (rows.size() < step) break;
+            pause();
+        }
+
+        postRepository.purgeDeleted(postId);
+    }
+
+    public int purgeDeletedComments(LocalDateTime cutoff) {
+        int step = Math.max(1, chunkSize);
+        int purged = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Integer> commentIds = commentRepository.findDeletedCommentIds(cutoff, step);
+            if (commentIds.isEmpty()) break;
+
+            commentReportRepository.purgeByCommentIds(commentIds);
+            purged += commentRepository.purgeByIds(commentIds);
+
+            if (commentIds.size() < step) break;
+            pause();
+        }
+        return purged;
+    }
+
+    // 한 번에 step행씩, 덜 지워질 때까지 반복
+    private void drain(IntSupplier deleteChunk, int step) {
+        while (deleteChunk.getAsInt() >= step) {
+            pause();
+        }
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) return;
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
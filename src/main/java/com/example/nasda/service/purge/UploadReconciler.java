@@ -0,0 +1,296 @@
+package com.example.nasda.service.purge;
+
+import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.service.FileStorageService;
+import com.example.nasda.service.storage.StorageBackend;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * ✅ 업로드 저장소 정합성 배치 (참조 없는 파일 정리)
+ * 관리자 카테고리 삭제(행만 일괄 삭제), 커밋 직후 서버 종료, 파일 삭제 실패 등으로 남은 파일을 찾아 지웁니다.
+ * - 저장소: StorageBackend.list("")로 훑으며 "key\t파일명"을 SortedSpool에 (key = 확장자/변형 표시를 뗀 이름)
+ * - DB: post_images를 image_id 순서로 chunk씩 읽어 key를 SortedSpool에
+ * - 두 정렬 결과를 merge join → 참조 없는 파일만 orphan (메모리는 run 크기만큼만 사용)
+ * - orphan은 바로 지우지 않고 저장소의 .quarantine/{날짜}/로 옮긴 뒤, 보관 기간이 지나면 삭제 (그 사이 참조가 생기면 되돌림)
+ * 최근 파일(min-age 이내)은 커밋 전 업로드/변형 생성 중일 수 있어서 건드리지 않습니다.
+ * 커밋 뒤 최종 자리로 옮기지 못한 스테이징 파일은 몇 분마다 다시 옮깁니다 (retryPromotions).
+ * 여러 서버가 저장소를 공유하면 cron 시각을 한 서버에만 켜 두면 됩니다 (app.upload.reconcile.cron=-).
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class UploadReconciler {
+
+    static final String QUARANTINE_PREFIX = ".quarantine/";
+    static final String TMP_PREFIX = ".tmp/";
+    // 앱이 만드는 이름만 대상 (숨김 파일/격리 폴더/다른 용도 파일은 건드리지 않음)
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,127}");
+
+    private final PostImageRepository postImageRepository;
+    private final FileStorageService fileStorageService;
+    private final StorageBackend storage;
+
+    @Value("${app.upload.reconcile.min-age-hours:24}")
+    private long minAgeHours;
+
+    @Value("${app.upload.reconcile.quarantine-days:7}")
+    private int quarantineDays;
+
+    @Value("${app.upload.reconcile.chunk-size:1000}")
+    private int chunkSize;
+
+    // 정렬할 때 메모리에 들고 있는 최대 줄 수 (넘으면 임시 파일로 내림)
+    @Value("${app.upload.reconcile.run-size:100000}")
+    private int runSize;
+
+    // 한 번 실행에서 격리할 최대 파일 수 (나머지는 다음 실행에)
+    @Value("${app.upload.reconcile.max-per-run:10000}")
+    private int maxPerRun;
+
+    // orphan 비율이 이보다 높으면 설정 실수(다른 DB/다른 폴더)로 보고 아무것도 옮기지 않음
+    @Value("${app.upload.reconcile.max-orphan-ratio:0.5}")
+    private double maxOrphanRatio;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Scheduled(cron = "${app.upload.reconcile.cron:0 0 5 * * *}")
+    public void reconcile() {
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            long start = System.currentTimeMillis();
+            int purged = purgeQuarantine() + purgeStaleTemps();
+            int quarantined = quarantineOrphans();
+            if (purged > 0 || quarantined > 0) {
+                log.info("업로드 폴더 정리 - 격리: {}개, 삭제: {}개, {}ms",
+                        quarantined, purged, System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            // 옮기지 못한 파일은 다음 실행에서 다시 찾음
+            log.error("업로드 폴더 정리 실패: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 커밋 뒤 배치(promote)가 실패해 남은 스테이징 파일을 다시 옮김 — 행은 있는데 파일이 없는 시간을 줄이려고 cron보다 자주
+     * 스테이징 파일은 평소 업로드 중인 것뿐이라 몇 개 안 됨 (파일마다 참조 확인 쿼리 한 번)
+     */
+    @Scheduled(initialDelayString = "${app.upload.reconcile.promote-retry-ms:300000}",
+            fixedDelayString = "${app.upload.reconcile.promote-retry-ms:300000}")
+    public void retryPromotions() {
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            List<String> staged;
+            try (Stream<StorageBackend.StoredObject> list = storage.list(FileStorageService.STAGING_PREFIX)) {
+                staged = list.map(StorageBackend.StoredObject::name).toList();
+            }
+            for (String key : staged) {
+                promoteStaged(key);
+            }
+        } catch (Exception e) {
+            log.error("업로드 파일 재배치 실패: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 옮겼으면 true, 옮기다 실패하면 예외 (그 스테이징 파일은 지우면 안 됨)
+    private boolean promoteStaged(String stagingName) throws IOException {
+        if (!fileStorageService.promoteIfReferenced(stagingName)) return false;
+        log.warn("커밋 뒤 옮기지 못한 업로드 파일 복구 - {}", stagingName);
+        return true;
+    }
+
+    public int quarantineOrphans() throws IOException {
+        long cutoff = System.currentTimeMillis() - minAgeHours * 3_600_000L;
+        Path work = Files.createTempDirectory("upload-reconcile");
+        try (SortedSpool files = new SortedSpool(work, runSize);
+             SortedSpool referenced = new SortedSpool(work, runSize);
+             SortedSpool orphans = new SortedSpool(work, runSize)) {
+
+            scanFiles(cutoff, files);
+            if (files.size() == 0) return 0;
+            scanReferences(referenced);
+
+            mergeJoin(files.sorted(), referenced.sorted(), name -> {
+                try {
+                    orphans.add(name);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (orphans.size() == 0) return 0;
+
+            if (referenced.size() == 0 || orphans.size() > files.size() * maxOrphanRatio) {
+                log.warn("업로드 폴더 정리 중단 - 대상 {}개 중 참조 없음 {}개 (DB/업로드 경로 설정 확인 필요)",
+                        files.size(), orphans.size());
+                return 0;
+            }
+
+            String target = QUARANTINE_PREFIX + LocalDate.now() + "/";
+            int moved = 0;
+            for (Iterator<String> it = orphans.sorted(); it.hasNext() && moved < maxPerRun; ) {
+                String name = it.next();
+                try {
+                    if (fileStorageService.quarantineIfUnreferenced(name, target + name)) moved++;
+                } catch (IOException e) {
+                    log.warn("파일 격리 실패 - {} ({})", name, e.getMessage());
+                }
+            }
+            return moved;
+        } finally {
+            deleteTree(work);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 격리 파일 삭제 — 그 사이 다시 참조된 파일은 원래 자리로
+     * (격리 이름: ".quarantine/{날짜}/{파일명}")
+     */
+    public int purgeQuarantine() throws IOException {
+        LocalDate expiry = LocalDate.now().minusDays(quarantineDays);
+        List<String> expired;
+        try (Stream<StorageBackend.StoredObject> list = storage.list(QUARANTINE_PREFIX)) {
+            expired = list.map(StorageBackend.StoredObject::name)
+                    .filter(key -> isExpired(key, expiry))
+                    .toList(); // max-per-run 이하라 많지 않음
+        }
+
+        int purged = 0;
+        for (String key : expired) {
+            String name = key.substring(key.lastIndexOf('/') + 1);
+            try {
+                if (fileStorageService.restoreIfReferenced(key, name)) {
+                    log.warn("격리된 파일이 다시 참조되어 되돌림 - {}", name);
+                } else if (storage.delete(key)) {
+                    purged++;
+                }
+            } catch (IOException e) {
+                log.warn("격리 파일 삭제 실패 - {} ({})", key, e.getMessage());
+            }
+        }
+        return purged;
+    }
+
+    static boolean isExpired(String quarantineKey, LocalDate expiry) {
+        String rest = quarantineKey.substring(QUARANTINE_PREFIX.length());
+        int slash = rest.indexOf('/');
+        if (slash < 0) return false;
+        try {
+            return LocalDate.parse(rest.substring(0, slash)).isBefore(expiry);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 저장 도중 서버가 내려가 남은 임시 파일(.tmp/ — 로컬 저장소만 해당)과
+     * 커밋/롤백 처리 전에 서버가 내려가 남은 스테이징 파일(.staging/) 삭제
+     * 행이 참조하는데 최종 자리가 비어 있는 스테이징 파일은 지우지 않고 옮김 (옮기지 못하면 다음 실행까지 남겨 둠)
+     */
+    public int purgeStaleTemps() throws IOException {
+        long cutoff = System.currentTimeMillis() - minAgeHours * 3_600_000L;
+        List<String> stale = new ArrayList<>();
+        for (String prefix : List.of(TMP_PREFIX, FileStorageService.STAGING_PREFIX)) {
+            try (Stream<StorageBackend.StoredObject> list = storage.list(prefix)) {
+                list.filter(o -> o.lastModified() < cutoff).map(StorageBackend.StoredObject::name).forEach(stale::add);
+            }
+        }
+        int purged = 0;
+        for (String key : stale) {
+            if (key.startsWith(FileStorageService.STAGING_PREFIX)) {
+                try {
+                    if (promoteStaged(key)) continue;
+                } catch (IOException e) {
+                    log.warn("스테이징 파일 재배치 실패 - {} ({})", key, e.getMessage());
+                    continue;
+                }
+            }
+            if (storage.delete(key)) purged++;
+        }
+        return purged;
+    }
+
+    private void scanFiles(long cutoff, SortedSpool files) throws IOException {
+        try (Stream<StorageBackend.StoredObject> list = storage.list("")) {
+            for (Iterator<StorageBackend.StoredObject> it = list.iterator(); it.hasNext(); ) {
+                StorageBackend.StoredObject file = it.next();
+                String name = file.name();
+                if (!SAFE_NAME.matcher(name).matches() || file.lastModified() > cutoff) continue;
+
+                files.add(FileStorageService.fileKey(name) + '\t' + name);
+            }
+        }
+    }
+
+    private void scanReferences(SortedSpool referenced) throws IOException {
+        int step = Math.max(1, chunkSize);
+        int afterId = 0;
+        while (true) {
+            List<Object[]> rows = postImageRepository.findImageUrlsAfter(afterId, step);
+            for (Object[] r : rows) {
+                afterId = ((Number) r[0]).intValue();
+                String url = (String) r[1];
+                String name = StorageBackend.nameOf(url);
+                if (name != null) {
+                    referenced.add(FileStorageService.fileKey(name));
+                }
+            }
+            if (rows.size() < step) break;
+        }
+    }
+
+    /**
+     * 정렬된 "key\t파일명"과 정렬된 참조 key를 나란히 읽으며 참조 없는 파일명을 넘김
+     * ('\t'는 이름에 쓰는 어떤 문자보다 작아서 줄 순서 = key 순서)
+     */
+    static void mergeJoin(Iterator<String> files, Iterator<String> referencedKeys, Consumer<String> orphan) {
+        String ref = referencedKeys.hasNext() ? referencedKeys.next() : null;
+        while (files.hasNext()) {
+            String line = files.next();
+            int tab = line.indexOf('\t');
+            String key = line.substring(0, tab);
+
+            while (ref != null && ref.compareTo(key) < 0) {
+                ref = referencedKeys.hasNext() ? referencedKeys.next() : null;
+            }
+            if (ref == null || !ref.equals(key)) {
+                orphan.accept(line.substring(tab + 1));
+            }
+        }
+    }
+
+    private static void deleteTree(Path root) {
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException ignored) {
+                    // 임시 폴더는 OS가 정리
+                }
+            });
+        } catch (IOException ignored) {
+            // 임시 폴더는 OS가 정리
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.nasda.service.search;
+
+import java.util.*;
+
+/**
+ * ✅ 오타 교정용 단어 사전 (필드 하나당 하나, InvertedPostIndex 락 안에서만 사용)
+ * - 단어 = 정규화된 값을 글자/숫자가 아닌 문자로 자른 토큰, 단어마다 포함한 문서 수(df)
+ * - 한글은 자모로 풀어서 비교 ("스티거" ↔ "스티커"는 자모 하나 차이)
+ * - (자모 길이, 자모 문자열의 3-gram(앞뒤 패딩)) → 단어 id posting — 길이가 허용 거리 밖인 단어는 아예 안 봄
+ *   편집 거리 d 이내인 단어는 질의 gram 중 최소 (질의 gram 수 − 4d)개를 공유 (치환/삽입/삭제는 3개, 인접 교환은 4개까지 깨짐)
+ *   → 공유 gram 수로 후보를 거르고(작은 posting 몇 개만 훑음), 남은 후보만 실제 편집 거리(인접 교환 포함)로 확인
+ */
+final class FuzzyTermIndex {
+
+    private static final int MAX_TERM_LENGTH = 30;
+    // 길이 하나당 모으는 최대 후보 수 — 흔한 gram뿐인 질의도 시간이 일정하게 (넘치면 작은 posting 몇 개로만 후보를 냄)
+    private static final int MAX_CANDIDATES = 5_000;
+    private static final char PAD = '\u0000';
+
+    record Match(String term, int distance, int df) {
+    }
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<String> jamo = new ArrayList<>();
+    private int[] df = new int[16];
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+    private final Map<String, InvertedPostIndex.PostingList> grams = new HashMap<>();
+
+    /**
+     * 교정 대상 단어들 (중복 제거, 너무 긴 토큰은 제외)
+     */
+    static Set<String> tokens(String normalized) {
+        Set<String> result = new HashSet<>();
+        if (normalized == null) return result;
+
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                if (i - start <= MAX_TERM_LENGTH) result.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return result;
+    }
+
+    // 문서 하나에서 단어가 새로 나타남
+    void add(String term) {
+        Integer existing = ids.get(term);
+        if (existing != null) {
+            df[existing]++;
+            return;
+        }
+
+        int id = freeIds.isEmpty() ? terms.size() : freeIds.pop();
+        String decomposed = HangulJamo.decompose(term);
+        if (id == terms.size()) {
+            terms.add(term);
+            jamo.add(decomposed);
+        } else {
+            terms.set(id, term);
+            jamo.set(id, decomposed);
+        }
+        if (id >= df.length) df = Arrays.copyOf(df, Math.max(id + 1, df.length * 2));
+        df[id] = 1;
+        ids.put(term, id);
+
+        for (String g : grams(decomposed)) {
+            grams.computeIfAbsent(key(decomposed.length(), g), k -> new InvertedPostIndex.PostingList()).put(id, 0, 0);
+        }
+    }
+
+    // 문서 하나에서 단어가 사라짐 — 마지막 문서면 사전에서 제거 (id는 재사용)
+    void remove(String term) {
+        Integer id = ids.get(term);
+        if (id == null) return;
+        if (--df[id] > 0) return;
+
+        ids.remove(term);
+        String decomposed = jamo.get(id);
+        for (String g : grams(decomposed)) {
+            String k = key(decomposed.length(), g);
+            InvertedPostIndex.PostingList list = grams.get(k);
+            if (list == null) continue;
+            list.remove(id);
+            if (list.size() == 0) grams.remove(k);
+        }
+        terms.set(id, null);
+        jamo.set(id, null);
+        freeIds.push(id);
+    }
+
+    boolean contains(String term) {
+        return ids.containsKey(term);
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    /**
+     * 가장 가까운 단어 (거리 → 많이 쓰인 단어 → 사전순), 허용 거리 안에 없으면 null
+     */
+    Match closest(String token) {
+        String q = HangulJamo.decompose(token);
+        int maxDistance = maxDistance(q.length());
+        if (maxDistance == 0) return null;
+
+        Set<String> queryGrams = grams(q);
+        int need = Math.max(1, queryGrams.size() - 4 * maxDistance);
+
+        Match best = null;
+        for (int len = Math.max(1, q.length() - maxDistance); len <= q.length() + maxDistance; len++) {
+            List<InvertedPostIndex.PostingList> lists = new ArrayList<>(queryGrams.size());
+            for (String g : queryGrams) {
+                InvertedPostIndex.PostingList list = grams.get(key(len, g));
+                if (list != null) lists.add(list);
+            }
+            if (lists.size() < need) continue;
+
+            // need개 이상의 posting에 있는 id는 반드시 작은 쪽 (size − need + 1)개 posting 중 하나에 있음
+            // → 그 posting들의 id만 후보로 모으고(최대 MAX_CANDIDATES개), 나머지 posting은 이분 탐색으로 확인
+            lists.sort(Comparator.comparingInt(InvertedPostIndex.PostingList::size));
+            int prefix = lists.size() - need + 1;
+            int total = 0;
+            int used = 0;
+            while (used < prefix && total + lists.get(used).size() <= MAX_CANDIDATES) {
+                total += lists.get(used++).size();
+            }
+            if (used == 0) continue;
+
+            int[] candidates = new int[total];
+            int n = 0;
+            for (int i = 0; i < used; i++) {
+                InvertedPostIndex.PostingList list = lists.get(i);
+                for (int j = 0; j < list.size(); j++) {
+                    candidates[n++] = list.get(j);
+                }
+            }
+            Arrays.sort(candidates);
+
+            for (int c = 0; c < n; c++) {
+                int id = candidates[c];
+                if (c > 0 && candidates[c - 1] == id) continue;
+
+                int count = 0;
+                for (int i = 0; i < lists.size() && count + (lists.size() - i) >= need; i++) {
+                    if (lists.get(i).contains(id)) count++;
+                }
+                if (count < need) continue;
+
+                int d = distance(q, jamo.get(id), maxDistance);
+                if (d == 0 || d > maxDistance) continue;
+
+                Match m = new Match(terms.get(id), d, df[id]);
+                if (best == null || better(m, best)) best = m;
+            }
+        }
+        return best;
+    }
+
+    private static boolean better(Match a, Match b) {
+        if (a.distance() != b.distance()) return a.distance() < b.distance();
+        if (a.df() != b.df()) return a.df() > b.df();
+        return a.term().compareTo(b.term()) < 0;
+    }
+
+    // 자모 3개 이하는 교정하지 않음, 8개까지 1, 그보다 길면 2
+    static int maxDistance(int jamoLength) {
+        if (jamoLength <= 3) return 0;
+        return jamoLength <= 8 ? 1 : 2;
+    }
+
+    private static String key(int length, String gram) {
+        return (char) length + gram;
+    }
+
+    private static Set<String> grams(String s) {
+        String padded = "" + PAD + PAD + s + PAD + PAD;
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    /**
+     * 편집 거리 (삽입/삭제/치환 + 인접 두 글자 교환), limit를 넘으면 limit + 1
+     */
+    static int distance(String a, String b, int limit) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > limit) return limit + 1;
+
+        int[] prev2 = new int[m + 1];
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int j = 0; j <= m; j++) prev[j] = j;
+
+        for (int i = 1; i <= n; i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int v = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    v = Math.min(v, prev2[j - 2] + 1);
+                }
+                cur[j] = v;
+                rowMin = Math.min(rowMin, v);
+            }
+            if (rowMin > limit) return limit + 1;
+
+            int[] tmp = prev2;
+            prev2 = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        return Math.min(prev[m], limit + 1);
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.nasda.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ✅ 한글 초성/자모 분해 (NgramTokenizer.normalize 된 문자열 기준)
+ * - initials: 완성형 음절 → 초성, 낱자 자음 → 그대로 (그 외 문자는 그대로 둠)  예) "제주 여행" → "ㅈㅈ ㅇㅎ"
+ * - decompose: 음절/낱자를 호환 자모 나열로 (겹받침·겹모음도 풀어서)     예) "닭" → "ㄷㅏㄹㄱ", "화" → "ㅎㅗㅏ"
+ * - JamoQuery: 자모가 섞인 질의를 글자 단위로 비교 ("ㄴㅅㄷ", "제ㅈ", 입력 중인 "하ㄴ" → "한강")
+ * 자모는 NFKC를 거치면 조합형(U+1100~)으로 바뀌므로 조합형/호환형 둘 다 호환형(ㄱ~ㅣ)으로 맞춥니다.
+ */
+public final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+
+    private static final String[] INITIALS = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ",
+            "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+    private static final String[] MEDIALS = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ",
+            "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] FINALS = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+    // 호환 자모 U+3131(ㄱ) ~ U+3163(ㅣ)
+    private static final String[] COMPAT = {
+            "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄸ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅃ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ",
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ",
+            "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+
+    private HangulJamo() {
+    }
+
+    public static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+
+    /**
+     * 낱자 자음(초성으로 쓸 수 있는 것)이면 호환 자모, 아니면 0
+     */
+    public static char bareConsonant(char c) {
+        if (c >= 0x1100 && c <= 0x1112) return INITIALS[c - 0x1100].charAt(0);
+        if (c >= 0x3131 && c <= 0x314E) {
+            String s = COMPAT[c - 0x3131];
+            return s.length() == 1 ? s.charAt(0) : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * 낱자 자모(자음/모음, 조합형/호환형)가 하나라도 있으면 true — 초성/자모 검색 대상
+     */
+    public static boolean hasJamo(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if ((c >= 0x1100 && c <= 0x11FF) || (c >= 0x3131 && c <= 0x318E)) return true;
+        }
+        return false;
+    }
+
+    // 음절이면 초성, 낱자 자음이면 그 자음 (둘 다 아니면 0)
+    static char initialOf(char c) {
+        return isSyllable(c) ? INITIALS[(c - SYLLABLE_BASE) / 588].charAt(0) : bareConsonant(c);
+    }
+
+    public static String initials(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (isSyllable(c)) {
+                sb.append(INITIALS[(c - SYLLABLE_BASE) / 588]);
+            } else {
+                char bare = bareConsonant(c);
+                sb.append(bare != 0 ? bare : c);
+            }
+        }
+        return sb.toString();
+    }
+
+    public static String decompose(String s) {
+        StringBuilder sb = new StringBuilder(s.length() * 3);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (isSyllable(c)) {
+                int code = c - SYLLABLE_BASE;
+                sb.append(INITIALS[code / 588]).append(MEDIALS[(code % 588) / 28]).append(FINALS[code % 28]);
+            } else if (c >= 0x1100 && c <= 0x1112) {
+                sb.append(INITIALS[c - 0x1100]);
+            } else if (c >= 0x1161 && c <= 0x1175) {
+                sb.append(MEDIALS[c - 0x1161]);
+            } else if (c >= 0x11A8 && c <= 0x11C2) {
+                sb.append(FINALS[c - 0x11A7]);
+            } else if (c >= 0x3131 && c <= 0x3163) {
+                sb.append(COMPAT[c - 0x3131]);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    public static JamoQuery compile(String normalizedQuery) {
+        return new JamoQuery(normalizedQuery);
+    }
+
+    /**
+     * 자모 질의 — 질의 글자 하나가 문서 글자 하나에 대응 (문서의 연속된 글자들과 비교)
+     * - 낱자 자음: 그 초성으로 시작하는 음절(또는 같은 자음)    "ㅈㅈ" → "제주"
+     * - 마지막 음절: 자모가 그것으로 시작하는 음절 (입력 중)     "한가" → "한강"
+     * - 끝이 "음절+자음"이면 자음이 받침일 수도 있음           "하ㄴ" → "한", "갈ㄱ" → "갉"
+     * - 그 외 글자: 같은 글자
+     * candidateInitials()는 일치하는 문서라면 반드시 초성 문자열에 포함하는 부분 → 초성 색인으로 후보를 좁힘
+     */
+    public static final class JamoQuery {
+
+        private static final int INITIAL = 0;
+        private static final int EXACT = 1;
+        private static final int PREFIX = 2;
+
+        private record Unit(int kind, String value) {
+            boolean matches(char c) {
+                return switch (kind) {
+                    case INITIAL -> initialOf(c) == value.charAt(0);
+                    case PREFIX -> isSyllable(c) && decompose(String.valueOf(c)).startsWith(value);
+                    default -> c == value.charAt(0);
+                };
+            }
+
+            char initial() {
+                if (kind == EXACT) return initials(value).charAt(0);
+                return value.charAt(0);
+            }
+        }
+
+        private final List<Unit[]> readings = new ArrayList<>(2);
+        private final String candidateInitials;
+
+        private JamoQuery(String q) {
+            int n = q.length();
+            Unit[] plain = new Unit[n];
+            for (int i = 0; i < n; i++) {
+                char c = q.charAt(i);
+                char bare = bareConsonant(c);
+                if (bare != 0) {
+                    plain[i] = new Unit(INITIAL, String.valueOf(bare));
+                } else if (isSyllable(c) && i == n - 1) {
+                    plain[i] = new Unit(PREFIX, decompose(String.valueOf(c)));
+                } else {
+                    plain[i] = new Unit(EXACT, String.valueOf(c));
+                }
+            }
+            readings.add(plain);
+
+            // "음절+자음"으로 끝나면 자음을 앞 음절의 받침으로 읽는 경우도
+            Unit[] shortest = plain;
+            if (n >= 2 && plain[n - 1].kind() == INITIAL && isSyllable(q.charAt(n - 2))) {
+                Unit[] merged = Arrays.copyOf(plain, n - 1);
+                merged[n - 2] = new Unit(PREFIX, decompose(q.substring(n - 2)));
+                readings.add(merged);
+                shortest = merged;
+            }
+
+            StringBuilder sb = new StringBuilder(shortest.length);
+            for (Unit u : shortest) {
+                sb.append(u.initial());
+            }
+            this.candidateInitials = sb.toString();
+        }
+
+        public String candidateInitials() {
+            return candidateInitials;
+        }
+
+        // normalize된 문서 값에 대해
+        public boolean matches(String value) {
+            for (Unit[] units : readings) {
+                for (int from = 0; from + units.length <= value.length(); from++) {
+                    if (matchesAt(units, value, from)) return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean matchesAt(Unit[] units, String value, int from) {
+            for (int i = 0; i < units.length; i++) {
+                if (!units[i].matches(value.charAt(from + i))) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,537 @@
+package com.example.nasda.service.search;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ✅ 게시글 검색용 메모리 역색인 (필드별 n-gram → postId 정렬 배열)
+ * - 질의 gram들의 posting을 작은 것부터 교집합 → 최신(postId 큰) 순으로 후보를 냄
+ * - 2-gram 교집합만으로는 "연속된 부분 문자열"이 보장되지 않으므로, 저장해 둔 정규화 문자열로 한 번 더 확인
+ *   (기존 LIKE '%q%' 결과와 같은 문서만 돌려줌)
+ * - 정확도순(rank): 필드별 BM25(gram 단위 tf/df/문서 길이) × 필드 가중치 합, 상위 k개만 힙으로 유지
+ *   스니펫은 posting에 저장된 gram 첫 위치로 실제 일치 위치를 찾아 그 주변만 원문에서 잘라 만듦 (본문에 일치가 없으면 없음)
+ * - 제목/작성자/카테고리는 초성 문자열의 gram도 따로 색인 → 자모가 섞인 질의("ㄴㅅㄷ", "하ㄴ")는 초성 색인으로 후보를 고르고
+ *   HangulJamo.JamoQuery로 글자 단위 확인
+ * - 필드별 단어 사전(FuzzyTermIndex)도 함께 유지 → 결과가 적을 때 오타 교정(correct)에 사용
+ * - 읽기는 여러 스레드 동시, 쓰기(추가/수정/삭제)는 하나씩 (ReadWriteLock)
+ */
+public class InvertedPostIndex {
+
+    private static final SearchField[] FIELDS = SearchField.values();
+    private static final Set<SearchField> JAMO_FIELDS = EnumSet.of(SearchField.TITLE, SearchField.AUTHOR, SearchField.CATEGORY);
+
+    // BM25 파라미터 (일반적인 기본값)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // 스니펫: 첫 일치를 가운데 둔 최대 SNIPPET_LENGTH글자 (정규화 기준)
+    private static final int SNIPPET_LENGTH = 80;
+
+    // 색인된 게시글 한 건: 필드별 정규화 문자열 (검증/갱신 시 옛 gram 제거용) + 스니펫용 본문 원문
+    private record Doc(Integer userId, Integer categoryId, String[] values, String content) {
+        String value(SearchField field) {
+            return values[field.ordinal()];
+        }
+    }
+
+    private final Map<SearchField, Map<String, PostingList>> postings = new EnumMap<>(SearchField.class);
+    private final Map<SearchField, Map<String, PostingList>> initialPostings = new EnumMap<>(SearchField.class); // 초성 gram
+    private final Map<SearchField, FuzzyTermIndex> terms = new EnumMap<>(SearchField.class);
+    private final Map<Integer, Doc> docs = new HashMap<>();
+    private final long[] totalLength = new long[FIELDS.length]; // 필드별 전체 글자 수 (평균 문서 길이용)
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public InvertedPostIndex() {
+        for (SearchField f : FIELDS) {
+            postings.put(f, new HashMap<>());
+            terms.put(f, new FuzzyTermIndex());
+        }
+        for (SearchField f : JAMO_FIELDS) {
+            initialPostings.put(f, new HashMap<>());
+        }
+    }
+
+    // =========================
+    // 쓰기
+    // =========================
+
+    /**
+     * 추가 또는 갱신 (같은 postId면 옛 gram을 빼고 새로 넣음)
+     */
+    public void put(PostSearchDocument d) {
+        if (d == null || d.postId() == null) return;
+
+        String[] values = new String[FIELDS.length];
+        values[SearchField.TITLE.ordinal()] = NgramTokenizer.normalize(d.title());
+        values[SearchField.CONTENT.ordinal()] = NgramTokenizer.normalize(d.description());
+        values[SearchField.AUTHOR.ordinal()] = NgramTokenizer.normalize(d.nickname());
+        values[SearchField.CATEGORY.ordinal()] = NgramTokenizer.normalize(d.categoryName());
+
+        lock.writeLock().lock();
+        try {
+            Doc old = docs.get(d.postId());
+            Doc doc = new Doc(d.userId(), d.categoryId(), values, d.description() == null ? "" : d.description());
+            for (SearchField f : FIELDS) {
+                replaceField(f, d.postId(), old == null ? null : old.value(f), doc.value(f));
+            }
+            docs.put(d.postId(), doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer postId) {
+        if (postId == null) return;
+
+        lock.writeLock().lock();
+        try {
+            Doc old = docs.remove(postId);
+            if (old == null) return;
+            for (SearchField f : FIELDS) {
+                replaceField(f, postId, old.value(f), null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 닉네임 변경/탈퇴(null) — 해당 유저 글의 작성자 필드만 다시 색인
+     */
+    public void renameAuthor(Integer userId, String nickname) {
+        updateWhere(doc -> Objects.equals(doc.userId(), userId), SearchField.AUTHOR, nickname);
+    }
+
+    public void renameCategory(Integer categoryId, String categoryName) {
+        updateWhere(doc -> Objects.equals(doc.categoryId(), categoryId), SearchField.CATEGORY, categoryName);
+    }
+
+    // 카테고리 삭제 시 딸린 게시글도 함께 삭제되므로 색인에서도 제거
+    public void removeCategory(Integer categoryId) {
+        lock.writeLock().lock();
+        try {
+            List<Integer> ids = new ArrayList<>();
+            docs.forEach((id, doc) -> {
+                if (Objects.equals(doc.categoryId(), categoryId)) ids.add(id);
+            });
+            for (Integer id : ids) {
+                Doc old = docs.remove(id);
+                for (SearchField f : FIELDS) {
+                    replaceField(f, id, old.value(f), null);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 이름 변경은 드물어서 문서 전체를 훑는 방식으로 충분
+    private void updateWhere(Predicate<Doc> match, SearchField field, String rawValue) {
+        String value = NgramTokenizer.normalize(rawValue);
+
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Integer, Doc> e : docs.entrySet()) {
+                Doc doc = e.getValue();
+                if (!match.test(doc)) continue;
+                replaceField(field, e.getKey(), doc.value(field), value);
+                doc.values()[field.ordinal()] = value;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 옛 값과 새 값의 gram 차이만 posting에 반영 (횟수/위치가 바뀐 gram은 덮어씀)
+    private void replaceField(SearchField field, int postId, String oldValue, String newValue) {
+        replaceGrams(postings.get(field), postId, oldValue, newValue);
+        if (JAMO_FIELDS.contains(field)) {
+            replaceGrams(initialPostings.get(field), postId,
+                    oldValue == null ? null : HangulJamo.initials(oldValue),
+                    newValue == null ? null : HangulJamo.initials(newValue));
+        }
+        replaceTerms(terms.get(field), oldValue, newValue);
+
+        totalLength[field.ordinal()] += (newValue == null ? 0 : newValue.length())
+                - (oldValue == null ? 0 : oldValue.length());
+    }
+
+    private static void replaceTerms(FuzzyTermIndex dictionary, String oldValue, String newValue) {
+        Set<String> oldTerms = FuzzyTermIndex.tokens(oldValue);
+        Set<String> newTerms = FuzzyTermIndex.tokens(newValue);
+        for (String t : oldTerms) {
+            if (!newTerms.contains(t)) dictionary.remove(t);
+        }
+        for (String t : newTerms) {
+            if (!oldTerms.contains(t)) dictionary.add(t);
+        }
+    }
+
+    private static void replaceGrams(Map<String, PostingList> map, int postId, String oldValue, String newValue) {
+        Map<String, int[]> oldGrams = oldValue == null ? Map.of() : NgramTokenizer.indexGrams(oldValue);
+        Map<String, int[]> newGrams = newValue == null ? Map.of() : NgramTokenizer.indexGrams(newValue);
+
+        for (String g : oldGrams.keySet()) {
+            if (newGrams.containsKey(g)) continue;
+            PostingList list = map.get(g);
+            if (list == null) continue;
+            list.remove(postId);
+            if (list.size() == 0) map.remove(g);
+        }
+        for (Map.Entry<String, int[]> e : newGrams.entrySet()) {
+            int[] stat = e.getValue();
+            if (Arrays.equals(stat, oldGrams.get(e.getKey()))) continue;
+            map.computeIfAbsent(e.getKey(), k -> new PostingList()).put(postId, stat[0], stat[1]);
+        }
+    }
+
+    // =========================
+    // 읽기
+    // =========================
+
+    /**
+     * 부분 일치 검색 — postId 내림차순(최신 글 먼저)으로 최대 limit개
+     */
+    public List<Integer> search(SearchField field, String query, int limit) {
+        return search(field, query, null, limit, Integer.MAX_VALUE).ids();
+    }
+
+    /**
+     * 커서 검색 — before보다 작은 postId 중 최대 limit개
+     * - 후보(가장 짧은 posting)는 최대 scanLimit개까지만 확인 → 흔한 검색어여도 요청당 작업량이 일정
+     * - scanLimit에 걸리면 덜 찬 페이지를 돌려주고, nextCursor는 마지막으로 확인한 후보 (다음 요청에서 이어서)
+     * - 제목/작성자/카테고리에 낱자 자모가 섞인 질의는 초성 색인 + 자모 비교 (완성된 글자만 있으면 기존 부분 일치 그대로)
+     */
+    public SearchHits search(SearchField field, String query, Integer before, int limit, int scanLimit) {
+        String q = NgramTokenizer.normalize(query);
+        if (q.isEmpty() || limit <= 0) return SearchHits.EMPTY;
+
+        Map<String, PostingList> map;
+        Set<String> grams;
+        Predicate<String> verify;
+        if (JAMO_FIELDS.contains(field) && HangulJamo.hasJamo(q)) {
+            HangulJamo.JamoQuery jq = HangulJamo.compile(q);
+            if (jq.candidateInitials().isEmpty()) return SearchHits.EMPTY;
+            map = initialPostings.get(field);
+            grams = NgramTokenizer.queryGrams(jq.candidateInitials());
+            verify = jq::matches;
+        } else {
+            map = postings.get(field);
+            grams = NgramTokenizer.queryGrams(q);
+            verify = value -> value.contains(q);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>();
+            for (String g : grams) {
+                PostingList list = map.get(g);
+                if (list == null) return SearchHits.EMPTY; // 없는 gram이 하나라도 있으면 결과 없음
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            PostingList smallest = lists.get(0);
+            List<Integer> result = new ArrayList<>(Math.min(limit, smallest.size()));
+            int i = (before == null) ? smallest.size() - 1 : smallest.lowerIndex(before);
+            int scanned = 0;
+
+            for (; i >= 0; i--) {
+                if (scanned++ >= scanLimit) {
+                    // 확인할 후보가 남았지만 이번 요청 예산은 소진
+                    return new SearchHits(result, smallest.get(i + 1), true);
+                }
+
+                int id = smallest.get(i);
+                if (!containsInAll(lists, id)) continue;
+
+                Doc doc = docs.get(id);
+                if (doc == null || !verify.test(doc.value(field))) continue;
+
+                if (result.size() == limit) {
+                    // limit+1번째 일치 → 다음 페이지 있음
+                    return new SearchHits(result, result.get(result.size() - 1), true);
+                }
+                result.add(id);
+            }
+            return new SearchHits(result, null, false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean containsInAll(List<PostingList> lists, int id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 정확도순 상위 k개
+     * - boosts에 있는 필드마다: 질의 문자열을 포함하는 문서(최신 후보 scanLimit개까지)에 BM25 × 가중치를 더함
+     * - 전체 점수는 Map에 모으고, 순위는 크기 k의 최소 힙으로만 유지 (결과가 많아도 정렬 비용 일정)
+     */
+    public List<RankedHit> rank(String query, Map<SearchField, Double> boosts, int k, int scanLimit) {
+        String q = NgramTokenizer.normalize(query);
+        if (q.isEmpty() || k <= 0) return List.of();
+        Set<String> grams = NgramTokenizer.queryGrams(q);
+
+        lock.readLock().lock();
+        try {
+            int n = docs.size();
+            if (n == 0) return List.of();
+
+            Map<Integer, double[]> scores = new HashMap<>();
+            boosts.forEach((field, boost) -> {
+                if (boost != null && boost > 0) scoreField(field, boost, q, grams, n, scanLimit, scores);
+            });
+
+            // 최소 힙: 점수 낮은 것(같으면 오래된 글)부터 밀려남
+            Comparator<RankedHit> worstFirst = Comparator.comparingDouble(RankedHit::score)
+                    .thenComparingInt(RankedHit::postId);
+            PriorityQueue<RankedHit> heap = new PriorityQueue<>(k + 1, worstFirst);
+            scores.forEach((id, score) -> {
+                RankedHit hit = new RankedHit(id, score[0], null);
+                if (heap.size() < k) {
+                    heap.add(hit);
+                } else if (worstFirst.compare(hit, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(hit);
+                }
+            });
+
+            List<RankedHit> top = new ArrayList<>(heap);
+            top.sort(worstFirst.reversed());
+
+            // 스니펫은 최종 k개만
+            List<RankedHit> result = new ArrayList<>(top.size());
+            for (RankedHit hit : top) {
+                result.add(new RankedHit(hit.postId(), hit.score(), snippet(hit.postId(), q, grams)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void scoreField(SearchField field, double boost, String q, Set<String> grams,
+                            int n, int scanLimit, Map<Integer, double[]> scores) {
+        Map<String, PostingList> map = postings.get(field);
+        PostingList[] lists = new PostingList[grams.size()];
+        int g = 0;
+        for (String gram : grams) {
+            PostingList list = map.get(gram);
+            if (list == null) return;
+            lists[g++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+
+        double[] idf = new double[lists.length];
+        for (int j = 0; j < lists.length; j++) {
+            int df = lists[j].size();
+            idf[j] = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+        }
+        double avgLen = Math.max(1.0, (double) totalLength[field.ordinal()] / n);
+
+        PostingList smallest = lists[0];
+        int scanned = 0;
+        for (int i = smallest.size() - 1; i >= 0 && scanned < scanLimit; i--, scanned++) {
+            int id = smallest.get(i);
+            Doc doc = docs.get(id);
+            if (doc == null) continue;
+
+            String value = doc.value(field);
+            double norm = K1 * (1 - B + B * value.length() / avgLen);
+            double s = 0;
+            boolean all = true;
+            for (int j = 0; j < lists.length; j++) {
+                int idx = (j == 0) ? i : lists[j].indexOf(id);
+                if (idx < 0) {
+                    all = false;
+                    break;
+                }
+                int tf = lists[j].tf(idx);
+                s += idf[j] * tf * (K1 + 1) / (tf + norm);
+            }
+            if (!all || !value.contains(q)) continue;
+
+            scores.computeIfAbsent(id, x -> new double[1])[0] += boost * s;
+        }
+    }
+
+    // 본문 스니펫: 일치는 gram들의 첫 위치보다 앞에 있을 수 없음 → 그 지점부터 실제 일치를 찾아 가운데 두고, 원문 구간으로 되돌림
+    // 본문에 일치가 없으면(제목 등 다른 필드만 일치) null → 카드는 기본 모양
+    private Snippet snippet(int postId, String q, Set<String> grams) {
+        Doc doc = docs.get(postId);
+        String text = doc == null ? "" : doc.value(SearchField.CONTENT);
+        if (text.isEmpty()) return null;
+
+        Map<String, PostingList> map = postings.get(SearchField.CONTENT);
+        int earliest = 0;
+        for (String gram : grams) {
+            PostingList list = map.get(gram);
+            int idx = list == null ? -1 : list.indexOf(postId);
+            if (idx < 0) return null;
+            earliest = Math.max(earliest, list.firstPos(idx) - q.indexOf(gram));
+        }
+        int at = text.indexOf(q, earliest);
+        if (at < 0) return null;
+
+        int from = Math.max(0, Math.min(at - (SNIPPET_LENGTH - q.length()) / 2, text.length() - SNIPPET_LENGTH));
+        int to = Math.min(text.length(), from + SNIPPET_LENGTH);
+        int[][] ranges = NgramTokenizer.sourceRanges(doc.content(), text, to);
+        if (ranges == null) return null;
+        int[] starts = ranges[0];
+        int[] ends = ranges[1];
+
+        int rawFrom = starts[from];
+        List<int[]> highlights = new ArrayList<>();
+        for (int i = at; i >= 0 && i + q.length() <= to; i = text.indexOf(q, i + q.length())) {
+            highlights.add(new int[]{starts[i] - rawFrom, ends[i + q.length() - 1] - rawFrom});
+        }
+        return new Snippet(doc.content().substring(rawFrom, ends[to - 1]), highlights, from > 0, to < text.length());
+    }
+
+    /**
+     * 오타 교정 — 질의의 단어 중 어느 필드 사전에도 없는 단어를 가장 가까운 단어로 바꾼 질의 (바꾼 게 없으면 null)
+     * 초성/자모 질의는 교정하지 않음
+     */
+    public String correct(Collection<SearchField> fields, String query) {
+        String q = NgramTokenizer.normalize(query);
+        if (q.isEmpty() || HangulJamo.hasJamo(q)) return null;
+
+        lock.readLock().lock();
+        try {
+            StringBuilder sb = new StringBuilder(q.length());
+            boolean changed = false;
+            int start = -1;
+            for (int i = 0; i <= q.length(); i++) {
+                boolean letter = i < q.length() && Character.isLetterOrDigit(q.charAt(i));
+                if (letter) {
+                    if (start < 0) start = i;
+                    continue;
+                }
+                if (start >= 0) {
+                    String token = q.substring(start, i);
+                    String fixed = correctToken(fields, token);
+                    sb.append(fixed == null ? token : fixed);
+                    changed |= fixed != null;
+                    start = -1;
+                }
+                if (i < q.length()) sb.append(q.charAt(i));
+            }
+            return changed ? sb.toString() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String correctToken(Collection<SearchField> fields, String token) {
+        FuzzyTermIndex.Match best = null;
+        for (SearchField f : fields) {
+            FuzzyTermIndex dictionary = terms.get(f);
+            if (dictionary.contains(token)) return null; // 어딘가에 있는 단어면 그대로
+            FuzzyTermIndex.Match m = dictionary.closest(token);
+            if (m != null && (best == null || m.distance() < best.distance()
+                    || (m.distance() == best.distance() && m.df() > best.df()))) {
+                best = m;
+            }
+        }
+        return best == null ? null : best.term();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 오름차순 postId 배열 + 같은 위치에 gram 등장 횟수(tf)와 첫 위치
+     * (postId는 대부분 증가하며 들어오므로 보통 끝에 append)
+     */
+    static final class PostingList {
+        private int[] ids = new int[4];
+        private int[] tfs = new int[4];
+        private int[] positions = new int[4];
+        private int size;
+
+        // 추가 또는 tf/위치 갱신
+        void put(int id, int tf, int position) {
+            int at;
+            if (size == 0 || ids[size - 1] < id) {
+                at = size;
+            } else {
+                int pos = Arrays.binarySearch(ids, 0, size, id);
+                if (pos >= 0) {
+                    tfs[pos] = tf;
+                    positions[pos] = position;
+                    return;
+                }
+                at = -pos - 1;
+            }
+            grow();
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            System.arraycopy(tfs, at, tfs, at + 1, size - at);
+            System.arraycopy(positions, at, positions, at + 1, size - at);
+            ids[at] = id;
+            tfs[at] = tf;
+            positions[at] = position;
+            size++;
+        }
+
+        void remove(int id) {
+            int pos = indexOf(id);
+            if (pos < 0) return;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            System.arraycopy(tfs, pos + 1, tfs, pos, size - pos - 1);
+            System.arraycopy(positions, pos + 1, positions, pos, size - pos - 1);
+            size--;
+        }
+
+        // id보다 작은 마지막 원소의 위치 (없으면 -1)
+        int lowerIndex(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            return (pos >= 0 ? pos : -pos - 1) - 1;
+        }
+
+        int indexOf(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            return pos >= 0 ? pos : -1;
+        }
+
+        boolean contains(int id) {
+            return indexOf(id) >= 0;
+        }
+
+        int get(int i) {
+            return ids[i];
+        }
+
+        int tf(int i) {
+            return tfs[i];
+        }
+
+        int firstPos(int i) {
+            return positions[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void grow() {
+            if (size < ids.length) return;
+            int capacity = size + (size >> 1) + 1;
+            ids = Arrays.copyOf(ids, capacity);
+            tfs = Arrays.copyOf(tfs, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.nasda.service.search;
+
+import java.text.BreakIterator;
+import java.text.Normalizer;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ✅ 문자 n-gram 토크나이저 (형태소 분석 없이 한국어/영어 모두 부분 일치 검색)
+ * - 정규화: NFKC(전각/호환 문자 통일) → 소문자 → 연속 공백 하나로
+ * - 색인: 공백이 아닌 글자 1-gram + 인접 2글자 2-gram
+ * - 질의: 1글자면 1-gram, 그 이상이면 2-gram 전부 (모두 포함한 문서만 후보)
+ * - 색인 시 gram마다 등장 횟수(tf)와 첫 위치를 함께 저장 → BM25 점수와 스니펫 위치에 사용
+ * - 정규화 문자열의 위치를 원문 위치로 되돌리는 표(sourceRanges) — 스니펫을 원문 그대로 보여줄 때 사용
+ */
+public final class NgramTokenizer {
+
+    private NgramTokenizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) return "";
+        String s = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return s.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 정규화 문자열 앞쪽 limit글자 각각이 나온 원문 구간 {시작[], 끝[]} (끝은 제외)
+     * 글자 묶음(grapheme) 단위로 정규화해서 이어 붙이며 normalized와 한 글자씩 대조 — 어긋나면(드문 합성 문자 등) null
+     */
+    public static int[][] sourceRanges(String text, String normalized, int limit) {
+        int n = Math.min(limit, normalized.length());
+        int[] starts = new int[n];
+        int[] ends = new int[n];
+        if (n == 0) return new int[][]{starts, ends};
+
+        BreakIterator it = BreakIterator.getCharacterInstance(Locale.ROOT);
+        it.setText(text);
+        int out = 0;
+        int spaceStart = -1; // 아직 내보내지 않은 공백 묶음의 원문 시작
+        int spaceEnd = -1;
+        for (int s = it.first(), e = it.next(); e != BreakIterator.DONE && out < n; s = e, e = it.next()) {
+            String part = Normalizer.normalize(text.substring(s, e), Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+            for (int i = 0; i < part.length() && out < n; i++) {
+                char c = part.charAt(i);
+                if (isSpace(c)) {
+                    if (spaceStart < 0) spaceStart = s;
+                    spaceEnd = e;
+                    continue;
+                }
+                // 연속 공백은 한 칸으로, 맨 앞 공백은 버림 (normalize의 trim/치환과 같게)
+                if (spaceStart >= 0 && out > 0) {
+                    if (normalized.charAt(out) != ' ') return null;
+                    starts[out] = spaceStart;
+                    ends[out] = spaceEnd;
+                    if (++out == n) break;
+                }
+                spaceStart = -1;
+                if (normalized.charAt(out) != c) return null;
+                starts[out] = s;
+                ends[out] = e;
+                out++;
+            }
+        }
+        return out == n ? new int[][]{starts, ends} : null;
+    }
+
+    // normalize의 \s와 같은 범위
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    /**
+     * 색인용 gram → {등장 횟수, 첫 위치} (입력은 normalize된 문자열)
+     */
+    public static Map<String, int[]> indexGrams(String normalized) {
+        Map<String, int[]> grams = new LinkedHashMap<>();
+        int n = normalized.length();
+        for (int i = 0; i < n; i++) {
+            char c = normalized.charAt(i);
+            if (c != ' ') count(grams, String.valueOf(c), i);
+            if (i + 1 < n) count(grams, normalized.substring(i, i + 2), i);
+        }
+        return grams;
+    }
+
+    private static void count(Map<String, int[]> grams, String gram, int pos) {
+        int[] stat = grams.get(gram);
+        if (stat == null) grams.put(gram, new int[]{1, pos});
+        else stat[0]++;
+    }
+
+    /**
+     * 질의용 gram (입력은 normalize된 문자열)
+     */
+    public static Set<String> queryGrams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (normalized.length() == 1) {
+            grams.add(normalized);
+            return grams;
+        }
+        for (int i = 0; i + 1 < normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 2));
+        }
+        return grams;
+    }
+}
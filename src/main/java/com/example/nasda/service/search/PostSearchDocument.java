@@ -0,0 +1,28 @@
+package com.example.nasda.service.search;
+
+import com.example.nasda.domain.PostEntity;
+
+/**
+ * 색인에 넣을 게시글 한 건 (엔티티 대신 필요한 값만 복사 — 커밋 이후에도 안전하게 사용)
+ */
+public record PostSearchDocument(
+        Integer postId,
+        Integer userId,
+        Integer categoryId,
+        String title,
+        String description,
+        String nickname,
+        String categoryName
+) {
+    public static PostSearchDocument from(PostEntity post) {
+        return new PostSearchDocument(
+                post.getPostId(),
+                post.getUser() != null ? post.getUser().getUserId() : null,
+                post.getCategory() != null ? post.getCategory().getCategoryId() : null,
+                post.getTitle(),
+                post.getDescription(),
+                post.getUser() != null ? post.getUser().getNickname() : null,
+                post.getCategory() != null ? post.getCategory().getCategoryName() : null
+        );
+    }
+}
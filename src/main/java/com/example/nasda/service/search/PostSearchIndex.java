@@ -0,0 +1,166 @@
+package com.example.nasda.service.search;
+
+import com.example.nasda.domain.PostEntity;
+import com.example.nasda.repository.PostRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * ✅ 게시글 검색 색인 관리
+ * - 기동 직후 posts 전체를 스트리밍으로 한 번 읽어 색인을 만듦 (엔티티를 메모리에 쌓지 않음)
+ * - 이후 게시글 작성/수정/삭제, 닉네임/카테고리 이름 변경은 커밋된 뒤에 색인에 반영 (롤백된 변경은 반영 안 됨)
+ * - 재색인 도중 들어온 변경은 기존 색인에도 반영하면서 따로 모아 두었다가, 새 색인에 다시 적용한 뒤 교체
+ * - 색인이 준비되기 전에는 isReady()=false → PostService가 기존 DB 검색으로 처리
+ * - version(): 색인에 변경이 반영될 때마다 증가 → SearchResultCache가 이전 결과를 버리는 기준
+ */
+@Log4j2
+@Component
+public class PostSearchIndex {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    @Value("${app.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private final Object writeLock = new Object();
+    private volatile InvertedPostIndex index = new InvertedPostIndex();
+    private volatile boolean ready;
+    private final AtomicLong version = new AtomicLong(); // 반영된 변경마다 +1 (검색 결과 캐시 무효화용)
+    private List<Consumer<InvertedPostIndex>> pending; // 재색인 중일 때만 non-null
+
+    public PostSearchIndex(PostRepository postRepository, PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) rebuild();
+    }
+
+    /**
+     * 전체 재색인 — 완성된 뒤에 한 번에 교체하므로 그동안 검색은 기존 색인(또는 DB)으로 처리
+     */
+    public void rebuild() {
+        synchronized (writeLock) {
+            if (pending != null) return; // 이미 진행 중
+            pending = new ArrayList<>();
+        }
+
+        long start = System.currentTimeMillis();
+        InvertedPostIndex fresh = new InvertedPostIndex();
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<PostRepository.PostIndexRow> rows = postRepository.streamAllForSearchIndex()) {
+                    rows.forEach(r -> fresh.put(new PostSearchDocument(
+                            r.getPostId(), r.getUserId(), r.getCategoryId(),
+                            r.getTitle(), r.getDescription(), r.getNickname(), r.getCategoryName())));
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                pending = null;
+            }
+            log.error("검색 색인 생성 실패 (DB 검색으로 계속 동작): {}", e.getMessage(), e);
+            return;
+        }
+
+        synchronized (writeLock) {
+            pending.forEach(op -> op.accept(fresh));
+            pending = null;
+            index = fresh;
+            ready = true;
+            version.incrementAndGet();
+        }
+        log.info("검색 색인 생성 완료 - 게시글 {}개, {}ms", fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public List<Integer> search(SearchField field, String query, int limit) {
+        return index.search(field, query, limit);
+    }
+
+    public SearchHits search(SearchField field, String query, Integer before, int limit, int scanLimit) {
+        return index.search(field, query, before, limit, Math.max(1, scanLimit));
+    }
+
+    public List<RankedHit> rank(String query, Map<SearchField, Double> boosts, int k, int scanLimit) {
+        return index.rank(query, boosts, k, Math.max(1, scanLimit));
+    }
+
+    // 오타 교정한 검색어 (바꿀 단어가 없으면 null)
+    public String correct(Collection<SearchField> fields, String query) {
+        return index.correct(fields, query);
+    }
+
+    // =========================
+    // 변경 반영 (커밋 후)
+    // =========================
+
+    // 지연 로딩 값(user/category)을 읽어야 하므로 문서는 호출 시점(트랜잭션 안)에 만들어 둠
+    public void index(PostEntity post) {
+        PostSearchDocument doc = PostSearchDocument.from(post);
+        afterCommit(i -> i.put(doc));
+    }
+
+    public void remove(Integer postId) {
+        afterCommit(i -> i.remove(postId));
+    }
+
+    public void renameAuthor(Integer userId, String nickname) {
+        afterCommit(i -> i.renameAuthor(userId, nickname));
+    }
+
+    public void renameCategory(Integer categoryId, String categoryName) {
+        afterCommit(i -> i.renameCategory(categoryId, categoryName));
+    }
+
+    public void removeCategory(Integer categoryId) {
+        afterCommit(i -> i.removeCategory(categoryId));
+    }
+
+    private void afterCommit(Consumer<InvertedPostIndex> op) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(op);
+                }
+            });
+        } else {
+            apply(op);
+        }
+    }
+
+    private void apply(Consumer<InvertedPostIndex> op) {
+        synchronized (writeLock) {
+            op.accept(index);
+            if (pending != null) pending.add(op);
+            version.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.nasda.service.search;
+
+// 정확도순 검색 결과 한 건 (snippet은 본문이 비어 있으면 null)
+public record RankedHit(
+        Integer postId,
+        double score,
+        Snippet snippet
+) {
+}
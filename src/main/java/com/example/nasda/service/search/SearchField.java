@@ -0,0 +1,27 @@
+package com.example.nasda.service.search;
+
+/**
+ * 검색 대상 필드 — 기존 검색 화면의 type 파라미터와 1:1 대응
+ */
+public enum SearchField {
+    TITLE,
+    CONTENT,
+    AUTHOR,
+    CATEGORY;
+
+    // 화면/API의 type 파라미터 값
+    public String type() {
+        return name().toLowerCase();
+    }
+
+    // title / author / category 외에는 기존처럼 본문(content) 검색
+    public static SearchField fromType(String type) {
+        if (type == null) return CONTENT;
+        return switch (type.trim()) {
+            case "title" -> TITLE;
+            case "author" -> AUTHOR;
+            case "category" -> CATEGORY;
+            default -> CONTENT;
+        };
+    }
+}
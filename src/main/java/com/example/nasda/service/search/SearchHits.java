@@ -0,0 +1,18 @@
+package com.example.nasda.service.search;
+
+import java.util.List;
+import java.util.Map;
+
+// 색인 검색 한 페이지 + 다음 요청용 커서 (snippets: 정확도순에서만, postId → 본문 스니펫)
+public record SearchHits(
+        List<Integer> ids,
+        Map<Integer, Snippet> snippets,
+        Integer nextCursor,
+        boolean hasNext
+) {
+    public static final SearchHits EMPTY = new SearchHits(List.of(), null, false);
+
+    public SearchHits(List<Integer> ids, Integer nextCursor, boolean hasNext) {
+        this(ids, Map.of(), nextCursor, hasNext);
+    }
+}
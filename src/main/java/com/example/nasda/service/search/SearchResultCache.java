@@ -0,0 +1,100 @@
+package com.example.nasda.service.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ✅ 인기 검색어 결과 캐시 (postId 목록 + 커서만 저장, 카드 내용은 매번 배치 조회)
+ * - 키: 정규화된 (검색어, 검색 방식/필드, 커서, 페이지 크기)
+ * - 최대 개수를 넘으면 가장 오래 사용하지 않은 항목부터 버림 (LRU)
+ * - 무효화: 저장 시점의 색인 버전(PostSearchIndex.version)과 현재 버전이 다르면 사용하지 않음
+ *   → 게시글/닉네임/카테고리 변경이 커밋되면 이전 결과는 자동으로 무시됨. TTL은 그 외 안전장치.
+ */
+@Component
+public class SearchResultCache {
+
+    public record Key(String mode, String field, String keyword, Integer cursor, int size) {
+    }
+
+    public record Stats(long hits, long misses, long stale, int size, double hitRatio) {
+    }
+
+    private record Entry(long version, long expiresAt, SearchHits hits) {
+    }
+
+    private final PostSearchIndex postSearchIndex;
+    private final long ttlMs;
+    private final Map<Key, Entry> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong(); // misses 중 버전/TTL 때문에 버린 경우
+
+    public SearchResultCache(PostSearchIndex postSearchIndex,
+                             @Value("${app.search.cache.max-size:1000}") int maxSize,
+                             @Value("${app.search.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.postSearchIndex = postSearchIndex;
+        this.ttlMs = Math.max(0, ttlSeconds) * 1000L;
+        int capacity = Math.max(1, maxSize);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public static Key key(String mode, SearchField field, String keyword, Integer cursor, int size) {
+        return new Key(mode, field == null ? "*" : field.type(), NgramTokenizer.normalize(keyword), cursor, size);
+    }
+
+    /**
+     * 캐시에 유효한 결과가 있으면 그대로, 없으면 loader로 계산해서 저장
+     */
+    public SearchHits get(Key key, Supplier<SearchHits> loader) {
+        // 계산 전에 버전을 읽어 둠 — 계산 중에 변경이 커밋되면 다음 조회에서 stale로 버려짐
+        long version = postSearchIndex.version();
+        long now = System.currentTimeMillis();
+
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+        }
+        if (entry != null) {
+            if (entry.version() == version && now < entry.expiresAt()) {
+                hits.incrementAndGet();
+                return entry.hits();
+            }
+            stale.incrementAndGet();
+        }
+        misses.incrementAndGet();
+
+        // 검색은 락 밖에서
+        SearchHits result = loader.get();
+        synchronized (cache) {
+            cache.put(key, new Entry(version, now + ttlMs, result));
+        }
+        return result;
+    }
+
+    public Stats stats() {
+        long h = hits.get();
+        long m = misses.get();
+        int size;
+        synchronized (cache) {
+            size = cache.size();
+        }
+        return new Stats(h, m, stale.get(), size, (h + m) == 0 ? 0.0 : (double) h / (h + m));
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+}
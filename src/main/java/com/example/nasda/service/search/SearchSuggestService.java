@@ -0,0 +1,97 @@
+package com.example.nasda.service.search;
+
+import com.example.nasda.repository.PostRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * ✅ 검색창 자동완성 (제목 / 작성자 닉네임 / 카테고리 이름)
+ * - 주기적으로 posts를 스트리밍해 SuggestTrie를 새로 만들고 volatile 참조를 한 번에 교체
+ *   (조회 쪽은 락도 DB 조회도 없음 — 키 입력마다 호출돼도 부담 없음)
+ * - 가중치 = 인기도: 1 + 조회수 + 댓글 수 × COMMENT_WEIGHT
+ *   (작성자/카테고리는 해당 게시글 인기도의 합)
+ * - 새 글은 다음 재생성 때 반영됩니다.
+ */
+@Log4j2
+@Service
+public class SearchSuggestService {
+
+    private static final long COMMENT_WEIGHT = 5L;
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final int maxK;
+
+    private volatile SuggestTrie trie = SuggestTrie.EMPTY;
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    public SearchSuggestService(PostRepository postRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.search.suggest.max-size:10}") int maxK) {
+        this.postRepository = postRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.maxK = Math.max(1, maxK);
+    }
+
+    public List<SuggestTrie.Entry> suggest(String prefix, int size) {
+        String p = NgramTokenizer.normalize(prefix);
+        if (p.isEmpty()) return List.of();
+        return trie.lookup(p, Math.min(Math.max(1, size), maxK));
+    }
+
+    @Scheduled(initialDelayString = "${app.search.suggest.initial-delay-ms:5000}",
+            fixedDelayString = "${app.search.suggest.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) return;
+        try {
+            long start = System.currentTimeMillis();
+            Map<String, SuggestTrie.Entry> entries = new HashMap<>();
+
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<PostRepository.PostSuggestRow> rows = postRepository.streamAllForSuggest()) {
+                    rows.forEach(r -> {
+                        long weight = 1L + nz(r.getViewCount()) + nz(r.getCommentCount()) * COMMENT_WEIGHT;
+                        add(entries, SearchField.TITLE, r.getTitle(), weight, false);
+                        add(entries, SearchField.AUTHOR, r.getNickname(), weight, true);
+                        add(entries, SearchField.CATEGORY, r.getCategoryName(), weight, true);
+                    });
+                }
+            });
+
+            SuggestTrie fresh = SuggestTrie.build(entries.values(), maxK);
+            trie = fresh;
+            log.info("자동완성 사전 생성 완료 - 항목 {}개, {}ms", fresh.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 실패하면 기존 사전을 계속 사용
+            log.error("자동완성 사전 생성 실패: {}", e.getMessage(), e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // 같은 항목(필드+정규화 문자열)은 합산(sum) 또는 최댓값(제목: 같은 제목 글이 여러 개여도 가장 인기 있는 글 기준)
+    private static void add(Map<String, SuggestTrie.Entry> entries, SearchField field,
+                            String text, long weight, boolean sum) {
+        String key = NgramTokenizer.normalize(text);
+        if (key.isEmpty()) return;
+
+        entries.merge(field.name() + ":" + key, new SuggestTrie.Entry(key, text.trim(), field, weight),
+                (a, b) -> new SuggestTrie.Entry(key, a.text(), field,
+                        sum ? a.weight() + b.weight() : Math.max(a.weight(), b.weight())));
+    }
+
+    private static long nz(Number n) {
+        return n == null ? 0L : n.longValue();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.nasda.service.search;
+
+import java.util.List;
+
+/**
+ * 본문 일부 + 강조 구간 (highlights: text 안의 [start, end) 목록)
+ * - cutStart/cutEnd: 앞/뒤가 잘렸는지 (화면에서 … 표시용)
+ */
+public record Snippet(
+        String text,
+        List<int[]> highlights,
+        boolean cutStart,
+        boolean cutEnd
+) {
+}
@@ -0,0 +1,132 @@
+package com.example.nasda.service.search;
+
+import java.util.*;
+
+/**
+ * ✅ 자동완성용 압축 트라이 (읽기 전용 — 만들어진 뒤에는 바뀌지 않으므로 락 없이 공유)
+ * - 분기가 없는 구간은 한 노드의 label로 합쳐 노드 수를 줄임 (radix tree)
+ * - 노드마다 "이 접두어로 시작하는 항목 중 가중치 상위 k개"를 미리 계산해 둠
+ *   → 조회는 접두어 길이만큼 내려가서 저장된 목록을 돌려주면 끝 (항목 수와 무관)
+ */
+public final class SuggestTrie {
+
+    public record Entry(String key, String text, SearchField field, long weight) {
+    }
+
+    public static final SuggestTrie EMPTY = build(List.of(), 1);
+
+    // 가중치 큰 순 → 짧은 것 → 가나다 순
+    private static final Comparator<Entry> RANK = Comparator
+            .comparingLong(Entry::weight).reversed()
+            .thenComparingInt(e -> e.key().length())
+            .thenComparing(Entry::key);
+
+    private static final class Node {
+        final String label;
+        final char[] childChars;
+        final Node[] children;
+        final Entry[] top;
+
+        Node(String label, char[] childChars, Node[] children, Entry[] top) {
+            this.label = label;
+            this.childChars = childChars;
+            this.children = children;
+            this.top = top;
+        }
+    }
+
+    private final Node root;
+    private final int size;
+    private final int maxK;
+
+    private SuggestTrie(Node root, int size, int maxK) {
+        this.root = root;
+        this.size = size;
+        this.maxK = maxK;
+    }
+
+    /**
+     * @param entries key는 NgramTokenizer.normalize 된 문자열
+     * @param maxK    노드마다 보관할 상위 개수 (조회 가능한 최대 k)
+     */
+    public static SuggestTrie build(Collection<Entry> entries, int maxK) {
+        int k = Math.max(1, maxK);
+        Entry[] sorted = entries.stream()
+                .filter(e -> e.key() != null && !e.key().isEmpty())
+                .sorted(Comparator.comparing(Entry::key).thenComparing(Entry::field))
+                .toArray(Entry[]::new);
+
+        Node root = sorted.length == 0
+                ? new Node("", new char[0], new Node[0], new Entry[0])
+                : buildNode(sorted, 0, sorted.length, 0, k);
+        return new SuggestTrie(root, sorted.length, k);
+    }
+
+    // sorted[lo, hi)는 앞 depth글자가 모두 같음
+    private static Node buildNode(Entry[] sorted, int lo, int hi, int depth, int k) {
+        String first = sorted[lo].key();
+        String last = sorted[hi - 1].key();
+
+        // 정렬돼 있으므로 구간 전체의 공통 접두어 = 처음과 끝의 공통 접두어
+        int end = depth;
+        int max = Math.min(first.length(), last.length());
+        while (end < max && first.charAt(end) == last.charAt(end)) end++;
+
+        List<Entry> candidates = new ArrayList<>();
+        int i = lo;
+        while (i < hi && sorted[i].key().length() == end) {
+            candidates.add(sorted[i++]); // 이 노드에서 끝나는 항목
+        }
+
+        List<Character> chars = new ArrayList<>();
+        List<Node> children = new ArrayList<>();
+        while (i < hi) {
+            char c = sorted[i].key().charAt(end);
+            int j = i;
+            while (j < hi && sorted[j].key().charAt(end) == c) j++;
+
+            Node child = buildNode(sorted, i, j, end, k);
+            chars.add(c);
+            children.add(child);
+            candidates.addAll(Arrays.asList(child.top));
+            i = j;
+        }
+
+        candidates.sort(RANK);
+        Entry[] top = candidates.subList(0, Math.min(k, candidates.size())).toArray(Entry[]::new);
+
+        char[] childChars = new char[chars.size()];
+        for (int c = 0; c < childChars.length; c++) childChars[c] = chars.get(c);
+
+        return new Node(first.substring(depth, end), childChars, children.toArray(Node[]::new), top);
+    }
+
+    /**
+     * prefix(정규화된 문자열)로 시작하는 항목 중 상위 k개
+     */
+    public List<Entry> lookup(String prefix, int k) {
+        if (prefix == null || prefix.isEmpty() || k <= 0) return List.of();
+
+        Node node = root;
+        int pos = 0;
+        while (true) {
+            String label = node.label;
+            int m = Math.min(label.length(), prefix.length() - pos);
+            if (!prefix.regionMatches(pos, label, 0, m)) return List.of();
+            pos += m;
+
+            if (pos == prefix.length()) {
+                Entry[] top = node.top;
+                return List.of(top).subList(0, Math.min(Math.min(k, maxK), top.length));
+            }
+
+            int idx = Arrays.binarySearch(node.childChars, prefix.charAt(pos));
+            if (idx < 0) return List.of();
+            node = node.children[idx]; // 자식 label은 방금 찾은 글자부터 시작
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+}
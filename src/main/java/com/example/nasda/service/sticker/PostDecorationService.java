@@ -19,6 +19,9 @@ public interface PostDecorationService {
     // [Delete] 삭제
     void deleteDecoration(Integer decorationId, Integer currentUserId);
 
+    // [Delete] 특정 이미지에서 한 유저의 스티커 일괄 삭제
+    void deleteUserDecorationsOnImage(Integer userId, Integer imageId);
+
     List<PostDecorationResponseDTO> getDecorationsByPostId(Integer postId);
 
 }
\ No newline at end of file
@@ -7,8 +7,11 @@ import com.example.nasda.domain.UserEntity;
 import com.example.nasda.dto.sticker.PostDecorationRequestDTO;
 import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
 import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.repository.PostRepository;
 import com.example.nasda.repository.sticker.PostDecorationRepository;
 import com.example.nasda.repository.sticker.StickerRepository;
+import com.example.nasda.service.UserProfileCache;
+import com.example.nasda.service.counter.EngagementCounterService;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -17,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Log4j2
@@ -27,8 +31,11 @@ public class PostDecorationServiceImpl implements PostDecorationService {
 
     private final PostDecorationRepository postDecorationRepository;
     private final PostImageRepository postImageRepository;
+    private final PostRepository postRepository;
     private final StickerRepository stickerRepository;
     private final EntityManager entityManager;
+    private final UserProfileCache userProfileCache;
+    private final EngagementCounterService engagementCounterService;
 
     /**
      * ✅ 스티커 일괄 저장
@@ -47,13 +54,21 @@ public class PostDecorationServiceImpl implements PostDecorationService {
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 이미지입니다."));
         UserEntity decorator = entityManager.getReference(UserEntity.class, currentUserId);
 
-        boolean isPostOwner = postImage.getPost().getUser().getUserId().equals(currentUserId);
+        Integer postId = postImage.getPost().getPostId();
+        boolean isPostOwner = activePostOwnerId(postId).equals(currentUserId);
 
+        // 카운터 보정용: 지워질 스티커 수를 붙인 유저별로 미리 집계
+        // (벌크 삭제는 REQUIRES_NEW로 먼저 커밋되므로, 이후 실패 시 생기는 오차는 EngagementCounterReconciler가 복구)
+        Map<Integer, Long> removedByUser;
         if (isPostOwner) {
+            removedByUser = EngagementCounterService.toCountMap(postDecorationRepository.countGroupByUserForImage(imageId));
             postDecorationRepository.deleteByPostImageImageId(imageId);
         } else {
+            removedByUser = EngagementCounterService.toCountMap(
+                    postDecorationRepository.countGroupByUserForUserAndImage(currentUserId, imageId));
             postDecorationRepository.deleteByUserAndImageBulk(currentUserId, imageId);
         }
+        engagementCounterService.onDecorationsRemoved(postId, removedByUser);
 
         postDecorationRepository.flush();
         entityManager.clear();
@@ -91,10 +106,9 @@ public class PostDecorationServiceImpl implements PostDecorationService {
             // saveAll은 신규는 Insert, 기존은 Update 쿼리를 날려 데드락을 예방합니다.
             List<PostDecorationEntity> savedEntities = postDecorationRepository.saveAll(entitiesToSave);
             postDecorationRepository.flush();
+            engagementCounterService.onDecorationsAdded(postId, currentUserId, savedEntities.size());
             log.info("🏁 [SAVE SUCCESS] 수정한 내역만 DB 반영 완료");
-            return savedEntities.stream()
-                    .map(PostDecorationResponseDTO::from)
-                    .collect(Collectors.toList());
+            return toResponses(savedEntities);
         } catch (Exception e) {
             log.error("❌ [CRITICAL ERROR] 저장 중 예외 발생: {}", e.getMessage());
             throw e;
@@ -126,8 +140,9 @@ public class PostDecorationServiceImpl implements PostDecorationService {
         PostDecorationEntity decoration = postDecorationRepository.findById(decorationId)
                 .orElseThrow(() -> new IllegalArgumentException("삭제할 장식이 존재하지 않습니다."));
 
+        Integer postId = decoration.getPostImage().getPost().getPostId();
         Integer stickerAuthorId = decoration.getUser().getUserId();
-        Integer postOwnerId = decoration.getPostImage().getPost().getUser().getUserId();
+        Integer postOwnerId = activePostOwnerId(postId);
 
         // 본인 확인 (게시글 주인 권한을 추가하고 싶다면 여기에 OR 조건을 추가하세요)
         if (!stickerAuthorId.equals(currentUserId) && !postOwnerId.equals(currentUserId)) {
@@ -135,6 +150,22 @@ public class PostDecorationServiceImpl implements PostDecorationService {
         }
 
         postDecorationRepository.delete(decoration);
+        engagementCounterService.onDecorationsRemoved(postId, Map.of(stickerAuthorId, 1L));
+    }
+
+    /**
+     * ✅ 특정 이미지에서 내가 붙인 스티커 모두 삭제
+     */
+    @Override
+    @Transactional
+    public void deleteUserDecorationsOnImage(Integer userId, Integer imageId) {
+        PostImageEntity postImage = postImageRepository.findById(imageId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 이미지입니다."));
+
+        Map<Integer, Long> removedByUser = EngagementCounterService.toCountMap(
+                postDecorationRepository.countGroupByUserForUserAndImage(userId, imageId));
+        postDecorationRepository.deleteByUserAndImageBulk(userId, imageId);
+        engagementCounterService.onDecorationsRemoved(postImage.getPost().getPostId(), removedByUser);
     }
 
     /**
@@ -142,9 +173,7 @@ public class PostDecorationServiceImpl implements PostDecorationService {
      */
     @Override
     public List<PostDecorationResponseDTO> getDecorationsByImageId(Integer imageId) {
-        return postDecorationRepository.findByPostImage_ImageId(imageId).stream()
-                .map(PostDecorationResponseDTO::from)
-                .collect(Collectors.toList());
+        return toResponses(postDecorationRepository.findByPostImage_ImageId(imageId));
     }
 
     /**
@@ -153,8 +182,32 @@ public class PostDecorationServiceImpl implements PostDecorationService {
     @Override
     public List<PostDecorationResponseDTO> getDecorationsByPostId(Integer postId) {
         // Repository에서 간접 참조 메서드(findByPostImage_Post_PostId)를 사용합니다.
-        return postDecorationRepository.findByPostImage_Post_PostId(postId).stream()
-                .map(PostDecorationResponseDTO::from)
+        return toResponses(postDecorationRepository.findByPostImage_Post_PostId(postId));
+    }
+
+    // 삭제된 게시글(다른 탭에 남은 화면 등)의 이미지면 post 프록시 초기화 대신 명확한 오류로 거절
+    private Integer activePostOwnerId(Integer postId) {
+        return postRepository.findActiveOwnerId(postId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 게시글입니다."));
+    }
+
+    /**
+     * ✅ 스티커를 붙인 유저 정보를 UserProfileCache로 한 번에 조회
+     * (장식마다 user 프록시를 초기화하던 N+1 제거, user.getUserId()는 프록시 초기화 없이 읽힘)
+     */
+    private List<PostDecorationResponseDTO> toResponses(List<PostDecorationEntity> decorations) {
+        Set<Integer> userIds = decorations.stream()
+                .map(d -> d.getUser().getUserId())
+                .collect(Collectors.toSet());
+        Map<Integer, UserProfileCache.Profile> authors = userProfileCache.getAll(userIds);
+
+        return decorations.stream()
+                .map(d -> {
+                    UserProfileCache.Profile author = authors.get(d.getUser().getUserId());
+                    return author != null
+                            ? PostDecorationResponseDTO.from(d, author.loginId(), author.nickname())
+                            : PostDecorationResponseDTO.from(d, null, UserProfileCache.UNKNOWN_NICKNAME);
+                })
                 .collect(Collectors.toList());
     }
 }
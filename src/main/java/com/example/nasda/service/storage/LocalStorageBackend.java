@@ -0,0 +1,245 @@
+package com.example.nasda.service.storage;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * ✅ 로컬 디스크 저장소 (해시 앞자리로 나눈 폴더)
+ * - "ab12cd…ef.jpg" → {root}/ab/12/ab12cd…ef.jpg (폴더 65536개, 한 폴더에 파일이 몰리지 않음)
+ * - 변형 파일도 이름 앞자리가 같아서 원본과 같은 폴더
+ * - 예전 평평한 구조({root}/이름)의 파일도 그대로 읽고, 기동 후 백그라운드에서 나눈 폴더로 옮김
+ * - 임시 파일은 {root}/.tmp (같은 디스크라 저장이 원자적 이름 바꾸기 한 번)
+ */
+@Log4j2
+public class LocalStorageBackend implements StorageBackend {
+
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,127}");
+    private static final String TMP_DIR = ".tmp";
+
+    private final Path root;
+
+    public LocalStorageBackend(String dir) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    @Override
+    public Path createTempFile(String suffix) throws IOException {
+        Path tmp = root.resolve(TMP_DIR);
+        Files.createDirectories(tmp);
+        return Files.createTempFile(tmp, "up", suffix);
+    }
+
+    @Override
+    public boolean exists(String name) {
+        Path p = resolve(name);
+        return Files.exists(p) || (!isInternal(name) && Files.exists(legacy(name)));
+    }
+
+    @Override
+    public void put(String name, Path source) throws IOException {
+        Path target = resolve(name);
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String name) throws IOException {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(locate(name), BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) return Optional.empty();
+            return Optional.of(new StoredObject(name, attrs.size(), attrs.lastModifiedTime().toMillis()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public InputStream open(String name, long start, long end) throws IOException {
+        FileChannel channel = FileChannel.open(locate(name), StandardOpenOption.READ);
+        channel.position(start);
+        long limit = end - start;
+        return new FilterInputStream(Channels.newInputStream(channel)) {
+            private long remaining = limit;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) return -1;
+                int b = super.read();
+                if (b >= 0) remaining--;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buf, int off, int len) throws IOException {
+                if (remaining <= 0) return -1;
+                int n = super.read(buf, off, (int) Math.min(len, remaining));
+                if (n > 0) remaining -= n;
+                return n;
+            }
+        };
+    }
+
+    @Override
+    public Optional<Path> localPath(String name) {
+        return Optional.of(locate(name));
+    }
+
+    @Override
+    public boolean delete(String name) throws IOException {
+        boolean deleted = Files.deleteIfExists(resolve(name));
+        if (isInternal(name)) {
+            removeEmptyParents(resolve(name).getParent());
+        } else {
+            deleted |= Files.deleteIfExists(legacy(name));
+        }
+        return deleted;
+    }
+
+    @Override
+    public void move(String from, String to) throws IOException {
+        Path source = locate(from);
+        Path target = resolve(to);
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (isInternal(from)) removeEmptyParents(source.getParent());
+    }
+
+    @Override
+    public Stream<StoredObject> list(String prefix) throws IOException {
+        if (prefix.isEmpty()) {
+            // 나눈 폴더(2단계) + 예전 평평한 위치, 내부 영역(.tmp/.quarantine)은 제외
+            return walk(root, 3)
+                    .filter(p -> !root.relativize(p).toString().startsWith("."))
+                    .filter(p -> SAFE_NAME.matcher(p.getFileName().toString()).matches())
+                    .map(p -> toObject(p, p.getFileName().toString()))
+                    .flatMap(Optional::stream);
+        }
+        if (!isInternal(prefix)) throw new IllegalArgumentException("내부 영역만 prefix로 조회할 수 있습니다.");
+
+        int slash = prefix.lastIndexOf('/');
+        Path base = slash > 0 ? resolve(prefix.substring(0, slash)) : root;
+        if (!Files.isDirectory(base)) return Stream.empty();
+        return walk(base, Integer.MAX_VALUE)
+                .map(p -> root.relativize(p).toString().replace('\\', '/'))
+                .filter(rel -> rel.startsWith(prefix))
+                .map(rel -> toObject(root.resolve(rel), rel))
+                .flatMap(Optional::stream);
+    }
+
+    /**
+     * 예전 평평한 구조의 파일을 나눈 폴더로 옮김 (읽기는 두 위치 모두 보므로 도중에도 서빙에 지장 없음)
+     */
+    public int migrateFlatLayout() throws IOException {
+        if (!Files.isDirectory(root)) return 0;
+        int moved = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+            for (Path p : files) {
+                String name = p.getFileName().toString();
+                if (!SAFE_NAME.matcher(name).matches() || !Files.isRegularFile(p, LinkOption.NOFOLLOW_LINKS)) continue;
+                Path target = shard(name);
+                if (target.equals(p)) continue;
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(p, target, StandardCopyOption.ATOMIC_MOVE);
+                    moved++;
+                } catch (FileAlreadyExistsException e) {
+                    Files.deleteIfExists(p); // 같은 이름 = 같은 내용
+                } catch (NoSuchFileException ignored) {
+                    // 그 사이 삭제됨
+                }
+            }
+        }
+        return moved;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInBackground() {
+        Thread t = new Thread(() -> {
+            try {
+                int moved = migrateFlatLayout();
+                if (moved > 0) log.info("업로드 폴더 구조 변경 - {}개 파일을 나눈 폴더로 이동", moved);
+            } catch (Exception e) {
+                log.warn("업로드 폴더 구조 변경 실패 (다음 기동 때 이어서): {}", e.getMessage());
+            }
+        }, "upload-layout-migrate");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * 일반 이름 → 나눈 폴더 위치, 내부 경로(".quarantine/…") → root 아래 그대로
+     */
+    Path resolve(String name) {
+        if (isInternal(name)) {
+            Path p = root.resolve(name).normalize();
+            if (!p.startsWith(root) || p.equals(root) || name.contains("..")) {
+                throw new IllegalArgumentException("잘못된 저장 경로: " + name);
+            }
+            return p;
+        }
+        if (!SAFE_NAME.matcher(name).matches()) throw new IllegalArgumentException("잘못된 파일 이름: " + name);
+        return shard(name);
+    }
+
+    private Path shard(String name) {
+        if (name.length() < 5) return root.resolve(name);
+        return root.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(name);
+    }
+
+    private Path legacy(String name) {
+        return root.resolve(name);
+    }
+
+    // 읽기 위치: 나눈 폴더에 있으면 거기, 아직 안 옮긴 예전 파일이면 평평한 위치
+    private Path locate(String name) {
+        Path p = resolve(name);
+        if (isInternal(name) || Files.exists(p)) return p;
+        Path old = legacy(name);
+        return Files.exists(old) ? old : p;
+    }
+
+    private static boolean isInternal(String name) {
+        return name.startsWith(".");
+    }
+
+    private void removeEmptyParents(Path dir) {
+        Path d = dir;
+        while (d != null && d.startsWith(root) && !d.equals(root)) {
+            try {
+                Files.deleteIfExists(d);
+            } catch (IOException e) {
+                return; // 비어 있지 않음
+            }
+            d = d.getParent();
+        }
+    }
+
+    private static Stream<Path> walk(Path base, int depth) throws IOException {
+        return Files.walk(base, depth).filter(p -> Files.isRegularFile(p, LinkOption.NOFOLLOW_LINKS));
+    }
+
+    private static Optional<StoredObject> toObject(Path p, String name) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(p, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            return Optional.of(new StoredObject(name, attrs.size(), attrs.lastModifiedTime().toMillis()));
+        } catch (IOException e) {
+            return Optional.empty(); // 훑는 사이 지워짐
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.nasda.service.storage;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * ✅ AWS Signature Version 4 (S3 헤더 서명) — SDK 없이 S3 호환 저장소(MinIO 등)에 요청하기 위해
+ * canonical request → string to sign → 날짜/리전/서비스로 유도한 키로 HMAC-SHA256
+ */
+final class S3Signer {
+
+    static final String EMPTY_SHA256 = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+    static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+
+    S3Signer(String accessKey, String secretKey, String region) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+    }
+
+    /**
+     * Authorization 헤더 값
+     *
+     * @param canonicalUri 인코딩된 경로 ("/bucket/key")
+     * @param query        인코딩 전 쿼리 파라미터
+     * @param headers      서명할 헤더 (host, x-amz-date, x-amz-content-sha256 포함 — 이름은 소문자)
+     * @param amzDate      "yyyyMMdd'T'HHmmss'Z'" (x-amz-date와 같은 값)
+     */
+    String authorization(String method, String canonicalUri, Map<String, String> query,
+                         SortedMap<String, String> headers, String payloadHash, String amzDate) {
+        String date = amzDate.substring(0, 8);
+        String scope = date + "/" + region + "/s3/aws4_request";
+
+        StringBuilder canonicalHeaders = new StringBuilder();
+        StringJoiner signedHeaders = new StringJoiner(";");
+        for (Map.Entry<String, String> h : headers.entrySet()) {
+            canonicalHeaders.append(h.getKey()).append(':').append(h.getValue().trim()).append('\n');
+            signedHeaders.add(h.getKey());
+        }
+
+        String canonicalRequest = method + "\n"
+                + canonicalUri + "\n"
+                + canonicalQuery(query) + "\n"
+                + canonicalHeaders + "\n"
+                + signedHeaders + "\n"
+                + payloadHash;
+
+        String stringToSign = "AWS4-HMAC-SHA256\n"
+                + amzDate + "\n"
+                + scope + "\n"
+                + hex(sha256(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+
+        byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+        key = hmac(key, region);
+        key = hmac(key, "s3");
+        key = hmac(key, "aws4_request");
+        String signature = hex(hmac(key, stringToSign));
+
+        return "AWS4-HMAC-SHA256 Credential=" + accessKey + "/" + scope
+                + ", SignedHeaders=" + signedHeaders
+                + ", Signature=" + signature;
+    }
+
+    static String canonicalQuery(Map<String, String> query) {
+        if (query == null || query.isEmpty()) return "";
+        SortedMap<String, String> sorted = new TreeMap<>();
+        query.forEach((k, v) -> sorted.put(encode(k, false), encode(v == null ? "" : v, false)));
+        StringJoiner joiner = new StringJoiner("&");
+        sorted.forEach((k, v) -> joiner.add(k + "=" + v));
+        return joiner.toString();
+    }
+
+    /**
+     * RFC 3986 인코딩 (unreserved만 그대로) — 경로면 '/'도 그대로
+     */
+    static String encode(String value, boolean path) {
+        StringBuilder out = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (path && c == '/')) {
+                out.append(c);
+            } else {
+                out.append('%').append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xf, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(b & 0xf, 16)));
+            }
+        }
+        return out.toString();
+    }
+
+    static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.nasda.service.storage;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ✅ S3 호환 저장소 (AWS S3, MinIO 등) — java.net.http + SigV4 서명만 사용 (SDK 의존성 없음)
+ * - 키 = keyPrefix + name (기본 "uploads/abc.jpg"), 내부 영역도 같은 규칙 ("uploads/.quarantine/…")
+ * - MinIO처럼 버킷을 경로에 넣는 방식(path-style)이 기본, 끄면 가상 호스트 방식(bucket.host)
+ * - 업로드는 파일 길이를 아는 PUT 한 번 (본문 해시는 UNSIGNED-PAYLOAD — TLS로 보호)
+ * - 임시 파일은 로컬 임시 폴더 (이미지 정보/해시 계산 후 올리고 지움)
+ */
+public class S3StorageBackend implements StorageBackend {
+
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int LIST_PAGE_SIZE = 1000;
+
+    private final HttpClient http;
+    private final S3Signer signer;
+    private final URI endpoint;
+    private final String bucket;
+    private final boolean pathStyle;
+    private final String keyPrefix;
+    private final String publicBaseUrl;
+    private final Duration timeout;
+
+    public S3StorageBackend(String endpoint, String region, String bucket,
+                            String accessKey, String secretKey,
+                            boolean pathStyle, String keyPrefix, String publicBaseUrl,
+                            Duration timeout) {
+        this.endpoint = URI.create(endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint);
+        this.bucket = bucket;
+        this.pathStyle = pathStyle;
+        this.keyPrefix = keyPrefix == null ? "" : keyPrefix;
+        this.publicBaseUrl = publicBaseUrl == null || publicBaseUrl.isBlank() ? null : publicBaseUrl;
+        this.timeout = timeout;
+        this.signer = new S3Signer(accessKey, secretKey, region);
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public Path createTempFile(String suffix) throws IOException {
+        return Files.createTempFile("nasda-upload", suffix);
+    }
+
+    @Override
+    public boolean exists(String name) throws IOException {
+        return stat(name).isPresent();
+    }
+
+    @Override
+    public void put(String name, Path source) throws IOException {
+        try {
+            HttpRequest.Builder req = request("PUT", key(name), Map.of(),
+                    Map.of("content-type", contentType(name)), S3Signer.UNSIGNED_PAYLOAD);
+            HttpResponse<String> res = send(req.PUT(HttpRequest.BodyPublishers.ofFile(source)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (res.statusCode() / 100 != 2) throw error("PUT", name, res.statusCode(), res.body());
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String name) throws IOException {
+        HttpRequest.Builder req = request("HEAD", key(name), Map.of(), Map.of(), S3Signer.EMPTY_SHA256);
+        HttpResponse<Void> res = send(req.method("HEAD", HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (res.statusCode() == 404) return Optional.empty();
+        if (res.statusCode() / 100 != 2) throw error("HEAD", name, res.statusCode(), "");
+
+        long size = res.headers().firstValueAsLong("Content-Length").orElse(0);
+        long lastModified = res.headers().firstValue("Last-Modified")
+                .map(v -> ZonedDateTime.parse(v, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli())
+                .orElse(0L);
+        return Optional.of(new StoredObject(name, size, lastModified));
+    }
+
+    @Override
+    public InputStream open(String name, long start, long end) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        if (start > 0 || end != Long.MAX_VALUE) {
+            headers.put("range", "bytes=" + start + "-" + (end == Long.MAX_VALUE ? "" : String.valueOf(end - 1)));
+        }
+        HttpRequest.Builder req = request("GET", key(name), Map.of(), headers, S3Signer.EMPTY_SHA256);
+        HttpResponse<InputStream> res = send(req.GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+        if (res.statusCode() == 200 || res.statusCode() == 206) return res.body();
+
+        String body;
+        try (InputStream in = res.body()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        if (res.statusCode() == 404) throw new NoSuchFileException(name);
+        throw error("GET", name, res.statusCode(), body);
+    }
+
+    @Override
+    public Optional<Path> localPath(String name) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean delete(String name) throws IOException {
+        HttpRequest.Builder req = request("DELETE", key(name), Map.of(), Map.of(), S3Signer.EMPTY_SHA256);
+        HttpResponse<String> res = send(req.DELETE().build(), HttpResponse.BodyHandlers.ofString());
+        if (res.statusCode() == 404) return false;
+        if (res.statusCode() / 100 != 2) throw error("DELETE", name, res.statusCode(), res.body());
+        return true; // S3는 없는 키도 204
+    }
+
+    @Override
+    public void move(String from, String to) throws IOException {
+        // S3에는 이름 바꾸기가 없어서 서버 쪽 복사 후 삭제
+        String source = "/" + bucket + "/" + S3Signer.encode(key(from), true);
+        HttpRequest.Builder req = request("PUT", key(to), Map.of(),
+                Map.of("x-amz-copy-source", source), S3Signer.EMPTY_SHA256);
+        HttpResponse<String> res = send(req.PUT(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+        // 복사 실패는 200 + <Error> 본문으로 오기도 함
+        if (res.statusCode() / 100 != 2 || res.body().contains("<Error>")) {
+            if (res.statusCode() == 404) throw new NoSuchFileException(from);
+            throw error("COPY", from, res.statusCode(), res.body());
+        }
+        delete(from);
+    }
+
+    @Override
+    public Stream<StoredObject> list(String prefix) throws IOException {
+        boolean all = prefix.isEmpty();
+        Iterator<StoredObject> pages = new Iterator<>() {
+            private final Deque<StoredObject> buffer = new ArrayDeque<>();
+            private String token;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                while (buffer.isEmpty() && !done) fetch();
+                return !buffer.isEmpty();
+            }
+
+            @Override
+            public StoredObject next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return buffer.poll();
+            }
+
+            // ListObjectsV2 한 페이지 (최대 1000개) — 다 읽은 뒤에 다음 페이지
+            private void fetch() {
+                try {
+                    Map<String, String> query = new HashMap<>();
+                    query.put("list-type", "2");
+                    query.put("max-keys", String.valueOf(LIST_PAGE_SIZE));
+                    query.put("prefix", keyPrefix + prefix);
+                    if (token != null) query.put("continuation-token", token);
+
+                    HttpRequest.Builder req = request("GET", null, query, Map.of(), S3Signer.EMPTY_SHA256);
+                    HttpResponse<InputStream> res = send(req.GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+                    try (InputStream in = res.body()) {
+                        if (res.statusCode() / 100 != 2) {
+                            throw error("LIST", prefix, res.statusCode(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                        }
+                        Document doc = parse(in);
+                        NodeList contents = doc.getElementsByTagName("Contents");
+                        for (int i = 0; i < contents.getLength(); i++) {
+                            Element c = (Element) contents.item(i);
+                            String name = text(c, "Key").substring(keyPrefix.length());
+                            // 전체 목록에서는 내부 영역/하위 경로 제외
+                            if (all && (name.startsWith(".") || name.contains("/"))) continue;
+                            buffer.add(new StoredObject(name,
+                                    Long.parseLong(text(c, "Size")),
+                                    Instant.parse(text(c, "LastModified")).toEpochMilli()));
+                        }
+                        token = "true".equals(text(doc.getDocumentElement(), "IsTruncated"))
+                                ? text(doc.getDocumentElement(), "NextContinuationToken")
+                                : null;
+                        done = token == null || token.isEmpty();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public Optional<String> publicUrl(String name) {
+        return publicBaseUrl == null ? Optional.empty() : Optional.of(publicBaseUrl + name);
+    }
+
+    // =========================
+    // 요청
+    // =========================
+
+    private String key(String name) {
+        if (name.contains("..") || name.startsWith("/")) throw new IllegalArgumentException("잘못된 저장 경로: " + name);
+        return keyPrefix + name;
+    }
+
+    /**
+     * 서명된 요청 빌더 (key가 null이면 버킷 자체 — 목록 조회)
+     */
+    private HttpRequest.Builder request(String method, String key, Map<String, String> query,
+                                        Map<String, String> extraHeaders, String payloadHash) {
+        String host = endpoint.getHost() + (endpoint.getPort() > 0 ? ":" + endpoint.getPort() : "");
+        String path;
+        if (pathStyle) {
+            path = "/" + bucket + (key == null ? "/" : "/" + S3Signer.encode(key, true));
+        } else {
+            host = bucket + "." + host;
+            path = key == null ? "/" : "/" + S3Signer.encode(key, true);
+        }
+        String basePath = endpoint.getRawPath() == null ? "" : endpoint.getRawPath();
+        String canonicalUri = basePath + path;
+
+        String amzDate = AMZ_DATE.format(ZonedDateTime.now(ZoneOffset.UTC));
+        SortedMap<String, String> signed = new TreeMap<>();
+        signed.put("host", host);
+        signed.put("x-amz-date", amzDate);
+        signed.put("x-amz-content-sha256", payloadHash);
+        extraHeaders.forEach((k, v) -> {
+            if (k.equals("range") || k.startsWith("x-amz-")) signed.put(k, v);
+        });
+
+        String queryString = S3Signer.canonicalQuery(query);
+        URI uri = URI.create(endpoint.getScheme() + "://" + host + canonicalUri
+                + (queryString.isEmpty() ? "" : "?" + queryString));
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Authorization", signer.authorization(method, canonicalUri, query, signed, payloadHash, amzDate))
+                .header("x-amz-date", amzDate)
+                .header("x-amz-content-sha256", payloadHash);
+        extraHeaders.forEach(builder::header);
+        return builder;
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return http.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("S3 요청 중단: " + request.uri());
+        }
+    }
+
+    private static IOException error(String op, String name, int status, String body) {
+        String detail = body == null ? "" : body.length() > 300 ? body.substring(0, 300) : body;
+        return new IOException("S3 " + op + " 실패 - " + name + " (" + status + ") " + detail);
+    }
+
+    private static Document parse(InputStream in) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setNamespaceAware(false);
+            return factory.newDocumentBuilder().parse(in);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("S3 응답 XML 해석 실패", e);
+        }
+    }
+
+    private static String text(Element parent, String tag) {
+        NodeList nodes = parent.getElementsByTagName(tag);
+        return nodes.getLength() == 0 ? "" : nodes.item(0).getTextContent();
+    }
+
+    private static String contentType(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) return "image/jpeg";
+        if (lower.endsWith(".png")) return "image/png";
+        if (lower.endsWith(".gif")) return "image/gif";
+        if (lower.endsWith(".webp")) return "image/webp";
+        return "application/octet-stream";
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.nasda.service.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * ✅ 업로드 파일 저장소 SPI
+ * - name = 업로드 파일 이름 ("{sha256}.jpg", "{sha256}_w640.webp") — DB의 image_url은 "/uploads/" + name 그대로
+ * - "."으로 시작하는 경로는 내부 영역 (".quarantine/2026-10-19/{name}", ".tmp/...") — 서빙/전체 목록 대상 아님
+ * - 구현: LocalStorageBackend(해시 앞자리로 나눈 폴더), S3StorageBackend(S3 호환 — AWS, MinIO 등)
+ * 여러 서버가 같은 버킷(또는 공유 볼륨)을 쓰면 어느 서버에서 올린 파일이든 같은 URL로 서빙됩니다.
+ */
+public interface StorageBackend {
+
+    String URL_PREFIX = "/uploads/";
+
+    /**
+     * 목록/메타 정보 (lastModified: epoch ms)
+     */
+    record StoredObject(String name, long size, long lastModified) {
+    }
+
+    /**
+     * 업로드/변형을 쓸 임시 파일 — put으로 넘기지 않으면 호출한 쪽이 지움
+     */
+    Path createTempFile(String suffix) throws IOException;
+
+    boolean exists(String name) throws IOException;
+
+    /**
+     * 임시 파일을 name으로 저장 (같은 이름이 있으면 덮어씀) — source는 옮겨지거나 올린 뒤 지워짐
+     */
+    void put(String name, Path source) throws IOException;
+
+    Optional<StoredObject> stat(String name) throws IOException;
+
+    /**
+     * [start, end) 구간 스트림 — end가 크기보다 크면 끝까지
+     */
+    InputStream open(String name, long start, long end) throws IOException;
+
+    /**
+     * 로컬 디스크 경로 (sendfile/ImageIO로 직접 읽기) — 원격 저장소면 empty
+     */
+    Optional<Path> localPath(String name);
+
+    /**
+     * 있으면 삭제 — 지웠으면 true
+     */
+    boolean delete(String name) throws IOException;
+
+    /**
+     * from → to 이동 (격리/복원용, to가 있으면 덮어씀)
+     */
+    void move(String from, String to) throws IOException;
+
+    /**
+     * prefix로 시작하는 파일 목록 (순서 없음, 다 쓰면 닫아야 함)
+     * "" = 업로드 파일 전체 (내부 영역 제외), ".quarantine/" = 격리 영역
+     */
+    Stream<StoredObject> list(String prefix) throws IOException;
+
+    /**
+     * 브라우저가 바로 받을 수 있는 외부 URL (CDN/공개 버킷) — 없으면 UploadController가 직접 서빙
+     */
+    default Optional<String> publicUrl(String name) {
+        return Optional.empty();
+    }
+
+    /**
+     * ImageIO처럼 파일이 필요한 곳용: 로컬이면 그 경로, 원격이면 임시 파일로 받아서 (close 때 삭제)
+     */
+    default LocalFile fetch(String name) throws IOException {
+        Optional<Path> local = localPath(name);
+        if (local.isPresent()) return new LocalFile(local.get(), false);
+
+        Path tmp = createTempFile(".fetch");
+        try (InputStream in = open(name, 0, Long.MAX_VALUE)) {
+            Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        return new LocalFile(tmp, true);
+    }
+
+    record LocalFile(Path path, boolean temporary) implements Closeable {
+        @Override
+        public void close() throws IOException {
+            if (temporary) Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * "/uploads/abc.jpg" → "abc.jpg" (업로드 URL이 아니면 null)
+     */
+    static String nameOf(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) return null;
+        String name = url.substring(URL_PREFIX.length());
+        return name.isEmpty() || name.contains("/") || name.contains("..") ? null : name;
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.nasda.service.upload;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * ✅ 이어 올리기 (큰 사진 여러 장 / 끊기는 모바일 연결)
+ * - initiate → 청크를 offset 위치에 PUT (순서 무관, 여러 개 동시에) → complete
+ * - 청크는 스테이징 파일의 해당 위치에 FileChannel로 바로 씀 (메모리에 모으지 않음)
+ * - 청크마다 SHA-256(선택)을 확인하고, complete 때 전체 SHA-256(선택)도 확인 — 틀린 청크만 다시 보내면 됨
+ * - 끝난 업로드는 게시글 작성/수정에서 uploadIds로 넘기면 FileStorageService가 폼 파일과 똑같이 저장
+ * - 일정 시간 손대지 않은 업로드는 파일째 정리
+ * 세션은 서버 메모리에 있어서 여러 서버면 같은 서버로 이어 보내야 합니다 (sticky session).
+ */
+@Log4j2
+@Service
+public class ResumableUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern ID = Pattern.compile("[0-9a-f]{32}");
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-fA-F]{64}");
+
+    private final Path dir;
+    private final int chunkSize;
+    private final long maxFileSize;
+    private final long expireMillis;
+    private final int maxSessionsPerUser;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public ResumableUploadService(@Value("${app.upload.resumable.dir:${java.io.tmpdir}/nasda-resumable}") String dir,
+                                  @Value("${app.upload.resumable.chunk-size:1MB}") DataSize chunkSize,
+                                  @Value("${app.upload.resumable.max-file-size:20MB}") DataSize maxFileSize,
+                                  @Value("${app.upload.resumable.expire-minutes:1440}") long expireMinutes,
+                                  @Value("${app.upload.resumable.max-sessions-per-user:30}") int maxSessionsPerUser) {
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.chunkSize = (int) Math.min(Integer.MAX_VALUE, Math.max(64 * 1024, chunkSize.toBytes()));
+        this.maxFileSize = maxFileSize.toBytes();
+        this.expireMillis = expireMinutes * 60_000L;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+    }
+
+    /**
+     * ✅ 클라이언트에 돌려주는 진행 상태 — missingOffsets만 다시 보내면 이어짐
+     */
+    public record Status(String uploadId, long size, int chunkSize, long receivedBytes,
+                         List<Long> missingOffsets, boolean completed, String sha256) {
+    }
+
+    // 재시작 전에 받던 조각은 이어 갈 세션이 없으므로 정리
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(dir);
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(ResumableUploadService::deleteQuietly);
+        }
+    }
+
+    public Status initiate(Integer userId, String fileName, String contentType, long size, String sha256) {
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new IllegalArgumentException("이미지 파일만 업로드 가능합니다.");
+        }
+        if (size <= 0) throw new IllegalArgumentException("빈 파일입니다.");
+        if (size > maxFileSize) throw new IllegalArgumentException("파일이 너무 큽니다. (최대 " + maxFileSize / (1024 * 1024) + "MB)");
+        if (sha256 != null && !sha256.isBlank() && !SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("잘못된 SHA-256 값입니다.");
+        }
+        long mine = sessions.values().stream().filter(s -> s.userId.equals(userId)).count();
+        if (mine >= maxSessionsPerUser) throw new IllegalArgumentException("진행 중인 업로드가 너무 많습니다.");
+
+        String id = UUID.randomUUID().toString().replace("-", "");
+        Path file = dir.resolve(id + ".part");
+        try {
+            Files.createDirectories(dir);
+            Files.createFile(file);
+        } catch (IOException e) {
+            throw new RuntimeException("업로드 준비 실패", e);
+        }
+
+        String expected = sha256 == null || sha256.isBlank() ? null : sha256.toLowerCase(Locale.ROOT);
+        UploadSession session = new UploadSession(id, userId, fileName, contentType, size, chunkSize, expected, file);
+        sessions.put(id, session);
+        return status(session);
+    }
+
+    /**
+     * ✅ offset 위치에 청크 하나 (offset은 chunkSize 배수, 길이는 chunkSize — 마지막 청크만 짧음)
+     * 이미 받은 청크면 다시 쓰지 않고 현재 상태만 돌려줌 (재전송해도 안전)
+     *
+     * @param chunkSha256 이 청크의 SHA-256 (hex, 없으면 complete 때 전체로만 확인)
+     */
+    public Status writeChunk(Integer userId, String uploadId, long offset, InputStream body, String chunkSha256) throws IOException {
+        UploadSession session = get(userId, uploadId);
+        if (offset < 0 || offset >= session.size || offset % session.chunkSize != 0) {
+            throw new IllegalArgumentException("잘못된 offset입니다: " + offset);
+        }
+        int index = (int) (offset / session.chunkSize);
+        if (!session.tryBegin(index)) {
+            if (session.isReceived(index)) return status(session);
+            throw new IllegalStateException("같은 청크를 다른 요청이 쓰는 중입니다.");
+        }
+
+        boolean ok = false;
+        try {
+            String actual = writeAt(session.file, offset, session.chunkLength(index), body);
+            if (chunkSha256 != null && !chunkSha256.isBlank() && !chunkSha256.equalsIgnoreCase(actual)) {
+                throw new IllegalArgumentException("청크 체크섬이 맞지 않습니다. (offset " + offset + ")");
+            }
+            ok = true;
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("만료되었거나 취소된 업로드입니다.");
+        } finally {
+            session.end(index, ok);
+        }
+        return status(session);
+    }
+
+    /**
+     * ✅ 모든 청크를 받았으면 전체 SHA-256 확인 후 완료 — 틀리면 업로드를 버림 (처음부터 다시)
+     */
+    public Status complete(Integer userId, String uploadId) throws IOException {
+        UploadSession session = get(userId, uploadId);
+        synchronized (session) {
+            if (session.state() == UploadSession.State.COMPLETED) return status(session);
+            if (!session.allReceived()) {
+                throw new IllegalArgumentException("아직 받지 못한 청크가 있습니다. (" + session.missingOffsets().size() + "개)");
+            }
+
+            String sha256 = hash(session.file);
+            if (session.expectedSha256 != null && !session.expectedSha256.equals(sha256)) {
+                remove(session);
+                throw new IllegalArgumentException("파일 체크섬이 맞지 않습니다. 다시 업로드해 주세요.");
+            }
+            session.complete(sha256);
+        }
+        return status(session);
+    }
+
+    public Status status(Integer userId, String uploadId) {
+        return status(get(userId, uploadId));
+    }
+
+    public void abort(Integer userId, String uploadId) {
+        remove(get(userId, uploadId));
+    }
+
+    /**
+     * ✅ 완료된 업로드를 게시글 이미지로 — 폼 파일과 같은 MultipartFile로 넘김
+     * 스테이징 파일은 저장이 성공한 뒤 release()로 지움 (실패하면 남겨서 같은 uploadId로 다시 시도 가능)
+     */
+    public List<MultipartFile> take(Integer userId, List<String> uploadIds) {
+        if (uploadIds == null || uploadIds.isEmpty()) return List.of();
+
+        List<MultipartFile> files = new ArrayList<>();
+        for (String id : uploadIds) {
+            UploadSession session = get(userId, id);
+            if (session.state() != UploadSession.State.COMPLETED) {
+                throw new IllegalArgumentException("완료되지 않은 업로드입니다: " + id);
+            }
+            session.touch();
+            files.add(new StagedMultipartFile(session.file, session.fileName, session.contentType, session.size));
+        }
+        return files;
+    }
+
+    public void release(List<String> uploadIds) {
+        if (uploadIds == null) return;
+        for (String id : uploadIds) {
+            UploadSession session = sessions.get(id);
+            if (session != null) remove(session);
+        }
+    }
+
+    // 오래 손대지 않은 업로드(중단/포기)와 주인 없는 조각 파일 정리
+    @Scheduled(initialDelayString = "${app.upload.resumable.cleanup-interval-ms:600000}",
+            fixedDelayString = "${app.upload.resumable.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - expireMillis;
+        int purged = 0;
+        for (UploadSession session : sessions.values()) {
+            if (session.touchedAt() < cutoff) {
+                remove(session);
+                purged++;
+            }
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Iterator<Path> it = files.iterator(); it.hasNext(); ) {
+                Path p = it.next();
+                String name = p.getFileName().toString();
+                String id = name.endsWith(".part") ? name.substring(0, name.length() - 5) : name;
+                if (!sessions.containsKey(id) && Files.getLastModifiedTime(p).toMillis() < cutoff) {
+                    deleteQuietly(p);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("이어 올리기 폴더 정리 실패: {}", e.getMessage());
+        }
+        if (purged > 0) log.info("만료된 이어 올리기 {}건 정리", purged);
+    }
+
+    private UploadSession get(Integer userId, String uploadId) {
+        UploadSession session = uploadId == null || !ID.matcher(uploadId).matches() ? null : sessions.get(uploadId);
+        // 다른 사람 업로드도 "없음"으로 (존재 여부를 알려주지 않음)
+        if (session == null || !session.userId.equals(userId)) {
+            throw new IllegalArgumentException("만료되었거나 없는 업로드입니다.");
+        }
+        return session;
+    }
+
+    private void remove(UploadSession session) {
+        if (sessions.remove(session.id, session)) {
+            deleteQuietly(session.file);
+        }
+    }
+
+    private static Status status(UploadSession s) {
+        return new Status(s.id, s.size, s.chunkSize, s.receivedBytes(), s.missingOffsets(),
+                s.state() == UploadSession.State.COMPLETED, s.sha256());
+    }
+
+    /**
+     * body를 정확히 length 바이트만큼 position부터 쓰면서 SHA-256 — 짧거나 길면 예외
+     */
+    static String writeAt(Path file, long position, long length, InputStream body) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buf = new byte[BUFFER_SIZE];
+        long written = 0;
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            int n;
+            while ((n = body.read(buf, 0, (int) Math.min(buf.length, length - written + 1))) > 0) {
+                if (written + n > length) throw new IllegalArgumentException("청크가 예상보다 깁니다.");
+                digest.update(buf, 0, n);
+                ByteBuffer bb = ByteBuffer.wrap(buf, 0, n);
+                while (bb.hasRemaining()) {
+                    written += out.write(bb, position + written);
+                }
+            }
+        }
+        if (written != length) throw new IllegalArgumentException("청크가 끝까지 오지 않았습니다. (" + written + "/" + length + ")");
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buf = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                digest.update(buf, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path p) {
+        try {
+            Files.deleteIfExists(p);
+        } catch (IOException ignored) {
+            // 다음 정리 때
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.nasda.service.upload;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 이어 올리기 한 건의 상태 (청크 i = [i * chunkSize, min(size, (i + 1) * chunkSize)))
+ * - received: 길이/체크섬까지 확인된 청크, writing: 지금 누가 쓰고 있는 청크 (같은 청크 동시 쓰기 방지)
+ */
+final class UploadSession {
+
+    enum State { UPLOADING, COMPLETED }
+
+    final String id;
+    final Integer userId;
+    final String fileName;
+    final String contentType;
+    final long size;
+    final int chunkSize;
+    final int chunkCount;
+    final String expectedSha256;
+    final Path file;
+
+    private final BitSet received = new BitSet();
+    private final BitSet writing = new BitSet();
+    private State state = State.UPLOADING;
+    private String sha256;
+    private volatile long touchedAt = System.currentTimeMillis();
+
+    UploadSession(String id, Integer userId, String fileName, String contentType,
+                  long size, int chunkSize, String expectedSha256, Path file) {
+        this.id = id;
+        this.userId = userId;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.chunkCount = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+        this.expectedSha256 = expectedSha256;
+        this.file = file;
+    }
+
+    long chunkLength(int index) {
+        return Math.min(chunkSize, size - (long) index * chunkSize);
+    }
+
+    /**
+     * 청크를 쓸 권리 — 이미 받았거나 다른 요청이 쓰는 중이면 false
+     */
+    synchronized boolean tryBegin(int index) {
+        touch();
+        if (state != State.UPLOADING) throw new IllegalStateException("이미 완료된 업로드입니다.");
+        if (received.get(index) || writing.get(index)) return false;
+        writing.set(index);
+        return true;
+    }
+
+    synchronized void end(int index, boolean ok) {
+        writing.clear(index);
+        if (ok) received.set(index);
+        touch();
+    }
+
+    synchronized boolean isReceived(int index) {
+        return received.get(index);
+    }
+
+    synchronized boolean allReceived() {
+        return received.cardinality() == chunkCount && writing.isEmpty();
+    }
+
+    synchronized List<Long> missingOffsets() {
+        List<Long> missing = new ArrayList<>();
+        for (int i = received.nextClearBit(0); i < chunkCount; i = received.nextClearBit(i + 1)) {
+            missing.add((long) i * chunkSize);
+        }
+        return missing;
+    }
+
+    synchronized long receivedBytes() {
+        long bytes = 0;
+        for (int i = received.nextSetBit(0); i >= 0; i = received.nextSetBit(i + 1)) {
+            bytes += chunkLength(i);
+        }
+        return bytes;
+    }
+
+    synchronized void complete(String sha256) {
+        this.state = State.COMPLETED;
+        this.sha256 = sha256;
+        touch();
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    synchronized String sha256() {
+        return sha256;
+    }
+
+    long touchedAt() {
+        return touchedAt;
+    }
+
+    void touch() {
+        touchedAt = System.currentTimeMillis();
+    }
+}
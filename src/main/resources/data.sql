@@ -243,6 +243,14 @@ INSERT INTO `stickers` (`sticker_id`, `created_at`, `sticker_image_url`, `sticke
 	(209, NULL, 'https://raw.githubusercontent.com/libguim/Animated-Fluent-Emojis/refs/heads/master/Emojis/Symbols/Purple%20Circle.png', 'Purple Circle', 7),
 	(210, NULL, 'https://raw.githubusercontent.com/libguim/Animated-Fluent-Emojis/refs/heads/master/Emojis/Symbols/Cross%20Mark%20Button.png', 'Cross Mark Button', 7);
 
+-- 답글 스레드 도입 전에 작성된 댓글의 thread_key 채우기 (최상위 댓글 = 뒤집은 comment_id 10자리)
+UPDATE `comments` SET `thread_key` = LPAD(2147483647 - `comment_id`, 10, '0')
+WHERE `thread_key` IS NULL AND `parent_id` IS NULL;
+
+-- 삭제 상태(status) 도입 전에 작성된 게시글/댓글은 ACTIVE로
+UPDATE `posts` SET `status` = 'ACTIVE' WHERE `status` IS NULL;
+UPDATE `comments` SET `status` = 'ACTIVE' WHERE `status` IS NULL;
+
 /*!40103 SET TIME_ZONE=IFNULL(@OLD_TIME_ZONE, 'system') */;
 /*!40101 SET SQL_MODE=IFNULL(@OLD_SQL_MODE, '') */;
 /*!40014 SET FOREIGN_KEY_CHECKS=IFNULL(@OLD_FOREIGN_KEY_CHECKS, 1) */;
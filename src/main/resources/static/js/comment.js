@@ -6,6 +6,7 @@
     "use strict";
 
     const DEFAULT_PAGE_SIZE = 5;
+    const REPLY_PAGE_SIZE = 10;
 
     function qs(sel, root = document) { return root.querySelector(sel); }
     function qsa(sel, root = document) { return Array.from(root.querySelectorAll(sel)); }
@@ -212,6 +213,61 @@
             return;
         }
 
+        // 답글 달기 (답글의 답글도 같은 스레드에)
+        const replyBtn = e.target.closest(".btn-comment-reply");
+        if (replyBtn) {
+            e.preventDefault();
+            const root = getRootItem(replyBtn.closest(".comment-item"));
+            const box = qs(".comment-reply-box", getThread(root));
+            if (box) {
+                box.classList.toggle("hidden");
+                qs("textarea", box)?.focus();
+            }
+            return;
+        }
+
+        const replyCancelBtn = e.target.closest(".btn-reply-cancel");
+        if (replyCancelBtn) {
+            e.preventDefault();
+            replyCancelBtn.closest(".comment-reply-box")?.classList.add("hidden");
+            return;
+        }
+
+        // 답글 펼치기/접기
+        const repliesBtn = e.target.closest(".btn-comment-replies");
+        if (repliesBtn) {
+            e.preventDefault();
+            const root = repliesBtn.closest(".comment-item");
+            const box = qs(".comment-replies", getThread(root));
+            if (!box) return;
+
+            if (!box.classList.contains("hidden")) {
+                box.classList.add("hidden");
+                qs(".btn-replies-more", getThread(root))?.classList.add("hidden");
+                return;
+            }
+            try {
+                await loadReplies(root, { reset: true });
+            } catch (err) {
+                console.error(err);
+                alert("답글을 불러오지 못했습니다.");
+            }
+            return;
+        }
+
+        // 답글 더보기
+        const moreBtn = e.target.closest(".btn-replies-more");
+        if (moreBtn) {
+            e.preventDefault();
+            try {
+                await loadReplies(moreBtn.closest(".comment-item"));
+            } catch (err) {
+                console.error(err);
+                alert("답글을 불러오지 못했습니다.");
+            }
+            return;
+        }
+
         // 수정 취소
         const cancelBtn = e.target.closest(".btn-edit-cancel");
         if (cancelBtn) {
@@ -238,6 +294,18 @@
             return;
         }
 
+        // 답글 작성
+        if (form && form.matches("form.comment-reply-form")) {
+            e.preventDefault();
+            try {
+                await submitReply(form);
+            } catch (err) {
+                console.error(err);
+                alert("답글 등록에 실패했습니다.");
+            }
+            return;
+        }
+
         // 댓글 삭제
         if (form && form.matches("form.inline-form")) {
             const ok = confirm("댓글을 삭제할까요?");
@@ -273,7 +341,259 @@
         if (e.target && e.target.id === "comment-content") updateCharCount();
     });
 
+    // =========================
+    // 실시간 댓글 스트림 (SSE)
+    // - 새 댓글/수정/삭제를 페이지 재조회 없이 DOM에 반영
+    // =========================
+    function escapeHtml(str) {
+        return String(str ?? "")
+            .replace(/&/g, "&amp;")
+            .replace(/</g, "&lt;")
+            .replace(/>/g, "&gt;")
+            .replace(/"/g, "&quot;")
+            .replace(/'/g, "&#39;");
+    }
+
+    function adjustCommentCount(delta) {
+        const el = qs("#comment-count-text");
+        if (!el) return;
+        const n = parseInt((el.textContent || "").replace(/[^0-9]/g, ""), 10);
+        const next = Math.max(0, (Number.isFinite(n) ? n : 0) + delta);
+        el.textContent = `댓글 ${next}개`;
+    }
+
+    function renderCommentItem(c, page, size, { reply = false } = {}) {
+        const id = Number(c.id);
+        const postId = getPostId();
+        const thread = reply ? "" : `
+            <div class="comment-thread" data-reply-count="0">
+                <div class="comment-replies hidden"></div>
+                <button type="button" class="btn-replies-more hidden">답글 더보기</button>
+                <div class="comment-reply-box hidden">
+                    <form action="/comments/${id}/replies" method="post" class="comment-reply-form">
+                        <input type="hidden" name="postId" value="${postId}">
+                        <input type="hidden" name="page" value="${page}">
+                        <input type="hidden" name="size" value="${size}">
+                        <textarea class="comment-edit-textarea" name="content" maxlength="500" placeholder="답글을 남겨주세요..."></textarea>
+                        <div class="comment-edit-actions">
+                            <button type="submit" class="btn-edit-save">등록</button>
+                            <button type="button" class="btn-reply-cancel">취소</button>
+                        </div>
+                    </form>
+                </div>
+            </div>`;
+        const actions = c.canEdit ? `
+            <button type="button" class="icon-btn btn-comment-edit" title="수정">✏️</button>
+            <form action="/comments/${id}/delete" method="post" class="inline-form">
+                <input type="hidden" name="page" value="${page}">
+                <input type="hidden" name="size" value="${size}">
+                <button type="submit" class="icon-btn btn-comment-delete" title="삭제">🗑️</button>
+            </form>` : "";
+
+        return `
+        <div class="comment-item" data-comment-id="${id}" id="comment-${id}">
+            <div class="comment-card">
+                <div class="comment-content-view">
+                    <p class="comment-text">${escapeHtml(c.content)}</p>
+                    <div class="comment-bottom-row">
+                        <div class="comment-left-meta">
+                            <span class="comment-author">${escapeHtml(c.authorNickname)}</span>
+                            <span class="comment-date">${escapeHtml(c.createdAtText)}</span>
+                        </div>
+                        <div class="comment-actions">
+                            ${actions}
+                            <button type="button" class="icon-btn btn-comment-reply" title="답글">↩️</button>
+                            <button type="button" class="icon-btn btn-comment-report" title="신고">⚠️</button>
+                        </div>
+                    </div>
+                </div>
+                <div class="comment-edit-box hidden">
+                    <form action="/comments/${id}/edit" method="post">
+                        <input type="hidden" name="page" value="${page}">
+                        <input type="hidden" name="size" value="${size}">
+                        <textarea class="comment-edit-textarea" name="content" maxlength="500">${escapeHtml(c.content)}</textarea>
+                        <div class="comment-edit-actions">
+                            <button type="submit" class="btn-edit-save">저장</button>
+                            <button type="button" class="btn-edit-cancel">취소</button>
+                        </div>
+                    </form>
+                </div>
+            </div>
+            ${thread}
+        </div>`;
+    }
+
+    function onStreamCreated(ev) {
+        const { comment, parentId } = JSON.parse(ev.data);
+        if (!comment || qs(`#comment-${comment.id}`)) return;
+
+        adjustCommentCount(1);
+
+        if (parentId) {
+            onStreamReplyCreated(parentId, comment);
+            return;
+        }
+
+        // 최신 페이지(0)를 보고 있을 때만 목록 맨 위에 끼워 넣음
+        const { page, size } = getCurrentPageAndSizeFromDOM();
+        const list = qs("#comments-list");
+        if (!list || page !== 0) return;
+
+        qs(".no-comments", list)?.remove();
+        list.insertAdjacentHTML("afterbegin", renderCommentItem(comment, page, size));
+
+        const items = qsa(":scope > .comment-item", list);
+        if (items.length > size) items[items.length - 1].remove();
+    }
+
+    function onStreamUpdated(ev) {
+        const { comment } = JSON.parse(ev.data);
+        if (!comment) return;
+
+        const item = qs(`#comment-${comment.id}`);
+        if (!item) return;
+
+        const text = qs(".comment-text", item);
+        if (text) text.textContent = comment.content;
+
+        // 수정 중이 아닐 때만 textarea 동기화
+        const box = qs(".comment-edit-box", item);
+        const ta = qs(".comment-edit-textarea", item);
+        if (ta && box && box.classList.contains("hidden")) ta.value = comment.content;
+    }
+
+    function onStreamReplyCreated(parentId, comment) {
+        const root = qs(`#comment-${parentId}`);
+        if (!root) return;
+
+        const thread = getThread(root);
+        setReplyCount(root, Number(thread?.dataset?.replyCount ?? 0) + 1);
+
+        // 답글 목록을 끝까지 펼쳐 둔 상태면 바로 끝에 붙임
+        const box = qs(".comment-replies", thread);
+        const more = qs(".btn-replies-more", thread);
+        if (box && !box.classList.contains("hidden") && more?.classList.contains("hidden")) {
+            const { page, size } = getCurrentPageAndSizeFromDOM();
+            box.insertAdjacentHTML("beforeend", renderCommentItem(comment, page, size, { reply: true }));
+        }
+    }
+
+    function onStreamDeleted(ev) {
+        const { commentId, parentId } = JSON.parse(ev.data);
+        // 내가 지운 댓글은 목록 재조회로 이미 빠져 있으므로, 화면에 남아 있을 때만 반영
+        const item = qs(`#comment-${commentId}`);
+        if (!item) return;
+
+        if (parentId) {
+            const root = qs(`#comment-${parentId}`);
+            if (root) setReplyCount(root, Math.max(0, Number(getThread(root)?.dataset?.replyCount ?? 0) - 1));
+            item.remove();
+            adjustCommentCount(-1);
+            return;
+        }
+
+        // 최상위 댓글이 지워지면 딸린 답글도 함께 삭제됨
+        const replies = Number(getThread(item)?.dataset?.replyCount ?? 0);
+        item.remove();
+        adjustCommentCount(-1 - replies);
+    }
+
+    // =========================
+    // 답글 스레드
+    // - 목록은 "답글 N개"를 누를 때 커서 API로 불러옴 (REPLY_PAGE_SIZE씩)
+    // =========================
+    function getThread(item) {
+        // 답글 안의 버튼이면 그 답글이 속한 스레드
+        return item.closest(".comment-replies")?.closest(".comment-thread")
+            ?? qs(":scope > .comment-thread", item);
+    }
+
+    function getRootItem(item) {
+        return getThread(item)?.closest(".comment-item") ?? item;
+    }
+
+    function setReplyCount(rootItem, n) {
+        const thread = getThread(rootItem);
+        if (!thread) return;
+        thread.dataset.replyCount = String(n);
+
+        let btn = qs(":scope > .btn-comment-replies", thread);
+        if (!btn && n > 0) {
+            thread.insertAdjacentHTML("afterbegin", `<button type="button" class="btn-comment-replies"></button>`);
+            btn = qs(":scope > .btn-comment-replies", thread);
+        }
+        if (!btn) return;
+        btn.textContent = `답글 ${n}개`;
+        btn.classList.toggle("hidden", n <= 0);
+    }
+
+    async function loadReplies(rootItem, { reset = false } = {}) {
+        const postId = getPostId();
+        const thread = getThread(rootItem);
+        if (!postId || !thread) return;
+
+        const box = qs(".comment-replies", thread);
+        const more = qs(".btn-replies-more", thread);
+
+        if (reset) {
+            box.innerHTML = "";
+            delete box.dataset.cursor;
+        }
+
+        const params = new URLSearchParams({ size: String(REPLY_PAGE_SIZE) });
+        if (box.dataset.cursor) params.set("cursor", box.dataset.cursor);
+
+        const res = await fetch(`/api/posts/${postId}/comments/${rootItem.dataset.commentId}/replies?${params}`, {
+            credentials: "same-origin",
+            headers: { Accept: "application/json" },
+        });
+        if (!res.ok) throw new Error(`Request failed: ${res.status}`);
+        const data = await res.json();
+
+        const { page, size } = getCurrentPageAndSizeFromDOM();
+        box.insertAdjacentHTML("beforeend",
+            data.replies.map((r) => renderCommentItem(r, page, size, { reply: true })).join(""));
+
+        if (data.nextCursor != null) box.dataset.cursor = String(data.nextCursor);
+        more.classList.toggle("hidden", !data.hasNext);
+        box.classList.remove("hidden");
+    }
+
+    async function submitReply(formEl) {
+        const html = await fetchHtml(formEl.action, {
+            method: "POST",
+            body: new FormData(formEl),
+        });
+
+        // 전체 목록은 그대로 두고, 개수와 이 스레드의 답글만 다시 읽음
+        const newCount = qs("#comment-count-text", new DOMParser().parseFromString(html, "text/html"));
+        const curCount = qs("#comment-count-text");
+        if (newCount && curCount) curCount.textContent = newCount.textContent;
+
+        const root = getRootItem(formEl.closest(".comment-item"));
+        const thread = getThread(root);
+        setReplyCount(root, Number(thread?.dataset?.replyCount ?? 0) + 1);
+        await loadReplies(root, { reset: true });
+
+        const ta = qs("textarea", formEl);
+        if (ta) ta.value = "";
+        formEl.closest(".comment-reply-box")?.classList.add("hidden");
+    }
+
+    function openCommentStream() {
+        const postId = getPostId();
+        if (!postId || !("EventSource" in window)) return;
+
+        const es = new EventSource(`/api/posts/${postId}/comments/stream`);
+        es.addEventListener("created", (ev) => { try { onStreamCreated(ev); } catch (e) { console.error(e); } });
+        es.addEventListener("updated", (ev) => { try { onStreamUpdated(ev); } catch (e) { console.error(e); } });
+        es.addEventListener("deleted", (ev) => { try { onStreamDeleted(ev); } catch (e) { console.error(e); } });
+
+        window.addEventListener("pagehide", () => es.close());
+    }
+
     document.addEventListener("DOMContentLoaded", () => {
         updateCharCount();
+        openCommentStream();
     });
 })();
@@ -7,7 +7,7 @@
  * - 검색 모드에서는:
  *   1) 홈 상태 복원(sessionStorage) 금지
  *   2) 카테고리 클릭 시 API 로딩 금지
- *   3) 무한 스크롤 금지
+ *   3) 무한 스크롤은 /api/search?cursor= 로 (홈 페이지 번호 방식과 별개)
  */
 
 /** ✅ 페이지 구분 */
@@ -25,6 +25,60 @@ function escapeHtml(str) {
         .replace(/'/g, "&#39;");
 }
 
+/** ✅ 검색 스니펫 HTML (hit 조각만 <mark>) */
+function buildSnippetHtml(parts) {
+    if (!Array.isArray(parts) || parts.length === 0) return "";
+    const html = parts
+        .map((part) => (part.hit ? `<mark>${escapeHtml(part.text)}</mark>` : escapeHtml(part.text)))
+        .join("");
+    return `<p class="home-card-snippet text-white/90 text-xs mt-1" style="font-family:'Noto Sans KR', sans-serif;">${html}</p>`;
+}
+
+/** ✅ 홈/검색 공통 카드 HTML (snippetParts: 정확도순 검색일 때만) */
+function buildHomeCardHtml(p, snippetParts) {
+    const title = escapeHtml(p.title || "");
+    const imageUrl =
+        p.imageUrl && String(p.imageUrl).trim() ? p.imageUrl : "https://picsum.photos/400/600";
+    // ✅ WebP 변형이 있으면 <picture>로 먼저 제안
+    const webpSource = p.webpUrl ? `<source srcset="${escapeHtml(p.webpUrl)}" type="image/webp" />` : "";
+    // ✅ 원본 비율로 자리를 먼저 잡고, 대표색/BlurHash를 배경으로 (이미지는 화면 근처에서만 로드)
+    const sizeAttrs =
+        p.imageWidth > 0 && p.imageHeight > 0
+            ? `width="${Number(p.imageWidth)}" height="${Number(p.imageHeight)}"`
+            : "";
+    const bgColor = /^#[0-9a-f]{6}$/i.test(p.dominantColor || "") ? `background-color:${p.dominantColor};` : "";
+    const blurHashAttr = p.placeholder ? `data-blurhash="${escapeHtml(p.placeholder)}"` : "";
+
+    return `
+      <a href="/posts/${p.id}"
+         class="home-card group relative overflow-hidden rounded-2xl cursor-pointer transition-all duration-500 hover:shadow-xl bg-[#F9F6F1] block">
+        <picture>
+          ${webpSource}
+          <img src="${imageUrl}"
+               alt="${title}"
+               ${sizeAttrs}
+               ${blurHashAttr}
+               loading="lazy"
+               decoding="async"
+               class="home-card-img w-full bg-[#F9F6F1] transition-transform duration-700 group-hover:scale-105"
+               style="display:block;${bgColor}"
+               onerror="this.onerror=null;this.src='https://picsum.photos/400/600';" />
+        </picture>
+        <div class="absolute inset-0 bg-gradient-to-t from-black/60 via-black/0 to-black/0 opacity-0 group-hover:opacity-100 transition-opacity duration-300">
+          <div class="absolute bottom-0 left-0 right-0 p-4">
+            <h3 class="text-white" style="font-family:'Noto Sans KR', sans-serif; font-weight:600;">
+              ${title}
+            </h3>
+            ${buildSnippetHtml(snippetParts)}
+            <p class="text-white/80 text-xs mt-1" style="font-family:'Noto Sans KR', sans-serif;">
+              💬 ${Number(p.commentCount || 0)}  ✨ ${Number(p.stickerCount || 0)}
+            </p>
+          </div>
+        </div>
+      </a>
+    `;
+}
+
 function showLoadingSpinner() {
     const indicator = document.getElementById("loadingIndicator");
     if (indicator) indicator.classList.remove("hidden");
@@ -122,6 +176,106 @@ function initLazyLoading() {
     }
 }
 
+/** ========================================
+ * 3-1. BlurHash 미리보기 (업로드 때 서버가 만든 문자열 → 32×32 캔버스 → 이미지 배경)
+ * ======================================== */
+const BLURHASH_CHARS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+const BLURHASH_SIZE = 32;
+
+function decode83(str) {
+    let value = 0;
+    for (const c of str) {
+        const digit = BLURHASH_CHARS.indexOf(c);
+        if (digit < 0) return -1;
+        value = value * 83 + digit;
+    }
+    return value;
+}
+
+function srgbToLinear(v) {
+    const x = v / 255;
+    return x <= 0.04045 ? x / 12.92 : Math.pow((x + 0.055) / 1.055, 2.4);
+}
+
+function linearToSrgb(v) {
+    const x = Math.max(0, Math.min(1, v));
+    return x <= 0.0031308 ? Math.round(x * 12.92 * 255 + 0.5) : Math.round((1.055 * Math.pow(x, 1 / 2.4) - 0.055) * 255 + 0.5);
+}
+
+/** ✅ BlurHash → RGBA 픽셀 (형식이 틀리면 null) */
+function decodeBlurHash(hash, width, height) {
+    if (!hash || hash.length < 6) return null;
+    const sizeFlag = decode83(hash[0]);
+    const nx = (sizeFlag % 9) + 1;
+    const ny = Math.floor(sizeFlag / 9) + 1;
+    if (sizeFlag < 0 || hash.length !== 4 + 2 * nx * ny) return null;
+
+    const maxValue = (decode83(hash[1]) + 1) / 166;
+    const colors = [];
+    for (let i = 0; i < nx * ny; i++) {
+        if (i === 0) {
+            const v = decode83(hash.substring(2, 6));
+            colors.push([srgbToLinear(v >> 16), srgbToLinear((v >> 8) & 255), srgbToLinear(v & 255)]);
+        } else {
+            const v = decode83(hash.substring(4 + i * 2, 6 + i * 2));
+            const q = [Math.floor(v / 361), Math.floor(v / 19) % 19, v % 19];
+            colors.push(q.map((c) => {
+                const n = (c - 9) / 9;
+                return Math.sign(n) * n * n * maxValue;
+            }));
+        }
+    }
+
+    const pixels = new Uint8ClampedArray(width * height * 4);
+    for (let y = 0; y < height; y++) {
+        for (let x = 0; x < width; x++) {
+            let r = 0, g = 0, b = 0;
+            for (let j = 0; j < ny; j++) {
+                const by = Math.cos((Math.PI * y * j) / height);
+                for (let i = 0; i < nx; i++) {
+                    const basis = Math.cos((Math.PI * x * i) / width) * by;
+                    const c = colors[i + j * nx];
+                    r += c[0] * basis;
+                    g += c[1] * basis;
+                    b += c[2] * basis;
+                }
+            }
+            const p = 4 * (x + y * width);
+            pixels[p] = linearToSrgb(r);
+            pixels[p + 1] = linearToSrgb(g);
+            pixels[p + 2] = linearToSrgb(b);
+            pixels[p + 3] = 255;
+        }
+    }
+    return pixels;
+}
+
+/** ✅ data-blurhash 이미지에 흐린 미리보기 배경 — 실제 이미지가 뜨면 배경 제거 */
+function applyImagePlaceholders(root = document) {
+    root.querySelectorAll("img[data-blurhash]").forEach((img) => {
+        const hash = img.dataset.blurhash;
+        img.removeAttribute("data-blurhash");
+        if (img.complete && img.naturalWidth > 0) return;
+
+        const pixels = decodeBlurHash(hash, BLURHASH_SIZE, BLURHASH_SIZE);
+        if (!pixels) return;
+
+        const canvas = document.createElement("canvas");
+        canvas.width = BLURHASH_SIZE;
+        canvas.height = BLURHASH_SIZE;
+        const ctx = canvas.getContext("2d");
+        const imageData = ctx.createImageData(BLURHASH_SIZE, BLURHASH_SIZE);
+        imageData.data.set(pixels);
+        ctx.putImageData(imageData, 0, 0);
+
+        img.style.backgroundImage = `url(${canvas.toDataURL()})`;
+        img.style.backgroundSize = "100% 100%";
+        img.addEventListener("load", () => {
+            img.style.backgroundImage = "";
+        }, { once: true });
+    });
+}
+
 /** ========================================
  * 4. (레거시) URL 이동 방식 카테고리
  * ======================================== */
@@ -134,7 +288,9 @@ function filterByCategory(category) {
  * ✅ HOME 전용 로직
  * ======================================== */
 (function initHomeModule() {
-    if (!isHomePage()) return;
+    // ✅ /search 도 index 템플릿을 쓰므로 검색 무한 스크롤은 경로와 무관하게 먼저 판단
+    const IS_SEARCH_PAGE = typeof window.__IS_SEARCH_PAGE__ === "boolean" && window.__IS_SEARCH_PAGE__ === true;
+    if (!IS_SEARCH_PAGE && !isHomePage()) return;
 
     const grid = document.getElementById("masonryGrid");
     if (!grid) return;
@@ -142,14 +298,13 @@ function filterByCategory(category) {
     const params = new URLSearchParams(location.search);
     const hasKeyword = params.has("keyword") && (params.get("keyword") || "").trim() !== "";
 
-    const IS_SEARCH_MODE =
-        (typeof window.__IS_SEARCH_PAGE__ === "boolean" && window.__IS_SEARCH_PAGE__ === true) ||
-        hasKeyword;
+    const IS_SEARCH_MODE = IS_SEARCH_PAGE || hasKeyword;
 
     if (IS_SEARCH_MODE) {
         try {
             sessionStorage.removeItem("homeScrollState:v1");
         } catch (e) {}
+        initSearchScroll(grid, params);
         return;
     }
 
@@ -265,61 +420,19 @@ function filterByCategory(category) {
 
         grid.innerHTML = posts
             .filter((p) => p && p.id != null)
-            .map((p) => {
-                const title = escapeHtml(p.title || "");
-                const imageUrl =
-                    p.imageUrl && String(p.imageUrl).trim() ? p.imageUrl : "https://picsum.photos/400/600";
-
-                return `
-          <a href="/posts/${p.id}"
-             class="home-card group relative overflow-hidden rounded-2xl cursor-pointer transition-all duration-500 hover:shadow-xl bg-[#F9F6F1] block">
-            <img src="${imageUrl}"
-                 alt="${title}"
-                 class="home-card-img w-full bg-[#F9F6F1] transition-transform duration-700 group-hover:scale-105"
-                 style="display:block;"
-                 onerror="this.onerror=null;this.src='https://picsum.photos/400/600';" />
-            <div class="absolute inset-0 bg-gradient-to-t from-black/60 via-black/0 to-black/0 opacity-0 group-hover:opacity-100 transition-opacity duration-300">
-              <div class="absolute bottom-0 left-0 right-0 p-4">
-                <h3 class="text-white" style="font-family:'Noto Sans KR', sans-serif; font-weight:600;">
-                  ${title}
-                </h3>
-              </div>
-            </div>
-          </a>
-        `;
-            })
+            .map((p) => buildHomeCardHtml(p))
             .join("");
+        applyImagePlaceholders(grid);
     }
 
     function appendPosts(posts) {
         const html = (posts || [])
             .filter((p) => p && p.id != null)
-            .map((p) => {
-                const title = escapeHtml(p.title || "");
-                const imageUrl =
-                    p.imageUrl && String(p.imageUrl).trim() ? p.imageUrl : "https://picsum.photos/400/600";
-
-                return `
-          <a href="/posts/${p.id}"
-             class="home-card group relative overflow-hidden rounded-2xl cursor-pointer transition-all duration-500 hover:shadow-xl bg-[#F9F6F1] block">
-            <img src="${imageUrl}"
-                 alt="${title}"
-                 class="home-card-img w-full bg-[#F9F6F1] transition-transform duration-700 group-hover:scale-105"
-                 style="display:block;"
-                 onerror="this.onerror=null;this.src='https://picsum.photos/400/600';" />
-            <div class="absolute inset-0 bg-gradient-to-t from-black/60 via-black/0 to-black/0 opacity-0 group-hover:opacity-100 transition-opacity duration-300">
-              <div class="absolute bottom-0 left-0 right-0 p-4">
-                <h3 class="text-white" style="font-family:'Noto Sans KR', sans-serif; font-weight:600;">
-                  ${title}
-                </h3>
-              </div>
-            </div>
-          </a>
-        `;
-            })
+            .map((p) => buildHomeCardHtml(p))
             .join("");
 
         grid.insertAdjacentHTML("beforeend", html);
+        applyImagePlaceholders(grid);
     }
 
     async function loadPostsByCategory(category) {
@@ -457,12 +570,74 @@ function filterByCategory(category) {
     document.addEventListener("DOMContentLoaded", () => restoreHomeIfNeeded());
 })();
 
+/** ========================================
+ * ✅ 검색 결과 무한 스크롤 (커서 방식)
+ * - 서버가 준 nextCursor로 다음 페이지 요청, hasNext=false면 중단
+ * - 서버는 요청당 확인 후보 수를 제한하므로 덜 찬 페이지가 올 수 있음 → 화면이 안 차면 바로 이어서 요청
+ * ======================================== */
+function initSearchScroll(grid, params) {
+    const keyword = (window.__SEARCH_KEYWORD__ || params.get("keyword") || "").trim();
+    const type = window.__SEARCH_TYPE__ || params.get("type") || "content";
+    const sort = window.__SEARCH_SORT__ || params.get("sort") || "latest";
+    const size = typeof window.__HOME_PAGE_SIZE__ === "number" ? window.__HOME_PAGE_SIZE__ : 12;
+
+    let cursor = window.__SEARCH_NEXT_CURSOR__ ?? null;
+    let hasMore = window.__HOME_HAS_NEXT__ === true && cursor !== null;
+    let loading = false;
+
+    function nearBottom() {
+        return window.innerHeight + window.scrollY >= document.body.offsetHeight - 500;
+    }
+
+    async function loadMoreResults() {
+        if (loading || !hasMore || !keyword) return;
+
+        loading = true;
+        showLoadingSpinner();
+
+        try {
+            const query = new URLSearchParams({ keyword, type, sort, cursor: String(cursor), size: String(size) });
+            const res = await fetch(`/api/search?${query.toString()}`);
+            if (!res.ok) throw new Error("Failed to load search results");
+
+            const slice = await res.json();
+            const snippets = slice.snippets || {};
+            const html = (slice.posts || [])
+                .filter((p) => p && p.id != null)
+                .map((p) => buildHomeCardHtml(p, snippets[p.id]))
+                .join("");
+            if (html) {
+                grid.insertAdjacentHTML("beforeend", html);
+                applyImagePlaceholders(grid);
+            }
+
+            cursor = slice.nextCursor ?? null;
+            hasMore = slice.hasNext === true && cursor !== null;
+        } catch (e) {
+            console.error("검색 결과 추가 로드 오류:", e);
+            hasMore = false;
+        } finally {
+            loading = false;
+            hideLoadingSpinner();
+        }
+
+        if (hasMore && nearBottom()) loadMoreResults();
+    }
+
+    window.addEventListener("scroll", function () {
+        if (nearBottom()) loadMoreResults();
+    });
+
+    if (hasMore && nearBottom()) loadMoreResults();
+}
+
 /** ========================================
  * 초기화
  * ======================================== */
 document.addEventListener("DOMContentLoaded", function () {
     console.log("나의 영감 저장소 - 페이지 로드 완료");
     initLazyLoading();
+    applyImagePlaceholders();
 });
 
 /** 전역 에러 로깅 */
@@ -25,6 +25,54 @@ function previewImages(event) {
     });
 }
 
+// ========== 게시글 수정: 현재 이미지 순서/빼기 (edit.html) ==========
+function moveCurrentImage(btn, dir) {
+    const item = btn.closest('.current-image-item');
+    if (!item) return;
+    const sibling = dir < 0 ? item.previousElementSibling : item.nextElementSibling;
+    if (!sibling || !sibling.classList.contains('current-image-item')) return;
+    if (dir < 0) item.parentNode.insertBefore(item, sibling);
+    else item.parentNode.insertBefore(sibling, item);
+}
+
+function toggleRemoveImage(btn) {
+    const item = btn.closest('.current-image-item');
+    if (!item) return;
+    const removed = item.classList.toggle('removed');
+    item.style.opacity = removed ? '0.3' : '';
+}
+
+// 제출 직전: 화면 순서대로 keep/remove, 새 파일은 그 뒤에 add — 서버는 바뀐 것만 반영
+document.addEventListener('DOMContentLoaded', function () {
+    const form = document.getElementById('editForm');
+    const current = document.getElementById('currentImages');
+    if (!form || !current) return;
+
+    form.addEventListener('submit', function () {
+        form.querySelectorAll('input[name="imageOps"]').forEach(el => el.remove());
+
+        const ops = [];
+        current.querySelectorAll('.current-image-item').forEach(item => {
+            const id = item.dataset.imageId;
+            ops.push((item.classList.contains('removed') ? 'remove:' : 'keep:') + id);
+        });
+        // 새 파일 = 파일 입력 + 이어 올리기로 먼저 올린 것(uploadIds, 서버에서 파일 입력 뒤에 붙음)
+        const files = document.getElementById('newImages');
+        const count = (files && files.files ? files.files.length : 0)
+            + form.querySelectorAll('input[name="uploadIds"]').length;
+        for (let i = 0; i < count; i++) ops.push('add:' + i);
+
+        if (ops.length === 0) return; // 이미지가 없던 글 + 새 파일 없음 → 바꿀 것 없음
+        ops.forEach(op => {
+            const input = document.createElement('input');
+            input.type = 'hidden';
+            input.name = 'imageOps';
+            input.value = op;
+            form.appendChild(input);
+        });
+    });
+});
+
 // ========== 게시글 삭제 (view.html 버튼에서 호출) ==========
 function deletePost(postId) {
     if (!postId) return;
@@ -100,3 +148,119 @@ document.addEventListener('DOMContentLoaded', function() {
         });
     }
 });
+
+// ========== 이어 올리기 (/api/uploads) ==========
+// 사진을 청크로 나눠 먼저 올리고(끊기면 빠진 청크만 다시), 폼에는 uploadIds만 실어 보냄
+const UPLOAD_PARALLEL = 3;
+const UPLOAD_RETRIES = 5;
+
+async function sha256Hex(buffer) {
+    if (!window.crypto || !crypto.subtle) return null; // http(비보안 출처)에서는 서버 확인만
+    const digest = await crypto.subtle.digest('SHA-256', buffer);
+    return Array.from(new Uint8Array(digest)).map(b => b.toString(16).padStart(2, '0')).join('');
+}
+
+async function uploadJson(url, options) {
+    const res = await fetch(url, options);
+    if (!res.ok) {
+        const body = await res.json().catch(() => ({}));
+        const error = new Error(body.message || ('업로드 실패 (' + res.status + ')'));
+        error.status = res.status;
+        throw error;
+    }
+    return res.status === 204 ? null : res.json();
+}
+
+async function resumableUpload(file, onProgress) {
+    let status = await uploadJson('/api/uploads', {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json' },
+        body: JSON.stringify({
+            fileName: file.name,
+            contentType: file.type,
+            size: file.size,
+            sha256: file.size <= 32 * 1024 * 1024 ? await sha256Hex(await file.arrayBuffer()) : null
+        })
+    });
+    const id = status.uploadId;
+
+    for (let attempt = 0; status.missingOffsets.length > 0; attempt++) {
+        if (attempt > UPLOAD_RETRIES) throw new Error('업로드가 계속 끊깁니다. 잠시 후 다시 시도해주세요.');
+        if (attempt > 0) await new Promise(r => setTimeout(r, Math.min(8000, 500 * 2 ** attempt)));
+
+        const queue = status.missingOffsets.slice();
+        const worker = async () => {
+            while (queue.length > 0) {
+                const offset = queue.shift();
+                const chunk = file.slice(offset, Math.min(file.size, offset + status.chunkSize));
+                const buffer = await chunk.arrayBuffer();
+                const headers = { 'Content-Type': 'application/octet-stream' };
+                const hash = await sha256Hex(buffer);
+                if (hash) headers['X-Chunk-Sha256'] = hash;
+                try {
+                    await uploadJson('/api/uploads/' + id + '?offset=' + offset, { method: 'PUT', headers, body: buffer });
+                    if (onProgress) onProgress(buffer.byteLength);
+                } catch (e) {
+                    if (e.status === 401) throw e;
+                    // 네트워크 끊김/체크섬 오류: 이번 바퀴가 끝나면 서버 상태를 다시 보고 빠진 것만
+                }
+            }
+        };
+        const workers = [];
+        for (let i = 0; i < UPLOAD_PARALLEL; i++) workers.push(worker());
+        await Promise.all(workers);
+
+        status = await uploadJson('/api/uploads/' + id);
+    }
+
+    await uploadJson('/api/uploads/' + id + '/complete', { method: 'POST' });
+    return id;
+}
+
+function attachResumableUpload(form, input) {
+    if (!form || !input || !window.fetch || !form.requestSubmit) return;
+
+    form.addEventListener('submit', async function (e) {
+        if (e.defaultPrevented || form.dataset.uploaded === '1') return; // 입력 검사 실패 / 업로드 끝난 뒤 재제출
+        const files = Array.from(input.files || []);
+        if (files.length === 0) return;
+
+        e.preventDefault();
+        const button = form.querySelector('button[type="submit"]');
+        const label = button ? button.textContent : '';
+        const total = files.reduce((sum, f) => sum + f.size, 0);
+        let sent = 0;
+        if (button) button.disabled = true;
+
+        try {
+            const ids = [];
+            for (const file of files) {
+                ids.push(await resumableUpload(file, bytes => {
+                    sent += bytes;
+                    if (button) button.textContent = '업로드 중 ' + Math.min(100, Math.round(sent * 100 / total)) + '%';
+                }));
+            }
+            ids.forEach(id => {
+                const hidden = document.createElement('input');
+                hidden.type = 'hidden';
+                hidden.name = 'uploadIds';
+                hidden.value = id;
+                form.appendChild(hidden);
+            });
+            input.value = ''; // 파일 본문은 다시 보내지 않음
+            form.dataset.uploaded = '1';
+            form.requestSubmit();
+        } catch (err) {
+            alert(err.message || '이미지 업로드에 실패했습니다.');
+            if (button) {
+                button.disabled = false;
+                button.textContent = label;
+            }
+        }
+    });
+}
+
+document.addEventListener('DOMContentLoaded', function () {
+    attachResumableUpload(document.getElementById('createForm'), document.getElementById('images'));
+    attachResumableUpload(document.getElementById('editForm'), document.getElementById('newImages'));
+});
@@ -0,0 +1,96 @@
+package com.example.nasda.controller;
+
+import com.example.nasda.service.storage.LocalStorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadControllerTests {
+
+    private static final String HASH_NAME = "a".repeat(64) + ".jpg";
+
+    @TempDir
+    Path dir;
+
+    private UploadController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) i;
+        Files.write(dir.resolve(HASH_NAME), data);
+        controller = new UploadController(new LocalStorageBackend(dir.toString()), 1 << 20);
+    }
+
+    @Test
+    @DisplayName("전체 응답: immutable 캐시 + 해시 ETag + 본문")
+    void full_response() throws Exception {
+        MockHttpServletResponse res = get(new MockHttpServletRequest("GET", "/uploads/" + HASH_NAME));
+
+        assertThat(res.getStatus()).isEqualTo(200);
+        assertThat(res.getHeader("Cache-Control")).isEqualTo("public, max-age=31536000, immutable");
+        assertThat(res.getHeader("ETag")).isEqualTo("\"" + "a".repeat(64) + "\"");
+        assertThat(res.getContentType()).isEqualTo("image/jpeg");
+        assertThat(res.getContentAsByteArray()).hasSize(1000);
+    }
+
+    @Test
+    @DisplayName("If-None-Match 일치 → 304, 본문 없음")
+    void conditional_not_modified() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/uploads/" + HASH_NAME);
+        req.addHeader("If-None-Match", "W/\"other\", \"" + "a".repeat(64) + "\"");
+
+        MockHttpServletResponse res = get(req);
+
+        assertThat(res.getStatus()).isEqualTo(304);
+        assertThat(res.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Range: 한 구간 → 206, 범위 밖 → 416, If-Range 불일치 → 전체")
+    void byte_ranges() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/uploads/" + HASH_NAME);
+        req.addHeader("Range", "bytes=10-19");
+        MockHttpServletResponse res = get(req);
+        assertThat(res.getStatus()).isEqualTo(206);
+        assertThat(res.getHeader("Content-Range")).isEqualTo("bytes 10-19/1000");
+        assertThat(res.getContentAsByteArray()).hasSize(10).startsWith((byte) 10);
+
+        MockHttpServletRequest outside = new MockHttpServletRequest("GET", "/uploads/" + HASH_NAME);
+        outside.addHeader("Range", "bytes=5000-");
+        assertThat(get(outside).getStatus()).isEqualTo(416);
+
+        MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/uploads/" + HASH_NAME);
+        stale.addHeader("Range", "bytes=0-9");
+        stale.addHeader("If-Range", "\"old\"");
+        assertThat(get(stale).getContentAsByteArray()).hasSize(1000);
+
+        assertThat(UploadController.parseRange("bytes=-100", 1000)).containsExactly(900, 999);
+        assertThat(UploadController.parseRange("bytes=0-1,5-6", 1000)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("경로 밖/없는 파일 → 404")
+    void not_found() throws Exception {
+        assertThat(get(new MockHttpServletRequest("GET", "/uploads/x"), "..%2Fsecret").getStatus()).isEqualTo(404);
+        assertThat(get(new MockHttpServletRequest("GET", "/uploads/none.jpg"), "none.jpg").getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest req) throws Exception {
+        return get(req, HASH_NAME);
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest req, String filename) throws Exception {
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        controller.serve(filename, req, res);
+        return res;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.nasda.controller;
+
+import com.example.nasda.service.storage.LocalStorageBackend;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✅ /uploads 서빙 벤치마크: 기존 ResourceHttpRequestHandler vs UploadController (요청 처리 비용, 소켓 제외)
+ * - 전체 응답(200)과 피드 재방문 시 재검증 요청(조건부 GET)을 각각 측정
+ * - 실제 브라우저에서는 immutable 캐시라 재검증 요청 자체가 나가지 않음
+ * 실행: ./gradlew benchmark --tests UploadServingBenchmarkTests
+ *      (또는 ./gradlew test --tests UploadServingBenchmarkTests -Dbenchmark=true — build.gradle이 값을 테스트 JVM에 전달)
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UploadServingBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadServingBenchmarkTests.class);
+
+    private static final int FILES = 200;
+    private static final int FILE_SIZE = 150 * 1024;   // 피드 카드 원본 정도
+    private static final int REQUESTS = 20_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("기존 핸들러 vs UploadController 처리량")
+    void benchmark_upload_serving() throws Exception {
+        Random random = new Random(42);
+        String[] names = new String[FILES];
+        byte[] data = new byte[FILE_SIZE];
+        for (int i = 0; i < FILES; i++) {
+            random.nextBytes(data);
+            names[i] = String.format("%064x", i).substring(0, 64) + ".jpg";
+            Files.write(dir.resolve(names[i]), data);
+        }
+
+        ResourceHttpRequestHandler legacy = new ResourceHttpRequestHandler();
+        legacy.setLocations(List.of(new FileSystemResource(dir.toString() + "/")));
+        legacy.setServletContext(new MockServletContext());
+        legacy.afterPropertiesSet();
+
+        UploadController controller = new UploadController(new LocalStorageBackend(dir.toString()), Long.MAX_VALUE);
+
+        for (int round = 0; round < 2; round++) { // 첫 바퀴는 JIT 워밍업
+            long legacyFull = run(names, (req, res, name) -> {
+                req.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, name);
+                legacy.handleRequest(req, res);
+            }, false);
+            long newFull = run(names, (req, res, name) -> controller.serve(name, req, res), false);
+            long legacyRevalidate = run(names, (req, res, name) -> {
+                req.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, name);
+                legacy.handleRequest(req, res);
+            }, true);
+            long newRevalidate = run(names, (req, res, name) -> controller.serve(name, req, res), true);
+
+            log.info("[{}] 전체 응답 req/s - 기존 {} / 신규 {}", round, perSecond(legacyFull), perSecond(newFull));
+            log.info("[{}] 조건부 GET req/s - 기존 {} / 신규 {}", round, perSecond(legacyRevalidate), perSecond(newRevalidate));
+        }
+
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/uploads/" + names[0]);
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        controller.serve(names[0], req, res);
+        assertThat(res.getHeader("Cache-Control")).contains("immutable");
+    }
+
+    private interface Handler {
+        void handle(MockHttpServletRequest req, MockHttpServletResponse res, String name) throws Exception;
+    }
+
+    // 조건부: 첫 응답의 ETag/Last-Modified를 그대로 되돌려 보냄 (브라우저 재검증과 같음)
+    private long run(String[] names, Handler handler, boolean conditional) throws Exception {
+        String[] etags = new String[names.length];
+        String[] lastModified = new String[names.length];
+        if (conditional) {
+            for (int i = 0; i < names.length; i++) {
+                MockHttpServletResponse first = new MockHttpServletResponse();
+                handler.handle(new MockHttpServletRequest("GET", "/uploads/" + names[i]), first, names[i]);
+                etags[i] = first.getHeader("ETag");
+                lastModified[i] = first.getHeader("Last-Modified");
+            }
+        }
+
+        long start = System.nanoTime();
+        long bytes = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            int n = i % names.length;
+            MockHttpServletRequest req = new MockHttpServletRequest("GET", "/uploads/" + names[n]);
+            if (conditional) {
+                if (etags[n] != null) req.addHeader("If-None-Match", etags[n]);
+                if (lastModified[n] != null) req.addHeader("If-Modified-Since", lastModified[n]);
+            }
+            MockHttpServletResponse res = new MockHttpServletResponse();
+            handler.handle(req, res, names[n]);
+            bytes += res.getContentAsByteArray().length;
+            if (conditional) assertThat(res.getStatus()).isEqualTo(304);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(bytes).isEqualTo(conditional ? 0 : (long) REQUESTS * FILE_SIZE);
+        return elapsed;
+    }
+
+    private static long perSecond(long elapsedNanos) {
+        return REQUESTS * 1_000_000_000L / Math.max(1, elapsedNanos);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.nasda.service;
 
 import com.example.nasda.domain.*;
+import com.example.nasda.dto.comment.CommentViewDto;
 import com.example.nasda.repository.CategoryRepository;
 import com.example.nasda.repository.CommentRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +10,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -17,6 +21,7 @@ class CommentServiceCrudTests {
 
     @Autowired CommentService commentService;
     @Autowired PostService postService;
+    @Autowired UserService userService;
     @Autowired CommentRepository commentRepository;
     @Autowired UserRepository userRepository;
     @Autowired CategoryRepository categoryRepository;
@@ -116,6 +121,125 @@ class CommentServiceCrudTests {
         assertThat(page0.getTotalElements()).isEqualTo(25);
     }
 
+    @Test
+    @DisplayName("댓글 작성자 닉네임 표시 + 닉네임 변경 반영")
+    void comment_author_nickname() {
+        UserEntity user = createUser();
+        CategoryEntity category = createCategory("닉네임");
+
+        PostEntity post = postService.create(user.getUserId(), category.getCategoryId(), "게시글", "본문");
+        commentService.createComment(post.getPostId(), user.getUserId(), "댓글");
+
+        var page = commentService.getCommentsPage(post.getPostId(), 0, 5, null);
+        assertThat(page.getContent().get(0).authorNickname()).isEqualTo(user.getNickname());
+
+        String renamed = "바뀐닉" + System.nanoTime();
+        userService.updateProfile(user.getUserId(), renamed, user.getEmail());
+
+        var after = commentService.getCommentsPage(post.getPostId(), 0, 5, null);
+        assertThat(after.getContent().get(0).authorNickname()).isEqualTo(renamed);
+    }
+
+    @Test
+    @DisplayName("댓글 커서 페이징 + 딥링크 페이지 계산")
+    void cursor_paging_comments() {
+        UserEntity user = createUser();
+        CategoryEntity category = createCategory("커서");
+
+        PostEntity post = postService.create(
+                user.getUserId(),
+                category.getCategoryId(),
+                "커서 게시글",
+                "본문"
+        );
+
+        for (int i = 1; i <= 12; i++) {
+            commentService.createComment(post.getPostId(), user.getUserId(), "댓글 " + i);
+        }
+
+        var first = commentService.getCommentsSlice(post.getPostId(), null, null, 5, user.getUserId());
+        var second = commentService.getCommentsSlice(post.getPostId(), first.lastId(), null, 5, user.getUserId());
+        var third = commentService.getCommentsSlice(post.getPostId(), second.lastId(), null, 5, user.getUserId());
+        var back = commentService.getCommentsSlice(post.getPostId(), null, second.firstId(), 5, user.getUserId());
+
+        assertThat(first.content()).hasSize(5);
+        assertThat(first.hasPrevious()).isFalse();
+        assertThat(first.hasNext()).isTrue();
+        assertThat(third.content()).hasSize(2);
+        assertThat(third.hasNext()).isFalse();
+        assertThat(back.content().stream().map(CommentViewDto::id).toList())
+                .isEqualTo(first.content().stream().map(CommentViewDto::id).toList());
+
+        // 오래된 쪽(세 번째 페이지)의 댓글은 offset 기준 2페이지에 있어야 함
+        Integer oldest = third.lastId();
+        assertThat(commentService.getPageNumberByCommentId(post.getPostId(), oldest, 5)).isEqualTo(2);
+
+        // 딥링크: 두 번째 페이지 가운데 댓글 → 페이지 1, 커서로 그린 페이지가 커서 페이징 두 번째 페이지와 같음
+        var anchor = commentService.locateComment(post.getPostId(), second.content().get(2).id(), 5);
+        assertThat(anchor.page()).isEqualTo(1);
+        assertThat(anchor.firstId()).isEqualTo(second.firstId());
+        var linked = commentService.getCommentsPageFrom(post.getPostId(), anchor.firstId(), anchor.page(), 5, user.getUserId());
+        assertThat(linked.getNumber()).isEqualTo(1);
+        assertThat(linked.getContent().stream().map(CommentViewDto::id).toList())
+                .isEqualTo(second.content().stream().map(CommentViewDto::id).toList());
+    }
+
+    @Test
+    @DisplayName("답글 스레드 페이징 + 답글 더보기 + 답글 수")
+    void threaded_replies() {
+        UserEntity user = createUser();
+        CategoryEntity category = createCategory("답글");
+
+        PostEntity post = postService.create(
+                user.getUserId(),
+                category.getCategoryId(),
+                "답글 게시글",
+                "본문"
+        );
+
+        Integer older = commentService.createComment(post.getPostId(), user.getUserId(), "먼저 단 댓글");
+        Integer newer = commentService.createComment(post.getPostId(), user.getUserId(), "나중 댓글");
+        List<Integer> replyIds = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            replyIds.add(commentService.createReply(post.getPostId(), older, user.getUserId(), "답글 " + i));
+        }
+
+        var page = commentService.getThreadSlice(post.getPostId(), null, 5, 2, user.getUserId());
+
+        // 최신 스레드부터, 답글은 작성순으로 앞의 2개만
+        assertThat(page.threads()).hasSize(2);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.threads().get(0).comment().id()).isEqualTo(newer);
+        assertThat(page.threads().get(0).replies()).isEmpty();
+        assertThat(page.threads().get(0).replyCursor()).isNull();
+
+        var thread = page.threads().get(1);
+        assertThat(thread.replyCount()).isEqualTo(4);
+        assertThat(thread.replies()).extracting(CommentViewDto::content).containsExactly("답글 1", "답글 2");
+
+        var rest = commentService.getReplies(post.getPostId(), older, thread.replyCursor(), 10, user.getUserId());
+        assertThat(rest.replies()).extracting(CommentViewDto::content).containsExactly("답글 3", "답글 4");
+        assertThat(rest.hasNext()).isFalse();
+
+        // 앞쪽 답글이 지워지면 미리보기는 뒤쪽 답글로 채워짐
+        commentService.deleteComment(replyIds.get(0), user.getUserId());
+        var refilled = commentService.getThreadSlice(post.getPostId(), null, 5, 2, user.getUserId()).threads().get(1);
+        assertThat(refilled.replies()).extracting(CommentViewDto::content).containsExactly("답글 2", "답글 3");
+        assertThat(commentService.getReplies(post.getPostId(), older, refilled.replyCursor(), 10, user.getUserId())
+                .replies()).extracting(CommentViewDto::content).containsExactly("답글 4");
+
+        // 페이지 번호 방식 목록에는 답글이 섞이지 않음
+        assertThat(commentService.getCommentsPage(post.getPostId(), 0, 5, user.getUserId()).getTotalElements())
+                .isEqualTo(2);
+        assertThat(commentService.getCommentCount(post.getPostId())).isEqualTo(5);
+
+        // 최상위 댓글을 지우면 답글도 함께 삭제
+        commentService.deleteComment(older, user.getUserId());
+        assertThat(commentService.getCommentCount(post.getPostId())).isEqualTo(1);
+        assertThat(commentService.getThreadSlice(post.getPostId(), null, 5, 2, user.getUserId()).threads())
+                .hasSize(1);
+    }
+
     // helpers
     private UserEntity createUser() {
         return userRepository.save(
@@ -0,0 +1,39 @@
+package com.example.nasda.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileStorageHashTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("저장하면서 계산한 해시 = 내용의 SHA-256, 내용도 그대로")
+    void copy_and_hash() throws Exception {
+        byte[] data = "nasda".getBytes(StandardCharsets.UTF_8);
+        Path target = dir.resolve("a.upload");
+
+        String hash = FileStorageService.copyAndHash(new ByteArrayInputStream(data), target);
+
+        assertThat(hash).isEqualTo("06787942443753826a980bb5610ca7579f279b0947b51f668aa8f92ca400954f");
+        assertThat(Files.readAllBytes(target)).isEqualTo(data);
+    }
+
+    @Test
+    @DisplayName("확장자: Content-Type 기준으로 정규화 (같은 내용 = 같은 파일 이름)")
+    void extension_normalized() {
+        assertThat(FileStorageService.extension("image/JPEG", "photo.jpeg")).isEqualTo(".jpg");
+        assertThat(FileStorageService.extension("image/png", "photo.PNG")).isEqualTo(".png");
+        assertThat(FileStorageService.extension("image/heic", "IMG_0001.HEIC")).isEqualTo(".heic");
+        assertThat(FileStorageService.extension("image/x-unknown", "../evil/x y")).isEmpty();
+    }
+}
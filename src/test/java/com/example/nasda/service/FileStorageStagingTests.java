@@ -0,0 +1,112 @@
+package com.example.nasda.service;
+
+import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.service.image.ImageVariantService;
+import com.example.nasda.service.storage.LocalStorageBackend;
+import com.example.nasda.service.storage.StorageBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FileStorageStagingTests {
+
+    @TempDir
+    Path dir;
+
+    private LocalStorageBackend storage;
+    private PostImageRepository postImageRepository;
+    private FileStorageService service;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalStorageBackend(dir.toString());
+        postImageRepository = mock(PostImageRepository.class);
+        service = new FileStorageService(mock(ImageVariantService.class), postImageRepository,
+                storage, 2, 4, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("스테이징만 하면 최종 자리는 비어 있고, 커밋 뒤 옮겨짐 (같은 내용 두 장은 한 파일)")
+    void promoted_after_commit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        List<FileStorageService.StagedImage> staged = service.stage(List.of(file("a"), file("b"), file("a")));
+        String name = StorageBackend.nameOf(staged.get(0).url());
+
+        service.promoteAfterCommit(staged);
+        assertThat(storage.exists(name)).isFalse();
+        assertThat(storage.exists(staged.get(0).stagingName())).isTrue();
+
+        complete(true);
+
+        assertThat(staged.get(2).url()).isEqualTo(staged.get(0).url());
+        assertThat(storage.exists(name)).isTrue();
+        assertThat(storage.exists(StorageBackend.nameOf(staged.get(1).url()))).isTrue();
+        assertThat(Files.exists(dir.resolve(".staging"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("롤백되면 스테이징 파일만 지워지고 최종 자리에는 아무것도 남지 않음")
+    void discarded_on_rollback() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        List<FileStorageService.StagedImage> staged = service.stage(List.of(file("c")));
+
+        service.promoteAfterCommit(staged);
+        complete(false);
+
+        assertThat(storage.exists(StorageBackend.nameOf(staged.get(0).url()))).isFalse();
+        assertThat(Files.exists(dir.resolve(".staging"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("커밋 뒤 옮기지 못한 스테이징 파일: 행이 참조하고 최종 자리가 비어 있을 때만 다시 옮김")
+    void promote_retried_for_referenced_rows() throws Exception {
+        List<FileStorageService.StagedImage> staged = service.stage(List.of(file("d"), file("e")));
+        FileStorageService.StagedImage committed = staged.get(0);
+        FileStorageService.StagedImage inFlight = staged.get(1);
+        String name = StorageBackend.nameOf(committed.url());
+        when(postImageRepository.existsByImageUrl(committed.url())).thenReturn(true);
+
+        assertThat(FileStorageService.stagedFinalName(committed.stagingName())).isEqualTo(name);
+        assertThat(service.promoteIfReferenced(inFlight.stagingName())).isFalse();
+        assertThat(service.promoteIfReferenced(committed.stagingName())).isTrue();
+        assertThat(service.promoteIfReferenced(committed.stagingName())).isFalse();
+
+        assertThat(storage.exists(name)).isTrue();
+        assertThat(storage.exists(committed.stagingName())).isFalse();
+        assertThat(storage.exists(inFlight.stagingName())).isTrue();
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("images", content + ".png", "image/png", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void complete(boolean committed) {
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (committed) syncs.forEach(TransactionSynchronization::afterCommit);
+        syncs.forEach(s -> s.afterCompletion(committed
+                ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+}
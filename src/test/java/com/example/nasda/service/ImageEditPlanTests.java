@@ -0,0 +1,61 @@
+package com.example.nasda.service;
+
+import com.example.nasda.dto.post.ImageEditOp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageEditPlanTests {
+
+    @Test
+    @DisplayName("keep/add 나열 순서가 최종 순서, remove는 따로")
+    void order_and_removed() {
+        List<ImageEditOp> ops = List.of(
+                ImageEditOp.parse("keep:3"),
+                ImageEditOp.parse("add:0"),
+                ImageEditOp.parse("remove:1"),
+                ImageEditOp.parse("keep:2"));
+
+        ImageEditPlan plan = ImageEditPlan.of(List.of(1, 2, 3), ops, 1);
+
+        assertThat(plan.order).containsExactly(ImageEditOp.keep(3), ImageEditOp.add(0), ImageEditOp.keep(2));
+        assertThat(plan.removed).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("언급하지 않은 기존 이미지는 지우지 않고 맨 뒤에 남김")
+    void unmentioned_images_are_kept() {
+        ImageEditPlan plan = ImageEditPlan.of(List.of(1, 2, 3), List.of(ImageEditOp.keep(2)), 0);
+
+        assertThat(plan.order).containsExactly(ImageEditOp.keep(2), ImageEditOp.keep(1), ImageEditOp.keep(3));
+        assertThat(plan.removed).isEmpty();
+    }
+
+    @Test
+    @DisplayName("다른 게시글 이미지/중복/없는 새 파일/잘못된 값은 거부")
+    void rejects_invalid_ops() {
+        assertThatThrownBy(() -> ImageEditPlan.of(List.of(1), List.of(ImageEditOp.keep(9)), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImageEditPlan.of(List.of(1), List.of(ImageEditOp.keep(1), ImageEditOp.remove(1)), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImageEditPlan.of(List.of(), List.of(ImageEditOp.add(1)), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImageEditPlan.of(List.of(), List.of(ImageEditOp.add(0), ImageEditOp.add(0)), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImageEditOp.parse("move:1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImageEditOp.parse("keep:-1")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("예전 폼(새 파일만): 기존 전부 remove + 새 파일 add")
+    void replace_all() {
+        ImageEditPlan plan = ImageEditPlan.of(List.of(1, 2), ImageEditPlan.replaceAll(List.of(1, 2), 2), 2);
+
+        assertThat(plan.order).containsExactly(ImageEditOp.add(0), ImageEditOp.add(1));
+        assertThat(plan.removed).containsExactly(1, 2);
+    }
+}
@@ -3,12 +3,17 @@ package com.example.nasda.service;
 import com.example.nasda.domain.*;
 import com.example.nasda.repository.CategoryRepository;
 import com.example.nasda.repository.PostRepository;
+import com.example.nasda.repository.CommentRepository;
+import com.example.nasda.service.counter.EngagementCounterService;
+import com.example.nasda.service.purge.TombstonePurger;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -19,6 +24,10 @@ class PostServiceCrudTests {
     @Autowired PostRepository postRepository;
     @Autowired UserRepository userRepository;
     @Autowired CategoryRepository categoryRepository;
+    @Autowired CommentService commentService;
+    @Autowired EngagementCounterService engagementCounterService;
+    @Autowired CommentRepository commentRepository;
+    @Autowired TombstonePurger tombstonePurger;
 
     @Test
     @DisplayName("게시글 생성 → 조회")
@@ -89,6 +98,51 @@ class PostServiceCrudTests {
         assertThat(postRepository.existsById(postId)).isFalse();
     }
 
+    @Test
+    @DisplayName("게시글/댓글 카운터 증감")
+    void engagement_counters() {
+        UserEntity user = createUser();
+        CategoryEntity category = createCategory("카운터");
+
+        PostEntity post = postService.create(user.getUserId(), category.getCategoryId(), "카운터", "본문");
+        Integer c1 = commentService.createComment(post.getPostId(), user.getUserId(), "댓글1");
+        commentService.createComment(post.getPostId(), user.getUserId(), "댓글2");
+        commentService.deleteComment(c1, user.getUserId());
+
+        assertThat(engagementCounterService.getPostCounts(post.getPostId()).commentCount()).isEqualTo(1);
+        assertThat(engagementCounterService.getUserCounts(user.getUserId()).postCount()).isEqualTo(1);
+        assertThat(engagementCounterService.getUserCounts(user.getUserId()).commentCount()).isEqualTo(1);
+
+        postService.delete(post.getPostId(), user.getUserId());
+
+        assertThat(engagementCounterService.getUserCounts(user.getUserId()).postCount()).isZero();
+        assertThat(engagementCounterService.getUserCounts(user.getUserId()).commentCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("게시글 삭제 표시 → 조회에서 제외 → purge로 댓글까지 실제 삭제")
+    void soft_delete_and_purge() {
+        UserEntity user = createUser();
+        CategoryEntity category = createCategory("정리");
+
+        PostEntity post = postService.create(user.getUserId(), category.getCategoryId(), "정리 대상", "본문");
+        Integer postId = post.getPostId();
+        commentService.createComment(postId, user.getUserId(), "댓글");
+
+        postService.delete(postId, user.getUserId());
+        postRepository.flush();
+
+        // 삭제 표시만 된 상태: 조회에서는 이미 안 보이고, 행은 정리 대기 중
+        assertThat(postRepository.existsById(postId)).isFalse();
+        LocalDateTime future = LocalDateTime.now().plusMinutes(1);
+        assertThat(postRepository.findDeletedPostIds(future, 1000)).contains(postId);
+
+        tombstonePurger.purgeDeletedPosts(future);
+
+        assertThat(postRepository.findDeletedPostIds(future, 1000)).doesNotContain(postId);
+        assertThat(commentRepository.purgeByPost(postId, 10)).isZero();
+    }
+
     // ======================
     // helper methods
     // ======================
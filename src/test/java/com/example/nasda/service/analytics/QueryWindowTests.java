@@ -0,0 +1,74 @@
+package com.example.nasda.service.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryWindowTests {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    @DisplayName("Count-Min Sketch: 실제보다 작게 세지 않음 + 합치기")
+    void sketch_never_underestimates() {
+        CountMinSketch a = new CountMinSketch(4, 1000);
+        CountMinSketch b = new CountMinSketch(4, 1000);
+        assertThat(a.width()).isEqualTo(1024);
+
+        for (int i = 0; i < 5000; i++) {
+            a.add("q" + (i % 700), 1);
+        }
+        b.add("q1", 3);
+
+        assertThat(a.estimate("q1")).isGreaterThanOrEqualTo(8);
+        a.merge(b);
+        assertThat(a.estimate("q1")).isGreaterThanOrEqualTo(11);
+        assertThat(a.total()).isEqualTo(5003);
+    }
+
+    @Test
+    @DisplayName("검색어 종류가 많아도 자주 나온 검색어는 상위에 남음")
+    void heavy_hitters_survive_noise() {
+        QueryWindow window = new QueryWindow("hour", 5 * MINUTE, 12, 4, 2048, 20);
+        long now = 10 * 60 * MINUTE;
+
+        for (int i = 0; i < 50_000; i++) {
+            window.add("noise" + i, now);       // 한 번씩만 나오는 검색어 5만 개
+            if (i % 50 == 0) window.add("제주", now);
+            if (i % 100 == 0) window.add("카페", now);
+        }
+
+        List<SearchQueryAnalytics.QueryCount> top = window.top(2, now);
+        assertThat(top).extracting(SearchQueryAnalytics.QueryCount::query).containsExactly("제주", "카페");
+        assertThat(top.get(0).count()).isGreaterThanOrEqualTo(1000);
+        assertThat(window.total(now)).isEqualTo(50_000 + 1000 + 500);
+    }
+
+    @Test
+    @DisplayName("구간이 지나면 빠지고, 저장본으로 복원")
+    void window_expiry_and_restore() {
+        QueryWindow window = new QueryWindow("hour", 5 * MINUTE, 12, 4, 256, 10);
+        long start = 100 * 60 * MINUTE;
+
+        window.add("봄", start);
+        window.add("봄", start + 30 * MINUTE);
+        window.add("여름", start + 30 * MINUTE);
+        assertThat(window.top(10, start + 30 * MINUTE)).hasSize(2);
+
+        // 1시간이 지나면 첫 bucket은 빠짐
+        long later = start + 61 * MINUTE;
+        assertThat(window.total(later)).isEqualTo(2);
+
+        QueryWindow restored = new QueryWindow("hour", 5 * MINUTE, 12, 4, 256, 10);
+        for (QueryWindow.Snapshot s : window.drainDirty()) {
+            restored.restore(s.bucketStart(), s.counts(), s.total(), s.topQueries(), later);
+        }
+        assertThat(restored.top(10, later))
+                .extracting(SearchQueryAnalytics.QueryCount::query).containsExactly("봄", "여름");
+        assertThat(restored.total(later)).isEqualTo(2);
+        assertThat(window.drainDirty()).isEmpty();
+    }
+}
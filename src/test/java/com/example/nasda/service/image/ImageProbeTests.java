@@ -0,0 +1,76 @@
+package com.example.nasda.service.image;
+
+import com.example.nasda.domain.ImageMetadata;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageProbeTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("크기 + 가장 넓은 색 + BlurHash(4×3 = 28자)")
+    void reads_size_color_and_placeholder() throws Exception {
+        BufferedImage src = new BufferedImage(1200, 600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = src.createGraphics();
+        g.setColor(new Color(0x20, 0x60, 0xc0));
+        g.fillRect(0, 0, 1200, 600);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, 200, 100);
+        g.dispose();
+        Path file = dir.resolve("a.png");
+        ImageIO.write(src, "png", file.toFile());
+
+        ImageMetadata m = ImageProbe.read(file, 40_000_000L);
+
+        assertThat(m.width()).isEqualTo(1200);
+        assertThat(m.height()).isEqualTo(600);
+        assertThat(m.dominantColor()).isEqualTo("#2060c0");
+        assertThat(m.placeholder()).hasSize(28).startsWith("L"); // 4×3 → 크기 플래그 (4-1) + (3-1)*9 = 21 = 'L'
+    }
+
+    @Test
+    @DisplayName("픽셀 수 제한을 넘으면 크기만, 이미지가 아니면 빈 값")
+    void limits_and_garbage() throws Exception {
+        BufferedImage src = new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB);
+        Path file = dir.resolve("b.png");
+        ImageIO.write(src, "png", file.toFile());
+        Path garbage = dir.resolve("c.jpg");
+        Files.writeString(garbage, "not an image");
+
+        assertThat(ImageProbe.read(file, 1000)).isEqualTo(new ImageMetadata(300, 200, null, null, null));
+        assertThat(ImageProbe.read(garbage, 40_000_000L)).isEqualTo(ImageMetadata.EMPTY);
+    }
+
+    @Test
+    @DisplayName("BlurHash: 한 가지 색이면 평균(DC) 성분이 그 색 그대로")
+    void blurhash_uniform_color() {
+        int[] rgb = new int[16 * 8];
+        Arrays.fill(rgb, 0x336699);
+
+        String hash = BlurHash.encode(rgb, 16, 8, 4, 3);
+
+        assertThat(hash).hasSize(28);
+        assertThat(decode83(hash.substring(2, 6))).isEqualTo(0x336699);
+    }
+
+    private static int decode83(String s) {
+        String chars = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+        int v = 0;
+        for (char c : s.toCharArray()) {
+            v = v * 83 + chars.indexOf(c);
+        }
+        return v;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.nasda.service.image;
+
+import com.example.nasda.domain.PostImageEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageResizerTests {
+
+    @Test
+    @DisplayName("축소: 목표 크기 정확히 + 투명 배경은 흰색")
+    void scale_flattens_alpha() {
+        BufferedImage src = new BufferedImage(1000, 800, BufferedImage.TYPE_INT_ARGB);
+
+        BufferedImage out = ImageResizer.scale(src, 320, 256);
+
+        assertThat(out.getWidth()).isEqualTo(320);
+        assertThat(out.getHeight()).isEqualTo(256);
+        assertThat(out.getType()).isEqualTo(BufferedImage.TYPE_INT_RGB);
+        assertThat(new Color(out.getRGB(10, 10))).isEqualTo(Color.WHITE);
+    }
+
+    @Test
+    @DisplayName("EXIF 방향 6: 시계 방향 90° (왼쪽이 위로)")
+    void orient_rotates_clockwise() {
+        BufferedImage src = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = src.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 200, 300);
+        g.setColor(Color.BLUE);
+        g.fillRect(200, 0, 200, 300);
+        g.dispose();
+
+        BufferedImage out = ImageResizer.orient(src, 6);
+
+        assertThat(out.getWidth()).isEqualTo(300);
+        assertThat(out.getHeight()).isEqualTo(400);
+        assertThat(new Color(out.getRGB(150, 20))).isEqualTo(Color.RED);
+        assertThat(new Color(out.getRGB(150, 380))).isEqualTo(Color.BLUE);
+        assertThat(ImageResizer.orient(src, 1)).isSameAs(src);
+    }
+
+    @Test
+    @DisplayName("EXIF APP1에서 방향 태그 읽기 (빅/리틀 엔디언)")
+    void exif_orientation() {
+        byte[] big = {'E', 'x', 'i', 'f', 0, 0, 'M', 'M', 0, 42, 0, 0, 0, 8,
+                0, 1, 0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, 6, 0, 0, 0, 0, 0, 0};
+        byte[] little = {'E', 'x', 'i', 'f', 0, 0, 'I', 'I', 42, 0, 8, 0, 0, 0,
+                1, 0, 0x12, 0x01, 3, 0, 1, 0, 0, 0, 8, 0, 0, 0, 0, 0, 0, 0};
+
+        assertThat(ImageResizer.exifOrientation(big)).isEqualTo(6);
+        assertThat(ImageResizer.exifOrientation(little)).isEqualTo(8);
+        assertThat(ImageResizer.exifOrientation(new byte[]{'E', 'x', 'i', 'f', 0, 0, 'M', 'M'})).isZero();
+    }
+
+    @Test
+    @DisplayName("변형 URL: 카드 너비 이상인 가장 작은 변형, 없으면 원본")
+    void pick_smallest_adequate_variant() {
+        PostImageEntity img = PostImageEntity.builder()
+                .imageUrl("/uploads/abc.png")
+                .sortOrder(0)
+                .variantWidths("320,640")
+                .variantWebp(true)
+                .build();
+
+        assertThat(img.getVariantUrl(500)).isEqualTo("/uploads/abc_w640.jpg");
+        assertThat(img.getWebpVariantUrl(320)).isEqualTo("/uploads/abc_w320.webp");
+        assertThat(img.getVariantUrl(1000)).isEqualTo("/uploads/abc.png");   // 원본(640보다 큼)이 알맞음
+        assertThat(img.getWebpVariantUrl(1000)).isNull();
+
+        PostImageEntity pending = PostImageEntity.builder().imageUrl("/uploads/x.jpg").sortOrder(0).build();
+        assertThat(pending.getVariantUrl(320)).isEqualTo("/uploads/x.jpg");
+    }
+
+    @Test
+    @DisplayName("너비 설정: 정렬 + 중복/잘못된 값 제거")
+    void parse_widths() {
+        assertThat(ImageVariantService.parseWidths("1280, 640,320,640,x")).containsExactly(320, 640, 1280);
+    }
+}
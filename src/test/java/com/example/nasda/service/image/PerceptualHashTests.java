@@ -0,0 +1,116 @@
+package com.example.nasda.service.image;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerceptualHashTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("dHash: JPEG로 다시 저장하고 크기를 줄여도 가깝고, 좌우 반전한 사진은 멂")
+    void near_for_reencoded_far_for_different() throws Exception {
+        BufferedImage src = scene(1200, 800, false);
+        Path png = dir.resolve("a.png");
+        ImageIO.write(src, "png", png.toFile());
+
+        BufferedImage half = ImageResizer.scale(src, 600, 400);
+        Path jpg = dir.resolve("b.jpg");
+        ImageIO.write(half, "jpg", jpg.toFile());
+
+        Path flipped = dir.resolve("c.png");
+        ImageIO.write(scene(1200, 800, true), "png", flipped.toFile());
+
+        long original = ImageProbe.read(png, 40_000_000L).perceptualHash();
+        long reencoded = ImageProbe.read(jpg, 40_000_000L).perceptualHash();
+        long other = ImageProbe.read(flipped, 40_000_000L).perceptualHash();
+
+        assertThat(original).isNotZero();
+        assertThat(PerceptualHash.distance(original, reencoded)).isLessThanOrEqualTo(6);
+        assertThat(PerceptualHash.distance(original, other)).isGreaterThan(16);
+    }
+
+    @Test
+    @DisplayName("dHash: 단색 이미지는 0 (색인 대상 아님)")
+    void flat_image_is_zero() {
+        int[] rgb = new int[32 * 24];
+        Arrays.fill(rgb, 0x336699);
+
+        assertThat(PerceptualHash.dHash(rgb, 32, 24)).isZero();
+    }
+
+    @Test
+    @DisplayName("HammingIndex: 전체 비교와 같은 결과 (추가/교체/삭제 뒤에도), 가까운 순")
+    void index_matches_brute_force() {
+        Random random = new Random(7);
+        HammingIndex index = new HammingIndex();
+        Map<Integer, Long> all = new HashMap<>();
+
+        for (int id = 1; id <= 20_000; id++) {
+            long hash = random.nextLong();
+            index.put(id, hash);
+            all.put(id, hash);
+        }
+        long base = random.nextLong();
+        for (int i = 0; i < 40; i++) {
+            long near = base;
+            for (int k = 0; k < i % 10; k++) near ^= 1L << random.nextInt(64);
+            index.put(30_000 + i, near);
+            all.put(30_000 + i, near);
+        }
+        for (int id = 1; id <= 20_000; id += 3) {
+            index.remove(id);
+            all.remove(id);
+        }
+        index.put(2, base); // 교체
+        all.put(2, base);
+
+        for (int r : new int[]{0, 3, 6, 9, HammingIndex.MAX_DISTANCE}) {
+            List<HammingIndex.Match> found = index.search(base, r, 1000);
+
+            List<Integer> expected = all.entrySet().stream()
+                    .filter(e -> Long.bitCount(e.getValue() ^ base) <= r)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toList();
+            assertThat(found).extracting(HammingIndex.Match::id).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(found).isSortedAccordingTo(Comparator.comparingInt(HammingIndex.Match::distance)
+                    .thenComparingInt(HammingIndex.Match::id));
+        }
+        assertThat(index.size()).isEqualTo(all.size());
+        assertThat(index.search(base, 0, 10)).extracting(HammingIndex.Match::id).contains(2, 30_000);
+    }
+
+    // 세로 그라데이션 + 위치가 다른 도형 몇 개 (flip이면 좌우 반전)
+    private static BufferedImage scene(int w, int h, boolean flip) {
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, new Color(0x203040), 0, h, new Color(0xe0d0b0)));
+        g.fillRect(0, 0, w, h);
+        g.setColor(new Color(0xc03020));
+        g.fillOval(w / 10, h / 5, w / 4, h / 3);
+        g.setColor(new Color(0x30a050));
+        g.fillRect(w / 2, h / 2, w / 5, h / 3);
+        g.dispose();
+        if (!flip) return image;
+
+        BufferedImage flipped = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                flipped.setRGB(w - 1 - x, y, image.getRGB(x, y));
+            }
+        }
+        return flipped;
+    }
+}
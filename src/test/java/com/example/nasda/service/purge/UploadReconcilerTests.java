@@ -0,0 +1,81 @@
+package com.example.nasda.service.purge;
+
+import com.example.nasda.service.FileStorageService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadReconcilerTests {
+
+    private static final String HASH = "a".repeat(64);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("파일 key: 확장자와 변형 표시(_w너비)를 뗀 이름")
+    void file_key() {
+        assertThat(FileStorageService.fileKey(HASH + ".png")).isEqualTo(HASH);
+        assertThat(FileStorageService.fileKey(HASH + "_w320.jpg")).isEqualTo(HASH);
+        assertThat(FileStorageService.fileKey(HASH + "_w1280.webp")).isEqualTo(HASH);
+        assertThat(FileStorageService.fileKey("legacy-uuid")).isEqualTo("legacy-uuid");
+    }
+
+    @Test
+    @DisplayName("정렬: run 여러 개로 나눠 내려도 전체 정렬 결과는 같음, 임시 파일은 close 때 삭제")
+    void spool_sorts_across_runs() throws Exception {
+        Random random = new Random(7);
+        List<String> expected = new ArrayList<>();
+        try (SortedSpool spool = new SortedSpool(dir, 10)) {
+            for (int i = 0; i < 1000; i++) {
+                String s = Long.toHexString(random.nextLong());
+                expected.add(s);
+                spool.add(s);
+            }
+            expected.sort(null);
+
+            List<String> actual = new ArrayList<>();
+            spool.sorted().forEachRemaining(actual::add);
+            assertThat(actual).isEqualTo(expected);
+        }
+        try (Stream<Path> left = Files.list(dir)) {
+            assertThat(left).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("merge join: 참조된 원본과 그 변형은 남기고, 참조 없는 파일/임시 파일만 orphan")
+    void merge_join_finds_orphans() {
+        String kept = "b".repeat(64);
+        String orphan = "c".repeat(64);
+        List<String> files = sortedLines(
+                kept + ".jpg", kept + "_w320.jpg", kept + "_w320.webp",
+                orphan + ".png", orphan + "_w640.jpg",
+                "0f0e-uuid.upload", "legacy-uuid.JPG");
+        Iterator<String> referenced = List.of("a", kept, "legacy-uuid", "zzz").iterator();
+
+        List<String> orphans = new ArrayList<>();
+        UploadReconciler.mergeJoin(files.iterator(), referenced, orphans::add);
+
+        assertThat(orphans).containsExactlyInAnyOrder(orphan + ".png", orphan + "_w640.jpg", "0f0e-uuid.upload");
+    }
+
+    private static List<String> sortedLines(String... names) {
+        List<String> lines = new ArrayList<>();
+        for (String name : names) {
+            lines.add(FileStorageService.fileKey(name) + '\t' + name);
+        }
+        lines.sort(null);
+        return lines;
+    }
+}
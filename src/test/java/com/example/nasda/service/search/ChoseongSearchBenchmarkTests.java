@@ -0,0 +1,70 @@
+package com.example.nasda.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✅ 초성 검색 벤치마크 (제목 1,000,000건)
+ * 실행: ./gradlew benchmark --tests ChoseongSearchBenchmarkTests (힙 3GB로 실행 — 색인에 2GB 안팎 필요)
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ChoseongSearchBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(ChoseongSearchBenchmarkTests.class);
+
+    private static final int TITLES = 1_000_000;
+    private static final int PAGE_SIZE = 24;
+    private static final int SCAN_LIMIT = 5000;
+    private static final int ROUNDS = 200;
+
+    private static final String[] WORDS = {
+            "제주", "여행", "기록", "한강", "산책", "카페", "투어", "노을", "바다", "사진",
+            "그림", "전시", "일상", "맛집", "디저트", "인테리어", "캠핑", "등산", "꽃", "가을",
+            "겨울", "강아지", "고양이", "홈카페", "드로잉", "필름", "서울", "부산", "야경", "하늘"
+    };
+    private static final String[] QUERIES = {"ㅈㅈ", "ㅈㅈ ㅇㅎ", "ㅎㄱ ㅅㅊ", "ㄴㅇ", "하ㄴ", "제ㅈ", "ㅍㄹ", "ㄱㅇㅈ"};
+
+    @Test
+    @DisplayName("1M 제목 색인 + 초성/자모 질의 지연")
+    void benchmark_initials_search() {
+        Random random = new Random(42);
+        InvertedPostIndex index = new InvertedPostIndex();
+
+        long buildStart = System.nanoTime();
+        for (int id = 1; id <= TITLES; id++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)];
+            index.put(new PostSearchDocument(id, id % 1000, id % 12, title, "", "작성자" + (id % 1000), "카테고리"));
+        }
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+        log.info("색인 {}건: {}ms", TITLES, buildMs);
+        assertThat(index.size()).isEqualTo(TITLES);
+
+        for (String q : QUERIES) {
+            // 워밍업
+            for (int i = 0; i < 20; i++) {
+                index.search(SearchField.TITLE, q, null, PAGE_SIZE, SCAN_LIMIT);
+            }
+
+            long[] nanos = new long[ROUNDS];
+            int found = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                long start = System.nanoTime();
+                found = index.search(SearchField.TITLE, q, null, PAGE_SIZE, SCAN_LIMIT).ids().size();
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            log.info("질의 '{}' - 결과 {}건, p50 {}µs, p99 {}µs", q, found,
+                    nanos[ROUNDS / 2] / 1000, nanos[ROUNDS * 99 / 100] / 1000);
+            assertThat(found).isPositive();
+        }
+    }
+}
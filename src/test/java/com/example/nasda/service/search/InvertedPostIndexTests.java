@@ -0,0 +1,174 @@
+package com.example.nasda.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedPostIndexTests {
+
+    @Test
+    @DisplayName("한글/영문 부분 일치 + 최신 글 먼저")
+    void search_substring() {
+        InvertedPostIndex index = new InvertedPostIndex();
+        index.put(doc(1, "제주 여행 기록", "바다가 예뻤다"));
+        index.put(doc(2, "서울 카페 투어", "Latte Art 모음"));
+        index.put(doc(3, "제주도 카페", "오름 산책"));
+
+        assertThat(index.search(SearchField.TITLE, "제주", 10)).containsExactly(3, 1);
+        assertThat(index.search(SearchField.TITLE, "카", 10)).containsExactly(3, 2);
+        assertThat(index.search(SearchField.CONTENT, "latte art", 10)).containsExactly(2);
+        assertThat(index.search(SearchField.AUTHOR, "테스", 10)).containsExactly(3, 2, 1);
+        assertThat(index.search(SearchField.TITLE, "제주", 1)).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("gram이 모두 있어도 연속된 문자열이 아니면 제외 (LIKE와 같은 결과)")
+    void search_verifies_contiguous() {
+        InvertedPostIndex index = new InvertedPostIndex();
+        index.put(doc(1, "가나 나다", ""));  // '가나','나다' 2-gram은 있지만 "가나다"는 없음
+        index.put(doc(2, "가나다라", ""));
+
+        assertThat(index.search(SearchField.TITLE, "가나다", 10)).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("커서 페이징 + 후보 확인 수 제한")
+    void search_cursor_pages() {
+        InvertedPostIndex index = new InvertedPostIndex();
+        for (int id = 1; id <= 10; id++) {
+            index.put(doc(id, id % 2 == 0 ? "짝수 사진 " + id : "홀수 사진 " + id, ""));
+        }
+
+        SearchHits first = index.search(SearchField.TITLE, "짝수", null, 3, 100);
+        assertThat(first.ids()).containsExactly(10, 8, 6);
+        assertThat(first.hasNext()).isTrue();
+
+        SearchHits second = index.search(SearchField.TITLE, "짝수", first.nextCursor(), 3, 100);
+        assertThat(second.ids()).containsExactly(4, 2);
+        assertThat(second.hasNext()).isFalse();
+
+        // 후보 4개만 확인 → 덜 찬 페이지 + 확인한 지점부터 이어가는 커서
+        SearchHits limited = index.search(SearchField.TITLE, "사진", null, 10, 4);
+        assertThat(limited.ids()).containsExactly(10, 9, 8, 7);
+        assertThat(limited.hasNext()).isTrue();
+        assertThat(index.search(SearchField.TITLE, "사진", limited.nextCursor(), 10, 4).ids())
+                .containsExactly(6, 5, 4, 3);
+    }
+
+    @Test
+    @DisplayName("정확도순: 제목 일치 가중치 + 본문 스니펫 강조")
+    void rank_with_boosts_and_snippet() {
+        InvertedPostIndex index = new InvertedPostIndex();
+        index.put(doc(1, "일상 기록", "오늘은 바다에 다녀왔다. 바다 색이 정말 예뻤다."));
+        index.put(doc(2, "바다 사진 모음", "여름에 찍은 사진들"));
+        index.put(doc(3, "카페 투어", "커피가 맛있었다"));
+
+        Map<SearchField, Double> boosts = Map.of(SearchField.TITLE, 3.0, SearchField.CONTENT, 1.0);
+        List<RankedHit> hits = index.rank("바다", boosts, 10, 100);
+
+        assertThat(hits).extracting(RankedHit::postId).containsExactly(2, 1);
+        assertThat(index.rank("바다", boosts, 1, 100)).extracting(RankedHit::postId).containsExactly(2);
+
+        Snippet snippet = hits.get(1).snippet();
+        assertThat(snippet.highlights()).hasSize(2);
+        int[] first = snippet.highlights().get(0);
+        assertThat(snippet.text().substring(first[0], first[1])).isEqualTo("바다");
+
+        // 제목에서만 일치한 글은 본문 스니펫 없음
+        assertThat(hits.get(0).snippet()).isNull();
+    }
+
+    @Test
+    @DisplayName("스니펫: 앞쪽의 흔한 gram이 아니라 실제 일치 위치 주변을 원문 그대로")
+    void snippet_centers_on_match_in_original_text() {
+        InvertedPostIndex index = new InvertedPostIndex();
+        index.put(doc(1, "메모", "te " + "z".repeat(100) + "  오늘의 Latte\n  Art 기록"));
+
+        Snippet snippet = index.rank("latte art", Map.of(SearchField.CONTENT, 1.0), 10, 100).get(0).snippet();
+
+        assertThat(snippet.cutStart()).isTrue();
+        assertThat(snippet.highlights()).hasSize(1);
+        int[] hit = snippet.highlights().get(0);
+        assertThat(snippet.text().substring(hit[0], hit[1])).isEqualTo("Latte\n  Art");
+        assertThat(snippet.text()).endsWith("기록");
+    }
+
+    @Test
+    @DisplayName("수정/삭제/닉네임 변경 반영")
+    void incremental_updates() {
+        InvertedPostIndex index = new InvertedPostIndex();
+        index.put(doc(1, "봄 풍경", "벚꽃"));
+        index.put(doc(2, "여름 풍경", "바다"));
+
+        index.put(doc(1, "가을 풍경", "단풍"));
+        assertThat(index.search(SearchField.TITLE, "봄", 10)).isEmpty();
+        assertThat(index.search(SearchField.TITLE, "가을", 10)).containsExactly(1);
+
+        index.remove(2);
+        assertThat(index.search(SearchField.TITLE, "풍경", 10)).containsExactly(1);
+
+        index.renameAuthor(7, "새닉네임");
+        assertThat(index.search(SearchField.AUTHOR, "테스터", 10)).isEmpty();
+        assertThat(index.search(SearchField.AUTHOR, "새닉", 10)).containsExactly(1);
+
+        index.removeCategory(5);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("초성/입력 중 자모 검색 (제목/작성자/카테고리)")
+    void search_initials_and_jamo() {
+        InvertedPostIndex index = new InvertedPostIndex();
+        index.put(doc(1, "제주 여행 기록", ""));
+        index.put(doc(2, "한강 산책", ""));
+        index.put(doc(3, "하나의 그림", ""));
+        index.put(doc(4, "갉아먹은 사과", ""));
+
+        assertThat(index.search(SearchField.TITLE, "ㅈㅈ", 10)).containsExactly(1);
+        assertThat(index.search(SearchField.TITLE, "ㅈㅈ ㅇㅎ", 10)).containsExactly(1);
+        assertThat(index.search(SearchField.TITLE, "제ㅈ", 10)).containsExactly(1);
+        assertThat(index.search(SearchField.TITLE, "하ㄴ", 10)).containsExactly(3, 2);  // "한" 또는 "하나"
+        assertThat(index.search(SearchField.TITLE, "갈ㄱ", 10)).containsExactly(4);     // 겹받침
+        assertThat(index.search(SearchField.AUTHOR, "ㅌㅅㅌ", 10)).containsExactly(4, 3, 2, 1);
+        assertThat(index.search(SearchField.CATEGORY, "ㅇㅎ", 10)).containsExactly(4, 3, 2, 1);
+        assertThat(index.search(SearchField.CONTENT, "ㅈㅈ", 10)).isEmpty(); // 본문은 초성 색인 없음
+
+        // 수정/닉네임 변경도 초성 색인에 반영
+        index.put(doc(1, "부산 여행", ""));
+        assertThat(index.search(SearchField.TITLE, "ㅈㅈ", 10)).isEmpty();
+        assertThat(index.search(SearchField.TITLE, "ㅂㅅ", 10)).containsExactly(1);
+
+        index.renameAuthor(7, "나소담");
+        assertThat(index.search(SearchField.AUTHOR, "ㅌㅅㅌ", 10)).isEmpty();
+        assertThat(index.search(SearchField.AUTHOR, "ㄴㅅㄷ", 10)).containsExactly(4, 3, 2, 1);
+    }
+
+    @Test
+    @DisplayName("오타 교정: 자모 하나 차이/글자 순서 바뀜 → 사전의 가까운 단어")
+    void correct_typos() {
+        InvertedPostIndex index = new InvertedPostIndex();
+        index.put(doc(1, "귀여운 스티커 모음", "Kitchen 인테리어"));
+        index.put(doc(2, "스티커 만들기", ""));
+
+        assertThat(index.correct(List.of(SearchField.TITLE), "스티거")).isEqualTo("스티커");
+        assertThat(index.correct(List.of(SearchField.CONTENT), "kitchne 인테리아")).isEqualTo("kitchen 인테리어");
+        assertThat(index.correct(List.of(SearchField.AUTHOR), "테스타")).isEqualTo("테스터");
+        assertThat(index.correct(List.of(SearchField.TITLE), "스티커")).isNull();   // 이미 있는 단어
+        assertThat(index.correct(List.of(SearchField.TITLE), "ㅅㅌㅋ")).isNull();   // 초성 질의는 그대로
+        assertThat(index.search(SearchField.TITLE, index.correct(List.of(SearchField.TITLE), "스티거"), 10))
+                .containsExactly(2, 1);
+
+        // 마지막 문서가 빠지면 사전에서도 빠짐
+        index.remove(1);
+        index.remove(2);
+        assertThat(index.correct(List.of(SearchField.TITLE), "스티거")).isNull();
+    }
+
+    private PostSearchDocument doc(int postId, String title, String description) {
+        return new PostSearchDocument(postId, 7, 5, title, description, "테스터", "여행");
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.nasda.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTests {
+
+    // 트랜잭션 밖에서 호출하면 변경이 바로 반영되므로 repository 없이 버전만 사용
+    private final PostSearchIndex postSearchIndex = new PostSearchIndex(null, null);
+
+    @Test
+    @DisplayName("같은 정규화 키는 캐시 적중, 색인 변경 후에는 다시 계산")
+    void hit_then_invalidated_by_version() {
+        SearchResultCache cache = new SearchResultCache(postSearchIndex, 100, 60);
+        AtomicInteger loads = new AtomicInteger();
+        SearchHits result = new SearchHits(List.of(3, 2, 1), null, false);
+
+        cache.get(SearchResultCache.key("latest", SearchField.TITLE, "제주", null, 12),
+                () -> { loads.incrementAndGet(); return result; });
+        SearchHits cached = cache.get(SearchResultCache.key("latest", SearchField.TITLE, "  제주 ", null, 12),
+                () -> { loads.incrementAndGet(); return result; });
+
+        assertThat(cached.ids()).containsExactly(3, 2, 1);
+        assertThat(loads).hasValue(1);
+
+        postSearchIndex.remove(2); // 아무 변경이나 반영되면 버전 증가
+
+        cache.get(SearchResultCache.key("latest", SearchField.TITLE, "제주", null, 12),
+                () -> { loads.incrementAndGet(); return result; });
+
+        assertThat(loads).hasValue(2);
+        SearchResultCache.Stats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.stale()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 오래 안 쓴 키부터 제거")
+    void lru_eviction() {
+        SearchResultCache cache = new SearchResultCache(postSearchIndex, 2, 60);
+        for (String q : List.of("가", "나", "다")) {
+            cache.get(SearchResultCache.key("latest", SearchField.CONTENT, q, null, 12), () -> SearchHits.EMPTY);
+        }
+        assertThat(cache.stats().size()).isEqualTo(2);
+    }
+}
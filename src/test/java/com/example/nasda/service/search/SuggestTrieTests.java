@@ -0,0 +1,48 @@
+package com.example.nasda.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestTrieTests {
+
+    @Test
+    @DisplayName("접두어별 가중치 상위 k개")
+    void lookup_top_k_by_weight() {
+        SuggestTrie trie = SuggestTrie.build(List.of(
+                entry("제주 여행", SearchField.TITLE, 5),
+                entry("제주도 카페", SearchField.TITLE, 30),
+                entry("제주", SearchField.CATEGORY, 10),
+                entry("서울 산책", SearchField.TITLE, 100)
+        ), 10);
+
+        assertThat(trie.lookup("제", 10)).extracting(SuggestTrie.Entry::key)
+                .containsExactly("제주도 카페", "제주", "제주 여행");
+        assertThat(trie.lookup("제주 ", 10)).extracting(SuggestTrie.Entry::key)
+                .containsExactly("제주 여행");
+        assertThat(trie.lookup("제", 1)).extracting(SuggestTrie.Entry::key)
+                .containsExactly("제주도 카페");
+        assertThat(trie.lookup("부산", 10)).isEmpty();
+        assertThat(trie.lookup("제주도 카페 2", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 문자열이 다른 필드로 있어도 각각 제안")
+    void same_key_different_fields() {
+        SuggestTrie trie = SuggestTrie.build(List.of(
+                entry("여행", SearchField.TITLE, 1),
+                entry("여행", SearchField.CATEGORY, 2)
+        ), 10);
+
+        assertThat(trie.lookup("여", 10)).extracting(SuggestTrie.Entry::field)
+                .containsExactly(SearchField.CATEGORY, SearchField.TITLE);
+        assertThat(SuggestTrie.EMPTY.lookup("여", 10)).isEmpty();
+    }
+
+    private SuggestTrie.Entry entry(String text, SearchField field, long weight) {
+        return new SuggestTrie.Entry(NgramTokenizer.normalize(text), text, field, weight);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.nasda.service.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalStorageBackendTests {
+
+    private static final String NAME = "ab12" + "0".repeat(60) + ".jpg";
+
+    @TempDir
+    Path dir;
+
+    private LocalStorageBackend storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalStorageBackend(dir.toString());
+    }
+
+    @Test
+    @DisplayName("해시 앞 두 글자씩 두 단계 폴더에 저장, 임시 파일은 옮겨짐")
+    void put_shards_by_prefix() throws Exception {
+        Path tmp = storage.createTempFile(".upload");
+        Files.writeString(tmp, "hello");
+
+        storage.put(NAME, tmp);
+
+        assertThat(dir.resolve("ab").resolve("12").resolve(NAME)).hasContent("hello");
+        assertThat(tmp).doesNotExist();
+        assertThat(storage.exists(NAME)).isTrue();
+        assertThat(storage.stat(NAME)).get().extracting(StorageBackend.StoredObject::size).isEqualTo(5L);
+        try (InputStream in = storage.open(NAME, 1, 3)) {
+            assertThat(new String(in.readAllBytes())).isEqualTo("el");
+        }
+    }
+
+    @Test
+    @DisplayName("예전 평평한 위치의 파일도 읽고, 이동 후에도 같은 이름으로")
+    void legacy_flat_files() throws Exception {
+        Files.writeString(dir.resolve(NAME), "old");
+
+        assertThat(storage.exists(NAME)).isTrue();
+        assertThat(storage.localPath(NAME)).contains(dir.resolve(NAME));
+
+        assertThat(storage.migrateFlatLayout()).isEqualTo(1);
+        assertThat(dir.resolve(NAME)).doesNotExist();
+        assertThat(storage.localPath(NAME)).contains(dir.resolve("ab").resolve("12").resolve(NAME));
+
+        assertThat(storage.delete(NAME)).isTrue();
+        assertThat(storage.exists(NAME)).isFalse();
+    }
+
+    @Test
+    @DisplayName("전체 목록은 내부 영역(.tmp/.quarantine) 제외, 격리 이동/복원")
+    void list_and_quarantine() throws Exception {
+        Path tmp = storage.createTempFile(".upload");
+        Files.writeString(tmp, "x");
+        storage.put(NAME, tmp);
+        storage.createTempFile(".upload"); // 남은 임시 파일
+
+        try (Stream<StorageBackend.StoredObject> all = storage.list("")) {
+            assertThat(all.map(StorageBackend.StoredObject::name)).containsExactly(NAME);
+        }
+
+        String quarantined = ".quarantine/2026-01-01/" + NAME;
+        storage.move(NAME, quarantined);
+        assertThat(storage.exists(NAME)).isFalse();
+        try (Stream<StorageBackend.StoredObject> q = storage.list(".quarantine/")) {
+            assertThat(q.map(StorageBackend.StoredObject::name)).containsExactly(quarantined);
+        }
+
+        storage.move(quarantined, NAME);
+        assertThat(storage.exists(NAME)).isTrue();
+        assertThat(dir.resolve(".quarantine")).doesNotExist(); // 빈 날짜 폴더도 정리
+    }
+
+    @Test
+    @DisplayName("폴더 밖/이상한 이름은 거부")
+    void rejects_unsafe_names() {
+        assertThatThrownBy(() -> storage.exists("../etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storage.exists(".quarantine/../../x")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(StorageBackend.nameOf("/uploads/a/b.jpg")).isNull();
+        assertThat(StorageBackend.nameOf("/uploads/" + NAME)).isEqualTo(NAME);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.nasda.service.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * S3 호환 저장소 왕복 테스트 (기본은 건너뜀) — 로컬 MinIO로 실행:
+ * docker run -p 9000:9000 -e MINIO_ROOT_USER=minio -e MINIO_ROOT_PASSWORD=minio123 minio/minio server /data
+ * (버킷 nasda-test를 만든 뒤)
+ * ./gradlew test --tests '*S3StorageBackendTests' -Ds3.endpoint=http://localhost:9000 -Ds3.access-key=minio -Ds3.secret-key=minio123
+ */
+@EnabledIfSystemProperty(named = "s3.endpoint", matches = ".+")
+class S3StorageBackendTests {
+
+    private final S3StorageBackend storage = new S3StorageBackend(
+            System.getProperty("s3.endpoint"),
+            System.getProperty("s3.region", "us-east-1"),
+            System.getProperty("s3.bucket", "nasda-test"),
+            System.getProperty("s3.access-key", "minio"),
+            System.getProperty("s3.secret-key", "minio123"),
+            true, "it-" + UUID.randomUUID() + "/", "", Duration.ofSeconds(10));
+
+    @Test
+    @DisplayName("put → stat/open(구간) → 목록 → 격리 이동 → 삭제")
+    void round_trip() throws Exception {
+        String name = UUID.randomUUID().toString().replace("-", "") + ".jpg";
+        Path tmp = storage.createTempFile(".upload");
+        Files.writeString(tmp, "0123456789");
+
+        storage.put(name, tmp);
+        assertThat(tmp).doesNotExist();
+
+        assertThat(storage.stat(name)).get().extracting(StorageBackend.StoredObject::size).isEqualTo(10L);
+        try (InputStream in = storage.open(name, 2, 5)) {
+            assertThat(new String(in.readAllBytes())).isEqualTo("234");
+        }
+        try (Stream<StorageBackend.StoredObject> all = storage.list("")) {
+            assertThat(all.map(StorageBackend.StoredObject::name)).containsExactly(name);
+        }
+
+        String quarantined = ".quarantine/2026-01-01/" + name;
+        storage.move(name, quarantined);
+        assertThat(storage.exists(name)).isFalse();
+        try (Stream<StorageBackend.StoredObject> all = storage.list("")) {
+            assertThat(all).isEmpty();
+        }
+        try (StorageBackend.LocalFile file = storage.fetch(quarantined)) {
+            assertThat(file.path()).hasContent("0123456789");
+        }
+
+        assertThat(storage.delete(quarantined)).isTrue();
+        assertThat(storage.exists(quarantined)).isFalse();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.nasda.service.upload;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResumableUploadServiceTests {
+
+    private static final int CHUNK = 64 * 1024;
+    private static final Integer USER = 1;
+
+    @TempDir
+    Path dir;
+
+    private ResumableUploadService service;
+    private byte[] data;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new ResumableUploadService(dir.toString(), DataSize.ofBytes(CHUNK), DataSize.ofMegabytes(20), 60, 5);
+        service.init();
+        data = new byte[CHUNK * 5 + 123];
+        new Random(7).nextBytes(data);
+    }
+
+    @Test
+    @DisplayName("청크를 섞인 순서로 동시에 보내도 원본 그대로, 끝나면 MultipartFile로 넘김")
+    void parallel_out_of_order_chunks() throws Exception {
+        ResumableUploadService.Status status = service.initiate(USER, "a.jpg", "image/jpeg", data.length, sha256(data));
+        assertThat(status.missingOffsets()).hasSize(6);
+
+        List<Long> offsets = new ArrayList<>(status.missingOffsets());
+        Collections.shuffle(offsets, new Random(1));
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long offset : offsets) {
+                futures.add(pool.submit(() -> {
+                    byte[] chunk = chunk(offset);
+                    return service.writeChunk(USER, status.uploadId(), offset, new ByteArrayInputStream(chunk), sha256(chunk));
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        ResumableUploadService.Status done = service.complete(USER, status.uploadId());
+        assertThat(done.completed()).isTrue();
+        assertThat(done.sha256()).isEqualTo(sha256(data));
+
+        List<MultipartFile> files = service.take(USER, List.of(status.uploadId()));
+        assertThat(files.get(0).getBytes()).isEqualTo(data);
+        assertThat(files.get(0).getContentType()).isEqualTo("image/jpeg");
+
+        service.release(List.of(status.uploadId()));
+        assertThatThrownBy(() -> service.status(USER, status.uploadId())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("체크섬이 틀리거나 길이가 안 맞는 청크는 받지 않음 — 그 청크만 다시 보내면 이어짐")
+    void rejects_bad_chunks_and_resumes() throws Exception {
+        String id = service.initiate(USER, "a.jpg", "image/jpeg", data.length, null).uploadId();
+        byte[] first = chunk(0);
+
+        assertThatThrownBy(() -> service.writeChunk(USER, id, 0, new ByteArrayInputStream(first), sha256(new byte[1])))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.writeChunk(USER, id, 0, new ByteArrayInputStream(Arrays.copyOf(first, 100)), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.writeChunk(USER, id, 0, new ByteArrayInputStream(Arrays.copyOf(first, CHUNK + 1)), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.writeChunk(USER, id, 10, new ByteArrayInputStream(first), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.complete(USER, id)).isInstanceOf(IllegalArgumentException.class);
+
+        for (long offset = 0; offset < data.length; offset += CHUNK) {
+            service.writeChunk(USER, id, offset, new ByteArrayInputStream(chunk(offset)), null);
+        }
+        assertThat(service.status(USER, id).missingOffsets()).isEmpty();
+        assertThat(service.complete(USER, id).sha256()).isEqualTo(sha256(data));
+    }
+
+    @Test
+    @DisplayName("전체 체크섬이 다르면 업로드를 버림, 다른 사용자는 접근 불가")
+    void whole_file_checksum_and_owner() throws Exception {
+        String id = service.initiate(USER, "a.jpg", "image/jpeg", data.length, sha256(new byte[1])).uploadId();
+        for (long offset = 0; offset < data.length; offset += CHUNK) {
+            service.writeChunk(USER, id, offset, new ByteArrayInputStream(chunk(offset)), null);
+        }
+
+        assertThatThrownBy(() -> service.status(2, id)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.complete(USER, id)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.status(USER, id)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.initiate(USER, "a.txt", "text/plain", 10, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private byte[] chunk(long offset) {
+        return Arrays.copyOfRange(data, (int) offset, (int) Math.min(data.length, offset + CHUNK));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}